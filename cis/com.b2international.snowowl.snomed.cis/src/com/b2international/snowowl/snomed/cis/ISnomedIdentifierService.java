@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.util.Set;
 
 import com.b2international.snowowl.core.terminology.ComponentCategory;
 import com.b2international.snowowl.snomed.cis.domain.SctId;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 /**
  * The SNOMED CT identifier service interface generates and maintains
@@ -64,6 +66,22 @@ public interface ISnomedIdentifierService {
 	 * @param componentIds the IDs to register
 	 */
 	Map<String, SctId> register(Set<String> componentIds);
+	
+	/**
+	 * Registers multiple SNOMED CT IDs without waiting for the registration to complete. Services that communicate with a remote identifier
+	 * service should override this method, the default implementation registers the IDs on the calling thread.
+	 * 
+	 * @param componentIds the IDs to register
+	 * @return a future of the registered IDs
+	 * @since 8.10
+	 */
+	default ListenableFuture<Map<String, SctId>> registerAsync(Set<String> componentIds) {
+		try {
+			return Futures.immediateFuture(register(componentIds));
+		} catch (RuntimeException e) {
+			return Futures.immediateFailedFuture(e);
+		}
+	}
 
 	/**
 	 * Reserves multiple SNOMED CT ID for the defined {@link ComponentCategory}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,6 +67,11 @@ public class SnomedIdentifierConfiguration {
 	@Max(50000)
 	private int requestBulkLimit = 10_000;
 	
+	// number of IDs to preallocate per namespace and component category by the embedded service, preallocation is disabled when set to 0
+	@Min(0)
+	@JsonProperty(value = "idBlockSize", required = false)
+	private int idBlockSize = 0;
+	
 	public IdGenerationStrategy getStrategy() {
 		return strategy;
 	}
@@ -162,4 +167,12 @@ public class SnomedIdentifierConfiguration {
 	public void setRequestBulkLimit(int requestBulkLimit) {
 		this.requestBulkLimit = requestBulkLimit;
 	}
+	
+	public int getIdBlockSize() {
+		return idBlockSize;
+	}
+	
+	public void setIdBlockSize(int idBlockSize) {
+		this.idBlockSize = idBlockSize;
+	}
 }
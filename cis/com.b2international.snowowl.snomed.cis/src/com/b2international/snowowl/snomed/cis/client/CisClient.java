@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,15 +22,18 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +46,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 
 /**
  * Client to communicate with the CIS.
@@ -61,7 +66,8 @@ class CisClient {
 	private final String password;
 	private final ObjectMapper mapper;
 
-	private final HttpClient client;
+	private final CloseableHttpClient client;
+	private final CloseableHttpAsyncClient asyncClient;
 	
 	private AtomicReference<String> token = new AtomicReference<>(BAD_TOKEN);
 
@@ -76,10 +82,18 @@ class CisClient {
 		this.username = conf.getCisUserName();
 		this.password = conf.getCisPassword();
 		this.mapper = mapper;
-		final PoolingClientConnectionManager conman = new PoolingClientConnectionManager();
+		final PoolingHttpClientConnectionManager conman = new PoolingHttpClientConnectionManager();
 		conman.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
 		conman.setMaxTotal(conf.getCisMaxConnections());
-		this.client = new DefaultHttpClient(conman);
+		this.client = HttpClients.custom()
+				.setConnectionManager(conman)
+				.build();
+		// bulk requests are submitted without blocking the caller, the connection limits apply to the number of requests in flight
+		this.asyncClient = HttpAsyncClients.custom()
+				.setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE)
+				.setMaxConnTotal(conf.getCisMaxConnections())
+				.build();
+		this.asyncClient.start();
 	}
 
 	public HttpGet httpGet(final String api) {
@@ -112,6 +126,41 @@ class CisClient {
 		}
 	}
 
+	/**
+	 * Executes the given request without blocking the caller.
+	 * 
+	 * @param request - the request to execute
+	 * @return a future of the response body, which fails with a {@link CisClientException} if the response status is not OK
+	 */
+	public ListenableFuture<String> executeAsync(final HttpRequestBase request) {
+		final SettableFuture<String> result = SettableFuture.create();
+		
+		asyncClient.execute(request, new FutureCallback<HttpResponse>() {
+			@Override
+			public void completed(final HttpResponse response) {
+				try {
+					checkResponseStatus(response);
+					result.set(EntityUtils.toString(response.getEntity()));
+				} catch (IOException | RuntimeException e) {
+					result.setException(e);
+				}
+			}
+			
+			@Override
+			public void failed(final Exception e) {
+				LOGGER.error("Exception while executing HTTP request.", e);
+				result.setException(new SnowowlRuntimeException("Exception while executing HTTP request.", e));
+			}
+			
+			@Override
+			public void cancelled() {
+				result.cancel(false);
+			}
+		});
+		
+		return result;
+	}
+
 	public void release(final HttpRequestBase request) {
 		request.releaseConnection();
 	}
@@ -140,8 +189,12 @@ class CisClient {
 	}
 
 	public void close() {
-		if (null != client)
-			client.getConnectionManager().shutdown();
+		try {
+			client.close();
+			asyncClient.close();
+		} catch (IOException e) {
+			LOGGER.warn("Exception while closing HTTP clients.", e);
+		}
 	}
 
 	public void login() {
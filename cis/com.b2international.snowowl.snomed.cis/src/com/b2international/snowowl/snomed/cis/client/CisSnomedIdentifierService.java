@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,14 +21,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Date;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
@@ -60,6 +57,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicates;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -68,6 +66,11 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * CIS (IHTSDO) based implementation of the identifier service.
@@ -86,6 +89,9 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 	private final String clientKey;
 	private final ObjectMapper mapper;
 
+	// runs bulk job status polls and response processing of asynchronous requests, so that callers never wait between poll tries
+	private final ListeningScheduledExecutorService scheduler;
+	
 	private CisClient client;
 	private boolean disposed;
 
@@ -99,6 +105,10 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 		this.requestBulkLimit = conf.getRequestBulkLimit();
 		this.mapper = mapper;
 		this.client = new CisClient(conf, mapper);
+		this.scheduler = MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("cis-bulk-jobs-%d")
+				.setDaemon(true)
+				.build()));
 
 		// Log in at startup, and keep the token as long as possible
 		login();
@@ -154,54 +164,47 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 	
 	@Override
 	public Map<String, SctId> register(final Set<String> componentIds) {
+		return join(registerAsync(componentIds));
+	}
+	
+	@Override
+	public ListenableFuture<Map<String, SctId>> registerAsync(final Set<String> componentIds) {
 		if (CompareUtils.isEmpty(componentIds)) {
-			return Collections.emptyMap();
+			return Futures.immediateFuture(Collections.emptyMap());
 		}
 		
 		LOGGER.debug("Registering {} component IDs.", componentIds.size());
 
-		final Map<String, SctId> sctIds = getSctIds(componentIds);
-
-		final Map<String, SctId> availableOrReservedSctIds = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.or(
-				SctId::isAvailable, 
-				SctId::isReserved)));
-		
-		if (availableOrReservedSctIds.isEmpty()) {
-			return Collections.emptyMap();
-		}
-		
-		HttpPost registerRequest = null;
-		String currentNamespace = null;
-		
-		try {
+		return Futures.transformAsync(getSctIdsAsync(componentIds), sctIds -> {
+			
+			final Map<String, SctId> availableOrReservedSctIds = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.or(
+					SctId::isAvailable, 
+					SctId::isReserved)));
+			
+			if (availableOrReservedSctIds.isEmpty()) {
+				return Futures.immediateFuture(Collections.emptyMap());
+			}
 			
 			if (availableOrReservedSctIds.size() > 1) {
+				final List<ListenableFuture<Void>> bulkJobs = Lists.newArrayList();
 				final Multimap<String, String> componentIdsByNamespace = toNamespaceMultimap(availableOrReservedSctIds.keySet());
 				for (final Entry<String, Collection<String>> entry : componentIdsByNamespace.asMap().entrySet()) {
-					currentNamespace = entry.getKey();
-					
 					for (final Collection<String> bulkIds : Iterables.partition(entry.getValue(), requestBulkLimit)) {
-						LOGGER.debug("Sending bulk registration request for namespace {} with size {}.", currentNamespace, bulkIds.size());
-						registerRequest = httpPost(String.format("sct/bulk/register?token=%s", getToken()), createBulkRegistrationData(bulkIds));
-						execute(registerRequest);
+						LOGGER.debug("Sending bulk registration request for namespace {} with size {}.", entry.getKey(), bulkIds.size());
+						bulkJobs.add(executeBulkJob(httpPost(String.format("sct/bulk/register?token=%s", getToken()), createBulkRegistrationData(bulkIds))));
 					}
 				}
 				
+				return Futures.transform(Futures.allAsList(bulkJobs), jobs -> availableOrReservedSctIds, MoreExecutors.directExecutor());
+				
 			} else {
 				
 				final String componentId = Iterables.getOnlyElement(availableOrReservedSctIds.keySet());
-				currentNamespace = SnomedIdentifiers.getNamespace(componentId);
-				registerRequest = httpPost(String.format("sct/register?token=%s", getToken()), createRegistrationData(componentId));
-				execute(registerRequest);
+				final HttpPost registerRequest = httpPost(String.format("sct/register?token=%s", getToken()), createRegistrationData(componentId));
+				return Futures.transform(executeAsync(registerRequest), response -> availableOrReservedSctIds, MoreExecutors.directExecutor());
 			}
-		
-			return ImmutableMap.copyOf(availableOrReservedSctIds);
 			
-		} catch (IOException e) {
-			throw new SnowowlRuntimeException(String.format("Exception while reserving IDs for namespace %s.", currentNamespace), e);
-		} finally {
-			release(registerRequest);
-		}
+		}, scheduler);
 	}
 
 	@Override
@@ -379,17 +382,19 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 			final Map<String, SctId> sctIdsToPublish = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.not(SctId::isPublished)));
 			if (!sctIdsToPublish.isEmpty()) {
 				if (sctIdsToPublish.size() > 1) {
+					final List<ListenableFuture<Void>> bulkJobs = Lists.newArrayList();
 					final Multimap<String, String> componentIdsByNamespace = toNamespaceMultimap(sctIdsToPublish.keySet());
 					for (final Entry<String, Collection<String>> entry : componentIdsByNamespace.asMap().entrySet()) {
 						currentNamespace = entry.getKey();
 						
 						for (final Collection<String> bulkIds : Iterables.partition(entry.getValue(), requestBulkLimit)) {
 							LOGGER.debug("Sending bulk publication request for namespace {} with size {}.", currentNamespace, bulkIds.size());
-							publishRequest = httpPut(String.format("sct/bulk/publish?token=%s", getToken()), createBulkPublishData(currentNamespace, bulkIds));
-							execute(publishRequest);
+							bulkJobs.add(executeBulkJob(httpPut(String.format("sct/bulk/publish?token=%s", getToken()), createBulkPublishData(currentNamespace, bulkIds))));
 						}
 					}
 					
+					join(Futures.allAsList(bulkJobs));
+					
 				} else {
 					
 					final String componentId = Iterables.getOnlyElement(sctIdsToPublish.keySet());
@@ -409,24 +414,27 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 
 	@Override
 	public Map<String, SctId> getSctIds(final Set<String> componentIds) {
-
-		final Map<String, SctId> existingIdsMap = readSctIds(componentIds);
-		
-		if (existingIdsMap.size() == componentIds.size()) {
-			return existingIdsMap;
-		} else {
-			final Set<String> knownComponentIds = existingIdsMap.keySet();
-			final Set<String> difference = ImmutableSet.copyOf(Sets.difference(componentIds, knownComponentIds));
-			
-			final ImmutableMap.Builder<String, SctId> resultBuilder = ImmutableMap.builder();
-			resultBuilder.putAll(existingIdsMap);
-			
-			for (final String componentId : difference) {
-				resultBuilder.put(componentId, buildSctId(componentId, IdentifierStatus.AVAILABLE));
+		return join(getSctIdsAsync(componentIds));
+	}
+	
+	private ListenableFuture<Map<String, SctId>> getSctIdsAsync(final Set<String> componentIds) {
+		return Futures.transform(readSctIdsAsync(componentIds), existingIdsMap -> {
+			if (existingIdsMap.size() == componentIds.size()) {
+				return existingIdsMap;
+			} else {
+				final Set<String> knownComponentIds = existingIdsMap.keySet();
+				final Set<String> difference = ImmutableSet.copyOf(Sets.difference(componentIds, knownComponentIds));
+				
+				final ImmutableMap.Builder<String, SctId> resultBuilder = ImmutableMap.builder();
+				resultBuilder.putAll(existingIdsMap);
+				
+				for (final String componentId : difference) {
+					resultBuilder.put(componentId, buildSctId(componentId, IdentifierStatus.AVAILABLE));
+				}
+				
+				return resultBuilder.build();
 			}
-			
-			return resultBuilder.build();
-		}
+		}, MoreExecutors.directExecutor());
 	}
 	
 	private SctId buildSctId(final String componentId, final IdentifierStatus status) {
@@ -444,48 +452,57 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 	}
 
 	private Map<String, SctId> readSctIds(final Set<String> componentIds) {
+		return join(readSctIdsAsync(componentIds));
+	}
+	
+	private ListenableFuture<Map<String, SctId>> readSctIdsAsync(final Set<String> componentIds) {
 		if (CompareUtils.isEmpty(componentIds)) {
-			return Collections.emptyMap();
+			return Futures.immediateFuture(Collections.emptyMap());
 		}
 		
-		HttpPost bulkRequest = null;
-		HttpGet singleRequest = null;
-		
 		try {
 
 			if (componentIds.size() > 1) {
 				LOGGER.debug("Sending bulk component ID get request.");
-				final ImmutableMap.Builder<String, SctId> resultBuilder = ImmutableMap.builder();
+				final List<ListenableFuture<SctId[]>> responses = Lists.newArrayList();
 				
 				for (final Collection<String> ids : Iterables.partition(componentIds, requestBulkLimit)) {
 					final String idsAsString = Joiner.on(',').join(ids);
 					final ObjectNode idsAsJson = mapper.createObjectNode().put("sctids", idsAsString);
-					bulkRequest = client.httpPost(String.format("sct/bulk/ids/?token=%s", getToken()), idsAsJson);
-					final String response = execute(bulkRequest);
-					
-					final SctId[] sctIds = mapper.readValue(response, SctId[].class);
-					final Map<String, SctId> sctIdMap = Maps.uniqueIndex(Arrays.asList(sctIds), SctId::getSctid); 
-					resultBuilder.putAll(sctIdMap);
+					final HttpPost bulkRequest = client.httpPost(String.format("sct/bulk/ids/?token=%s", getToken()), idsAsJson);
+					responses.add(Futures.transform(executeAsync(bulkRequest), response -> readValue(response, SctId[].class), scheduler));
 				}
 				
-				return resultBuilder.build();
+				return Futures.transform(Futures.allAsList(responses), sctIdArrays -> {
+					final ImmutableMap.Builder<String, SctId> resultBuilder = ImmutableMap.builder();
+					for (final SctId[] sctIds : sctIdArrays) {
+						resultBuilder.putAll(Maps.uniqueIndex(Arrays.asList(sctIds), SctId::getSctid));
+					}
+					return resultBuilder.build();
+				}, MoreExecutors.directExecutor());
 				
 			} else {
 				
 				final String componentId = Iterables.getOnlyElement(componentIds);
 				LOGGER.debug("Sending component ID {} get request.", componentId);
-				singleRequest = httpGet(String.format("sct/ids/%s?token=%s", componentId, getToken()));
-				final String response = execute(singleRequest);
-
-				final SctId sctId = mapper.readValue(response, SctId.class);
-				return ImmutableMap.of(sctId.getSctid(), sctId);
+				final HttpGet singleRequest = httpGet(String.format("sct/ids/%s?token=%s", componentId, getToken()));
+				
+				return Futures.transform(executeAsync(singleRequest), response -> {
+					final SctId sctId = readValue(response, SctId.class);
+					return ImmutableMap.of(sctId.getSctid(), sctId);
+				}, scheduler);
 			}
 			
 		} catch (IOException e) {
 			throw new SnowowlRuntimeException("Exception while getting IDs.", e);
-		} finally {
-			release(bulkRequest);
-			release(singleRequest);
+		}
+	}
+	
+	private <T> T readValue(final String response, final Class<T> type) {
+		try {
+			return mapper.readValue(response, type);
+		} catch (IOException e) {
+			throw new SnowowlRuntimeException("Exception while reading CIS response.", e);
 		}
 	}
 	
@@ -526,19 +543,7 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 					login();
 					
 					// Update the corresponding query parameter in the request, then retry
-					try {
-						
-						URI requestUri = request.getURI();
-						URI updatedUri = new URIBuilder(requestUri)
-								.setParameter("token", getToken())
-								.build();
-						
-						request.setURI(updatedUri);
-						request.reset();
-						
-					} catch (URISyntaxException se) {
-						throw new IOException("Couldn't update authentication token.", se);
-					}
+					updateToken(request);
 					
 				} else {
 					throw new BadRequestException(e.getReasonPhrase(), e);
@@ -550,6 +555,58 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 		throw new BadRequestException(last.getReasonPhrase());
 	}
 
+	/*
+	 * Executes the request without blocking the caller; authentication errors are handled the same way as in the blocking variant.
+	 */
+	private ListenableFuture<String> executeAsync(final HttpRequestBase request) {
+		return executeAsync(request, numberOfReauthTries);
+	}
+	
+	private ListenableFuture<String> executeAsync(final HttpRequestBase request, final long remainingAttempts) {
+		return Futures.catchingAsync(client.executeAsync(request), CisClientException.class, e -> {
+			if (e.getStatusCode() == HttpStatus.SC_UNAUTHORIZED || e.getStatusCode() == HttpStatus.SC_FORBIDDEN) {
+				if (remainingAttempts <= 1) {
+					throw new BadRequestException(e.getReasonPhrase());
+				}
+				
+				LOGGER.warn("Unauthorized response from CIS, retrying request ({} attempt(s) left).", remainingAttempts - 1);
+				login();
+				updateToken(request);
+				return executeAsync(request, remainingAttempts - 1);
+			} else {
+				throw new BadRequestException(e.getReasonPhrase(), e);
+			}
+		}, scheduler);
+	}
+
+	private void updateToken(final HttpRequestBase request) throws IOException {
+		try {
+			
+			URI requestUri = request.getURI();
+			URI updatedUri = new URIBuilder(requestUri)
+					.setParameter("token", getToken())
+					.build();
+			
+			request.setURI(updatedUri);
+			request.reset();
+			
+		} catch (URISyntaxException se) {
+			throw new IOException("Couldn't update authentication token.", se);
+		}
+	}
+	
+	private static <T> T join(final ListenableFuture<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SnowowlRuntimeException("Interrupted while waiting for CIS response.", e);
+		} catch (ExecutionException e) {
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+	}
+
 	private void release(final HttpRequestBase request) {
 		if (null != request) {
 			client.release(request);
@@ -557,37 +614,37 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 	}
 
 	private void joinBulkJobPolling(final String jobId, final int quantity, final String token) {
-		HttpGet request = null;
-		JobStatus status = JobStatus.PENDING;
+		LOGGER.debug("Polling job status with ID {}.", jobId);
+		join(pollBulkJob(httpGet(String.format("bulk/jobs/%s?token=%s", jobId, token)), numberOfPollTries));
+	}
 
-		try {
+	/*
+	 * Submits a bulk job request, then polls the job until it finishes. Polls are scheduled instead of sleeping between tries, so any number
+	 * of jobs can be in progress at the same time.
+	 */
+	private ListenableFuture<Void> executeBulkJob(final HttpRequestBase request) {
+		return Futures.transformAsync(executeAsync(request), response -> {
+			final String jobId = readValue(response, JsonNode.class).get("id").asText();
 			LOGGER.debug("Polling job status with ID {}.", jobId);
-
-			request = httpGet(String.format("bulk/jobs/%s?token=%s", jobId, token));
-
-			for (long pollTry = numberOfPollTries; pollTry > 0; pollTry--) {
-				final String response = execute(request);
-				final JsonNode node = mapper.readValue(response, JsonNode.class);
-				status = JobStatus.get(node.get("status").asInt());
-
-				if (JobStatus.FINISHED == status) {
-					break;
-				} else if (JobStatus.ERROR == status) {
-					throw new SnowowlRuntimeException("Bulk request has ended in error.");
-				} else {
-					Thread.sleep(timeBetweenPollTries);
-				}
+			return pollBulkJob(httpGet(String.format("bulk/jobs/%s?token=%s", jobId, getToken())), numberOfPollTries);
+		}, scheduler);
+	}
+	
+	private ListenableFuture<Void> pollBulkJob(final HttpGet request, final long remainingPollTries) {
+		return Futures.transformAsync(executeAsync(request), response -> {
+			final JobStatus status = JobStatus.get(readValue(response, JsonNode.class).get("status").asInt());
+			
+			if (JobStatus.FINISHED == status) {
+				return Futures.immediateFuture(null);
+			} else if (JobStatus.ERROR == status) {
+				throw new SnowowlRuntimeException("Bulk request has ended in error.");
+			} else if (remainingPollTries <= 1) {
+				throw new SnowowlRuntimeException("Job didn't finish with expected status: " + status);
+			} else {
+				request.reset();
+				return Futures.scheduleAsync(() -> pollBulkJob(request, remainingPollTries - 1), timeBetweenPollTries, TimeUnit.MILLISECONDS, scheduler);
 			}
-
-		} catch (Exception e) {
-			throw new SnowowlRuntimeException("Exception while polling job status.", e);
-		} finally {
-			release(request);
-		}
-		
-		if (JobStatus.FINISHED != status) {
-			throw new SnowowlRuntimeException("Job didn't finish with expected status: " + status); 
-		} 
+		}, scheduler);
 	}
 
 	private Set<String> getComponentIds(final JsonNode[] records) {
@@ -679,6 +736,8 @@ public class CisSnomedIdentifierService extends AbstractSnomedIdentifierService
 			client.close();
 			client = null;
 		}
+		
+		scheduler.shutdownNow();
 
 		disposed = true;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static com.google.common.collect.Sets.newLinkedHashSet;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,12 +32,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.b2international.commons.CompareUtils;
+import com.b2international.commons.Pair;
 import com.b2international.commons.VerhoeffCheck;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.index.Hits;
 import com.b2international.index.Index;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Query;
+import com.b2international.snowowl.core.IDisposableService;
 import com.b2international.snowowl.core.terminology.ComponentCategory;
 import com.b2international.snowowl.snomed.cis.AbstractSnomedIdentifierService;
 import com.b2international.snowowl.snomed.cis.SnomedIdentifierConfiguration;
@@ -54,15 +57,24 @@ import com.google.inject.Provider;
 
 /**
  * {@link Index} based implementation of the identifier service.
+ * <p>
+ * When an ID block size is configured, IDs are preallocated in blocks per namespace and component category. Blocks are persisted with
+ * reserved status, so that they are excluded from any other generation, and requests are served from memory until the block runs out.
+ * Unused IDs are returned when the service is disposed; IDs of blocks that could not be returned stay reserved and are never handed out.
  * 
  * @since 4.5
  */
-public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierService {
+public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierService implements IDisposableService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSnomedIdentifierService.class);
 
 	private final Index store;
 	private final ItemIdGenerationStrategy generationStrategy;
+	private final int blockSize;
+	
+	// preallocated IDs per namespace and component category, in the order of generation
+	private final Map<Pair<String, ComponentCategory>, Set<String>> blocks = newHashMap();
+	private boolean disposed;
 
 	/*
 	 * Tests only
@@ -82,6 +94,7 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 		super(reservationService, config);
 		this.store = store;
 		this.generationStrategy = generationStrategy;
+		this.blockSize = config.getIdBlockSize();
 	}
 
 	@Override
@@ -110,6 +123,7 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 		}
 		LOGGER.debug("Registering {} component IDs.", componentIds.size());
 
+		removeFromBlocks(componentIds);
 		final Map<String, SctId> sctIds = getSctIds(componentIds);
 
 		final Map<String, SctId> availableOrReservedSctIds = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.or(
@@ -148,6 +162,7 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 	public Map<String, SctId> release(final Set<String> componentIds) {
 		LOGGER.debug("Releasing {} component IDs.", componentIds.size());
 
+		removeFromBlocks(componentIds);
 		final Map<String, SctId> sctIds = newHashMap(getSctIds(componentIds));
 
 		final Map<String, SctId> assignedOrReservedSctIds = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.or(
@@ -164,6 +179,7 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 	public Map<String, SctId> deprecate(final Set<String> componentIds) {
 		LOGGER.debug("Deprecating {} component IDs.", componentIds.size());
 
+		removeFromBlocks(componentIds);
 		final Map<String, SctId> sctIds = getSctIds(componentIds);
 
 		final Map<String, SctId> assignedOrPublishedSctIds = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.or(
@@ -183,6 +199,7 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 	public Map<String, SctId> publish(final Set<String> componentIds) {
 		LOGGER.debug("Publishing {} component IDs.", componentIds.size());
 		
+		removeFromBlocks(componentIds);
 		final Map<String, SctId> sctIds = getSctIds(componentIds);
 		
 		final Map<String, SctId> sctIdsToPublish = ImmutableMap.copyOf(Maps.filterValues(sctIds, Predicates.not(SctId::isPublished)));
@@ -235,6 +252,44 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 	}
 
 	private Set<String> generateIds(final String namespace, final ComponentCategory category, final int quantity) {
+		if (blockSize > 0) {
+			return takeFromBlock(namespace, category, quantity);
+		} else {
+			return generateAvailableIds(namespace, category, quantity);
+		}
+	}
+	
+	private Set<String> takeFromBlock(final String namespace, final ComponentCategory category, final int quantity) {
+		synchronized (blocks) {
+			final Set<String> block = blocks.computeIfAbsent(Pair.identicalPairOf(Strings.nullToEmpty(namespace), category), key -> newLinkedHashSet());
+			
+			if (block.size() < quantity) {
+				final Set<String> preallocatedIds = generateAvailableIds(namespace, category, Math.max(blockSize, quantity - block.size()));
+				LOGGER.debug("Preallocated {} component IDs for category {}.", preallocatedIds.size(), category.getDisplayName());
+				putSctIds(preallocatedIds.stream().map(componentId -> buildSctId(componentId, IdentifierStatus.RESERVED)).collect(Collectors.toList()));
+				block.addAll(preallocatedIds);
+			}
+			
+			final Set<String> componentIds = newLinkedHashSet();
+			final Iterator<String> iterator = block.iterator();
+			while (componentIds.size() < quantity) {
+				componentIds.add(iterator.next());
+				iterator.remove();
+			}
+			
+			return ImmutableSet.copyOf(componentIds);
+		}
+	}
+	
+	private void removeFromBlocks(final Set<String> componentIds) {
+		if (blockSize > 0 && !CompareUtils.isEmpty(componentIds)) {
+			synchronized (blocks) {
+				blocks.values().forEach(block -> block.removeAll(componentIds));
+			}
+		}
+	}
+	
+	private Set<String> generateAvailableIds(final String namespace, final ComponentCategory category, final int quantity) {
 		final Set<String> generatedComponentIds = newLinkedHashSet(); // important to keep order of generated ids
 		final int maxAttempts = getConfig().getMaxIdGenerationAttempts();
 		
@@ -344,4 +399,30 @@ public class DefaultSnomedIdentifierService extends AbstractSnomedIdentifierServ
 		});
 	}
 	
+	@Override
+	public void dispose() {
+		synchronized (blocks) {
+			final Set<String> unusedIds = blocks.values().stream()
+					.flatMap(Set::stream)
+					.collect(Collectors.toSet());
+			
+			if (!unusedIds.isEmpty()) {
+				LOGGER.info("Returning {} preallocated component IDs.", unusedIds.size());
+				try {
+					removeSctIds(unusedIds);
+				} catch (RuntimeException e) {
+					LOGGER.warn("Couldn't return preallocated component IDs, they will remain reserved.", e);
+				}
+			}
+			
+			blocks.clear();
+			disposed = true;
+		}
+	}
+	
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+	
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.commons.exceptions;
+
+/**
+ * Thrown when a conditional read request determines that the client already has an up-to-date representation of the requested content, identified
+ * by the given entity tag.
+ * 
+ * @since 8.10
+ */
+public final class NotModifiedException extends ApiException {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final String etag;
+	
+	public NotModifiedException(String etag) {
+		super("Not modified");
+		this.etag = etag;
+	}
+	
+	@Override
+	protected Integer getStatus() {
+		return 304;
+	}
+	
+	public String getETag() {
+		return etag;
+	}
+	
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.index.Fixtures.Data;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.index.query.SortBy;
+import com.b2international.index.query.SortBy.Order;
+
+/**
+ * @since 8.10
+ */
+public class CollapseTest extends BaseIndexTest {
+
+	private static final int NUM_GROUPS = 10;
+	private static final int NUM_DOCS_PER_GROUP = 5;
+
+	@Override
+	protected Collection<Class<?>> getTypes() {
+		return List.of(Data.class);
+	}
+
+	@Before
+	public void setup() {
+		final List<Data> docs = new ArrayList<>(NUM_GROUPS * NUM_DOCS_PER_GROUP);
+		for (int group = 0; group < NUM_GROUPS; group++) {
+			for (int i = 0; i < NUM_DOCS_PER_GROUP; i++) {
+				final Data data = new Data(group + "_" + i);
+				data.setField1("group" + group);
+				data.setIntField(group * NUM_DOCS_PER_GROUP + i);
+				docs.add(data);
+			}
+		}
+		indexDocuments(docs);
+	}
+
+	@Test
+	public void collapseReturnsTopHitPerValue() throws Exception {
+		final Hits<Data> hits = search(Query.select(Data.class)
+				.where(Expressions.matchAll())
+				.sortBy(SortBy.field("intField", Order.DESC))
+				.collapse("field1")
+				.limit(3)
+				.build());
+
+		// total hits still reflects the number of matching documents
+		assertThat(hits.getTotal()).isEqualTo(NUM_GROUPS * NUM_DOCS_PER_GROUP);
+		assertThat(hits.getHits())
+			.extracting(Data::getField1, Data::getIntField)
+			.containsExactly(
+				tuple("group9", 49),
+				tuple("group8", 44),
+				tuple("group7", 39)
+			);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void collapseWithSearchAfter() throws Exception {
+		final Hits<Data> firstPage = search(Query.select(Data.class)
+				.where(Expressions.matchAll())
+				.limit(3)
+				.build());
+
+		search(Query.select(Data.class)
+				.where(Expressions.matchAll())
+				.searchAfter(firstPage.getSearchAfter())
+				.collapse("field1")
+				.limit(3)
+				.build());
+	}
+
+}
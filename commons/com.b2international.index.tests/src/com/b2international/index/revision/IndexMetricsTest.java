@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index.revision;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.b2international.index.IndexClientFactory;
+import com.b2international.index.IndexMetrics;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.index.revision.RevisionFixtures.RevisionData;
+import com.google.common.collect.ImmutableMap;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @since 8.10
+ */
+public class IndexMetricsTest extends BaseRevisionIndexTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Override
+	protected Collection<Class<?>> getTypes() {
+		return List.of(RevisionData.class);
+	}
+
+	@Override
+	protected Map<String, Object> getIndexSettings() {
+		return ImmutableMap.<String, Object>builder()
+				.putAll(super.getIndexSettings())
+				.put(IndexClientFactory.METER_REGISTRY, registry)
+				.build();
+	}
+
+	@Override
+	public void after() {
+		// subsequent tests record into the global registry again
+		index().admin().updateSettings(Map.of(IndexClientFactory.METER_REGISTRY, Metrics.globalRegistry));
+		super.after();
+	}
+
+	@Test
+	public void recordSearchMetrics() throws Exception {
+		indexRevision(MAIN, new RevisionData(STORAGE_KEY1, "field1", "field2"));
+		search(MAIN, Query.select(RevisionData.class).where(Expressions.matchAll()).build());
+
+		final String type = index().admin().mappings().getMapping(RevisionData.class).typeAsString();
+
+		final Timer query = registry.find(IndexMetrics.SEARCH)
+				.tag(IndexMetrics.TAG_REPOSITORY, index().name())
+				.tag(IndexMetrics.TAG_TYPE, type)
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_QUERY)
+				.timer();
+		assertThat(query).isNotNull();
+		assertThat(query.count()).isGreaterThan(0L);
+
+		final Timer convert = registry.find(IndexMetrics.SEARCH)
+				.tag(IndexMetrics.TAG_TYPE, type)
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_CONVERT)
+				.timer();
+		assertThat(convert).isNotNull();
+		assertThat(convert.count()).isGreaterThan(0L);
+
+		final DistributionSummary hits = registry.find(IndexMetrics.SEARCH_HITS)
+				.tag(IndexMetrics.TAG_TYPE, type)
+				.summary();
+		assertThat(hits).isNotNull();
+		assertThat(hits.max()).isEqualTo(1.0);
+	}
+
+	@Test
+	public void recordCommitMetrics() throws Exception {
+		withHook((Hooks.PreCommitHook) staging -> {});
+		commit(MAIN, List.of(new RevisionData(STORAGE_KEY1, "field1", "field2"), new RevisionData(STORAGE_KEY2, "field1", "field2")));
+
+		final Timer write = registry.find(IndexMetrics.REVISION_COMMIT)
+				.tag(IndexMetrics.TAG_BRANCH_DEPTH, "1")
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_WRITE)
+				.tag(IndexMetrics.TAG_HOOK, IndexMetrics.NONE)
+				.timer();
+		assertThat(write).isNotNull();
+		assertThat(write.count()).isEqualTo(1L);
+
+		final Timer preCommit = registry.find(IndexMetrics.REVISION_COMMIT)
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_PRE_COMMIT)
+				.timer();
+		assertThat(preCommit).isNotNull();
+		assertThat(preCommit.count()).isEqualTo(1L);
+
+		final Timer commit = registry.find(IndexMetrics.COMMIT).timer();
+		assertThat(commit).isNotNull();
+		assertThat(commit.count()).isGreaterThan(0L);
+
+		final DistributionSummary documents = registry.find(IndexMetrics.COMMIT_DOCUMENTS).summary();
+		assertThat(documents).isNotNull();
+		assertThat(documents.max()).isGreaterThanOrEqualTo(2.0);
+	}
+
+	@Test
+	public void commitOnDeeperBranch() throws Exception {
+		final String branch = createBranch(MAIN, "a");
+		commit(branch, List.of(new RevisionData(STORAGE_KEY1, "field1", "field2")));
+
+		assertThat(registry.find(IndexMetrics.REVISION_COMMIT)
+				.tag(IndexMetrics.TAG_BRANCH_DEPTH, "2")
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_WRITE)
+				.timer()).isNotNull();
+	}
+
+	@Test
+	public void disabledWithoutRegistries() throws Exception {
+		final IndexMetrics metrics = new IndexMetrics(new CompositeMeterRegistry(), index().name());
+		assertThat(metrics.isEnabled()).isFalse();
+		assertThat(metrics.start()).isNull();
+		assertThat(new IndexMetrics(registry, index().name()).isEnabled()).isTrue();
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index.revision;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.index.revision.RevisionFixtures.RevisionData;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Measures the time it takes to rebase a branch when all revisions have been changed on both the parent and the child branch. Changes touch
+ * different properties on each side, so every revision goes through conflict detection and gets resolved without reporting a conflict.
+ *
+ * @since 8.10
+ */
+public class RevisionBranchMergeBenchmarkTest extends BaseRevisionIndexTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevisionBranchMergeBenchmarkTest.class);
+
+	@Override
+	protected Collection<Class<?>> getTypes() {
+		return ImmutableList.<Class<?>>of(RevisionData.class);
+	}
+
+	@Test
+	public void rebase10k() throws Exception {
+		rebaseChangedOnBothSides(10_000);
+	}
+
+	@Ignore("Long running benchmark, run manually")
+	@Test
+	public void rebase100k() throws Exception {
+		rebaseChangedOnBothSides(100_000);
+	}
+
+	@Ignore("Long running benchmark, run manually")
+	@Test
+	public void rebase1M() throws Exception {
+		rebaseChangedOnBothSides(1_000_000);
+	}
+
+	private void rebaseChangedOnBothSides(int numberOfRevisions) {
+		final List<RevisionData> revisions = IntStream.range(0, numberOfRevisions)
+				.mapToObj(i -> new RevisionData(nextId(), "field1", "field2"))
+				.collect(Collectors.toList());
+		commit(MAIN, revisions);
+
+		final String branch = createBranch(MAIN, "a");
+
+		final StagingArea mainChanges = index().prepareCommit(MAIN);
+		revisions.forEach(revision -> mainChanges.stageChange(revision, new RevisionData(revision.getId(), "field1Changed", "field2")));
+		mainChanges.commit(currentTime(), USER_ID, "Change field1");
+
+		final StagingArea branchChanges = index().prepareCommit(branch);
+		revisions.forEach(revision -> branchChanges.stageChange(revision, new RevisionData(revision.getId(), "field1", "field2Changed")));
+		branchChanges.commit(currentTime(), USER_ID, "Change field2");
+
+		final Stopwatch rebase = Stopwatch.createStarted();
+		branching().prepareMerge(MAIN, branch).merge();
+		rebase.stop();
+
+		LOG.info("Rebasing {} revisions changed on both sides took {}", numberOfRevisions, rebase);
+
+		final RevisionData rebased = getRevision(branch, RevisionData.class, revisions.get(numberOfRevisions - 1).getId());
+		assertEquals("field1Changed", rebased.getField1());
+		assertEquals("field2Changed", rebased.getField2());
+	}
+
+}
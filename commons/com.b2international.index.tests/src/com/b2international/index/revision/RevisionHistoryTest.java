@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -73,6 +74,38 @@ public class RevisionHistoryTest extends BaseRevisionIndexTest {
 		);
 	}
 	
+	@Test
+	public void historyOfPropertyChange() throws Exception {
+		indexRevision(MAIN, newData);
+		final String branchA = createBranch(MAIN, "a");
+		final String branchB = createBranch(MAIN, "b");
+		
+		// the same change staged via full diff and via known property changes should be recorded the same way
+		final Commit fullDiffCommit = indexChange(branchA, newData, changedData);
+		final Commit propertyChangeCommit = index().prepareCommit(branchB)
+				.stageChange(newData, changedData, Set.of("field1", "field2"))
+				.commit(currentTime(), USER_ID, "Commit");
+		
+		assertThat(propertyChangeCommit.getDetails()).containsExactlyInAnyOrderElementsOf(fullDiffCommit.getDetails());
+		assertDocEquals(changedData, getRevision(branchB, RevisionData.class, STORAGE_KEY1));
+	}
+	
+	@Test
+	public void historyOfPropertyChangeWithoutChange() throws Exception {
+		historyOfNewComponent();
+		final Commit commit = index().prepareCommit(MAIN)
+				.stageChange(newData, new RevisionData(STORAGE_KEY1, "field1", "field2"), Set.of("field1"))
+				.commit(currentTime(), USER_ID, "Commit");
+		
+		assertThat(commit).isNull();
+		assertThat(history(STORAGE_KEY1)).hasSize(1);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void historyOfPropertyChangeOnCollection() throws Exception {
+		index().prepareCommit(MAIN).stageChange(newData, changedData, Set.of("terms"));
+	}
+	
 	@Test
 	public void historyOfRemovedComponent() throws Exception {
 		historyOfNewComponent();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,4 +58,18 @@ public class RevisionRangePathQueryTest extends BaseRevisionIndexTest {
 		assertThat(hits).containsOnly(data2);
 	}
 	
-}
\ No newline at end of file
+	@Test
+	public void readRangeSinceTimestamp() throws Exception {
+		final RevisionData data1 = new RevisionData(STORAGE_KEY1, "field1", "field2");
+		final RevisionData data1Changed = new RevisionData(STORAGE_KEY1, "field1Changed", "field2");
+		final RevisionData data2 = new RevisionData(STORAGE_KEY2, "field1", "field2");
+		final RevisionData data3 = new RevisionData(STORAGE_KEY3, "field1", "field2");
+		indexRevision(MAIN, data1, data2);
+		final long since = getMainBranch().getHeadTimestamp();
+		indexChange(MAIN, data1, data1Changed);
+		indexRevision(MAIN, data3);
+		final Iterable<RevisionData> hits = search(RevisionIndex.toRevisionRange(RevisionIndex.toBranchAtPath(MAIN, since), MAIN), Query.select(RevisionData.class).where(Expressions.matchAll()).build());
+		assertThat(hits).containsOnly(data1Changed, data3);
+	}
+	
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import javax.net.ssl.SSLContext;
 import com.b2international.index.mapping.Mappings;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * @since 4.7
  */
@@ -160,6 +162,14 @@ public interface IndexClientFactory {
 	 */
 	String MAPPINGS = "mappings";
 	
+	/**
+	 * Configuration key to specify the {@link MeterRegistry} instance to record index operation metrics into. When not specified, metrics
+	 * are recorded into the global registry.
+	 * 
+	 * @see IndexMetrics
+	 */
+	String METER_REGISTRY = "meterRegistry";
+	
 	//
 	// Default values
 	//
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index;
+
+import java.util.Map;
+
+import com.b2international.index.admin.IndexAdmin;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Records latency and size metrics of index operations into the {@link MeterRegistry} configured via
+ * {@link IndexClientFactory#METER_REGISTRY}, or into the global registry if there is no explicitly configured registry. Every meter is
+ * tagged with the name of the index (the repository) it belongs to.
+ * <p>
+ * Recording is skipped entirely while the registry is a composite registry without any actual registries attached to it (this is the
+ * case when monitoring is disabled), so instrumented code paths only pay for a single check.
+ *
+ * @since 8.10
+ */
+public final class IndexMetrics {
+
+	/**
+	 * Timer of search requests, tagged with the searched document type and the search phase ({@value #PHASE_QUERY} or
+	 * {@value #PHASE_CONVERT}).
+	 */
+	public static final String SEARCH = "index.search";
+
+	/**
+	 * Distribution of the number of hits returned by search requests, tagged with the searched document type.
+	 */
+	public static final String SEARCH_HITS = "index.search.hits";
+
+	/**
+	 * Timer of index writer commits.
+	 */
+	public static final String COMMIT = "index.commit";
+
+	/**
+	 * Distribution of the number of documents indexed or deleted by index writer commits.
+	 */
+	public static final String COMMIT_DOCUMENTS = "index.commit.documents";
+
+	/**
+	 * Timer of revision commits, tagged with the depth of the branch and the commit phase ({@value #PHASE_PRE_COMMIT},
+	 * {@value #PHASE_WRITE} or {@value #PHASE_POST_COMMIT}) and the type of the commit hook ({@value #NONE} in the write phase).
+	 */
+	public static final String REVISION_COMMIT = "revision.commit";
+
+	public static final String PHASE_QUERY = "query";
+	public static final String PHASE_CONVERT = "convert";
+	public static final String PHASE_PRE_COMMIT = "pre_commit";
+	public static final String PHASE_WRITE = "write";
+	public static final String PHASE_POST_COMMIT = "post_commit";
+
+	/**
+	 * Tag value to use when a tag does not apply to a measurement, meters with the same name must always have the same set of tag keys.
+	 */
+	public static final String NONE = "none";
+
+	public static final String TAG_REPOSITORY = "repository";
+	public static final String TAG_TYPE = "type";
+	public static final String TAG_PHASE = "phase";
+	public static final String TAG_HOOK = "hook";
+	public static final String TAG_BRANCH_DEPTH = "branch_depth";
+
+	private final MeterRegistry registry;
+	private final Tags tags;
+
+	public IndexMetrics(MeterRegistry registry, String indexName) {
+		this.registry = registry;
+		this.tags = Tags.of(TAG_REPOSITORY, indexName);
+	}
+
+	/**
+	 * @param admin
+	 * @return an {@link IndexMetrics} instance recording metrics of the given index into its configured registry
+	 */
+	public static IndexMetrics of(IndexAdmin admin) {
+		return new IndexMetrics(getRegistry(admin.settings()), admin.name());
+	}
+
+	private static MeterRegistry getRegistry(Map<String, Object> settings) {
+		final Object registry = settings.get(IndexClientFactory.METER_REGISTRY);
+		return registry instanceof MeterRegistry ? (MeterRegistry) registry : Metrics.globalRegistry;
+	}
+
+	/**
+	 * @return <code>true</code> if recorded metrics are published anywhere, <code>false</code> otherwise
+	 */
+	public boolean isEnabled() {
+		return !(registry instanceof CompositeMeterRegistry) || !((CompositeMeterRegistry) registry).getRegistries().isEmpty();
+	}
+
+	/**
+	 * Starts measuring the latency of an operation.
+	 *
+	 * @return a started sample or <code>null</code> if metrics are disabled
+	 */
+	public Timer.Sample start() {
+		return isEnabled() ? Timer.start(registry) : null;
+	}
+
+	/**
+	 * Records the latency of an operation measured by the given sample.
+	 *
+	 * @param sample - the sample returned by {@link #start()}, may be <code>null</code>
+	 * @param name - the name of the timer
+	 * @param tags - additional tag key-value pairs of the timer
+	 */
+	public void stop(Timer.Sample sample, String name, String... tags) {
+		if (sample != null) {
+			sample.stop(registry.timer(name, this.tags.and(tags)));
+		}
+	}
+
+	/**
+	 * Records a size related metric (eg. number of hits or documents).
+	 *
+	 * @param name - the name of the distribution summary
+	 * @param amount - the amount to record
+	 * @param tags - additional tag key-value pairs of the distribution summary
+	 */
+	public void record(String name, double amount, String... tags) {
+		if (isEnabled()) {
+			DistributionSummary.builder(name)
+				.tags(this.tags.and(tags))
+				.register(registry)
+				.record(amount);
+		}
+	}
+
+	/**
+	 * @param branchPath
+	 * @return the depth of the given branch to use as a tag value, <code>MAIN</code> is at depth 1
+	 */
+	public static String getBranchDepth(String branchPath) {
+		int depth = 1;
+		for (int i = 0; i < branchPath.length(); i++) {
+			if (branchPath.charAt(i) == '/') {
+				depth++;
+			}
+		}
+		return Integer.toString(depth);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilde
 import org.elasticsearch.search.aggregations.metrics.TopHits;
 import org.elasticsearch.search.aggregations.metrics.TopHitsAggregationBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
@@ -81,6 +82,7 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.KnnSearchRequest;
 import co.elastic.clients.elasticsearch.core.KnnSearchResponse;
 import co.elastic.clients.elasticsearch.core.knn_search.KnnSearchQuery;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * @since 5.10
@@ -94,12 +96,14 @@ public class EsDocumentSearcher implements Searcher {
 	private final ObjectMapper mapper;
 	private final int resultWindow;
 	private final int maxTermsCount;
+	private final IndexMetrics metrics;
 
 	public EsDocumentSearcher(EsIndexAdmin admin, ObjectMapper mapper) {
 		this.admin = admin;
 		this.mapper = mapper;
 		this.resultWindow = Integer.parseInt((String) admin.settings().get(IndexClientFactory.RESULT_WINDOW_KEY));
 		this.maxTermsCount = Integer.parseInt((String) admin.settings().get(IndexClientFactory.MAX_TERMS_COUNT_KEY));
+		this.metrics = IndexMetrics.of(admin);
 	}
 
 	@Override
@@ -188,6 +192,12 @@ public class EsDocumentSearcher implements Searcher {
 			reqSource.searchAfter(fromSearchAfterToken(query.getSearchAfter()));
 		}
 		
+		// field collapsing config, returns the top hit for each distinct value of the field
+		if (!Strings.isNullOrEmpty(query.getCollapse())) {
+			checkArgument(!isLocalStreaming && !isLiveStreaming, "Cannot collapse matches on field '%s' when using searchAfter or requesting more items (%s) than the configured result window (%s).", query.getCollapse(), limit, resultWindow);
+			reqSource.collapse(new CollapseBuilder(query.getCollapse()));
+		}
+		
 		// sorting config with a default sort field based on scroll config
 		addSort(primaryMapping, reqSource, query.getSortBy());
 		// disable explain explicitly, just in case
@@ -196,6 +206,7 @@ public class EsDocumentSearcher implements Searcher {
 		reqSource.version(false);
 		
 		// perform search
+		final Timer.Sample querySample = metrics.start();
 		SearchResponse response = null; 
 		try {
 			response = client.search(req);
@@ -242,10 +253,16 @@ public class EsDocumentSearcher implements Searcher {
 			}
 		}
 
+		final String type = primaryMapping.typeAsString();
+		metrics.stop(querySample, IndexMetrics.SEARCH, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_QUERY);
+
 		final Class<T> select = query.getSelection().getSelect();
 		final List<Class<?>> from = query.getSelection().getFrom();
 		
+		final Timer.Sample convertSample = metrics.start();
 		final Hits<T> hits = toHits(select, from, query.getFields(), fetchSource, limit, totalHitCount, query.getSortBy(), allHits.build());
+		metrics.stop(convertSample, IndexMetrics.SEARCH, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_CONVERT);
+		metrics.record(IndexMetrics.SEARCH_HITS, hits.getHits().size(), IndexMetrics.TAG_TYPE, type);
 		admin.log().trace("Executed query '{}' in '{}'", query, w);
 		return hits;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,6 +48,8 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * @since 5.10 
  */
@@ -59,6 +61,7 @@ public class EsDocumentWriter implements Writer {
 	private final Table<Class<?>, String, Object> indexOperations = HashBasedTable.create();
 	private final Multimap<Class<?>, String> deleteOperations = HashMultimap.create();
 	private final ObjectMapper mapper;
+	private final IndexMetrics metrics;
 	private List<BulkUpdate<?>> bulkUpdateOperations = newArrayList();
 	private List<BulkDelete<?>> bulkDeleteOperations = newArrayList();
  	
@@ -66,6 +69,7 @@ public class EsDocumentWriter implements Writer {
 		this.admin = admin;
 		this.searcher = searcher;
 		this.mapper = mapper;
+		this.metrics = IndexMetrics.of(admin);
 	}
 	
 	@Override
@@ -118,6 +122,17 @@ public class EsDocumentWriter implements Writer {
 			return;
 		}
 		
+		final Timer.Sample commitSample = metrics.start();
+		final int numberOfDocuments = indexOperations.size() + deleteOperations.size();
+		try {
+			doCommit();
+		} finally {
+			metrics.stop(commitSample, IndexMetrics.COMMIT);
+			metrics.record(IndexMetrics.COMMIT_DOCUMENTS, numberOfDocuments);
+		}
+	}
+
+	private void doCommit() throws IOException {
 		final Set<DocumentMapping> mappingsToRefresh = Collections.synchronizedSet(newHashSet());
 		final EsClient client = admin.client();
 		// apply bulk updates first
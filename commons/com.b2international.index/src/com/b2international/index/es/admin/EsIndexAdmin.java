@@ -102,7 +102,8 @@ public final class EsIndexAdmin implements IndexAdmin {
 		IndexClientFactory.CLUSTER_PASSWORD,
 		IndexClientFactory.CLUSTER_SSL_CONTEXT,
 		IndexClientFactory.COMMIT_WATERMARK_LOW_KEY,
-		IndexClientFactory.COMMIT_WATERMARK_HIGH_KEY
+		IndexClientFactory.COMMIT_WATERMARK_HIGH_KEY,
+		IndexClientFactory.METER_REGISTRY
 	);
 	
 	private static final int DEFAULT_MAX_NUMBER_OF_VERSION_CONFLICT_RETRIES = 5;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 	private SortBy sortBy = SortBy.DEFAULT;
 	private boolean withScores = false;
 	private boolean cached = false;
+	private String collapse;
 
 	private List<String> fields = Collections.emptyList();
 
@@ -106,6 +107,12 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 		return this;
 	}
 
+	@Override
+	public AfterWhereBuilder<T> collapse(String collapse) {
+		this.collapse = collapse;
+		return this;
+	}
+
 	@Override
 	public Query<T> build() {
 		IndexSelection<T> selection = this.selection.build();
@@ -121,6 +128,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 		query.setWithScores(withScores);
 		query.setFields(fields);
 		query.setCached(cached);
+		query.setCollapse(collapse);
 		return query;
 	}
 
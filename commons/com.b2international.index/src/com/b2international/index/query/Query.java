@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -103,6 +103,16 @@ public final class Query<T> {
 		 * @return
 		 */
 		AfterWhereBuilder<T> cached(boolean cached);
+		
+		/**
+		 * Collapse the matches by the value of the specified field, so that only the top hit (in sort order) is returned for each distinct value.
+		 * Collapsing can be used to get the top N distinct values of a field in a single pass, but it cannot be combined with searchAfter or with
+		 * limits greater than the configured result window.
+		 * 
+		 * @param field - the single valued field to collapse the matches on, or <code>null</code> to disable collapsing
+		 * @return
+		 */
+		AfterWhereBuilder<T> collapse(String field);
 	}
 
 	private String searchAfter;
@@ -113,6 +123,7 @@ public final class Query<T> {
 	private boolean withScores = false;
 	private List<String> fields;
 	private boolean cached = false;
+	private String collapse;
 
 	Query() {}
 
@@ -180,6 +191,14 @@ public final class Query<T> {
 		this.cached = cached;
 	}
 	
+	public String getCollapse() {
+		return collapse;
+	}
+	
+	void setCollapse(String collapse) {
+		this.collapse = collapse;
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -194,6 +213,10 @@ public final class Query<T> {
 			sb.append(" AFTER(").append(searchAfter).append(")");
 		}
 		
+		if (collapse != null) {
+			sb.append(" COLLAPSE(").append(collapse).append(")");
+		}
+		
 		if (selection.getParentScope() != null) {
 			sb.append(" HAS_PARENT(" + selection.getParentScopeDocumentType() + ")");
 		}
@@ -229,7 +252,8 @@ public final class Query<T> {
 			.limit(getLimit())
 			.searchAfter(getSearchAfter())
 			.withScores(isWithScores())
-			.cached(isCached());
+			.cached(isCached())
+			.collapse(getCollapse());
 	}
 	
 	public AfterWhereBuilder<T> withSearchAfter(String searchAfter) {
@@ -240,7 +264,8 @@ public final class Query<T> {
 				.limit(getLimit())
 				.searchAfter(searchAfter)
 				.withScores(isWithScores())
-				.cached(isCached());
+				.cached(isCached())
+				.collapse(getCollapse());
 	}
 
 	/**
@@ -73,6 +73,20 @@ public final class DefaultRevisionIndex implements InternalRevisionIndex, Hooks
 	
 	@Override
 	public <T> T read(final String branchPath, final RevisionIndexRead<T> read) {
+		if (RevisionIndex.isRevRangePath(branchPath)) {
+			final String[] branches = RevisionIndex.getRevisionRangePaths(branchPath);
+			final String basePath = branches[0];
+			final String comparePath = branches[1];
+			// both sides of the range can be a branch@timestamp or a branch base expression
+			final RevisionBranchRef base = resolveBranchRef(basePath);
+			final RevisionBranchRef compare = resolveBranchRef(comparePath);
+			return read(compare.difference(base), read);
+		} else {
+			return read(resolveBranchRef(branchPath), read);
+		}
+	}
+	
+	private RevisionBranchRef resolveBranchRef(final String branchPath) {
 		if (RevisionIndex.isBranchAtPath(branchPath)) {
 			String[] branchAndTimestamp = branchPath.split(RevisionIndex.AT_CHAR);
 			checkArgument(branchAndTimestamp.length == 2, "Invalid <branch>@<timestamp> expression. Got: %s.", branchPath);
@@ -80,23 +94,15 @@ public final class DefaultRevisionIndex implements InternalRevisionIndex, Hooks
 			long timestamp = Long.parseLong(branchAndTimestamp[1]);
 			checkArgument(timestamp >= 0, "Timestamp argument of <branch>@<timestamp> expression must be greater than or equal to zero.");
 			// create an alternative ref that only contains segments up until the specified timestamp
-			final RevisionBranchRef ref = getBranchRef(branch).restrictTo(timestamp);
-			return read(ref, read);
+			return getBranchRef(branch).restrictTo(timestamp);
 		} else if (RevisionIndex.isBaseRefPath(branchPath)) {
 			final String branchPathWithoutBaseRef = branchPath.substring(0, branchPath.length() - 1);
 			if (RevisionBranch.MAIN_PATH.equals(branchPathWithoutBaseRef)) {
 				throw new IllegalArgumentException("Cannot query base of MAIN branch");
 			}
-			return read(getBaseRef(branchPathWithoutBaseRef), read);
-		} else if (RevisionIndex.isRevRangePath(branchPath)) {
-			final String[] branches = RevisionIndex.getRevisionRangePaths(branchPath);
-			final String basePath = branches[0];
-			final String comparePath = branches[1];
-			final RevisionBranchRef base = getBranchRef(basePath);
-			final RevisionBranchRef compare = getBranchRef(comparePath);
-			return read(compare.difference(base), read);
+			return getBaseRef(branchPathWithoutBaseRef);
 		} else {
-			return read(getBranchRef(branchPath), read);
+			return getBranchRef(branchPath);
 		}
 	}
 	
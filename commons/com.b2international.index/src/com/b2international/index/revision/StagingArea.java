@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,12 +20,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
-import static com.google.common.collect.Sets.newHashSet;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +37,7 @@ import com.b2international.commons.Pair;
 import com.b2international.index.BulkUpdate;
 import com.b2international.index.IndexClientFactory;
 import com.b2international.index.IndexException;
+import com.b2international.index.IndexMetrics;
 import com.b2international.index.mapping.DocumentMapping;
 import com.b2international.index.mapping.Mappings;
 import com.b2international.index.query.Expressions;
@@ -45,6 +47,7 @@ import com.b2international.index.revision.Hooks.PostCommitHook;
 import com.b2international.index.revision.Hooks.PreCommitHook;
 import com.b2international.index.util.JsonDiff;
 import com.b2international.index.util.JsonDiff.JsonChange;
+import com.b2international.index.util.Reflections;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -52,8 +55,12 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.flipkart.zjsonpatch.JsonPatch;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.*;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * A place that stores information about what will go into your next commit.
  * 
@@ -340,21 +347,43 @@ public final class StagingArea {
 		if (!isDirty() && !isMerge()) {
 			return null;
 		}
+		final IndexMetrics metrics = IndexMetrics.of(index.admin());
+		final String branchDepth = IndexMetrics.getBranchDepth(branchPath);
+		
 		// run pre-commit hooks
 		final List<Hook> hooks = index.getHooks(); // get a snapshot of the current hooks so we use the same hooks before and after commit
 		hooks.stream()
 			.filter(PreCommitHook.class::isInstance)
 			.map(PreCommitHook.class::cast)
-			.forEach(hook -> hook.run(this));
+			.forEach(hook -> {
+				final Timer.Sample hookSample = metrics.start();
+				hook.run(this);
+				metrics.stop(hookSample, IndexMetrics.REVISION_COMMIT, 
+						IndexMetrics.TAG_BRANCH_DEPTH, branchDepth, 
+						IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_PRE_COMMIT, 
+						IndexMetrics.TAG_HOOK, hook.getClass().getSimpleName());
+			});
 		
 		// commit the registered changes
+		final Timer.Sample writeSample = metrics.start();
 		final Commit commit = index.write(branchPath, timestamp, writer -> doCommit(commitGroupId, timestamp, author, commitComment, writer));
+		metrics.stop(writeSample, IndexMetrics.REVISION_COMMIT, 
+				IndexMetrics.TAG_BRANCH_DEPTH, branchDepth, 
+				IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_WRITE, 
+				IndexMetrics.TAG_HOOK, IndexMetrics.NONE);
 		
 		// run post-commit hooks
 		hooks.stream()
 			.filter(PostCommitHook.class::isInstance)
 			.map(PostCommitHook.class::cast)
-			.forEach(hook -> hook.run(commit));
+			.forEach(hook -> {
+				final Timer.Sample hookSample = metrics.start();
+				hook.run(commit);
+				metrics.stop(hookSample, IndexMetrics.REVISION_COMMIT, 
+						IndexMetrics.TAG_BRANCH_DEPTH, branchDepth, 
+						IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_POST_COMMIT, 
+						IndexMetrics.TAG_HOOK, hook.getClass().getSimpleName());
+			});
 		
 		return commit;
 	}
@@ -761,6 +790,39 @@ public final class StagingArea {
 		return this;
 	}
 	
+	/**
+	 * Stages the given {@link Revision} as CHANGED in this staging area for commit, where the caller knows that the two revisions differ only in the
+	 * given scalar properties (eg. stamping effective times on a large number of revisions). The change is computed from the values of those
+	 * properties only instead of comparing the full JSON representation of the two revisions, while the recorded commit details remain the same.
+	 * <p>
+	 * If the revision is already registered in this staging area or any of the given properties has a <code>null</code> value, the change is computed
+	 * the usual way.
+	 * 
+	 * @param oldRevision
+	 *            - the revision's old state (current state in the index)
+	 * @param changedRevision
+	 *            - the revision's new state, differing from the old state only in the given properties
+	 * @param changedProperties
+	 *            - the names of the mapped, non-collection properties that might differ between the two revisions
+	 * @return - this staging area for chaining
+	 */
+	public StagingArea stageChange(Revision oldRevision, Revision changedRevision, Set<String> changedProperties) {
+		checkArgument(Objects.equals(oldRevision.getId(), changedRevision.getId()), "IDs of oldRevision and changedRevision must match");
+		final DocumentMapping mapping = mappings.getMapping(changedRevision.getClass());
+		for (String property : changedProperties) {
+			checkArgument(!Revision.isRevisionField(property), "Revision field '%s' cannot be staged as a property change", property);
+			checkArgument(!mapping.isCollection(property) && !mapping.isObject(property), "Only scalar properties can be staged as property changes, got: '%s'", property);
+		}
+		ObjectId id = ObjectId.toObjectId(changedRevision, changedRevision.getId());
+		if (stagedObjects.containsKey(id)) {
+			StagedObject currentObject = stagedObjects.get(id);
+			stagedObjects.put(id, currentObject.withObject(changedRevision, true));
+		} else {
+			stagedObjects.put(id, changed(changedRevision, new RevisionDiff(oldRevision, changedRevision, ImmutableSet.copyOf(changedProperties)), true));
+		}
+		return this;
+	}
+	
 	/**
 	 * Stages the given {@link Revision} as REMOVED object in this staging area for commit.
 	 * @param removedRevision - the revision to register
@@ -822,6 +884,12 @@ public final class StagingArea {
 		externalRevisionsToReviseOnMergeSource.put(type, id);
 	}
 	
+	/*
+	 * Merges the changes of fromRef into toRef by staging them in this StagingArea. The memory footprint of a merge is NOT bounded: the
+	 * change details of both branches are compared in memory (conflict detection matches containers and components across document types),
+	 * and every merged object is staged as a Revision with its diff until the merge commit writes them out. Only the index queries loading
+	 * the merged objects are split into chunks of max terms count. Fast-forward merges (no changes on toRef) do not load any change details.
+	 */
 	/*package*/ void merge(RevisionBranchRef fromRef, RevisionBranchRef toRef, boolean squash, RevisionConflictProcessor conflictProcessor, Set<String> exclusions) {
 		checkArgument(this.mergeSources == null, "Already merged another ref to this StagingArea. Commit staged changes to apply them.");
 		this.mergeFromBranchRef = fromRef.difference(toRef);
@@ -833,6 +901,16 @@ public final class StagingArea {
 				.collect(Collectors.toCollection(TreeSet::new));
 		this.squashMerge = squash;
 		
+		// in case of fast-forward merge only check conflicts when there are changes on the to branch, check that first, so fast-forward
+		// merges never load the changes of the from branch, the merge commit only records the merge source
+		List<RevisionCompareDetail> toChangeDetails = null;
+		if (!squash) {
+			toChangeDetails = index.compare(fromRef, toRef, Integer.MAX_VALUE, false).getDetails();
+			if (toChangeDetails.isEmpty()) {
+				return;
+			}
+		}
+		
 		List<RevisionCompareDetail> fromChangeDetails = index.compare(toRef, fromRef, Integer.MAX_VALUE, false).getDetails();
 		
 		if (!CompareUtils.isEmpty(exclusions)) {
@@ -850,11 +928,8 @@ public final class StagingArea {
 			return;
 		}
 		
-		List<RevisionCompareDetail> toChangeDetails = index.compare(fromRef, toRef, Integer.MAX_VALUE, false).getDetails();
-		
-		// in case of fast-forward merge only check conflicts when there are changes on the to branch
-		if (toChangeDetails.isEmpty() && !squash) {
-			return;
+		if (toChangeDetails == null) {
+			toChangeDetails = index.compare(fromRef, toRef, Integer.MAX_VALUE, false).getDetails();
 		}
 		
 		RevisionBranchChangeSet fromChangeSet = new RevisionBranchChangeSet(index, fromRef, fromChangeDetails);
@@ -903,80 +978,105 @@ public final class StagingArea {
 				final Multimap<String, RevisionPropertyDiff> propertyUpdatesByObject = entry.getValue();
 				// if already marked as revised due to donation, skip loading it and handling it
 				final Set<String> updatedIds = Sets.difference(propertyUpdatesByObject.keySet(), externalRevisionsToReviseOnMergeSource.get(type));
-				final Iterable<JsonNode> objectsToUpdate = index.read(toRef, searcher -> {
-					return searcher.search(Query.select(JsonNode.class).from(type).where(Expressions.matchAny(Revision.Fields.ID, updatedIds)).limit(updatedIds.size()).build());
-				});
-				for (JsonNode objectToUpdate : objectsToUpdate) {
-					// read into revision object first
-					Revision oldRevision = mapper.convertValue(objectToUpdate, type);
-					
-					// apply the JSON patch from the updates in place on the same JSON tree
-					ArrayNode patch = mapper.createArrayNode();
-					for (RevisionPropertyDiff diff : propertyUpdatesByObject.get(oldRevision.getId())) {
-						patch.add(diff.asPatch(mapper, objectToUpdate));
+				// load the target documents in chunks of max terms count, the patched objects are staged until commit
+				for (List<String> currentUpdatedIds : Iterables.partition(updatedIds, maxTermsCount)) {
+					final Iterable<JsonNode> objectsToUpdate = index.read(toRef, searcher -> {
+						return searcher.search(Query.select(JsonNode.class).from(type).where(Expressions.matchAny(Revision.Fields.ID, currentUpdatedIds)).limit(currentUpdatedIds.size()).build());
+					});
+					for (JsonNode objectToUpdate : objectsToUpdate) {
+						// read into revision object first, directly from the loaded JSON tree
+						final Revision oldRevision = toRevision(objectToUpdate, type);
+						
+						// apply the JSON patch from the updates in place on the same JSON tree, then read the new object from it
+						ArrayNode patch = mapper.createArrayNode();
+						for (RevisionPropertyDiff diff : propertyUpdatesByObject.get(oldRevision.getId())) {
+							patch.add(diff.asPatch(mapper, objectToUpdate));
+						}
+						JsonPatch.applyInPlace(patch, objectToUpdate);
+						
+						stageChange(oldRevision, toRevision(objectToUpdate, type));
+						revisionsToReviseOnMergeSource.put(type, oldRevision.getId());
 					}
-					JsonPatch.applyInPlace(patch, objectToUpdate);
-					
-					// convert it to Revision again to get the new object
-					// FIXME for the future, figure out how to reduce the number of ser/deser during merge
-					stageChange(oldRevision, mapper.convertValue(objectToUpdate, type));
-					revisionsToReviseOnMergeSource.put(type, oldRevision.getId());
 				}
 			}
 		}
 	}
 
+	/*
+	 * Reads the given JSON tree into a revision object without serializing it into an intermediate buffer first
+	 */
+	private Revision toRevision(JsonNode source, Class<? extends Revision> type) {
+		try {
+			return mapper.treeToValue(source, type);
+		} catch (JsonProcessingException e) {
+			throw new IndexException("Unable to read revision from JSON. Value: " + source, e);
+		}
+	}
+
 	private void collectConflicts(RevisionBranchChangeSet fromChangeSet, List<RevisionCompareDetail> fromChangeDetails, RevisionBranchChangeSet toChangeSet, List<RevisionCompareDetail> toChangeDetails, List<Conflict> conflictsToReport,
 			Map<Class<? extends Revision>, Multimap<String, RevisionPropertyDiff>> propertyUpdatesToApply, RevisionConflictProcessor conflictProcessor) {
 		List<Conflict> conflicts = newArrayList();
 		
-		for (Class<? extends Revision> type : ImmutableSet.copyOf(Iterables.concat(fromChangeSet.getAddedTypes(), toChangeSet.getAddedTypes()))) {
+		// types are processed one by one in a stable order, revision IDs of each type are partitioned and checked in parallel
+		for (Class<? extends Revision> type : sortedTypes(Iterables.concat(fromChangeSet.getAddedTypes(), toChangeSet.getAddedTypes()))) {
 			final Set<String> newRevisionIdsOnSource = fromChangeSet.getAddedIds(type);
 			final Set<String> newRevisionIdsOnTarget = toChangeSet.getAddedIds(type);
-			final Set<String> addedInSourceAndTarget = Sets.intersection(newRevisionIdsOnSource, newRevisionIdsOnTarget);
 			// check for added in both source and target conflicts
-			if (!addedInSourceAndTarget.isEmpty()) {
-				addedInSourceAndTarget.forEach(revisionId -> {
-					conflicts.add(new AddedInSourceAndTargetConflict(ObjectId.of(type, revisionId)));
-				});
-			}
-			// check deleted containers on target and report them as conflicts
-			newRevisionIdsOnSource.forEach(newRevisionOnSource -> {
-				ObjectId newRevisionOnSourceId = ObjectId.of(type, newRevisionOnSource);
-				ObjectId requiredContainer = fromChangeSet.getContainerId(newRevisionOnSourceId);
-				if (requiredContainer != null && toChangeSet.isRemoved(requiredContainer)) {
-					conflicts.add(new AddedInSourceAndDetachedInTargetConflict(newRevisionOnSourceId, requiredContainer));
-				}
+			sortedIds(newRevisionIdsOnSource, newRevisionIdsOnTarget::contains).forEach(revisionId -> {
+				conflicts.add(new AddedInSourceAndTargetConflict(ObjectId.of(type, revisionId)));
 			});
 			
+			// check deleted containers on target and report them as conflicts
+			conflicts.addAll(newRevisionIdsOnSource.parallelStream()
+				.sorted()
+				.map(newRevisionOnSource -> {
+					ObjectId newRevisionOnSourceId = ObjectId.of(type, newRevisionOnSource);
+					ObjectId requiredContainer = fromChangeSet.getContainerId(newRevisionOnSourceId);
+					return requiredContainer != null && toChangeSet.isRemoved(requiredContainer) 
+							? new AddedInSourceAndDetachedInTargetConflict(newRevisionOnSourceId, requiredContainer) 
+							: null;
+				})
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList()));
+			
 			// check deleted containers on source and report them as conflicts
-			newRevisionIdsOnTarget.forEach(newRevisionOnTarget -> {
-				ObjectId newRevisionOnTargetId = ObjectId.of(type, newRevisionOnTarget);
-				ObjectId requiredContainer = toChangeSet.getContainerId(newRevisionOnTargetId);
-				if (requiredContainer != null && fromChangeSet.isRemoved(requiredContainer)) {
-					conflicts.add(new AddedInTargetAndDetachedInSourceConflict(requiredContainer, newRevisionOnTargetId));
-				}
-			});
+			conflicts.addAll(newRevisionIdsOnTarget.parallelStream()
+				.sorted()
+				.map(newRevisionOnTarget -> {
+					ObjectId newRevisionOnTargetId = ObjectId.of(type, newRevisionOnTarget);
+					ObjectId requiredContainer = toChangeSet.getContainerId(newRevisionOnTargetId);
+					return requiredContainer != null && fromChangeSet.isRemoved(requiredContainer) 
+							? new AddedInTargetAndDetachedInSourceConflict(requiredContainer, newRevisionOnTargetId) 
+							: null;
+				})
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList()));
 		}
 		
+		// index property changes only once and only when required to report changed vs. removed and changed vs. changed cases
+		final Supplier<Map<ObjectId, Map<String, RevisionCompareDetail>>> sourcePropertyChangesByObject = Suppliers.memoize(() -> indexPropertyChangesByObject(fromChangeDetails));
+		final Supplier<Map<ObjectId, Map<String, RevisionCompareDetail>>> targetPropertyChangesByObject = Suppliers.memoize(() -> indexPropertyChangesByObject(toChangeDetails));
+		
 		// check property conflicts
-		Set<String> changedRevisionIdsToCheck = newHashSet(toChangeSet.getChangedIds());
-		Set<String> removedRevisionIdsToCheck = newHashSet(toChangeSet.getRemovedIds());
-		for (Class<? extends Revision> type : fromChangeSet.getChangedTypes()) {
+		final Set<String> changedRevisionIdsToCheck = toChangeSet.getChangedIds();
+		final Set<String> removedRevisionIdsToCheck = toChangeSet.getRemovedIds();
+		for (Class<? extends Revision> type : sortedTypes(fromChangeSet.getChangedTypes())) {
 			final DocumentMapping mapping = index.admin().mappings().getMapping(type);
 			final String docType = mapping.typeAsString();
-			Set<String> changedRevisionIdsToMerge = newHashSet(fromChangeSet.getChangedIds(type));
+			final Set<String> changedRevisionIdsToMerge = fromChangeSet.getChangedIds(type);
 			// first handle changed vs. removed
-			Set<String> changedInSourceDetachedInTargetIds = Sets.newHashSet(Sets.intersection(changedRevisionIdsToMerge, removedRevisionIdsToCheck));
+			final List<String> changedInSourceDetachedInTargetIds = sortedIds(changedRevisionIdsToMerge, removedRevisionIdsToCheck::contains);
 			if (!changedInSourceDetachedInTargetIds.isEmpty()) {
 				// report any conflicts
 				changedInSourceDetachedInTargetIds.forEach(changedInSourceDetachedInTargetId -> {
-					List<RevisionPropertyDiff> sourceChanges = fromChangeDetails.stream()
-							.filter(detail -> detail.getObject().id().equals(changedInSourceDetachedInTargetId))
-							.filter(detail -> !detail.isComponentChange())
+					final ObjectId changedInSourceDetachedInTargetObjectId = ObjectId.of(docType, changedInSourceDetachedInTargetId);
+					List<RevisionPropertyDiff> sourceChanges = sourcePropertyChangesByObject.get()
+							.getOrDefault(changedInSourceDetachedInTargetObjectId, Map.of())
+							.values()
+							.stream()
 							.map(change -> new RevisionPropertyDiff(change.getProperty(), change.getFromValue(), change.getValue()))
 							.collect(Collectors.toList());
-					Conflict conflict = conflictProcessor.handleChangedInSourceDetachedInTarget(ObjectId.of(docType, changedInSourceDetachedInTargetId), sourceChanges);
+					Conflict conflict = conflictProcessor.handleChangedInSourceDetachedInTarget(changedInSourceDetachedInTargetObjectId, sourceChanges);
 					if (conflict != null) {
 						conflicts.add(conflict);
 					}
@@ -984,17 +1084,15 @@ public final class StagingArea {
 				// register them as revised on source from the target branch point of view
 				revisionsToReviseOnMergeSource.putAll(type, changedInSourceDetachedInTargetIds);
 				changedInSourceDetachedInTargetIds.forEach(id -> fromChangeSet.removeChanged(type, id));
-				changedRevisionIdsToMerge.removeAll(changedInSourceDetachedInTargetIds);
 			}
 			// then handle changed vs. changed with the conflict processor
-			Set<String> changedInSourceAndTargetIds = Sets.intersection(changedRevisionIdsToMerge, changedRevisionIdsToCheck);
+			final List<String> changedInSourceAndTargetIds = sortedIds(changedRevisionIdsToMerge, id -> changedRevisionIdsToCheck.contains(id) && !removedRevisionIdsToCheck.contains(id));
 			if (!changedInSourceAndTargetIds.isEmpty()) {
-				final Map<String, Map<String, RevisionCompareDetail>> sourcePropertyChangesByObject = indexPropertyChangesByObject(fromChangeDetails);
-				final Map<String, Map<String, RevisionCompareDetail>> targetPropertyChangesByObject = indexPropertyChangesByObject(toChangeDetails);
 				for (String changedInSourceAndTargetId : changedInSourceAndTargetIds) {
 					// take the prop changes from both paths
-					final Map<String, RevisionCompareDetail> sourcePropertyChanges = sourcePropertyChangesByObject.remove(changedInSourceAndTargetId);
-					final Map<String, RevisionCompareDetail> targetPropertyChanges = targetPropertyChangesByObject.remove(changedInSourceAndTargetId);
+					final ObjectId changedInSourceAndTargetObjectId = ObjectId.of(docType, changedInSourceAndTargetId);
+					final Map<String, RevisionCompareDetail> sourcePropertyChanges = sourcePropertyChangesByObject.get().remove(changedInSourceAndTargetObjectId);
+					final Map<String, RevisionCompareDetail> targetPropertyChanges = targetPropertyChangesByObject.get().remove(changedInSourceAndTargetObjectId);
 					
 					if (sourcePropertyChanges != null) {
 						for (Entry<String, RevisionCompareDetail> sourceChange : sourcePropertyChanges.entrySet()) {
@@ -1051,6 +1149,26 @@ public final class StagingArea {
 		conflictsToReport.addAll(conflictProcessor.filterConflicts(this, conflicts));		
 	}
 
+	/*
+	 * Returns the given revision types without duplicates, in the order of their document type to make conflict detection deterministic
+	 */
+	private static List<Class<? extends Revision>> sortedTypes(Iterable<Class<? extends Revision>> types) {
+		return Streams.stream(types)
+				.distinct()
+				.sorted(Comparator.comparing(DocumentMapping::getDocType))
+				.collect(Collectors.toList());
+	}
+	
+	/*
+	 * Filters the given revision IDs in parallel and returns the matching ones in ascending order
+	 */
+	private static List<String> sortedIds(Set<String> revisionIds, Predicate<String> filter) {
+		return revisionIds.parallelStream()
+				.filter(filter)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
 	private void applyRemovedObjects(SetMultimap<Class<? extends Revision>, String> removed, RevisionBranchRef fromRef, RevisionBranchRef toRef,
 			boolean squash) {
 		for (Class<? extends Revision> type : ImmutableSet.copyOf(removed.keySet())) {
@@ -1109,15 +1227,11 @@ public final class StagingArea {
 		}
 	}
 	
-	private Map<String, Map<String, RevisionCompareDetail>> indexPropertyChangesByObject(List<RevisionCompareDetail> changeDetails) {
-		final Map<String, Map<String, RevisionCompareDetail>> propertyChangesByObject = newHashMap();
+	private Map<ObjectId, Map<String, RevisionCompareDetail>> indexPropertyChangesByObject(List<RevisionCompareDetail> changeDetails) {
+		final Map<ObjectId, Map<String, RevisionCompareDetail>> propertyChangesByObject = newHashMap();
 		for (RevisionCompareDetail changeDetail : changeDetails) {
 			if (changeDetail.isPropertyChange()) {
-				final String changedObjectId = changeDetail.getObject().id();
-				if (!propertyChangesByObject.containsKey(changedObjectId)) {
-					propertyChangesByObject.put(changedObjectId, newHashMap());
-				}
-				propertyChangesByObject.get(changedObjectId).put(changeDetail.getProperty(), changeDetail);
+				propertyChangesByObject.computeIfAbsent(changeDetail.getObject(), key -> new LinkedHashMap<>(2)).put(changeDetail.getProperty(), changeDetail);
 			}
 		}
 		return propertyChangesByObject;
@@ -1128,13 +1242,20 @@ public final class StagingArea {
 		public final Revision oldRevision;
 		public final Revision newRevision;
 		
+		private final Set<String> changedProperties;
+		
 		private JsonDiff rawDiff;
 		private JsonDiff diff;
 		private Map<String, RevisionPropertyDiff> propertyChanges;
 		
 		private RevisionDiff(Revision oldRevision, Revision newRevision) {
+			this(oldRevision, newRevision, null);
+		}
+		
+		private RevisionDiff(Revision oldRevision, Revision newRevision, Set<String> changedProperties) {
 			this.oldRevision = oldRevision;
 			this.newRevision = newRevision;
+			this.changedProperties = changedProperties;
 		}
 
 		public boolean hasChanges() {
@@ -1146,6 +1267,9 @@ public final class StagingArea {
 		}
 
 		private JsonDiff rawDiff() {
+			if (rawDiff == null && changedProperties != null) {
+				this.rawDiff = rawPropertyDiff();
+			}
 			if (rawDiff == null) {
 				final DocumentMapping mapping = getMapping();
 				ObjectNode oldRevisionSource = mapper.valueToTree(oldRevision);
@@ -1181,6 +1305,31 @@ public final class StagingArea {
 			return this.rawDiff;
 		}
 		
+		/*
+		 * Produces the same raw changes as the JSON diff would for the known changed scalar properties, or null if a value is missing and the
+		 * full JSON diff is required to produce the correct add/remove operations.
+		 */
+		private JsonDiff rawPropertyDiff() {
+			final DocumentMapping mapping = getMapping();
+			final ArrayNode rawPropertyDiff = mapper.createArrayNode();
+			for (String property : changedProperties) {
+				final Field field = mapping.getField(property);
+				final Object oldValue = Reflections.getValue(oldRevision, field);
+				final Object newValue = Reflections.getValue(newRevision, field);
+				if (oldValue == null || newValue == null) {
+					return null;
+				} else if (oldValue.equals(newValue)) {
+					continue;
+				}
+				final ObjectNode rawChange = rawPropertyDiff.addObject();
+				rawChange.put("op", "replace");
+				rawChange.set("fromValue", mapper.valueToTree(oldValue));
+				rawChange.put("path", "/".concat(property));
+				rawChange.set("value", mapper.valueToTree(newValue));
+			}
+			return new JsonDiff(rawPropertyDiff);
+		}
+		
 		public JsonDiff diff() {
 			if (diff == null) {
 				final DocumentMapping mapping = getMapping();
@@ -19,21 +19,38 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.b2international.commons.CompareUtils;
 import com.b2international.commons.collections.Collections3;
 import com.b2international.commons.exceptions.BadRequestException;
+import com.b2international.index.revision.RevisionIndex;
+import com.b2international.snowowl.core.context.TerminologyResourceContentRequest;
+import com.b2international.snowowl.core.context.TerminologyResourceContentRequestBuilder;
+import com.b2international.snowowl.core.context.TerminologyResourceRequest;
+import com.b2international.snowowl.core.domain.BranchContext;
+import com.b2international.snowowl.core.domain.PageableCollectionResource;
+import com.b2international.snowowl.core.events.AsyncRequest;
+import com.b2international.snowowl.core.request.BranchHeadTimestampRequest;
 import com.b2international.snowowl.core.request.SearchIndexResourceRequest;
+import com.b2international.snowowl.core.request.SearchPageableCollectionResourceRequestBuilder;
 import com.b2international.snowowl.core.request.SearchResourceRequest;
 import com.b2international.snowowl.core.request.SearchResourceRequest.Sort;
 import com.b2international.snowowl.eventbus.IEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.inject.Provider;
@@ -83,6 +100,21 @@ public abstract class AbstractRestService {
 	 */
 	public static final String ATOM_MEDIA_TYPE = MediaType.APPLICATION_ATOM_XML_VALUE + ";charset=UTF-8";
 	
+	/**
+	 * The media type produced by Snow Owl's RESTful API for newline delimited JSON streams (one item per line).
+	 */
+	public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+	
+	/**
+	 * The number of items fetched from the underlying search index in a single round-trip when streaming search results.
+	 */
+	protected static final int STREAM_BATCH_SIZE = 1000;
+	
+	/**
+	 * Timeout for fetching a single batch of items when streaming search results, in minutes.
+	 */
+	private static final long STREAM_BATCH_TIMEOUT = 3L;
+	
 	/**
 	 * Header to use when impersonating a commit request. 
 	 */
@@ -90,6 +122,9 @@ public abstract class AbstractRestService {
 	
 	@Autowired
 	private Provider<IEventBus> bus;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
 
 	private final Pattern sortKeyPattern;
 	
@@ -134,6 +169,84 @@ public abstract class AbstractRestService {
 		return result;
 	}
 
+	/**
+	 * Streams the items matching the given search request as newline delimited JSON. Items are fetched in batches of {@value #STREAM_BATCH_SIZE} using
+	 * <code>searchAfter</code> paging, and each batch is written to the response before the next one is requested, so server memory usage
+	 * remains bounded regardless of the requested number of items.
+	 * <p>
+	 * The head timestamp of the requested path is resolved once before the first batch and every batch is read from <code>path@timestamp</code>,
+	 * so commits made while the response is being written do not affect the streamed items. The first batch is fetched before the response is
+	 * committed, so request errors (eg. invalid search parameters or a missing branch) are reported with the appropriate status code.
+	 * 
+	 * @param <B> the search request builder type
+	 * @param <R> the collection resource response type
+	 * @param searchRequestBuilder - the configured search request builder, its limit will be overwritten with the batch size
+	 * @param path - the resource path to stream the items from
+	 * @param limit - the maximum number of items to stream
+	 * @return a streaming response with one JSON serialized item per line
+	 */
+	protected final <B extends SearchPageableCollectionResourceRequestBuilder<B, BranchContext, R> & TerminologyResourceContentRequestBuilder<R>, R extends PageableCollectionResource<?>> ResponseEntity<StreamingResponseBody> streamItems(
+			final B searchRequestBuilder, 
+			final String path,
+			final int limit) {
+		
+		// resolve request scoped services, they are not accessible from the thread writing the response 
+		final IEventBus bus = getBus();
+		final ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		final String snapshotPath = toSnapshotPath(bus, searchRequestBuilder.getToolingId(), path);
+		final Function<B, R> fetch = builder -> builder.build(snapshotPath).execute(bus).getSync(STREAM_BATCH_TIMEOUT, TimeUnit.MINUTES);
+		
+		final R firstBatch = fetch.apply(searchRequestBuilder.setLimit(Math.min(limit, STREAM_BATCH_SIZE)));
+		
+		final StreamingResponseBody body = out -> {
+			R batch = firstBatch;
+			int remaining = limit;
+			
+			while (true) {
+				for (Object item : batch.getItems()) {
+					if (remaining <= 0) {
+						break;
+					}
+					out.write(writer.writeValueAsBytes(item));
+					out.write('\n');
+					remaining--;
+				}
+				out.flush();
+				
+				if (remaining <= 0 || batch.getItems().size() < batch.getLimit() || Strings.isNullOrEmpty(batch.getSearchAfter())) {
+					break;
+				}
+				
+				batch = fetch.apply(searchRequestBuilder
+						.setSearchAfter(batch.getSearchAfter())
+						.setLimit(Math.min(remaining, STREAM_BATCH_SIZE)));
+			}
+		};
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+				.body(body);
+	}
+	
+	/*
+	 * Pins the given resource path to the current head of its branch, paths that already select a point in time or a revision range are returned unchanged
+	 */
+	private static String toSnapshotPath(final IEventBus bus, final String toolingId, final String path) {
+		if (RevisionIndex.isBranchAtPath(path) || RevisionIndex.isBaseRefPath(path) || RevisionIndex.isRevRangePath(path)) {
+			return path;
+		}
+		
+		final Long headTimestamp = new AsyncRequest<>(
+			new TerminologyResourceRequest<>(toolingId, path, 
+				new TerminologyResourceContentRequest<>(new BranchHeadTimestampRequest())
+			)
+		)
+		.execute(bus)
+		.getSync(STREAM_BATCH_TIMEOUT, TimeUnit.MINUTES);
+		
+		return String.join(RevisionIndex.AT_CHAR, path, Long.toString(headTimestamp));
+	}
+	
 	/**
 	 * Creates a Location header URI builder from this controller class.
 	 * @return an {@link UriComponentsBuilder} instance using this class as base
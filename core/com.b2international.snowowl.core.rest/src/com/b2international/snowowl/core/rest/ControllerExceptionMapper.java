@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -152,6 +152,18 @@ public class ControllerExceptionMapper {
 		return RestApiError.of(ApiError.builder("Invalid JSON representation").developerMessage(ex.getMessage()).build()).build(HttpStatus.BAD_REQUEST.value());
 	}
 	
+	/**
+	 * Exception handler converting {@link NotModifiedException}s, thrown when a conditional read request's <code>If-None-Match</code> precondition
+	 * matches the current state of the requested content, to an empty <em>HTTP 304</em> response.
+	 * 
+	 * @param ex
+	 * @return an empty response with the current entity tag
+	 */
+	@ExceptionHandler
+	public ResponseEntity<Void> handle(final NotModifiedException ex) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ex.getETag()).build();
+	}
+	
 	@ExceptionHandler
 	public ResponseEntity<RestApiError> handle(final ApiErrorException ex) {
 		final ApiError error = ex.toApiError();
@@ -37,6 +37,7 @@ import org.springframework.context.annotation.*;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
@@ -66,6 +67,7 @@ import com.b2international.snowowl.core.ApplicationContext;
 import com.b2international.snowowl.core.attachments.AttachmentRegistry;
 import com.b2international.snowowl.core.authorization.AuthorizedEventBus;
 import com.b2international.snowowl.core.config.SnowOwlConfiguration;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
 import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.core.identity.IdentityProvider;
 import com.b2international.snowowl.core.identity.JWTSupport;
@@ -74,6 +76,7 @@ import com.b2international.snowowl.core.rate.HttpConfig;
 import com.b2international.snowowl.core.repository.JsonSupport;
 import com.b2international.snowowl.core.rest.util.AntPathWildcardMatcher;
 import com.b2international.snowowl.core.rest.util.CsvMessageConverter;
+import com.b2international.snowowl.core.rest.util.MonitoredJackson2HttpMessageConverter;
 import com.b2international.snowowl.core.rest.util.PromiseMethodReturnValueHandler;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -234,7 +237,35 @@ public class SnowOwlApiConfig extends WebMvcConfigurationSupport {
 	@Scope(scopeName = WebApplicationContext.SCOPE_REQUEST, proxyMode = ScopedProxyMode.INTERFACES)
 	public Provider<IEventBus> eventBus(@Autowired HttpServletRequest request) {
 		final String authorization = extractAuthorizationToken(request);
-		return () -> new AuthorizedEventBus(ApplicationContext.getInstance().getServiceChecked(IEventBus.class), ImmutableMap.of(HttpHeaders.AUTHORIZATION, authorization));
+		final Map<String, String> headers = ImmutableMap.<String, String>builder()
+				.put(HttpHeaders.AUTHORIZATION, authorization)
+				.putAll(extractConditionalReadHeaders(request))
+				.build();
+		return () -> new AuthorizedEventBus(ApplicationContext.getInstance().getServiceChecked(IEventBus.class), headers);
+	}
+	
+	/*
+	 * Safe (GET and HEAD) requests are tagged with a key identifying the requested representation, so that ETags can be computed for their
+	 * responses and If-None-Match preconditions can be evaluated before executing the read.
+	 */
+	private Map<String, String> extractConditionalReadHeaders(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+			return Map.of();
+		}
+		
+		final ImmutableMap.Builder<String, String> headers = ImmutableMap.builder();
+		headers.put(ConditionalRead.KEY_HEADER, String.join("|", 
+				request.getRequestURI(), 
+				Strings.nullToEmpty(request.getQueryString()), 
+				Strings.nullToEmpty(request.getHeader(HttpHeaders.ACCEPT)), 
+				Strings.nullToEmpty(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE))));
+		
+		final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+		if (!Strings.isNullOrEmpty(ifNoneMatch)) {
+			headers.put(ConditionalRead.IF_NONE_MATCH_HEADER, ifNoneMatch);
+		}
+		
+		return headers.build();
 	}
 	
 	/*
@@ -311,7 +342,7 @@ public class SnowOwlApiConfig extends WebMvcConfigurationSupport {
 	
 	@Bean
 	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper mapper) {
-		return new MappingJackson2HttpMessageConverter(mapper);
+		return new MonitoredJackson2HttpMessageConverter(mapper, registry());
 	}
 	
 	@Override
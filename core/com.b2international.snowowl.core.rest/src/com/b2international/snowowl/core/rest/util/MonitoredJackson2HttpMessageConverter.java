@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.rest.util;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.b2international.index.IndexMetrics;
+import com.b2international.snowowl.core.monitoring.RequestMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * JSON message converter that measures the time it takes to serialize response bodies.
+ *
+ * @since 8.10
+ * @see RequestMetrics#SERIALIZATION
+ */
+public final class MonitoredJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final IndexMetrics metrics;
+
+	public MonitoredJackson2HttpMessageConverter(ObjectMapper mapper, MeterRegistry registry) {
+		super(mapper);
+		this.metrics = new IndexMetrics(registry, RequestMetrics.GLOBAL);
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+		final Timer.Sample sample = metrics.start();
+		try {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			metrics.stop(sample, RequestMetrics.SERIALIZATION, IndexMetrics.TAG_TYPE, object.getClass().getSimpleName());
+		}
+	}
+
+}
@@ -25,23 +25,29 @@ import com.b2international.snowowl.core.domain.ReindexQuerySerializationTest;
 import com.b2international.snowowl.core.ecl.EclEvaluationRequestTest;
 import com.b2international.snowowl.core.ecl.EclRewriterTest;
 import com.b2international.snowowl.core.events.NotificationsTest;
+import com.b2international.snowowl.core.events.util.ConditionalReadTest;
 import com.b2international.snowowl.core.events.util.PromiseTest;
 import com.b2international.snowowl.core.events.util.RequestTest;
+import com.b2international.snowowl.core.identity.AuthenticationCacheTest;
 import com.b2international.snowowl.core.identity.JWTConfigurationTest;
 import com.b2international.snowowl.core.identity.PermissionTest;
 import com.b2international.snowowl.core.info.RepositoryInfoSerializationTest;
 import com.b2international.snowowl.core.info.ServerInfoSerializationTest;
 import com.b2international.snowowl.core.jobs.JobRequestsTest;
+import com.b2international.snowowl.core.locks.ConcurrentOperationLockManagerTest;
 import com.b2international.snowowl.core.locks.DatastoreLockTests;
 import com.b2international.snowowl.core.locks.LockIndexTests;
 import com.b2international.snowowl.core.merge.MergeConflictSerializationTest;
 import com.b2international.snowowl.core.monitoring.ConsoleProgressMonitorTest;
+import com.b2international.snowowl.core.monitoring.RequestLoggerTest;
+import com.b2international.snowowl.core.request.MultiResourceSearchTest;
 import com.b2international.snowowl.core.request.SearchResourceRequestTest;
 import com.b2international.snowowl.core.request.SortParserTest;
 import com.b2international.snowowl.core.request.io.ImportResponseSerializationTest;
 import com.b2international.snowowl.core.scripts.GroovyScriptEngineTest;
 import com.b2international.snowowl.core.taxonomy.SimpleTaxonomyGraphTest;
 import com.b2international.snowowl.core.uri.ComponentURITest;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCacheTest;
 import com.b2international.snowowl.core.uri.ResourceURITest;
 import com.b2international.snowowl.core.uri.ResourceURIWithQueryTest;
 import com.b2international.snowowl.core.validation.ValidationRuleApiTest;
@@ -58,16 +64,20 @@ import com.b2international.snowowl.core.validation.issue.ValidationIssueApiTest;
 	JWTConfigurationTest.class,
 	// identity/authorization tests
 	PermissionTest.class,
+	AuthenticationCacheTest.class,
 	
 	// unit tests
 	SimpleTaxonomyGraphTest.class,
 	EclEvaluationRequestTest.class,
 	ConsoleProgressMonitorTest.class,
+	RequestLoggerTest.class,
 	ResourceURITest.class,
 	ResourceURIWithQueryTest.class,
+	ResourceURIResolutionCacheTest.class,
 	ComponentURITest.class,
 	NotificationsTest.class,
 	PromiseTest.class,
+	ConditionalReadTest.class,
 	RequestTest.class,
 	AttachmentRegistryTest.class,
 	SortParserTest.class,
@@ -75,6 +85,7 @@ import com.b2international.snowowl.core.validation.issue.ValidationIssueApiTest;
 	ImportResponseSerializationTest.class,
 	ValidationThreadPoolTest.class,
 	SearchResourceRequestTest.class,
+	MultiResourceSearchTest.class,
 	CodeSystemTest.class,
 	GroovyScriptEngineTest.class,
 	EclRewriterTest.class,
@@ -85,6 +96,7 @@ import com.b2international.snowowl.core.validation.issue.ValidationIssueApiTest;
 	// medium integration tests
 	JobRequestsTest.class,
 	DatastoreLockTests.class,
+	ConcurrentOperationLockManagerTest.class,
 	LockIndexTests.class,
 	ValidationIssueApiTest.class,
 	ValidationRuleApiTest.class,
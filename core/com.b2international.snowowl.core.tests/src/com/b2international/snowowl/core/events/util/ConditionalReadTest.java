@@ -0,0 +1,155 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.events.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.NotModifiedException;
+
+/**
+ * @since 8.10
+ */
+public class ConditionalReadTest {
+
+	private static final String REQUEST_KEY = "/snomedct/MAIN/concepts|limit=10|application/json|en";
+	
+	private static final String STATE = "snomedStore/MAIN[0:1-10]";
+	
+	private static final String OTHER_STATE = "resources/MAIN[0:1-5]";
+	
+	@Test
+	public void notTrackedWithoutKey() throws Exception {
+		assertThat(ConditionalRead.of(new RequestHeaders(Map.of()), Object.class)).isEmpty();
+	}
+	
+	@Test
+	public void sameStateSameETag() throws Exception {
+		final String etag1 = etag(read(Map.of()), STATE);
+		final String etag2 = etag(read(Map.of()), STATE);
+		assertThat(etag1).isEqualTo(etag2).startsWith("W/\"");
+	}
+	
+	@Test
+	public void differentStateDifferentETag() throws Exception {
+		final String etag1 = etag(read(Map.of()), STATE);
+		final String etag2 = etag(read(Map.of()), "snomedStore/MAIN[0:1-11]");
+		assertThat(etag1).isNotEqualTo(etag2);
+	}
+	
+	@Test
+	public void differentRequestDifferentETag() throws Exception {
+		final String etag1 = etag(read(Map.of()), STATE);
+		final String etag2 = etag(ConditionalRead.of(new RequestHeaders(Map.of(ConditionalRead.KEY_HEADER, REQUEST_KEY + "&offset=10")), Object.class).get(), STATE);
+		assertThat(etag1).isNotEqualTo(etag2);
+	}
+	
+	@Test
+	public void ifNoneMatch() throws Exception {
+		final String etag = etag(read(Map.of()), STATE);
+		
+		assertThat(read(Map.of(ConditionalRead.IF_NONE_MATCH_HEADER, etag)).isNotModified(etag)).isTrue();
+		assertThat(read(Map.of(ConditionalRead.IF_NONE_MATCH_HEADER, "\"other\", " + etag.substring(2))).isNotModified(etag)).isTrue();
+		assertThat(read(Map.of(ConditionalRead.IF_NONE_MATCH_HEADER, "*")).isNotModified(etag)).isTrue();
+		assertThat(read(Map.of(ConditionalRead.IF_NONE_MATCH_HEADER, "\"other\"")).isNotModified(etag)).isFalse();
+		assertThat(read(Map.of()).isNotModified(etag)).isFalse();
+	}
+	
+	@Test
+	public void allReadsAreTracked() throws Exception {
+		final ConditionalRead read = read(Map.of());
+		assertThat(read.getETag()).isNull();
+		assertThat(read.record(STATE)).isTrue();
+		final String etag = read.getETag();
+		
+		// reading the same state again does not change the tag, reading another one does
+		assertThat(read.record(STATE)).isFalse();
+		assertThat(read.getETag()).isEqualTo(etag);
+		assertThat(read.record(OTHER_STATE)).isFalse();
+		assertThat(read.getETag()).isNotEqualTo(etag);
+	}
+	
+	@Test
+	public void readOrderDoesNotMatter() throws Exception {
+		assertThat(etag(read(Map.of()), STATE, OTHER_STATE)).isEqualTo(etag(read(Map.of()), OTHER_STATE, STATE));
+	}
+	
+	@Test
+	public void concurrentReads() throws Exception {
+		final List<String> states = IntStream.range(0, 100).mapToObj(i -> "snomedStore/MAIN/" + i + "[0:1-10]").collect(Collectors.toList());
+		final ConditionalRead read = read(Map.of());
+		final long firstReads = states.parallelStream().filter(read::record).count();
+		
+		assertThat(firstReads).isEqualTo(1L);
+		assertThat(read.getETag()).isEqualTo(etag(read(Map.of()), states.toArray(String[]::new)));
+	}
+	
+	@Test
+	public void complete() throws Exception {
+		final ResponseHeaders responseHeaders = new ResponseHeaders();
+		read(Map.of()).complete(responseHeaders);
+		assertThat(responseHeaders.headers()).doesNotContainKey(ConditionalRead.ETAG_HEADER);
+		
+		final ConditionalRead read = read(Map.of());
+		read.record(STATE);
+		read.record(OTHER_STATE);
+		read.complete(responseHeaders);
+		final String etag = responseHeaders.headers().get(ConditionalRead.ETAG_HEADER);
+		assertThat(etag).isEqualTo(read.getETag());
+		
+		// the precondition is evaluated against the tag covering all reads
+		final ConditionalRead notModified = read(Map.of(ConditionalRead.IF_NONE_MATCH_HEADER, etag));
+		notModified.record(STATE);
+		assertThat(notModified.isNotModified(notModified.getETag())).isFalse();
+		notModified.record(OTHER_STATE);
+		assertThatThrownBy(() -> notModified.complete(new ResponseHeaders()))
+			.isInstanceOf(NotModifiedException.class)
+			.extracting(e -> ((NotModifiedException) e).getETag())
+			.isEqualTo(etag);
+	}
+	
+	@Test
+	public void nestedRequestHeaders() throws Exception {
+		final Map<String, String> headers = Map.of(
+			"Authorization", "Bearer token",
+			ConditionalRead.KEY_HEADER, REQUEST_KEY,
+			ConditionalRead.IF_NONE_MATCH_HEADER, "*"
+		);
+		assertThat(ConditionalRead.withoutConditionalReadHeaders(headers)).containsOnlyKeys("Authorization");
+	}
+	
+	private static String etag(ConditionalRead read, String... states) {
+		for (String state : states) {
+			read.record(state);
+		}
+		return read.getETag();
+	}
+	
+	private ConditionalRead read(Map<String, String> headers) {
+		final Map<String, String> allHeaders = new HashMap<>(headers);
+		allHeaders.put(ConditionalRead.KEY_HEADER, REQUEST_KEY);
+		return ConditionalRead.of(new RequestHeaders(allHeaders), Object.class).get();
+	}
+	
+}
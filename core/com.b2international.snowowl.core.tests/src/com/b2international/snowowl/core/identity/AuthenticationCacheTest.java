@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.identity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import javax.naming.CommunicationException;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+
+/**
+ * @since 8.10
+ */
+public class AuthenticationCacheTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AuthenticationCacheTest.class);
+
+	private static final Map<String, String> PASSWORDS = Map.of("user1", "secret1", "user2", "secret2");
+	private static final long DIRECTORY_LATENCY_MILLIS = 2L;
+	private static final int BENCHMARK_ITERATIONS = 500;
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	// simulates a directory that verifies the credentials and resolves the permissions of the user
+	private User authenticate(String username, String password) {
+		calls.incrementAndGet();
+		if (password != null && password.equals(PASSWORDS.get(username))) {
+			return new User(username, List.of(Permission.requireAll(Permission.OPERATION_BROWSE, "SNOMEDCT")));
+		} else {
+			return null;
+		}
+	}
+
+	private User slowAuthenticate(String username, String password) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(DIRECTORY_LATENCY_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return authenticate(username, password);
+	}
+
+	@Test
+	public void cacheSuccessfulAuthentication() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		final User user = cache.auth("user1", "secret1", this::authenticate);
+		assertEquals("user1", user.getUserId());
+		assertSame(user, cache.auth("user1", "secret1", this::authenticate));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void cachedAuthenticationRequiresSamePassword() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		cache.auth("user1", "secret1", this::authenticate);
+
+		assertNull(cache.auth("user1", "secret2", this::authenticate));
+		assertNull(cache.auth("user2", "secret1", this::authenticate));
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void cacheFailedAuthentication() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		assertNull(cache.auth("user1", "wrong", this::authenticate));
+		assertNull(cache.auth("user1", "wrong", this::authenticate));
+		assertEquals(1, calls.get());
+
+		// a failed attempt does not prevent the correct password from being verified
+		assertEquals("user1", cache.auth("user1", "secret1", this::authenticate).getUserId());
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void doNotCacheErrors() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		assertThrows(IllegalStateException.class, () -> cache.auth("user1", "secret1", (username, password) -> {
+			throw new IllegalStateException("Directory is unavailable");
+		}));
+
+		assertEquals("user1", cache.auth("user1", "secret1", this::authenticate).getUserId());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void doNotCacheCommunicationErrors() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		final AtomicInteger attempts = new AtomicInteger();
+		// simulates a directory that is unreachable on the first attempt, the provider reports it as an error instead of a failed authentication
+		final BiFunction<String, String, User> unreliableAuthenticate = (username, password) -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new SnowowlRuntimeException("Cannot bind to LDAP server.", new CommunicationException("Connection refused"));
+			}
+			return authenticate(username, password);
+		};
+		
+		assertThrows(SnowowlRuntimeException.class, () -> cache.auth("user1", "secret1", unreliableAuthenticate));
+		assertEquals("user1", cache.auth("user1", "secret1", unreliableAuthenticate).getUserId());
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void invalidate() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache();
+		cache.auth("user1", "secret1", this::authenticate);
+		cache.auth("user2", "secret2", this::authenticate);
+		cache.auth("user2", "wrong", this::authenticate);
+
+		cache.invalidate("user1");
+		cache.auth("user1", "secret1", this::authenticate);
+		cache.auth("user2", "secret2", this::authenticate);
+		assertEquals(4, calls.get());
+
+		cache.invalidateAll();
+		cache.auth("user1", "secret1", this::authenticate);
+		cache.auth("user2", "secret2", this::authenticate);
+		cache.auth("user2", "wrong", this::authenticate);
+		assertEquals(7, calls.get());
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		final AuthenticationCache cache = new AuthenticationCache(0L, 0L, AuthenticationCache.DEFAULT_MAXIMUM_SIZE);
+		cache.auth("user1", "secret1", this::authenticate);
+		cache.auth("user1", "secret1", this::authenticate);
+		cache.auth("user1", "wrong", this::authenticate);
+		cache.auth("user1", "wrong", this::authenticate);
+		assertEquals(4, calls.get());
+	}
+
+	@Test
+	public void throughput() throws Exception {
+		final double uncached = measureThroughput(new AuthenticationCache(0L, 0L, AuthenticationCache.DEFAULT_MAXIMUM_SIZE));
+		final double cached = measureThroughput(new AuthenticationCache());
+
+		LOG.info("Authentication throughput without cache: {} auth/s, with cache: {} auth/s", (long) uncached, (long) cached);
+		assertTrue("Cached authentication throughput should exceed uncached throughput", cached > uncached * 10);
+	}
+
+	private double measureThroughput(AuthenticationCache cache) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+			final String username = (i % 2 == 0) ? "user1" : "user2";
+			cache.auth(username, PASSWORDS.get(username), this::slowAuthenticate);
+		}
+		return BENCHMARK_ITERATIONS / ((System.nanoTime() - start) / 1_000_000_000.0);
+	}
+
+}
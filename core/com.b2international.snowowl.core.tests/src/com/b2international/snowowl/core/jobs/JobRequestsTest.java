@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,7 @@ public class JobRequestsTest {
 	private static final String USER = "test@b2i.sg";
 	private static final String RESULT = "result";
 	private ServiceProvider context;
+	private Index index;
 	private RemoteJobTracker tracker;
 	private IEventBus bus;
 	private ObjectMapper mapper;
@@ -58,15 +59,9 @@ public class JobRequestsTest {
 	@Before
 	public void setup() {
 		mapper = JsonSupport.getDefaultObjectMapper();
-		final Index index = Indexes.createIndex("jobs", mapper, new Mappings(RemoteJobEntry.class));
+		this.index = Indexes.createIndex("jobs", mapper, new Mappings(RemoteJobEntry.class));
 		this.bus = EventBusUtil.getBus();
-		this.tracker = new RemoteJobTracker(index, bus, mapper, 200);
-		this.context = ServiceProvider.EMPTY.inject()
-				.bind(ObjectMapper.class, mapper)
-				.bind(RemoteJobTracker.class, tracker)
-				.bind(IdentityProvider.class, IdentityProvider.UNPROTECTED)
-				.bind(User.class, User.SYSTEM)
-				.build();
+		useTracker(new RemoteJobTracker(index, bus, mapper, 200));
 		this.bus.registerHandler(SystemNotification.ADDRESS, message -> {
 			try {
 				notifications.offer(message.body(RemoteJobNotification.class), 1, TimeUnit.MINUTES);
@@ -194,12 +189,52 @@ public class JobRequestsTest {
 		verifyJobEvents(jobId, 1, 12, 0);
 	}
 	
+	@Test
+	public void scheduleAndMonitorThrottled() throws Exception {
+		// replace the default tracker with one that would only persist progress changes once an hour
+		tracker.dispose();
+		useTracker(new RemoteJobTracker(index, bus, mapper, 200, TimeUnit.HOURS.toMillis(1)));
+		
+		final String jobId = schedule("scheduleAndMonitorThrottled", context -> {
+			final IProgressMonitor monitor = context.service(IProgressMonitor.class);
+			final int totalWork = 10;
+			monitor.beginTask("Reticulating splines...", totalWork);
+			final RemoteJob job = context.service(RemoteJob.class);
+			for (int i = 0; i < totalWork; i++) {
+				// progress is not persisted yet, but still visible through the tracker
+				RemoteJobEntry inProgress = get(job.getId());
+				assertEquals(i * totalWork, inProgress.getCompletionLevel());
+				monitor.worked(1);
+			}
+			return RESULT;
+		});
+		
+		final RemoteJobEntry job = waitDone(jobId);
+		assertEquals(100, job.getCompletionLevel());
+		// verify job events
+		// 1 added
+		// 1 changed - RUNNING
+		// 1 changed - PROGRESS flushed on completion
+		// 1 changed - FINISHED
+		verifyJobEvents(jobId, 1, 3, 0);
+	}
+	
 	@Test(expected = NotFoundException.class)
 	public void scheduleAndClean() throws Exception {
 		final String jobId = schedule("scheduleAndClean", true, context -> RESULT);
 		waitDone(jobId);
 	}
 
+	private void useTracker(RemoteJobTracker tracker) {
+		this.tracker = tracker;
+		this.context = ServiceProvider.EMPTY.inject()
+				.bind(ObjectMapper.class, mapper)
+				.bind(RemoteJobTracker.class, tracker)
+				.bind(IdentityProvider.class, IdentityProvider.UNPROTECTED)
+				.bind(User.class, User.SYSTEM)
+				.build();
+	}
+
 	private void verifyJobEvents(String jobId, int expectedAdded, int expectedChanged, int expectedRemoved) {
 		int numberOfNotificationsToExpect = expectedAdded + expectedChanged + expectedRemoved;
 		
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.locks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.exceptions.LockedException;
+import com.b2international.index.Index;
+import com.b2international.index.Indexes;
+import com.b2international.index.mapping.Mappings;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockContext;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockContextDescriptions;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockTarget;
+import com.b2international.snowowl.core.repository.JsonSupport;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+
+/**
+ * @since 8.10
+ */
+public class ConcurrentOperationLockManagerTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ConcurrentOperationLockManagerTest.class);
+
+	private static final long TIMEOUT = 10_000L;
+
+	private static final String USER = "snowowl";
+
+	private static final String REPOSITORY_ID = "snomedStore";
+
+	private static final int THREADS = 256;
+
+	private static final int ITERATIONS = 200;
+
+	private ConcurrentOperationLockManager manager;
+
+	@Before
+	public void setup() {
+		final Index index = Indexes.createIndex("concurrent-locks", JsonSupport.getDefaultObjectMapper(), new Mappings(DatastoreLockIndexEntry.class));
+		manager = new ConcurrentOperationLockManager(index);
+		manager.unlockAll();
+	}
+
+	@After
+	public void teardown() {
+		manager.dispose();
+	}
+
+	@Test
+	public void lockUnlock() {
+		final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.MAINTENANCE);
+		final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN");
+
+		manager.lock(context, TIMEOUT, target);
+		assertThat(manager.getLocks()).extracting(OperationLockInfo::getTarget).containsOnly(target);
+
+		manager.unlock(context, target);
+		assertThat(manager.getLocks()).isEmpty();
+	}
+
+	@Test
+	public void lockDisjointBranches() {
+		final DatastoreLockContext context1 = createContext(DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockContext context2 = createContext(DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockTarget target1 = new DatastoreLockTarget(REPOSITORY_ID, "MAIN/a");
+		final DatastoreLockTarget target2 = new DatastoreLockTarget(REPOSITORY_ID, "MAIN/b");
+
+		manager.lock(context1, IOperationLockManager.IMMEDIATE, target1);
+		manager.lock(context2, IOperationLockManager.IMMEDIATE, target2);
+
+		assertThat(manager.getLocks()).extracting(OperationLockInfo::getTarget).containsOnly(target1, target2);
+	}
+
+	@Test(expected = LockedException.class)
+	public void lockSameBranchTwice() {
+		final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN");
+
+		manager.lock(context, IOperationLockManager.IMMEDIATE, target);
+		manager.lock(context, 100L, target);
+	}
+
+	@Test
+	public void lockNestedContext() {
+		final DatastoreLockContext parentContext = createContext(DatastoreLockContextDescriptions.CREATE_VERSION);
+		final DatastoreLockContext childContext = new DatastoreLockContext(USER, DatastoreLockContextDescriptions.COMMIT, DatastoreLockContextDescriptions.CREATE_VERSION);
+		final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN");
+
+		manager.lock(parentContext, IOperationLockManager.IMMEDIATE, target);
+		manager.lock(childContext, IOperationLockManager.IMMEDIATE, target);
+		assertThat(manager.getLocks()).extracting(OperationLockInfo::getLevel).containsOnly(2);
+
+		manager.unlock(childContext, target);
+		assertThat(manager.getLocks()).extracting(OperationLockInfo::getLevel).containsOnly(1);
+
+		manager.unlock(parentContext, target);
+		assertThat(manager.getLocks()).isEmpty();
+	}
+
+	@Test(expected = LockedException.class)
+	public void repositoryLockConflictsWithBranchLock() {
+		final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.COMMIT);
+
+		manager.lock(context, IOperationLockManager.IMMEDIATE, new DatastoreLockTarget(REPOSITORY_ID, "MAIN/a"));
+		manager.lock(createContext(DatastoreLockContextDescriptions.MAINTENANCE), 100L, new DatastoreLockTarget(REPOSITORY_ID, null));
+	}
+
+	@Test(expected = LockedException.class)
+	public void lockAllConflictsWithBranchLock() {
+		manager.lock(createContext(DatastoreLockContextDescriptions.MAINTENANCE), IOperationLockManager.IMMEDIATE, DatastoreLockTarget.ALL);
+		manager.lock(createContext(DatastoreLockContextDescriptions.COMMIT), 100L, new DatastoreLockTarget(REPOSITORY_ID, "MAIN/a"));
+	}
+
+	@Test
+	public void unlockById() {
+		final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.MAINTENANCE);
+		manager.lock(context, TIMEOUT, new DatastoreLockTarget(REPOSITORY_ID, "MAIN"));
+
+		final int id = manager.getLocks().get(0).getId();
+		assertThat(manager.unlockById(id)).isTrue();
+		assertThat(manager.getLocks()).isEmpty();
+	}
+
+	@Test
+	public void waiterAcquiresReleasedLock() throws Exception {
+		final DatastoreLockContext holder = createContext(DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockContext waiter = createContext(DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN");
+
+		manager.lock(holder, IOperationLockManager.IMMEDIATE, target);
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<?> waiting = executor.submit(() -> manager.lock(waiter, TIMEOUT, target));
+			Thread.sleep(100L);
+			manager.unlock(holder, target);
+			waiting.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(manager.getLocks()).extracting(OperationLockInfo::getContext).containsOnly(waiter);
+	}
+
+	@Test
+	public void exclusiveAccessUnderContention() throws Exception {
+		final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN");
+		final AtomicInteger holders = new AtomicInteger();
+		final AtomicInteger violations = new AtomicInteger();
+
+		runConcurrently(32, 50, (thread, iteration) -> {
+			final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.COMMIT);
+			manager.lock(context, IOperationLockManager.NO_TIMEOUT, target);
+			try {
+				if (holders.incrementAndGet() != 1) {
+					violations.incrementAndGet();
+				}
+				holders.decrementAndGet();
+			} finally {
+				manager.unlock(context, target);
+			}
+		});
+
+		assertEquals(0, violations.get());
+		assertThat(manager.getLocks()).isEmpty();
+	}
+
+	@Test
+	public void contentionBenchmarkDisjointBranches() throws Exception {
+		final Stopwatch concurrent = Stopwatch.createStarted();
+		runConcurrently(THREADS, ITERATIONS, (thread, iteration) -> {
+			final DatastoreLockContext context = createContext(DatastoreLockContextDescriptions.COMMIT);
+			final DatastoreLockTarget target = new DatastoreLockTarget(REPOSITORY_ID, "MAIN/task-" + thread);
+			manager.lock(context, TIMEOUT, target);
+			manager.unlock(context, target);
+		});
+		concurrent.stop();
+
+		assertThat(manager.getLocks()).isEmpty();
+
+		final int operations = THREADS * ITERATIONS;
+		LOG.info("{} lock/unlock pairs on {} disjoint branches took {} ({} ops/s)",
+				operations,
+				THREADS,
+				concurrent,
+				(long) (operations / Math.max(concurrent.elapsed(TimeUnit.MICROSECONDS) / 1_000_000.0, 0.000_001)));
+	}
+
+	private void runConcurrently(int threads, int iterations, LockAction action) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<?>> futures = Lists.newArrayList();
+
+		try {
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < iterations; i++) {
+						action.run(thread, i);
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+
+			for (Future<?> future : futures) {
+				future.get(1L, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private DatastoreLockContext createContext(final String description) {
+		return new DatastoreLockContext(USER, description);
+	}
+
+	@FunctionalInterface
+	private interface LockAction {
+		void run(int thread, int iteration) throws Exception;
+	}
+
+}
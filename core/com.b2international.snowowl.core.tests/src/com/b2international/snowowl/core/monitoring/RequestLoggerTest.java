@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.StringUtils;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.repository.JsonSupport;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * @since 8.10
+ */
+public class RequestLoggerTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RequestLoggerTest.class);
+
+	private static final int WARMUP_ITERATIONS = 10_000;
+	private static final int BENCHMARK_ITERATIONS = 100_000;
+	private static final long MAX_CAPTURE_OVERHEAD_NANOS = 10_000L;
+	private static final int LARGE_REQUEST_SIZE = 100_000;
+	private static final int LARGE_REQUEST_ITERATIONS = 200;
+
+	private final ObjectMapper mapper = JsonSupport.getDefaultObjectMapper();
+	private final List<String> entries = new CopyOnWriteArrayList<>();
+
+	private RequestLogger createLogger(RequestLogConfiguration config) {
+		return new RequestLogger(mapper, config, entries::add);
+	}
+
+	private static RequestLogConfiguration synchronousConfig() {
+		final RequestLogConfiguration config = new RequestLogConfiguration();
+		config.setQueueSize(0);
+		return config;
+	}
+
+	@Test
+	public void logEveryRequest() throws Exception {
+		final RequestLogger logger = createLogger(synchronousConfig());
+		logger.log(new TestRequest("1"), 5L, Map.of("hits", 10), "test");
+
+		assertEquals(1, entries.size());
+		final Map<?, ?> entry = mapper.readValue(entries.get(0), Map.class);
+		assertEquals("TestRequest", entry.get("type"));
+		assertEquals("1", entry.get("id"));
+		assertEquals(Map.of("responseTime", 5, "hits", 10), entry.get("metrics"));
+		assertEquals(Map.of("sub", "test"), entry.get("user"));
+	}
+
+	@Test
+	public void slowRequestsOnly() throws Exception {
+		final RequestLogConfiguration config = synchronousConfig();
+		config.setSlowRequestThreshold(100L);
+		final RequestLogger logger = createLogger(config);
+
+		logger.log(new TestRequest("fast"), 10L, null, null);
+		logger.log(new TestRequest("slow"), 200L, null, null);
+
+		assertEquals(1, entries.size());
+		assertTrue(entries.get(0).contains("\"slow\""));
+	}
+
+	@Test
+	public void sampleRatePerRequestType() throws Exception {
+		final RequestLogConfiguration config = synchronousConfig();
+		config.setSampleRate(0.0);
+		config.setSampleRates(Map.of("TestRequest", 1.0));
+		final RequestLogger logger = createLogger(config);
+
+		// the type of the innermost request counts
+		logger.log(new MonitoredRequest<>(new TestRequest("1")), 1L, null, null);
+		logger.log(new OtherRequest(), 1L, null, null);
+
+		assertEquals(1, entries.size());
+		assertTrue(entries.get(0).contains("TestRequest"));
+	}
+
+	@Test
+	public void truncateLongEntries() throws Exception {
+		final RequestLogConfiguration config = synchronousConfig();
+		config.setMaxLength(20);
+		final RequestLogger logger = createLogger(config);
+
+		logger.log(new TestRequest("1"), 1L, null, null);
+
+		assertEquals(1, entries.size());
+		assertEquals(23, entries.get(0).length());
+		assertTrue(entries.get(0).endsWith("..."));
+	}
+
+	@Test
+	public void writeQueuedEntriesOnDispose() throws Exception {
+		final RequestLogger logger = createLogger(new RequestLogConfiguration());
+		for (int i = 0; i < 100; i++) {
+			logger.log(new TestRequest(Integer.toString(i)), 1L, null, null);
+		}
+
+		logger.dispose();
+
+		assertEquals(100, entries.size());
+	}
+
+	@Test
+	public void writeRequestStateAtTimeOfLogging() throws Exception {
+		final RequestLogger logger = createLogger(new RequestLogConfiguration());
+		final MutableRequest request = new MutableRequest();
+		request.ids.add("1");
+
+		logger.log(request, 1L, null, null);
+		// changes made after logging must not appear in the entry written by the background thread
+		request.ids.add("2");
+		logger.dispose();
+
+		assertEquals(1, entries.size());
+		final Map<?, ?> entry = mapper.readValue(entries.get(0), Map.class);
+		assertEquals(StringUtils.limitedToString(List.of("1"), 10), entry.get("ids"));
+	}
+
+	@Test
+	public void truncateCollectionsOfNestedProperties() throws Exception {
+		final RequestLogger logger = createLogger(synchronousConfig());
+		final MutableRequest request = new MutableRequest();
+		for (int i = 0; i < 20; i++) {
+			request.ids.add(Integer.toString(i));
+		}
+
+		logger.log(new MonitoredRequest<>(request), 1L, null, null);
+
+		assertEquals(1, entries.size());
+		final Map<?, ?> entry = mapper.readValue(entries.get(0), Map.class);
+		assertEquals("MutableRequest", entry.get("type"));
+		assertEquals(StringUtils.limitedToString(request.ids, 10), entry.get("ids"));
+	}
+
+	/*
+	 * Measures the time spent on the request thread, the per request overhead of capturing a small request must stay below 10 microseconds.
+	 */
+	@Test
+	public void captureOverheadBenchmark() throws Exception {
+		final RequestLogConfiguration config = new RequestLogConfiguration();
+		// every entry must be accepted so that the full capture path is measured instead of the drop path
+		config.setQueueSize(WARMUP_ITERATIONS + BENCHMARK_ITERATIONS);
+		final AtomicInteger written = new AtomicInteger();
+		final RequestLogger logger = new RequestLogger(mapper, config, entry -> written.incrementAndGet());
+		final Request<ServiceProvider, String> request = new MonitoredRequest<>(new TestRequest("1"));
+		final Map<String, Object> metrics = Map.of("hits", 10, "took", 3);
+
+		try {
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				logger.log(request, 1L, metrics, "test");
+			}
+
+			final long start = System.nanoTime();
+			for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+				logger.log(request, 1L, metrics, "test");
+			}
+			final long overhead = (System.nanoTime() - start) / BENCHMARK_ITERATIONS;
+
+			LOG.info("Request log capture overhead: {} ns/request", overhead);
+			assertTrue("Request log capture overhead is " + overhead + " ns/request", overhead < MAX_CAPTURE_OVERHEAD_NANOS);
+		} finally {
+			logger.dispose();
+		}
+
+		assertEquals(WARMUP_ITERATIONS + BENCHMARK_ITERATIONS, written.get());
+	}
+
+	/*
+	 * Capturing a request must not depend on the size of its collections, compares the capture of a request with a large ID list to
+	 * converting the same request with the object mapper, which is what capturing on the request thread used to cost.
+	 */
+	@Test
+	public void captureLargeRequestWithoutSerializing() throws Exception {
+		final MutableRequest request = new MutableRequest();
+		for (int i = 0; i < LARGE_REQUEST_SIZE; i++) {
+			request.ids.add(Integer.toString(i));
+		}
+
+		final RequestLogConfiguration config = new RequestLogConfiguration();
+		config.setQueueSize(2 * LARGE_REQUEST_ITERATIONS);
+		final AtomicInteger written = new AtomicInteger();
+		final RequestLogger logger = new RequestLogger(mapper, config, entry -> written.incrementAndGet());
+
+		final long captureTime;
+		final long convertTime;
+		try {
+			// warm up both paths
+			for (int i = 0; i < LARGE_REQUEST_ITERATIONS; i++) {
+				logger.log(request, 1L, null, null);
+				mapper.convertValue(request, Map.class);
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < LARGE_REQUEST_ITERATIONS; i++) {
+				logger.log(request, 1L, null, null);
+			}
+			captureTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < LARGE_REQUEST_ITERATIONS; i++) {
+				mapper.convertValue(request, Map.class);
+			}
+			convertTime = System.nanoTime() - start;
+		} finally {
+			logger.dispose();
+		}
+
+		LOG.info("Capturing a request with {} IDs: {} ns/request, converting it: {} ns/request", LARGE_REQUEST_SIZE, 
+				captureTime / LARGE_REQUEST_ITERATIONS, convertTime / LARGE_REQUEST_ITERATIONS);
+		assertEquals(2 * LARGE_REQUEST_ITERATIONS, written.get());
+		assertTrue("Capturing a large request should be at least 100 times faster than converting it", captureTime * 100 < convertTime);
+		assertTrue("Request log capture overhead is " + captureTime / LARGE_REQUEST_ITERATIONS + " ns/request", captureTime / LARGE_REQUEST_ITERATIONS < MAX_CAPTURE_OVERHEAD_NANOS);
+	}
+
+	private static final class TestRequest implements Request<ServiceProvider, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		@JsonProperty
+		private final String id;
+
+		private TestRequest(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String execute(ServiceProvider context) {
+			return id;
+		}
+
+	}
+
+	private static final class MutableRequest implements Request<ServiceProvider, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		@JsonProperty
+		private final List<String> ids = new ArrayList<>();
+
+		@Override
+		public String execute(ServiceProvider context) {
+			return String.join(",", ids);
+		}
+
+	}
+
+	private static final class OtherRequest implements Request<ServiceProvider, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String execute(ServiceProvider context) {
+			return "other";
+		}
+
+	}
+
+}
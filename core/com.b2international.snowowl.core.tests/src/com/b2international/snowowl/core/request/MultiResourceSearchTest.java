@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.BadRequestException;
+import com.b2international.commons.options.Options;
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.domain.Concept;
+import com.b2international.snowowl.core.domain.Concepts;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.identity.IdentityProvider;
+import com.b2international.snowowl.core.repository.ApiRequestHandler;
+import com.b2international.snowowl.core.request.ResourceSearchEvaluationRequest.Evaluator;
+import com.b2international.snowowl.eventbus.EventBusUtil;
+import com.b2international.snowowl.eventbus.IEventBus;
+import com.b2international.snowowl.internal.eventbus.EventBus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @since 8.10
+ */
+@SuppressWarnings("restriction")
+public class MultiResourceSearchTest {
+
+	private static final ResourceURI CODESYSTEM_A = ResourceURI.of("codesystems", "a");
+	private static final ResourceURI CODESYSTEM_B = ResourceURI.of("codesystems", "b");
+	private static final ResourceURI CODESYSTEM_C = ResourceURI.of("codesystems", "c");
+
+	private IEventBus bus;
+	private ServiceProvider context;
+
+	@Before
+	public void setup() {
+		this.bus = EventBusUtil.getBus();
+		this.context = ServiceProvider.EMPTY
+			.inject()
+			.bind(MeterRegistry.class, new SimpleMeterRegistry())
+			.bind(IdentityProvider.class, IdentityProvider.UNPROTECTED)
+			.bind(IEventBus.class, bus)
+			.build();
+
+		for (int i = 0; i < 4; i++) {
+			bus.registerHandler(Request.ADDRESS, new ApiRequestHandler(context));
+		}
+	}
+
+	@After
+	public void teardown() {
+		((EventBus) bus).deactivate();
+	}
+
+	@Test
+	public void firstPage() throws Exception {
+		final Concepts page = search(evaluators(), null, 5);
+
+		assertThat(page.getItems()).extracting(Concept::getId).containsExactly("000", "001", "002", "003", "004");
+		assertThat(page.getTotal()).isEqualTo(60);
+		assertThat(page.getSearchAfter()).isNotNull();
+	}
+
+	@Test
+	public void pageThroughAll() throws Exception {
+		// odd page size, so that pages end in the middle of the per-resource pages
+		final List<String> ids = pageThrough(evaluators(), 7);
+
+		assertThat(ids).containsExactlyElementsOf(IntStream.range(0, 60).mapToObj(MultiResourceSearchTest::id).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void pageThroughUnevenResources() throws Exception {
+		final Map<ResourceURI, Evaluator<Concepts>> evaluators = new LinkedHashMap<>();
+		evaluators.put(CODESYSTEM_A, new InMemoryEvaluator(CODESYSTEM_A, IntStream.range(0, 50)));
+		evaluators.put(CODESYSTEM_B, new InMemoryEvaluator(CODESYSTEM_B, IntStream.range(50, 53)));
+		evaluators.put(CODESYSTEM_C, new InMemoryEvaluator(CODESYSTEM_C, IntStream.empty()));
+
+		final List<String> ids = pageThrough(evaluators, 4);
+
+		assertThat(ids).containsExactlyElementsOf(IntStream.range(0, 53).mapToObj(MultiResourceSearchTest::id).collect(Collectors.toList()));
+	}
+
+	@Test(expected = BadRequestException.class)
+	public void invalidSearchAfter() throws Exception {
+		search(evaluators(), "not-a-valid-token!", 5);
+	}
+
+	private List<String> pageThrough(Map<ResourceURI, Evaluator<Concepts>> evaluators, int limit) {
+		final List<String> ids = new ArrayList<>();
+		String searchAfter = null;
+		do {
+			final Concepts page = search(evaluators, searchAfter, limit);
+			page.forEach(concept -> ids.add(concept.getId()));
+			searchAfter = page.getSearchAfter();
+		} while (searchAfter != null);
+		return ids;
+	}
+
+	private Concepts search(Map<ResourceURI, Evaluator<Concepts>> evaluators, String searchAfter, int limit) {
+		return new MultiResourceSearch<Concept, Concepts>(
+			Concepts.class,
+			ConceptSearchRequestEvaluator.OptionKey.AFTER,
+			ConceptSearchRequestEvaluator.OptionKey.LIMIT,
+			Comparator.comparing(Concept::getId),
+			Concepts::new
+		).search(context, evaluators, Options.empty(), searchAfter, limit);
+	}
+
+	private static Map<ResourceURI, Evaluator<Concepts>> evaluators() {
+		// interleaving ids across three resources
+		final Map<ResourceURI, Evaluator<Concepts>> evaluators = new LinkedHashMap<>();
+		evaluators.put(CODESYSTEM_A, new InMemoryEvaluator(CODESYSTEM_A, IntStream.range(0, 60).filter(i -> i % 3 == 0)));
+		evaluators.put(CODESYSTEM_B, new InMemoryEvaluator(CODESYSTEM_B, IntStream.range(0, 60).filter(i -> i % 3 == 1)));
+		evaluators.put(CODESYSTEM_C, new InMemoryEvaluator(CODESYSTEM_C, IntStream.range(0, 60).filter(i -> i % 3 == 2)));
+		return evaluators;
+	}
+
+	private static String id(int i) {
+		return String.format("%03d", i);
+	}
+
+	/*
+	 * Returns concepts sorted by their ID, using the ID of the last returned concept as searchAfter token.
+	 */
+	private static final class InMemoryEvaluator implements Evaluator<Concepts> {
+
+		private final List<Concept> concepts;
+
+		InMemoryEvaluator(ResourceURI resource, IntStream ids) {
+			this.concepts = ids.mapToObj(i -> {
+				final Concept concept = new Concept(resource, "concept");
+				concept.setId(id(i));
+				return concept;
+			}).collect(Collectors.toList());
+		}
+
+		@Override
+		public Concepts evaluate(ResourceURI uri, ServiceProvider context, Options search) {
+			final String after = search.getString(ConceptSearchRequestEvaluator.OptionKey.AFTER);
+			final int limit = search.get(ConceptSearchRequestEvaluator.OptionKey.LIMIT, Integer.class);
+			final List<Concept> items = concepts.stream()
+				.filter(concept -> after == null || concept.getId().compareTo(after) > 0)
+				.limit(limit)
+				.collect(Collectors.toList());
+			final String searchAfter = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+			return new Concepts(items, searchAfter, limit, concepts.size());
+		}
+
+	}
+
+}
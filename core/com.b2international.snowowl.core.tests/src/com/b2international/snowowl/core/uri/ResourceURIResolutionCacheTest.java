@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.uri;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.codesystem.CodeSystem;
+import com.b2international.snowowl.core.uri.ResourceURIPathResolver.PathWithVersion;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCache.ResolvedResource;
+
+/**
+ * @since 8.10
+ */
+public class ResourceURIResolutionCacheTest {
+
+	private final ResourceURIResolutionCache cache = new ResourceURIResolutionCache();
+	private final AtomicInteger resolutions = new AtomicInteger();
+
+	private PathWithVersion resolvePath(String path) {
+		resolutions.incrementAndGet();
+		return new PathWithVersion(path);
+	}
+
+	@Test
+	public void resolveOnce() throws Exception {
+		final ResourceURI uri = CodeSystem.uri("SNOMEDCT/2023-01-31");
+		final PathWithVersion first = cache.getPath(uri, () -> resolvePath("MAIN/2023-01-31"));
+		final PathWithVersion second = cache.getPath(uri, () -> resolvePath("MAIN/2023-01-31"));
+
+		assertSame(first, second);
+		assertEquals(1, resolutions.get());
+	}
+
+	@Test
+	public void pointInTimeResolvedSeparately() throws Exception {
+		cache.getPath(CodeSystem.uri("SNOMEDCT/LATEST"), () -> resolvePath("MAIN/2023-01-31"));
+		final PathWithVersion pointInTime = cache.getPath(CodeSystem.uri("SNOMEDCT/LATEST@20230101"), () -> resolvePath("MAIN/2023-01-31@20230101"));
+
+		assertEquals("MAIN/2023-01-31@20230101", pointInTime.getPath());
+		assertEquals(2, resolutions.get());
+	}
+
+	@Test
+	public void invalidateAll() throws Exception {
+		final ResourceURI uri = CodeSystem.uri("SNOMEDCT/LATEST");
+		final PathWithVersion before = cache.getPath(uri, () -> resolvePath("MAIN/2022-07-31"));
+
+		// a new version has been created
+		cache.invalidateAll();
+
+		final PathWithVersion after = cache.getPath(uri, () -> resolvePath("MAIN/2023-01-31"));
+		assertNotSame(before, after);
+		assertEquals("MAIN/2023-01-31", after.getPath());
+	}
+
+	@Test
+	public void invalidateChangedBranchOnly() throws Exception {
+		final CodeSystem codeSystem = new CodeSystem();
+		codeSystem.setId("SNOMEDCT");
+		codeSystem.setBranchPath("MAIN");
+
+		final ResolvedResource head = cache.getResource("snomed", "SNOMEDCT", () -> new ResolvedResource(codeSystem, CodeSystem.uri("SNOMEDCT"), "MAIN"));
+		final PathWithVersion version = cache.getPath(CodeSystem.uri("SNOMEDCT/2023-01-31"), () -> resolvePath("MAIN/2023-01-31"));
+		final PathWithVersion pointInTime = cache.getPath(CodeSystem.uri("SNOMEDCT/a@20230101"), () -> resolvePath("MAIN@20230101"));
+
+		cache.invalidate("MAIN");
+
+		assertNotSame(head, cache.getResource("snomed", "SNOMEDCT", () -> new ResolvedResource(codeSystem, CodeSystem.uri("SNOMEDCT"), "MAIN")));
+		assertNotSame(pointInTime, cache.getPath(CodeSystem.uri("SNOMEDCT/a@20230101"), () -> resolvePath("MAIN@20230101")));
+		assertSame(version, cache.getPath(CodeSystem.uri("SNOMEDCT/2023-01-31"), () -> resolvePath("MAIN/2023-01-31")));
+	}
+
+	@Test
+	public void doNotCacheResolutionComputedDuringChange() throws Exception {
+		final ResourceURI uri = CodeSystem.uri("SNOMEDCT/LATEST");
+		final PathWithVersion stale = cache.getPath(uri, () -> {
+			cache.invalidateAll();
+			return resolvePath("MAIN/2022-07-31");
+		});
+
+		assertNotSame(stale, cache.getPath(uri, () -> resolvePath("MAIN/2023-01-31")));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2022-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,14 +37,21 @@ public final class RequestContext extends DelegatingContext {
 		bind(RequestContext.class, this);
 	}
 	
-	public <T> void withMetric(String metricKey, T value, BiFunction<T, T, T> merge) {
+	/**
+	 * Merges a value into the metrics of the request. Metrics may be recorded concurrently (eg. by expansions running on multiple threads).
+	 * 
+	 * @param metricKey
+	 * @param value
+	 * @param merge - merges the value into the already recorded value of the same metric
+	 */
+	public synchronized <T> void withMetric(String metricKey, T value, BiFunction<T, T, T> merge) {
 		if (this.metrics == null) {
 			this.metrics = new HashMap<>(2);
 		}
 		this.metrics.merge(metricKey, value, (BiFunction<? super Object, ? super Object, ? extends Object>) merge);
 	}
 	
-	public Map<String, Object> getMetrics() {
+	public synchronized Map<String, Object> getMetrics() {
 		return metrics;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.RequestWithContext;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.eventbus.IHandler;
 import com.b2international.snowowl.eventbus.IMessage;
@@ -34,10 +37,22 @@ public class AuthorizedEventBus implements IEventBus {
 
 	private final IEventBus bus;
 	private final Map<String, String> headers;
+	private final Map<Class<?>, Object> context;
 
 	public AuthorizedEventBus(IEventBus bus, Map<String, String> headers) {
+		this(bus, headers, Map.of());
+	}
+	
+	/**
+	 * @param bus - the event bus to send the messages to
+	 * @param headers - the headers to add to each message
+	 * @param context - the services to bind to the execution context of each {@link Request} sent through this bus
+	 * @since 8.10
+	 */
+	public AuthorizedEventBus(IEventBus bus, Map<String, String> headers, Map<Class<?>, Object> context) {
 		this.bus = checkNotNull(bus);
 		this.headers = headers;
+		this.context = checkNotNull(context);
 	}
 	
 	private Map<String, String> merged(Map<String, String> headers) {
@@ -46,34 +61,48 @@ public class AuthorizedEventBus implements IEventBus {
 		return ImmutableMap.copyOf(mergedHeaders);
 	}
 	
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Object withContext(Object message) {
+		if (context.isEmpty() || !(message instanceof Request<?, ?>)) {
+			return message;
+		} else if (message instanceof RequestWithContext<?, ?> requestWithContext) {
+			// services already bound by the sender take precedence
+			final Map<Class<?>, Object> mergedContext = newHashMap(context);
+			mergedContext.putAll(requestWithContext.getContext());
+			return new RequestWithContext<ServiceProvider, Object>((Request) requestWithContext.next(), mergedContext);
+		} else {
+			return new RequestWithContext<ServiceProvider, Object>((Request) message, context);
+		}
+	}
+	
 	@Override
 	public IEventBus send(String address, Object message, Map<String, String> headers) {
-		return bus.send(address, message, merged(headers));
+		return bus.send(address, withContext(message), merged(headers));
 	}
 
 	@Override
 	public IEventBus send(String address, Object message, Map<String, String> headers, IHandler<IMessage> replyHandler) {
-		return bus.send(address, message, merged(headers), replyHandler);
+		return bus.send(address, withContext(message), merged(headers), replyHandler);
 	}
 
 	@Override
 	public IEventBus send(String address, Object message, String tag, Map<String, String> headers) {
-		return bus.send(address, message, tag, merged(headers));
+		return bus.send(address, withContext(message), tag, merged(headers));
 	}
 
 	@Override
 	public IEventBus send(String address, Object message, String tag, Map<String, String> headers, IHandler<IMessage> replyHandler) {
-		return bus.send(address, message, tag, merged(headers), replyHandler);
+		return bus.send(address, withContext(message), tag, merged(headers), replyHandler);
 	}
 
 	@Override
 	public IEventBus publish(String address, Object message, Map<String, String> headers) {
-		return bus.publish(address, message, merged(headers));
+		return bus.publish(address, withContext(message), merged(headers));
 	}
 
 	@Override
 	public IEventBus publish(String address, Object message, String tag, Map<String, String> headers) {
-		return bus.publish(address, message, tag, merged(headers));
+		return bus.publish(address, withContext(message), tag, merged(headers));
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import com.b2international.snowowl.core.RequestContext;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.events.DelegatingRequest;
 import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
 import com.b2international.snowowl.core.events.util.RequestHeaders;
 import com.b2international.snowowl.core.identity.AuthorizationHeaderVerifier;
 import com.b2international.snowowl.core.identity.IdentityProvider;
@@ -96,7 +97,12 @@ public final class AuthorizedRequest<R> extends DelegatingRequest<ServiceProvide
 			// generate new context with authorized bus instance
 			userContext = context.inject()
 					// and EventBus configured with header to access token in async execution scenarios
-					.bind(IEventBus.class, new AuthorizedEventBus(context.service(IEventBus.class), requestHeaders.headers()))
+					.bind(IEventBus.class, new AuthorizedEventBus(
+						context.service(IEventBus.class), 
+						ConditionalRead.withoutConditionalReadHeaders(requestHeaders.headers()),
+						// nested requests record their content reads into the conditional read of this request
+						context.optionalService(ConditionalRead.class).<Map<Class<?>, Object>>map(read -> Map.of(ConditionalRead.class, read)).orElse(Map.of())
+					))
 					.build();
 		}
 		
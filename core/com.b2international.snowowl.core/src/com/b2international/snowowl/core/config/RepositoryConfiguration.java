@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -59,6 +59,14 @@ public class RepositoryConfiguration {
 	@Pattern(regexp = "^[a-zA-Z0-9_-]{0,32}$")
 	private String deploymentId = "";
 	
+	private boolean concurrentLocks = false;
+	
+	@Min(0)
+	private long jobProgressUpdateInterval = 1000L;
+	
+	@Min(1)
+	private int versioningParallelism = 4;
+	
 	/**
 	 * @return the host
 	 */
@@ -170,4 +178,44 @@ public class RepositoryConfiguration {
 	public void setDeploymentId(String deploymentId) {
 		this.deploymentId = deploymentId;
 	}
+	
+	/**
+	 * @return whether the striped, in-memory operation lock manager should be used instead of the default one
+	 */
+	@JsonProperty
+	public boolean isConcurrentLocks() {
+		return concurrentLocks;
+	}
+	
+	@JsonProperty
+	public void setConcurrentLocks(boolean concurrentLocks) {
+		this.concurrentLocks = concurrentLocks;
+	}
+	
+	/**
+	 * @return the interval in milliseconds at which progress changes of running remote jobs are written to the index, {@code 0} means every change
+	 *         is written immediately
+	 */
+	@JsonProperty
+	public long getJobProgressUpdateInterval() {
+		return jobProgressUpdateInterval;
+	}
+	
+	@JsonProperty
+	public void setJobProgressUpdateInterval(long jobProgressUpdateInterval) {
+		this.jobProgressUpdateInterval = jobProgressUpdateInterval;
+	}
+	
+	/**
+	 * @return the maximum number of resources versioned concurrently when a single version request versions multiple resources
+	 */
+	@JsonProperty
+	public int getVersioningParallelism() {
+		return versioningParallelism;
+	}
+	
+	@JsonProperty
+	public void setVersioningParallelism(int versioningParallelism) {
+		this.versioningParallelism = versioningParallelism;
+	}
 }
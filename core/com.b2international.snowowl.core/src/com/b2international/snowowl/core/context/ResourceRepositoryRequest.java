@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import com.b2international.snowowl.core.events.DelegatingRequest;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.internal.ResourceRepository;
 import com.b2international.snowowl.core.repository.DefaultRepositoryContext;
+import com.b2international.snowowl.core.request.ConditionalReadRequest;
 import com.b2international.snowowl.core.request.RepositoryAwareRequest;
 import com.b2international.snowowl.core.request.RevisionIndexReadRequestTimestampProvider;
 
@@ -68,7 +69,7 @@ public final class ResourceRepositoryRequest<R> extends DelegatingRequest<Servic
 	@Override
 	public R execute(ServiceProvider context) {
 		ResourceRepository resourceRepository = context.service(ResourceRepository.class);
-		RevisionIndexRead<R> read = searcher -> next(prepareRepositoryContext(context, resourceRepository, searcher));
+		RevisionIndexRead<R> read = searcher -> new ConditionalReadRequest<>(next()).execute(prepareRepositoryContext(context, resourceRepository, searcher));
 
 		// read from the latest snapshot of the repository to get the actual timestamp we have to read to satisfy the request
 		Long readTimestamp = resourceRepository.read((searcher) -> getReadTimestamp(prepareRepositoryContext(context, resourceRepository, searcher)));
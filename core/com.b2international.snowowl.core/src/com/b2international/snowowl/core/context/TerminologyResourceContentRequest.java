@@ -20,8 +20,10 @@ import com.b2international.snowowl.core.TerminologyResource;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.events.DelegatingRequest;
 import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
 import com.b2international.snowowl.core.request.BranchRealtimeContentRequest;
 import com.b2international.snowowl.core.request.BranchSnapshotContentRequest;
+import com.b2international.snowowl.core.request.ConditionalReadRequest;
 import com.b2international.snowowl.core.request.RepositoryRequest;
 import com.b2international.snowowl.core.uri.ResourceURIPathResolver;
 import com.b2international.snowowl.core.uri.ResourceURIPathResolver.PathWithVersion;
@@ -48,7 +50,7 @@ public final class TerminologyResourceContentRequest<R> extends DelegatingReques
 	public R execute(TerminologyResourceContext context) {
 		final ResourceURI resourceURI = context.resourceURI();
 		final TerminologyResource resource = context.resource();
-		final PathWithVersion branchPathWithVersion = context.service(ResourceURIPathResolver.class).resolveWithVersion(context, resourceURI, resource);
+		final PathWithVersion branchPathWithVersion = context.service(ResourceURIPathResolver.class).resolveWithVersion(ConditionalRead.untracked(context), resourceURI, resource);
 		final String path = branchPathWithVersion.getPath();
 		final ResourceURI versionResourceURI = branchPathWithVersion.getVersionResourceURI();
 		
@@ -60,7 +62,7 @@ public final class TerminologyResourceContentRequest<R> extends DelegatingReques
 		}
 		
 		return new RepositoryRequest<R>(resource.getToolingId(),
-			snapshot ? new BranchSnapshotContentRequest<>(path, next()) : new BranchRealtimeContentRequest<>(path, next())
+			snapshot ? new BranchSnapshotContentRequest<>(path, new ConditionalReadRequest<>(next())) : new BranchRealtimeContentRequest<>(path, next())
 		).execute(context);
 	}
 }
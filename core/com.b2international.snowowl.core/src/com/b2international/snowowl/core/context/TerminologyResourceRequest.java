@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,9 +26,14 @@ import com.b2international.snowowl.core.TerminologyResource;
 import com.b2international.snowowl.core.branch.Branch;
 import com.b2international.snowowl.core.events.DelegatingRequest;
 import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
+import com.b2international.snowowl.core.identity.Permission;
+import com.b2international.snowowl.core.identity.User;
 import com.b2international.snowowl.core.repository.PathTerminologyResourceResolver;
 import com.b2international.snowowl.core.request.ResourceRequests;
 import com.b2international.snowowl.core.uri.ResourceURIPathResolver;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCache;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCache.ResolvedResource;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Strings;
 
@@ -90,9 +95,31 @@ public final class TerminologyResourceRequest<R> extends DelegatingRequest<Servi
 	private void initialize(ServiceProvider context) {
 		if (resourcePath.startsWith(Branch.MAIN_PATH)) {
 			context.log().warn("Reflective access of terminology resources ('{}/{}') is not the recommended way of accessing resources. Consider using Resource IDs and relative branch path expressions.", toolingId, resourcePath);
-			this.resource = context.service(PathTerminologyResourceResolver.class).resolve(context, toolingId, resourcePath);
-			this.resourceUri = resource.getResourceURI(resourcePath);
-			this.branchPath = resourcePath;
+		}
+		
+		// resource lookups do not contribute to conditional reads, they are tracked by the content reads of the resolved resource instead
+		final ServiceProvider lookupContext = ConditionalRead.untracked(context);
+		// resource lookups are subject to security filtering, share cached resolutions between users who can see every resource only
+		final ResolvedResource resolved = context.optionalService(ResourceURIResolutionCache.class)
+				.filter(cache -> canBrowseAllResources(context))
+				.map(cache -> cache.getResource(toolingId, resourcePath, () -> resolve(lookupContext)))
+				.orElseGet(() -> resolve(lookupContext));
+		
+		this.resource = resolved.getResource();
+		this.resourceUri = resolved.getResourceUri();
+		this.branchPath = resolved.getBranchPath();
+	}
+	
+	private static boolean canBrowseAllResources(ServiceProvider context) {
+		return context.optionalService(User.class)
+				.map(user -> user.isAdministrator() || user.hasPermission(Permission.requireAll(Permission.OPERATION_BROWSE, Permission.ALL)))
+				.orElse(false);
+	}
+	
+	private ResolvedResource resolve(ServiceProvider context) {
+		if (resourcePath.startsWith(Branch.MAIN_PATH)) {
+			final TerminologyResource resource = context.service(PathTerminologyResourceResolver.class).resolve(context, toolingId, resourcePath);
+			return new ResolvedResource(resource, resource.getResourceURI(resourcePath), resourcePath);
 		} else {
 			// resourcePaths are just ID/PATH style expressions to reference content in a terminology repository
 			final ResourceURI referenceResourceUri = ResourceURI.of("any", resourcePath);
@@ -101,12 +128,13 @@ public final class TerminologyResourceRequest<R> extends DelegatingRequest<Servi
 			if (!(resource instanceof TerminologyResource)) {
 				throw new NotFoundException("Terminology Resource", referenceResourceUri.getResourceId());
 			}
-			this.resource = (TerminologyResource) resource;
-			this.resourceUri = this.resource.getResourceURI()
+			final TerminologyResource terminologyResource = (TerminologyResource) resource;
+			final ResourceURI resourceUri = terminologyResource.getResourceURI()
 				.withPath(referenceResourceUri.getPath())
 				.withTimestampPart(referenceResourceUri.getTimestampPart());
-			this.branchPath = context.service(ResourceURIPathResolver.class)
+			final String branchPath = context.service(ResourceURIPathResolver.class)
 				.resolve(context, referenceResourceUri, resource);
+			return new ResolvedResource(terminologyResource, resourceUri, branchPath);
 		}		
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package com.b2international.snowowl.core.domain;
 
+import java.util.Set;
+
 import com.b2international.index.revision.Revision;
 import com.b2international.index.revision.StagingArea;
 
@@ -45,6 +47,13 @@ public final class CappedTransactionContext extends DelegatingTransactionContext
 		commitIfAboveThreshold();
 	}
 	
+	@Override
+	public void update(Revision oldVersion, Revision newVersion, Set<String> changedProperties) {
+		// apply update first
+		super.update(oldVersion, newVersion, changedProperties);
+		commitIfAboveThreshold();
+	}
+	
 	@Override
 	public void delete(Object obj) {
 		super.delete(obj);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package com.b2international.snowowl.core.domain;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.b2international.index.revision.Commit;
 import com.b2international.index.revision.Revision;
@@ -56,6 +57,11 @@ public class DelegatingTransactionContext extends DelegatingBranchContext implem
 	public void update(Revision oldVersion, Revision newVersion) {
 		getDelegate().update(oldVersion, newVersion);
 	}
+	
+	@Override
+	public void update(Revision oldVersion, Revision newVersion, Set<String> changedProperties) {
+		getDelegate().update(oldVersion, newVersion, changedProperties);
+	}
 
 	@Override
 	public void delete(Object obj) {
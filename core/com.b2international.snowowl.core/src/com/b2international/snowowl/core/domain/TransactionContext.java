@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package com.b2international.snowowl.core.domain;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.b2international.index.Doc;
 import com.b2international.index.revision.Commit;
@@ -57,6 +58,18 @@ public interface TransactionContext extends BranchContext, AutoCloseable {
 	 * @param newVersion
 	 */
 	void update(Revision oldVersion, Revision newVersion);
+	
+	/**
+	 * Updates the given revision where only the given scalar properties might differ between the old and the new version (eg. effective time stamping
+	 * during versioning). The change is computed from the given properties only, which is considerably cheaper when updating large number of
+	 * revisions.
+	 * 
+	 * @param oldVersion
+	 * @param newVersion
+	 * @param changedProperties - the properties that might differ between the two versions
+	 * @see StagingArea#stageChange(Revision, Revision, Set)
+	 */
+	void update(Revision oldVersion, Revision newVersion, Set<String> changedProperties);
 
 	/**
 	 * Removes the given Object from this TransactionContext and from the underlying repository on {@link #commit() commit}. If the deletion of the
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.events.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.b2international.commons.exceptions.NotModifiedException;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Streams;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Tracks the state of the content read by a single request execution to compute an entity tag (ETag) for its response. Each
+ * {@link com.b2international.snowowl.core.request.ConditionalReadRequest content read} of the request, including nested reads executed on other
+ * threads or dispatched through the event bus, contributes a key describing the exact state of the content it reads (eg. the branch segments of a
+ * revision index snapshot). The tag is computed from the request key and the distinct state keys, independently of the order of the reads.
+ * <p>
+ * Requests where the computed tag matches one of the tags sent by the client in {@value #IF_NONE_MATCH_HEADER} stop with a
+ * {@link NotModifiedException}: either at the first content read, when the client's tag covers only that state, or after the request has been
+ * executed, when the tag covers all state read by the request.
+ * 
+ * @since 8.10
+ */
+public final class ConditionalRead {
+
+	/**
+	 * Request header carrying an identifier of the originating client request (eg. URI, query parameters and content negotiation headers of an HTTP
+	 * GET request). Conditional reads are only tracked for requests where this header is present.
+	 */
+	public static final String KEY_HEADER = "conditionalReadKey";
+	
+	public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+	
+	public static final String ETAG_HEADER = "ETag";
+	
+	private static final String ANY = "*";
+	
+	private static final String WEAK_PREFIX = "W/";
+	
+	/**
+	 * Conditional read that does not track any state. Bound in place of the request's conditional read to reads that only resolve which content
+	 * the request is going to read (eg. resource and version lookups, which may or may not hit the index depending on the state of the resolution
+	 * caches). The resolved resource is tracked by the content read itself.
+	 * 
+	 * @see #untracked(ServiceProvider)
+	 */
+	public static final ConditionalRead UNTRACKED = new ConditionalRead(null, Set.of());
+	
+	private final String requestKey;
+	private final Set<String> expectedTags;
+	private final SortedSet<String> states = new TreeSet<>();
+	
+	private String etag;
+	
+	private ConditionalRead(String requestKey, Set<String> expectedTags) {
+		this.requestKey = requestKey;
+		this.expectedTags = expectedTags;
+	}
+	
+	/**
+	 * Records the state of a content read. Can be called concurrently by nested reads of the same request.
+	 * 
+	 * @param stateKey - the key describing the state of the content being read
+	 * @return <code>true</code> if this is the first content read of the request, <code>false</code> otherwise
+	 */
+	public boolean record(String stateKey) {
+		if (requestKey == null) {
+			return false;
+		}
+		
+		synchronized (this) {
+			final boolean first = states.isEmpty();
+			if (states.add(stateKey)) {
+				etag = null;
+			}
+			return first;
+		}
+	}
+	
+	/**
+	 * @return the entity tag computed for the content read so far, or <code>null</code> if no content was read yet
+	 */
+	public synchronized String getETag() {
+		if (etag == null && !states.isEmpty()) {
+			final Hasher hasher = Hashing.murmur3_128().newHasher().putString(requestKey, StandardCharsets.UTF_8);
+			states.forEach(state -> hasher.putChar('|').putString(state, StandardCharsets.UTF_8));
+			etag = WEAK_PREFIX + "\"" + hasher.hash() + "\"";
+		}
+		return etag;
+	}
+	
+	/**
+	 * Completes the conditional read after the request has been executed. Sets the entity tag representing all content read by the request on the
+	 * response and evaluates the client's precondition against it.
+	 * 
+	 * @param responseHeaders - the headers of the response
+	 * @throws NotModifiedException - if the client already has the representation identified by the entity tag
+	 */
+	public void complete(ResponseHeaders responseHeaders) {
+		final String etag = getETag();
+		if (etag == null) {
+			return;
+		}
+		
+		responseHeaders.set(ETAG_HEADER, etag);
+		if (isNotModified(etag)) {
+			throw new NotModifiedException(etag);
+		}
+	}
+	
+	/**
+	 * @param etag
+	 * @return <code>true</code> if the client indicated that it already has the representation identified by the given entity tag (using weak
+	 *         comparison)
+	 */
+	public boolean isNotModified(String etag) {
+		return expectedTags.contains(ANY) || expectedTags.contains(withoutWeakPrefix(etag));
+	}
+	
+	private static String withoutWeakPrefix(String etag) {
+		return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+	}
+	
+	/**
+	 * Removes conditional read related headers from the given request headers, so that they are not forwarded to nested requests executed
+	 * asynchronously on behalf of the original request. Nested requests record their reads into the {@link ConditionalRead} of the original
+	 * request instead, which is passed on to them as part of their request context.
+	 * 
+	 * @param headers
+	 * @return the remaining headers
+	 */
+	public static Map<String, String> withoutConditionalReadHeaders(Map<String, String> headers) {
+		if (!headers.containsKey(KEY_HEADER) && !headers.containsKey(IF_NONE_MATCH_HEADER)) {
+			return headers;
+		}
+		return Maps.filterKeys(headers, key -> !KEY_HEADER.equals(key) && !IF_NONE_MATCH_HEADER.equals(key));
+	}
+	
+	/**
+	 * @param context
+	 * @return a context where content reads do not contribute to the entity tag of the request, or the given context if it does not track
+	 *         conditional reads
+	 */
+	public static ServiceProvider untracked(ServiceProvider context) {
+		if (context.optionalService(ConditionalRead.class).isEmpty()) {
+			return context;
+		}
+		return context.inject().bind(ConditionalRead.class, UNTRACKED).build();
+	}
+	
+	public static Optional<ConditionalRead> of(RequestHeaders headers, Class<?> requestType) {
+		final String requestKey = headers.header(KEY_HEADER);
+		if (Strings.isNullOrEmpty(requestKey)) {
+			return Optional.empty();
+		}
+		
+		final String ifNoneMatch = headers.header(IF_NONE_MATCH_HEADER);
+		final Set<String> expectedTags = Strings.isNullOrEmpty(ifNoneMatch) 
+				? Set.of() 
+				: Streams.stream(Splitter.on(',').trimResults().omitEmptyStrings().split(ifNoneMatch))
+					.map(ConditionalRead::withoutWeakPrefix)
+					.collect(Collectors.toSet());
+		
+		return Optional.of(new ConditionalRead(requestType.getName() + "|" + requestKey, expectedTags));
+	}
+	
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.identity;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Caches the outcome of username and password authentications for identity providers that have to consult an external system (eg. an LDAP
+ * directory) to verify credentials.
+ * <p>
+ * Passwords are never stored, successful authentications are remembered by the HMAC-SHA256 digest of the credentials, computed with a key
+ * that is generated randomly for each cache instance. A cached {@link User} (with its permissions) is returned only if the digest of the
+ * presented credentials matches the remembered one, any other password falls through to the actual authentication. Failed authentications
+ * are remembered for a shorter period, so that repeatedly presented invalid credentials do not reach the external system either. Errors
+ * thrown while authenticating are never cached.
+ *
+ * @since 8.10
+ */
+public final class AuthenticationCache {
+
+	public static final long DEFAULT_EXPIRE_AFTER_SECONDS = 300L;
+	public static final long DEFAULT_FAILURE_EXPIRE_AFTER_SECONDS = 30L;
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private static final int KEY_LENGTH = 32;
+
+	private final HashFunction hashFunction;
+	private final Cache<String, AuthenticatedUser> users;
+	private final Cache<HashCode, Boolean> failures;
+
+	public AuthenticationCache() {
+		this(DEFAULT_EXPIRE_AFTER_SECONDS, DEFAULT_FAILURE_EXPIRE_AFTER_SECONDS, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * @param expireAfterSeconds - the number of seconds a successful authentication is remembered, 0 disables caching successful authentications
+	 * @param failureExpireAfterSeconds - the number of seconds a failed authentication is remembered, 0 disables caching failed authentications
+	 * @param maximumSize - the maximum number of remembered successful and failed authentications (each)
+	 */
+	public AuthenticationCache(long expireAfterSeconds, long failureExpireAfterSeconds, int maximumSize) {
+		checkArgument(expireAfterSeconds >= 0L, "Expiration of successful authentications must be non-negative, got '%s'.", expireAfterSeconds);
+		checkArgument(failureExpireAfterSeconds >= 0L, "Expiration of failed authentications must be non-negative, got '%s'.", failureExpireAfterSeconds);
+		checkArgument(maximumSize >= 0, "Maximum size must be non-negative, got '%s'.", maximumSize);
+
+		final byte[] key = new byte[KEY_LENGTH];
+		new SecureRandom().nextBytes(key);
+		this.hashFunction = Hashing.hmacSha256(key);
+
+		this.users = CacheBuilder.newBuilder()
+				.expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS)
+				.maximumSize(maximumSize)
+				.build();
+		this.failures = CacheBuilder.newBuilder()
+				.expireAfterWrite(failureExpireAfterSeconds, TimeUnit.SECONDS)
+				.maximumSize(maximumSize)
+				.build();
+	}
+
+	/**
+	 * Authenticates a username and password, either by using a remembered outcome of an earlier authentication of the same credentials, or by
+	 * calling the given authenticator.
+	 *
+	 * @param username - the username to authenticate
+	 * @param password - the password of the user
+	 * @param authenticator - authenticates the credentials if there is no remembered outcome, returns <code>null</code> if the credentials are
+	 *            incorrect
+	 * @return the authenticated {@link User} or <code>null</code> if the credentials are incorrect
+	 */
+	public User auth(String username, String password, BiFunction<String, String, User> authenticator) {
+		if (username == null || password == null) {
+			return authenticator.apply(username, password);
+		}
+
+		final HashCode credentials = hashFunction.newHasher()
+				.putString(username, StandardCharsets.UTF_8)
+				.putByte((byte) 0)
+				.putString(password, StandardCharsets.UTF_8)
+				.hash();
+
+		final AuthenticatedUser authenticated = users.getIfPresent(username);
+		if (authenticated != null && MessageDigest.isEqual(authenticated.credentials, credentials.asBytes())) {
+			return authenticated.user;
+		}
+
+		if (failures.getIfPresent(credentials) != null) {
+			return null;
+		}
+
+		final User user = authenticator.apply(username, password);
+		if (user == null) {
+			failures.put(credentials, Boolean.TRUE);
+		} else {
+			users.put(username, new AuthenticatedUser(credentials.asBytes(), user));
+		}
+		return user;
+	}
+
+	/**
+	 * Discards the remembered successful authentication of the given user, eg. after the user's password or roles have been changed. Remembered
+	 * failed authentications are not affected.
+	 *
+	 * @param username
+	 */
+	public void invalidate(String username) {
+		users.invalidate(username);
+	}
+
+	/**
+	 * Discards all remembered successful and failed authentications.
+	 */
+	public void invalidateAll() {
+		users.invalidateAll();
+		failures.invalidateAll();
+	}
+
+	private static final class AuthenticatedUser {
+
+		private final byte[] credentials;
+		private final User user;
+
+		private AuthenticatedUser(byte[] credentials, User user) {
+			this.credentials = credentials;
+			this.user = user;
+		}
+
+	}
+
+}
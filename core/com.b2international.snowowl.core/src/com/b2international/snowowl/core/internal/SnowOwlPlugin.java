@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,10 +35,13 @@ import com.b2international.index.revision.TimestampProvider;
 import com.b2international.snowowl.core.DeprecationLogger;
 import com.b2international.snowowl.core.ResourceTypeConverter;
 import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.branch.BranchChangedEvent;
 import com.b2international.snowowl.core.config.IndexSettings;
 import com.b2international.snowowl.core.config.RepositoryConfiguration;
 import com.b2international.snowowl.core.config.SnowOwlConfiguration;
+import com.b2international.snowowl.core.events.Notifications;
 import com.b2international.snowowl.core.monitoring.MonitoringConfiguration;
+import com.b2international.snowowl.core.monitoring.RequestLogger;
 import com.b2international.snowowl.core.plugin.ClassPathScanner;
 import com.b2international.snowowl.core.plugin.Component;
 import com.b2international.snowowl.core.repository.JsonSupport;
@@ -50,11 +53,13 @@ import com.b2international.snowowl.core.setup.Plugin;
 import com.b2international.snowowl.core.terminology.TerminologyRegistry;
 import com.b2international.snowowl.core.uri.DefaultResourceURIPathResolver;
 import com.b2international.snowowl.core.uri.ResourceURIPathResolver;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCache;
 import com.b2international.snowowl.core.version.VersionDocument;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
@@ -88,7 +93,12 @@ public final class SnowOwlPlugin extends Plugin {
 		env.services().registerService(ObjectMapper.class, mapper);
 		
 		env.services().registerService(TerminologyRegistry.class, TerminologyRegistry.INSTANCE);
-		env.services().registerService(ResourceURIPathResolver.class, new DefaultResourceURIPathResolver(true));
+		// resource URI resolutions are cached on the server only, where resource and branch change notifications are available
+		final ResourceURIResolutionCache resolutionCache = env.isServer() ? new ResourceURIResolutionCache() : null;
+		if (resolutionCache != null) {
+			env.services().registerService(ResourceURIResolutionCache.class, resolutionCache);
+		}
+		env.services().registerService(ResourceURIPathResolver.class, new DefaultResourceURIPathResolver(true, resolutionCache));
 		env.services().registerService(PathTerminologyResourceResolver.class, new PathTerminologyResourceResolver.Default());
 		env.services().registerService(TimestampProvider.class, new TimestampProvider.Default());
 		env.services().registerService(ResourceTypeConverter.Registry.class, new ResourceTypeConverter.Registry(scanner));
@@ -111,10 +121,17 @@ public final class SnowOwlPlugin extends Plugin {
 		if (monitoringConfig.isEnabled()) {
 			final PrometheusMeterRegistry registry = createRegistry(monitoringConfig);
 			env.services().registerService(MeterRegistry.class, registry);
+			// index level metrics are recorded into the global registry by default
+			Metrics.addRegistry(registry);
 		} else {
 			// XXX this works like a NOOP registry if you do NOT register any additional registries to it
 			env.services().registerService(MeterRegistry.class, new CompositeMeterRegistry());
 		}
+		
+		// requests are logged on the server only, off the request threads
+		if (env.isServer()) {
+			env.services().registerService(RequestLogger.class, new RequestLogger(mapper, monitoringConfig.getRequestLog()));
+		}
 	}
 	
 	@Override
@@ -131,6 +148,12 @@ public final class SnowOwlPlugin extends Plugin {
 			
 			final RevisionIndex revisionIndex = new DefaultRevisionIndex(resourceIndex, env.service(TimestampProvider.class), mapper);
 			env.services().registerService(ResourceRepository.class, new ResourceRepository(revisionIndex));
+			
+			// branch changes invalidate cached resource URI resolutions pointing to the branch, resource changes are handled on commit
+			final ResourceURIResolutionCache resolutionCache = env.service(ResourceURIResolutionCache.class);
+			env.service(Notifications.class)
+				.ofType(BranchChangedEvent.class)
+				.subscribe(event -> resolutionCache.invalidate(event.getBranch()));
 		}
 	}
 
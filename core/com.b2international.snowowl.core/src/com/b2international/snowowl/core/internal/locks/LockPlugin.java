@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,9 +21,11 @@ import com.b2international.index.mapping.Mappings;
 import com.b2international.snowowl.core.config.IndexSettings;
 import com.b2international.snowowl.core.config.RepositoryConfiguration;
 import com.b2international.snowowl.core.config.SnowOwlConfiguration;
+import com.b2international.snowowl.core.locks.ConcurrentOperationLockManager;
 import com.b2international.snowowl.core.locks.DatastoreLockIndexEntry;
 import com.b2international.snowowl.core.locks.DefaultOperationLockManager;
 import com.b2international.snowowl.core.locks.IOperationLockManager;
+import com.b2international.snowowl.core.locks.IOperationLockManagerAdmin;
 import com.b2international.snowowl.core.plugin.Component;
 import com.b2international.snowowl.core.setup.Environment;
 import com.b2international.snowowl.core.setup.Plugin;
@@ -41,14 +43,17 @@ public final class LockPlugin extends Plugin {
 	@Override
 	public void preRun(SnowOwlConfiguration configuration, Environment env) throws Exception {
 		if (env.isServer()) {
+			final RepositoryConfiguration repositoryConfiguration = env.service(RepositoryConfiguration.class);
 			final Index locksIndex = Indexes.createIndex(
 				LOCKS_INDEX, 
 				env.service(ObjectMapper.class), 
 				new Mappings(DatastoreLockIndexEntry.class), 
-				env.service(IndexSettings.class).forIndex(env.service(RepositoryConfiguration.class).getIndexConfiguration(), LOCKS_INDEX)
+				env.service(IndexSettings.class).forIndex(repositoryConfiguration.getIndexConfiguration(), LOCKS_INDEX)
 			);
 
-			final DefaultOperationLockManager lockManager = new DefaultOperationLockManager(locksIndex);
+			final IOperationLockManagerAdmin lockManager = repositoryConfiguration.isConcurrentLocks()
+					? new ConcurrentOperationLockManager(locksIndex)
+					: new DefaultOperationLockManager(locksIndex);
 			lockManager.addLockTargetListener(new Slf4jOperationLockTargetListener());
 			env.services().registerService(IOperationLockManager.class, lockManager);
 			
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@ package com.b2international.snowowl.core.jobs;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -51,6 +54,7 @@ public final class RemoteJobTracker implements IDisposableService {
 	
 	private static class Holder {
 		private static final Timer CLEANUP_TIMER = new Timer("Remote job cleanup", true);
+		private static final Timer PROGRESS_TIMER = new Timer("Remote job progress", true);
 	}
 	
 	private final class CleanUpTask extends TimerTask {
@@ -82,17 +86,42 @@ public final class RemoteJobTracker implements IDisposableService {
 		}
 	}
 	
+	private final class ProgressFlushTask extends TimerTask {
+		@Override
+		public void run() {
+			try {
+				flushProgress(Set.copyOf(pendingProgress.keySet()));
+			} catch (IllegalStateException e) {
+				cancel();
+			}
+		}
+	}
+	
 	private final AtomicBoolean disposed = new AtomicBoolean(false);
 	private final Index index;
 	private final RemoteJobChangeAdapter listener;
 	private final CleanUpTask cleanUp;
+	private final ProgressFlushTask progressFlush;
 	private final IEventBus events;
 	private final ObjectMapper mapper;
+	private final long progressUpdateInterval;
+	
+	// latest completion levels reported by running jobs that are not yet persisted, keyed by job ID
+	private final ConcurrentMap<String, Integer> pendingProgress = new ConcurrentHashMap<>();
 
 	public RemoteJobTracker(Index index, IEventBus events, ObjectMapper mapper, final long remoteJobCleanUpInterval) {
+		this(index, events, mapper, remoteJobCleanUpInterval, 0L);
+	}
+	
+	/**
+	 * @param progressUpdateInterval - the interval in milliseconds at which completion level changes of running jobs are written to the index; if
+	 *            zero or negative, each change is written immediately
+	 */
+	public RemoteJobTracker(Index index, IEventBus events, ObjectMapper mapper, final long remoteJobCleanUpInterval, final long progressUpdateInterval) {
 		this.index = index;
 		this.events = events;
 		this.mapper = mapper;
+		this.progressUpdateInterval = progressUpdateInterval;
 		this.index.admin().create();
 		
 		// query all existing remote job entries and set their status to FAILED if they are either in SCHEDULED/RUNNING/CANCEL_REQUESTED state
@@ -113,6 +142,12 @@ public final class RemoteJobTracker implements IDisposableService {
 		Job.getJobManager().addJobChangeListener(listener);
 		this.cleanUp = new CleanUpTask();
 		Holder.CLEANUP_TIMER.schedule(cleanUp, remoteJobCleanUpInterval, remoteJobCleanUpInterval);
+		if (progressUpdateInterval > 0L) {
+			this.progressFlush = new ProgressFlushTask();
+			Holder.PROGRESS_TIMER.schedule(progressFlush, progressUpdateInterval, progressUpdateInterval);
+		} else {
+			this.progressFlush = null;
+		}
 	}
 	
 	public RemoteJobs search(Expression query, int limit) {
@@ -125,7 +160,7 @@ public final class RemoteJobTracker implements IDisposableService {
 	}
 	
 	private Hits<RemoteJobEntry> searchHits(Expression query, List<String> fields, SortBy sortBy, int limit) {
-		return index.read(searcher -> {
+		final Hits<RemoteJobEntry> hits = index.read(searcher -> {
 			return searcher.search(
 					Query.select(RemoteJobEntry.class)
 					.fields(fields)
@@ -138,18 +173,46 @@ public final class RemoteJobTracker implements IDisposableService {
 					.build()
 					);
 		});
+		
+		if (pendingProgress.isEmpty() || hits.isEmpty()) {
+			return hits;
+		}
+		
+		return new Hits<>(
+			hits.stream().map(this::withPendingProgress).collect(Collectors.toList()), 
+			hits.getSearchAfter(), 
+			hits.getLimit(), 
+			hits.getTotal()
+		);
 	}
 	
 	
 	@VisibleForTesting
 	public RemoteJobEntry get(String jobId) {
-		return index.read(searcher -> searcher.get(RemoteJobEntry.class, jobId));
+		return withPendingProgress(index.read(searcher -> searcher.get(RemoteJobEntry.class, jobId)));
+	}
+	
+	/*
+	 * Combines the persisted state of a job with the latest completion level reported by the job itself, if it has not been written to the index yet.
+	 */
+	private RemoteJobEntry withPendingProgress(RemoteJobEntry entry) {
+		if (entry == null || entry.getId() == null) {
+			return entry;
+		}
+		
+		final Integer completionLevel = pendingProgress.get(entry.getId());
+		if (completionLevel == null || completionLevel <= entry.getCompletionLevel()) {
+			return entry;
+		}
+		
+		return RemoteJobEntry.from(entry).completionLevel(completionLevel).build();
 	}
 	
 	public void requestCancel(String jobId) {
 		final RemoteJobEntry job = get(jobId);
 		if (job != null && !job.isCancelled()) {
 			LOG.trace("Cancelling job {}", jobId);
+			flushProgress(Set.of(jobId));
 			update(jobId, RemoteJobEntry.WITH_STATE, Map.of("expectedState", RemoteJobState.RUNNING.name(), "newState", RemoteJobState.CANCEL_REQUESTED.name()));
 			Job.getJobManager().cancel(SingleRemoteJobFamily.create(jobId));
 		}
@@ -204,10 +267,50 @@ public final class RemoteJobTracker implements IDisposableService {
 		notifyChanged(jobId);
 	}
 
+	private void updateProgress(String jobId, int completionLevel) {
+		if (progressUpdateInterval > 0L) {
+			pendingProgress.merge(jobId, completionLevel, Math::max);
+		} else {
+			update(jobId, RemoteJobEntry.WITH_COMPLETION_LEVEL, Map.of("completionLevel", completionLevel));
+		}
+	}
+	
+	/*
+	 * Writes the pending completion levels of the given jobs to the index using a single commit.
+	 */
+	private void flushProgress(Set<String> jobIds) {
+		final Map<String, Integer> completionLevels = new HashMap<>();
+		for (String jobId : jobIds) {
+			final Integer completionLevel = pendingProgress.get(jobId);
+			// a newer value reported in the meantime stays pending until the next flush
+			if (completionLevel != null && pendingProgress.remove(jobId, completionLevel)) {
+				completionLevels.put(jobId, completionLevel);
+			}
+		}
+		
+		if (completionLevels.isEmpty()) {
+			return;
+		}
+		
+		index.write(writer -> {
+			completionLevels.forEach((jobId, completionLevel) -> {
+				writer.bulkUpdate(new BulkUpdate<>(RemoteJobEntry.class, RemoteJobEntry.Expressions.id(jobId), RemoteJobEntry.WITH_COMPLETION_LEVEL, Map.of("completionLevel", completionLevel)));
+			});
+			writer.commit();
+			return null;
+		});
+		
+		completionLevels.keySet().forEach(this::notifyChanged);
+	}
+
 	@Override
 	public void dispose() {
 		if (disposed.compareAndSet(false, true)) {
 			this.cleanUp.cancel();
+			if (this.progressFlush != null) {
+				this.progressFlush.cancel();
+				flushProgress(Set.copyOf(pendingProgress.keySet()));
+			}
 			Job.getJobManager().removeJobChangeListener(listener);
 		}
 	}
@@ -230,7 +333,7 @@ public final class RemoteJobTracker implements IDisposableService {
 	}
 	
 	IProgressMonitor createMonitor(String jobId, IProgressMonitor monitor) {
-		return new RemoteJobProgressMonitor(monitor, percentComplete -> update(jobId, RemoteJobEntry.WITH_COMPLETION_LEVEL, Map.of("completionLevel", percentComplete)));
+		return new RemoteJobProgressMonitor(monitor, percentComplete -> updateProgress(jobId, percentComplete));
 	}
 	
 	private class RemoteJobChangeAdapter extends JobChangeAdapter {
@@ -265,6 +368,7 @@ public final class RemoteJobTracker implements IDisposableService {
 				final RemoteJob job = (RemoteJob) event.getJob();
 				final String jobId = job.getId();
 				LOG.trace("Running job {}", jobId);
+				flushProgress(Set.of(jobId));
 				update(jobId, RemoteJobEntry.WITH_RUNNING, Map.of("state", RemoteJobState.RUNNING.name(), "startDate", System.currentTimeMillis()));
 			}
 		}
@@ -275,6 +379,7 @@ public final class RemoteJobTracker implements IDisposableService {
 				final RemoteJob job = (RemoteJob) event.getJob();
 				final String jobId = job.getId();
 				LOG.trace("Completed job {}", jobId);
+				flushProgress(Set.of(jobId));
 				final RemoteJobEntry jobEntry = get(jobId);
 				if (jobEntry == null) {
 					LOG.warn("Missing job entry in RemoteJobTracker#done '{}'", jobId);
@@ -0,0 +1,615 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.locks;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.runtime.ListenerList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.exceptions.LockedException;
+import com.b2international.index.Hits;
+import com.b2international.index.Index;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.core.identity.User;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockContext;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockContextDescriptions;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockTarget;
+import com.b2international.snowowl.core.locks.DatastoreLockIndexEntry.Builder;
+import com.google.common.base.Strings;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.math.IntMath;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An {@link IOperationLockManager} implementation that keeps granted locks in memory and guards them with striped
+ * {@link ReentrantLock}s instead of a single monitor.
+ * <p>
+ * Branch-level targets are assigned to a single stripe based on their hash code, so lock requests for disjoint branches
+ * rarely contend with each other, and waiters are only woken up when a lock is released on their own stripe.
+ * Repository-level targets and {@link DatastoreLockTarget#ALL} (which are only used by administrative operations) acquire
+ * all stripes. Changes are persisted to the lock index asynchronously; changes that pile up while a previous write is
+ * in progress are written in a single batch with a single commit.
+ *
+ * @since 8.10
+ */
+public final class ConcurrentOperationLockManager implements IOperationLockManagerAdmin, IDisposableService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ConcurrentOperationLockManager.class);
+
+	private static final String ACQUIRE_FAILED_MESSAGE = "Could not acquire requested lock(s)";
+
+	private static final String RELEASE_FAILED_MESSAGE = "Could not release requested lock(s).";
+
+	private static final int DEFAULT_STRIPES = 64;
+
+	private static final int EXPECTED_LOCKS = 128;
+
+	private static final long PERSIST_SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+	private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+	private final Index index;
+
+	private final ListenerList<IOperationLockTargetListener> listenerList = new ListenerList<>();
+
+	private final ReentrantLock[] stripes;
+
+	private final Condition[] releasedConditions;
+
+	/*
+	 * Branch-level locks; the entry of a target is only modified while holding the target's stripe. Repository-level
+	 * and global locks are kept separately and only modified while holding all stripes, so they can be inspected safely
+	 * while holding any single stripe.
+	 */
+	private final ConcurrentMap<DatastoreLockTarget, OperationLock> branchLocks = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<DatastoreLockTarget, OperationLock> wideLocks = new ConcurrentHashMap<>();
+
+	private final BitSet assignedIds = new BitSet(EXPECTED_LOCKS);
+
+	private int lastAssignedId = 0;
+
+	private final ExecutorService persistExecutor;
+
+	private final Map<String, Optional<DatastoreLockIndexEntry>> pendingChanges = Maps.newLinkedHashMap();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+	public ConcurrentOperationLockManager(Index index) {
+		this(index, DEFAULT_STRIPES);
+	}
+
+	public ConcurrentOperationLockManager(Index index, int numberOfStripes) {
+		this.index = index;
+		this.index.admin().create();
+
+		final int stripeCount = IntMath.ceilingPowerOfTwo(Math.max(1, numberOfStripes));
+		this.stripes = new ReentrantLock[stripeCount];
+		this.releasedConditions = new Condition[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new ReentrantLock();
+			releasedConditions[i] = stripes[i].newCondition();
+		}
+
+		this.persistExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("lock-persister-%d")
+				.setDaemon(true)
+				.build());
+
+		loadPersistedLocks();
+	}
+
+	@Override
+	public void lock(final DatastoreLockContext context, final long timeoutMillis, final DatastoreLockTarget firstTarget, final DatastoreLockTarget... restTargets) throws LockedException {
+		lock(context, timeoutMillis, Lists.asList(firstTarget, restTargets));
+	}
+
+	@Override
+	public void lock(final DatastoreLockContext context, final long timeoutMillis, final Iterable<DatastoreLockTarget> targets) throws LockedException {
+
+		final List<DatastoreLockTarget> targetList = ImmutableList.copyOf(targets);
+		final int[] stripeIndexes = getStripeIndexes(targetList);
+		final Map<DatastoreLockTarget, DatastoreLockContext> alreadyLockedTargets = Maps.newHashMap();
+		final long startTimeMillis = getCurrentTimeMillis();
+
+		try {
+			while (true) {
+
+				long remainingTimeoutMillis = NO_TIMEOUT;
+				int waitStripeIndex = -1;
+				lockStripes(stripeIndexes);
+
+				try {
+
+					alreadyLockedTargets.clear();
+					final DatastoreLockTarget conflictingTarget = canContextLockTargets(context, targetList, alreadyLockedTargets);
+
+					if (alreadyLockedTargets.isEmpty()) {
+						for (final DatastoreLockTarget newTarget : targetList) {
+							final OperationLock existingLock = acquireLock(context, newTarget);
+							fireTargetAcquired(existingLock.getTarget(), context);
+						}
+
+						return;
+					}
+
+					if (NO_TIMEOUT != timeoutMillis) {
+						remainingTimeoutMillis = timeoutMillis - (getCurrentTimeMillis() - startTimeMillis);
+						if (remainingTimeoutMillis < 1L) {
+							throwLockedException(ACQUIRE_FAILED_MESSAGE, context, alreadyLockedTargets);
+						}
+					}
+
+					// wait on the stripe where the conflicting lock will be released; wide locks signal all stripes on release
+					waitStripeIndex = isWide(conflictingTarget) ? stripeIndexes[0] : getStripeIndex(conflictingTarget);
+
+				} finally {
+					unlockStripes(stripeIndexes, waitStripeIndex);
+				}
+
+				try {
+					if (NO_TIMEOUT == remainingTimeoutMillis) {
+						releasedConditions[waitStripeIndex].await();
+					} else {
+						releasedConditions[waitStripeIndex].await(remainingTimeoutMillis, TimeUnit.MILLISECONDS);
+					}
+				} finally {
+					stripes[waitStripeIndex].unlock();
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new SnowowlRuntimeException(e);
+		}
+	}
+
+	@Override
+	public void unlock(final DatastoreLockContext context, final DatastoreLockTarget firstTarget, final DatastoreLockTarget... restTargets) throws IllegalArgumentException {
+		unlock(context, Lists.asList(firstTarget, restTargets));
+	}
+
+	@Override
+	public void unlock(final DatastoreLockContext context, final Iterable<DatastoreLockTarget> targets) throws IllegalArgumentException {
+
+		final List<DatastoreLockTarget> targetList = ImmutableList.copyOf(targets);
+		final int[] stripeIndexes = getStripeIndexes(targetList);
+		final Map<DatastoreLockTarget, DatastoreLockContext> notUnlockedTargets = Maps.newHashMap();
+
+		lockStripes(stripeIndexes);
+
+		try {
+
+			for (final DatastoreLockTarget targetToUnlock : targetList) {
+				final OperationLock existingLock = getLock(targetToUnlock);
+				if (existingLock != null && !canContextUnlock(context, existingLock)) {
+					notUnlockedTargets.put(existingLock.getTarget(), existingLock.getContext());
+				}
+			}
+
+			if (!notUnlockedTargets.isEmpty()) {
+				LOG.warn(buildMessage(RELEASE_FAILED_MESSAGE, context, notUnlockedTargets));
+			}
+
+			for (final DatastoreLockTarget targetToUnlock : targetList) {
+
+				final OperationLock existingLock = getLock(targetToUnlock);
+				final boolean ownedByContext = existingLock != null && existingLock.getAllContexts().contains(context);
+
+				try {
+					if (ownedByContext) {
+						existingLock.release(context);
+					}
+					fireTargetReleased(targetToUnlock, context);
+				} finally {
+					/*
+					 * Release requests coming from a context that is not registered as a lock owner remove the lock
+					 * entirely, similarly to how DefaultOperationLockManager handles them.
+					 */
+					if (existingLock != null && (!ownedByContext || !existingLock.isLocked())) {
+						removeLock(existingLock);
+					}
+				}
+			}
+
+			signalReleased(stripeIndexes);
+
+		} finally {
+			unlockStripes(stripeIndexes, -1);
+		}
+	}
+
+	@Override
+	public void unlockAll() {
+
+		final int[] stripeIndexes = getAllStripeIndexes();
+		lockStripes(stripeIndexes);
+
+		try {
+			for (final OperationLock lockToRemove : getExistingLocks()) {
+				removeLock(lockToRemove);
+			}
+
+			signalReleased(stripeIndexes);
+		} finally {
+			unlockStripes(stripeIndexes, -1);
+		}
+	}
+
+	@Override
+	public boolean unlockById(final int id) {
+
+		final int[] stripeIndexes = getAllStripeIndexes();
+		lockStripes(stripeIndexes);
+
+		try {
+			for (final OperationLock lockToRemove : getExistingLocks()) {
+				if (id == lockToRemove.getId()) {
+					removeLock(lockToRemove);
+					signalReleased(stripeIndexes);
+					return true;
+				}
+			}
+		} finally {
+			unlockStripes(stripeIndexes, -1);
+		}
+
+		return false;
+	}
+
+	@Override
+	public List<OperationLockInfo> getLocks() {
+
+		final List<OperationLockInfo> result = Lists.newArrayList();
+		final int[] stripeIndexes = getAllStripeIndexes();
+		lockStripes(stripeIndexes);
+
+		try {
+			for (final OperationLock existingLock : getExistingLocks()) {
+				result.add(new OperationLockInfo(existingLock.getId(), existingLock.getLevel(), existingLock.getCreationDate(), existingLock.getTarget(), existingLock.getContext()));
+			}
+		} finally {
+			unlockStripes(stripeIndexes, -1);
+		}
+
+		Collections.sort(result);
+		return result;
+	}
+
+	@Override
+	public void addLockTargetListener(final IOperationLockTargetListener listener) {
+		listenerList.add(listener);
+	}
+
+	@Override
+	public void removeLockTargetListener(final IOperationLockTargetListener listener) {
+		listenerList.remove(listener);
+	}
+
+	/*
+	 * Collects conflicting targets into the specified map and returns the target of the first conflicting lock, or
+	 * null if all targets can be locked by the context.
+	 */
+	private DatastoreLockTarget canContextLockTargets(final DatastoreLockContext context, final List<DatastoreLockTarget> targets, final Map<DatastoreLockTarget, DatastoreLockContext> alreadyLockedTargets) throws LockedException {
+		if (isDisposed()) {
+			final DatastoreLockContext disposedContext = new DatastoreLockContext(User.SYSTEM.getUserId(), DatastoreLockContextDescriptions.DISPOSE_LOCK_MANAGER);
+			for (final DatastoreLockTarget target : targets) {
+				alreadyLockedTargets.put(target, disposedContext);
+			}
+			throwLockedException(ACQUIRE_FAILED_MESSAGE, context, alreadyLockedTargets);
+		}
+
+		DatastoreLockTarget conflictingTarget = null;
+
+		for (final DatastoreLockTarget newTarget : targets) {
+			for (final OperationLock existingLock : getPotentiallyConflictingLocks(newTarget)) {
+				if (existingLock.targetConflicts(newTarget) && !canContextLock(context, existingLock)) {
+					alreadyLockedTargets.put(newTarget, existingLock.getContext());
+					if (conflictingTarget == null) {
+						conflictingTarget = existingLock.getTarget();
+					}
+				}
+			}
+		}
+
+		return conflictingTarget;
+	}
+
+	private Iterable<OperationLock> getPotentiallyConflictingLocks(final DatastoreLockTarget target) {
+		if (isWide(target)) {
+			return getExistingLocks();
+		}
+
+		final OperationLock sameTargetLock = branchLocks.get(target);
+		if (sameTargetLock == null) {
+			return wideLocks.values();
+		} else {
+			return Iterables.concat(wideLocks.values(), List.of(sameTargetLock));
+		}
+	}
+
+	private Iterable<OperationLock> getExistingLocks() {
+		return ImmutableList.copyOf(Iterables.concat(wideLocks.values(), branchLocks.values()));
+	}
+
+	private OperationLock getLock(final DatastoreLockTarget target) {
+		return getLockMap(target).get(target);
+	}
+
+	private ConcurrentMap<DatastoreLockTarget, OperationLock> getLockMap(final DatastoreLockTarget target) {
+		return isWide(target) ? wideLocks : branchLocks;
+	}
+
+	private OperationLock acquireLock(final DatastoreLockContext context, final DatastoreLockTarget target) {
+		final ConcurrentMap<DatastoreLockTarget, OperationLock> lockMap = getLockMap(target);
+		OperationLock lock = lockMap.get(target);
+
+		if (lock == null) {
+			lock = new OperationLock(assignId(), target);
+			lock.acquire(context);
+			lockMap.put(target, lock);
+			persist(Integer.toString(lock.getId()), Optional.of(buildIndexEntry(lock.getId(), target, context)));
+		} else {
+			lock.acquire(context);
+		}
+
+		return lock;
+	}
+
+	private void removeLock(final OperationLock existingLock) {
+		if (getLockMap(existingLock.getTarget()).remove(existingLock.getTarget(), existingLock)) {
+			releaseId(existingLock.getId());
+			persist(Integer.toString(existingLock.getId()), Optional.empty());
+		}
+	}
+
+	private int assignId() {
+		synchronized (assignedIds) {
+			final int id = assignedIds.nextClearBit(lastAssignedId);
+			assignedIds.set(id);
+			// revisit low IDs after every EXPECTED_LOCKS issued locks, see DefaultOperationLockManager
+			lastAssignedId = (id + 1) % EXPECTED_LOCKS;
+			return id;
+		}
+	}
+
+	private void releaseId(final int id) {
+		synchronized (assignedIds) {
+			assignedIds.clear(id);
+		}
+	}
+
+	private boolean isWide(final DatastoreLockTarget target) {
+		return DatastoreLockTarget.ALL.equals(target) || Strings.isNullOrEmpty(target.getBranchPath());
+	}
+
+	private int getStripeIndex(final DatastoreLockTarget target) {
+		final int hash = target.hashCode();
+		return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+	}
+
+	private int[] getStripeIndexes(final List<DatastoreLockTarget> targets) {
+		if (Iterables.any(targets, this::isWide)) {
+			return getAllStripeIndexes();
+		}
+		// stripes are always acquired in ascending order to avoid deadlocks between multi-target requests
+		return targets.stream()
+				.mapToInt(this::getStripeIndex)
+				.distinct()
+				.sorted()
+				.toArray();
+	}
+
+	private int[] getAllStripeIndexes() {
+		return IntStream.range(0, stripes.length).toArray();
+	}
+
+	private void lockStripes(final int[] stripeIndexes) {
+		for (final int stripeIndex : stripeIndexes) {
+			stripes[stripeIndex].lock();
+		}
+	}
+
+	private void unlockStripes(final int[] stripeIndexes, final int keepLockedIndex) {
+		for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+			if (stripeIndexes[i] != keepLockedIndex) {
+				stripes[stripeIndexes[i]].unlock();
+			}
+		}
+	}
+
+	private void signalReleased(final int[] stripeIndexes) {
+		for (final int stripeIndex : stripeIndexes) {
+			releasedConditions[stripeIndex].signalAll();
+		}
+	}
+
+	private void persist(final String lockId, final Optional<DatastoreLockIndexEntry> entry) {
+		synchronized (pendingChanges) {
+			pendingChanges.put(lockId, entry);
+		}
+
+		if (flushScheduled.compareAndSet(false, true)) {
+			try {
+				persistExecutor.execute(this::flush);
+			} catch (RuntimeException e) {
+				// executor has been shut down, pending changes will be written out by dispose()
+				flushScheduled.set(false);
+			}
+		}
+	}
+
+	/*
+	 * Writes all lock changes accumulated since the last flush with a single index commit. Only the latest change is
+	 * kept for each lock ID, so a lock acquired and released in quick succession may not reach the index at all.
+	 */
+	private void flush() {
+		flushScheduled.set(false);
+
+		final Map<String, Optional<DatastoreLockIndexEntry>> changes;
+		synchronized (pendingChanges) {
+			if (pendingChanges.isEmpty()) {
+				return;
+			}
+			changes = Maps.newLinkedHashMap(pendingChanges);
+			pendingChanges.clear();
+		}
+
+		try {
+			index.write(writer -> {
+				final Set<String> lockIdsToRemove = Sets.newHashSet();
+				changes.forEach((lockId, entry) -> {
+					if (entry.isPresent()) {
+						writer.put(entry.get());
+					} else {
+						lockIdsToRemove.add(lockId);
+					}
+				});
+
+				if (!lockIdsToRemove.isEmpty()) {
+					writer.remove(DatastoreLockIndexEntry.class, lockIdsToRemove);
+				}
+
+				writer.commit();
+				return null;
+			});
+		} catch (RuntimeException e) {
+			LOG.error("Failed to persist {} lock state change(s).", changes.size(), e);
+		}
+	}
+
+	private void loadPersistedLocks() {
+		final Hits<DatastoreLockIndexEntry> hits = index.read(searcher -> searcher.search(Query.select(DatastoreLockIndexEntry.class)
+				.where(Expressions.matchAll())
+				.limit(Integer.MAX_VALUE)
+				.build()));
+
+		for (final DatastoreLockIndexEntry entry : hits) {
+			final DatastoreLockContext context = Strings.isNullOrEmpty(entry.getParentDescription())
+					? new DatastoreLockContext(entry.getUserId(), entry.getDescription())
+					: new DatastoreLockContext(entry.getUserId(), entry.getDescription(), entry.getParentDescription());
+			final int id = Integer.parseInt(entry.getId());
+			final OperationLock lock = new OperationLock(id, new DatastoreLockTarget(entry.getRepositoryId(), entry.getBranchPath()));
+			lock.acquire(context);
+			getLockMap(lock.getTarget()).put(lock.getTarget(), lock);
+			assignedIds.set(id);
+		}
+	}
+
+	private DatastoreLockIndexEntry buildIndexEntry(final int lockId, final DatastoreLockTarget target, final DatastoreLockContext context) {
+		final Builder entryBuilder = DatastoreLockIndexEntry.builder()
+				.id(Integer.toString(lockId))
+				.userId(context.getUserId())
+				.description(context.getDescription())
+				.parentDescription(context.getParentDescription())
+				.repositoryId(target.getRepositoryId());
+
+		if (!Strings.isNullOrEmpty(target.getBranchPath())) {
+			entryBuilder.branchPath(target.getBranchPath());
+		}
+
+		return entryBuilder.build();
+	}
+
+	private void throwLockedException(final String message, final DatastoreLockContext requestRootContext, final Map<DatastoreLockTarget, DatastoreLockContext> targetMap) {
+		throw new LockedException(buildMessage(message, requestRootContext, targetMap));
+	}
+
+	private String buildMessage(final String message, final DatastoreLockContext requestRootContext, final Map<DatastoreLockTarget, DatastoreLockContext> targetMap) {
+		final FluentIterable<DatastoreLockContext> contexts = FluentIterable.from(targetMap.values());
+
+		final DatastoreLockContext lockRootContext = contexts
+				.firstMatch(input -> DatastoreLockContextDescriptions.ROOT.equals(input.getParentDescription()))
+				.or(contexts.first())
+				.orNull();
+
+		if (lockRootContext != null) {
+			return String.join(" ", message, "while", requestRootContext.getDescription(), "because", lockRootContext.getUserId(), "is", lockRootContext.getDescription());
+		} else {
+			return message;
+		}
+	}
+
+	private boolean canContextLock(final DatastoreLockContext context, final IOperationLock existingLock) {
+		return context.isCompatible(existingLock.getContext());
+	}
+
+	private boolean canContextUnlock(final DatastoreLockContext context, final IOperationLock existingLock) {
+		return context.userMatches(existingLock.getContext());
+	}
+
+	private void fireTargetAcquired(final DatastoreLockTarget target, final DatastoreLockContext context) {
+		for (final Object listener : listenerList.getListeners()) {
+			((IOperationLockTargetListener) listener).targetAcquired(target, context);
+		}
+	}
+
+	private void fireTargetReleased(final DatastoreLockTarget target, final DatastoreLockContext context) {
+		for (final Object listener : listenerList.getListeners()) {
+			((IOperationLockTargetListener) listener).targetReleased(target, context);
+		}
+	}
+
+	private long getCurrentTimeMillis() {
+		return System.nanoTime() / (1000L * 1000L);
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed.compareAndSet(false, true)) {
+			unlockAll();
+			listenerList.clear();
+
+			persistExecutor.shutdown();
+			try {
+				persistExecutor.awaitTermination(PERSIST_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			// write out anything that was not picked up by the executor before it shut down
+			flush();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed.get();
+	}
+
+}
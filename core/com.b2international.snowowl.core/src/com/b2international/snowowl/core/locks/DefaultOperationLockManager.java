@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,7 +56,7 @@ import com.google.common.collect.Maps;
  * An abstract superclass of {@link IOperationLockManager} providing common methods.
  * 
  */
-public final class DefaultOperationLockManager implements IOperationLockManager, IDisposableService {
+public final class DefaultOperationLockManager implements IOperationLockManagerAdmin, IDisposableService {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultOperationLockManager.class);
 	
@@ -178,6 +178,7 @@ public final class DefaultOperationLockManager implements IOperationLockManager,
 	 * <p> 
 	 * Releases all lock targets tracked by this lock manager.
 	 */
+	@Override
 	public void unlockAll() {
 
 		synchronized (syncObject) {
@@ -203,6 +204,7 @@ public final class DefaultOperationLockManager implements IOperationLockManager,
 	 * @param id the lock identifier to forcefully unlock
 	 * @return 
 	 */
+	@Override
 	public boolean unlockById(final int id) {
 		
 		synchronized (syncObject) {
@@ -231,6 +233,7 @@ public final class DefaultOperationLockManager implements IOperationLockManager,
 	 * <p>
 	 * @return a list of granted locks information objects, sorted by lock identifer (never {@code null})
 	 */
+	@Override
 	public List<OperationLockInfo> getLocks() {
 
 		final List<OperationLockInfo> result = Lists.newArrayList();
@@ -245,10 +248,12 @@ public final class DefaultOperationLockManager implements IOperationLockManager,
 		return result;
 	}
 
+	@Override
 	public void addLockTargetListener(final IOperationLockTargetListener listener) {
 		listenerList.add(listener);
 	}
 	
+	@Override
 	public void removeLockTargetListener(final IOperationLockTargetListener listener) {
 		listenerList.remove(listener);
 	}
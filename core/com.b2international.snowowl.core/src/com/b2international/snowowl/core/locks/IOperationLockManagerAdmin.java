@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.locks;
+
+import java.util.List;
+
+/**
+ * (non-API)
+ * <p>
+ * Administrative operations supported by all {@link IOperationLockManager} implementations registered on the server.
+ * 
+ * @since 8.10
+ */
+public interface IOperationLockManagerAdmin extends IOperationLockManager {
+
+	/**
+	 * Releases all lock targets tracked by this lock manager.
+	 */
+	void unlockAll();
+
+	/**
+	 * Forces lock removal for the target with the specified identifier.
+	 * 
+	 * @param id the lock identifier to forcefully unlock
+	 * @return {@code true} if a lock with the given identifier was found and removed, {@code false} otherwise
+	 */
+	boolean unlockById(int id);
+
+	/**
+	 * Collects a snapshot of currently granted locks.
+	 * 
+	 * @return a list of granted locks information objects, sorted by lock identifer (never {@code null})
+	 */
+	List<OperationLockInfo> getLocks();
+
+	void addLockTargetListener(IOperationLockTargetListener listener);
+
+	void removeLockTargetListener(IOperationLockTargetListener listener);
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,7 +65,7 @@ public final class LocksCommand extends Command {
 	@Override
 	public void run(CommandLineStream out) {
 		final IOperationLockManager lockManager = ApplicationContext.getInstance().getService(IOperationLockManager.class);
-		final List<OperationLockInfo> locks = ((DefaultOperationLockManager) lockManager).getLocks();
+		final List<OperationLockInfo> locks = ((IOperationLockManagerAdmin) lockManager).getLocks();
 		
 		if (locks.isEmpty()) {
 			out.println("No locks are currently granted on this server.");
@@ -159,8 +159,8 @@ public final class LocksCommand extends Command {
 		
 	}
 
-	private static DefaultOperationLockManager getLockManager() {
-		return (DefaultOperationLockManager) ApplicationContext.getInstance().getService(IOperationLockManager.class);
+	private static IOperationLockManagerAdmin getLockManager() {
+		return (IOperationLockManagerAdmin) ApplicationContext.getInstance().getService(IOperationLockManager.class);
 	}
 	
 	private static DatastoreLockTarget parseLockTarget(final String lockTargetOrAll) {
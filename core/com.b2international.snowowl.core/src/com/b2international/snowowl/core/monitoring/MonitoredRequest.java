@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,7 @@ package com.b2international.snowowl.core.monitoring;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.b2international.commons.StringUtils;
-import com.b2international.commons.json.Json;
 import com.b2international.snowowl.core.RequestContext;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.events.DelegatingRequest;
@@ -43,8 +39,6 @@ public final class MonitoredRequest<R> extends DelegatingRequest<ServiceProvider
 
 	private static final long serialVersionUID = 1L;
 	
-	private static final Logger LOG = LoggerFactory.getLogger("request");
-	
 	public MonitoredRequest(Request<ServiceProvider, R> next) {
 		super(next);
 	}
@@ -56,52 +50,80 @@ public final class MonitoredRequest<R> extends DelegatingRequest<ServiceProvider
 		try {
 			return next(context);
 		} finally {
-			final Tags tags = Tags.of("context", getContextId());
-			tags.and("context", DEFAULT_CONTEXT_ID);
+			final Tags tags = Tags.of("context", getContextId(), "type", getRequestType(next()));
 			final long responseTime = responseTimeSample.stop(registry.timer("response_time", tags));
-			final Map<String, Object> additionalInfo = Maps.newHashMap();
-			
-			Json metrics = Json.object(
-				"responseTime", TimeUnit.NANOSECONDS.toMillis(responseTime)
-			);
 			
-			// append all externally measured request specific metrics
-			metrics = metrics.merge(context.optionalService(RequestContext.class).map(RequestContext::getMetrics).orElse(Map.of()));
-			
-			// register metrics
-			additionalInfo.put("metrics", metrics);
-			// register user sub
-			context.optionalService(User.class).ifPresent(user -> {
-				additionalInfo.put("user", Map.of(
-					"sub", user.getUserId()
-				));
-			});
-			LOG.info(toJson(context, next(), additionalInfo));
+			// capture what needs to be logged from the request context, serialization happens in the request logger
+			context.optionalService(RequestLogger.class)
+				.orElseGet(() -> RequestLogger.synchronous(context.service(ObjectMapper.class)))
+				.log(
+					next(), 
+					TimeUnit.NANOSECONDS.toMillis(responseTime), 
+					context.optionalService(RequestContext.class).map(RequestContext::getMetrics).orElse(null), 
+					context.optionalService(User.class).map(User::getUserId).orElse(null)
+				);
 		}
 	}
 
+	/**
+	 * @param request
+	 * @return the type of the innermost request wrapped by the given request
+	 * @since 8.10
+	 */
+	static String getRequestType(Request<?, ?> request) {
+		Request<?, ?> current = request;
+		while (current instanceof DelegatingRequest<?, ?, ?>) {
+			current = ((DelegatingRequest<?, ?, ?>) current).next();
+		}
+		return current.getType();
+	}
+	
 	public static String toJson(ServiceProvider context, Request<ServiceProvider, ?> request, final Map<String, Object> additionalInfo) {
 		try {
-			final ObjectMapper mapper = context.service(ObjectMapper.class);
-			final Map<String, Object> body = mapper.convertValue(request, Map.class);
-			body.putAll(additionalInfo);
-			return mapper.writeValueAsString(truncateArrays(body));
+			return toJson(context.service(ObjectMapper.class), request, additionalInfo);
+		} catch (Throwable e) {
+			return "Unable to get request description: " + e.getMessage();
+		}
+	}
+	
+	static String toJson(ObjectMapper mapper, Request<ServiceProvider, ?> request, final Map<String, Object> additionalInfo) {
+		try {
+			return toJson(mapper, new RequestSnapshotter(mapper).snapshot(request), additionalInfo);
+		} catch (Throwable e) {
+			return "Unable to get request description: " + e.getMessage();
+		}
+	}
+	
+	/**
+	 * @param mapper
+	 * @param snapshot - the request snapshot captured by a {@link RequestSnapshotter}
+	 * @param additionalInfo
+	 * @return the JSON representation of the request snapshot with the additional properties
+	 * @since 8.10
+	 */
+	static String toJson(ObjectMapper mapper, Map<String, Object> snapshot, final Map<String, Object> additionalInfo) {
+		try {
+			final Map<String, Object> body = Maps.newLinkedHashMap(snapshot);
+			body.putAll(truncateArrays(additionalInfo));
+			return mapper.writeValueAsString(body);
 		} catch (Throwable e) {
 			return "Unable to get request description: " + e.getMessage();
 		}
 	}
 
 	private static Map<String, Object> truncateArrays(Map<String, Object> json) {
-		return Maps.transformValues(json, propertyValue -> {
+		final Map<String, Object> truncated = Maps.newLinkedHashMapWithExpectedSize(json.size());
+		json.forEach((property, propertyValue) -> {
 			if (propertyValue instanceof Map<?, ?>) {
-				return truncateArrays((Map<String, Object>) propertyValue);
+				truncated.put(property, truncateArrays((Map<String, Object>) propertyValue));
 			} else if (propertyValue instanceof Iterable<?>) {
 				// TODO support arrays
-				return StringUtils.limitedToString((Iterable<?>) propertyValue, 10);
+				truncated.put(property, StringUtils.limitedToString((Iterable<?>) propertyValue, 10));
 			} else {
-				return propertyValue;
+				truncated.put(property, propertyValue);
 			}
 		});
+		return truncated;
 	}
 	
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package com.b2international.snowowl.core.monitoring;
 import java.util.Collections;
 import java.util.Map;
 
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
 /**
  * @since 4.5
  */
@@ -27,6 +30,10 @@ public class MonitoringConfiguration {
 	
 	private Map<String, String> tags = Collections.emptyMap();
 	
+	@Valid
+	@NotNull
+	private RequestLogConfiguration requestLog = new RequestLogConfiguration();
+	
 	public void setEnabled(boolean endabled) {
 		this.enabled = endabled;
 	}
@@ -43,4 +50,16 @@ public class MonitoringConfiguration {
 		this.tags = tags;
 	}
 	
+	/**
+	 * @return the configuration of the structured request log
+	 * @since 8.10
+	 */
+	public RequestLogConfiguration getRequestLog() {
+		return requestLog;
+	}
+	
+	public void setRequestLog(RequestLogConfiguration requestLog) {
+		this.requestLog = requestLog;
+	}
+	
 }
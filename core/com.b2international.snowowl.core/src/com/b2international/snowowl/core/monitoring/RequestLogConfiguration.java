@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configures the structured request log written to the <code>request</code> logger.
+ *
+ * @since 8.10
+ */
+public class RequestLogConfiguration {
+
+	@Min(0)
+	private int queueSize = 10_000;
+
+	@DecimalMin("0.0")
+	@DecimalMax("1.0")
+	private double sampleRate = 1.0;
+
+	@NotNull
+	private Map<String, Double> sampleRates = Collections.emptyMap();
+
+	@Min(0)
+	private long slowRequestThreshold = 0L;
+
+	@Min(0)
+	private int maxLength = 0;
+
+	/**
+	 * The maximum number of request log entries waiting to be written. Entries arriving when the queue is full are dropped. Zero writes the
+	 * request log synchronously on the request thread.
+	 *
+	 * @return queueSize
+	 */
+	@JsonProperty
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	@JsonProperty
+	public void setQueueSize(int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * The fraction of requests to log, between <code>0.0</code> (none) and <code>1.0</code> (all).
+	 *
+	 * @return sampleRate
+	 */
+	@JsonProperty
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	@JsonProperty
+	public void setSampleRate(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * Sample rates overriding the default {@link #getSampleRate() sample rate} for certain request types, keyed by request type (eg.
+	 * <code>SnomedConceptSearchRequest</code>).
+	 *
+	 * @return sampleRates
+	 */
+	@JsonProperty
+	public Map<String, Double> getSampleRates() {
+		return sampleRates;
+	}
+
+	@JsonProperty
+	public void setSampleRates(Map<String, Double> sampleRates) {
+		this.sampleRates = sampleRates;
+	}
+
+	/**
+	 * The minimum response time in milliseconds of requests to log. Zero logs every request regardless of its response time.
+	 *
+	 * @return slowRequestThreshold
+	 */
+	@JsonProperty
+	public long getSlowRequestThreshold() {
+		return slowRequestThreshold;
+	}
+
+	@JsonProperty
+	public void setSlowRequestThreshold(long slowRequestThreshold) {
+		this.slowRequestThreshold = slowRequestThreshold;
+	}
+
+	/**
+	 * The maximum number of characters of a single request log entry, longer entries are truncated. Zero disables truncation.
+	 *
+	 * @return maxLength
+	 */
+	@JsonProperty
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	@JsonProperty
+	public void setMaxLength(int maxLength) {
+		this.maxLength = maxLength;
+	}
+
+}
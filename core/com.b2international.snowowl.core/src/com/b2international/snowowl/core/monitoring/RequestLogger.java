@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.json.Json;
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Writes the structured request log. Request threads decide whether a request should be logged at all (based on its response time and
+ * the configured sample rates) and capture a snapshot of the selected request's properties with a {@link RequestSnapshotter}, which reads
+ * property values directly and keeps only the first few elements of collections, without serializing the request. Requests may keep
+ * changing after they have been executed (eg. builders reused by the caller), so the request itself is never passed on to another
+ * thread. Rendering and writing the log message from the snapshot happens on a single background thread that consumes a bounded queue of
+ * snapshots.
+ * <p>
+ * Snapshots arriving when the queue is full are dropped and reported periodically.
+ *
+ * @since 8.10
+ */
+public final class RequestLogger implements IDisposableService {
+
+	private static final Logger LOG = LoggerFactory.getLogger("request");
+	private static final Logger DIAGNOSTICS_LOG = LoggerFactory.getLogger(RequestLogger.class);
+
+	private static final long POLL_TIMEOUT_MILLIS = 500L;
+	private static final long DISPOSE_TIMEOUT_MILLIS = 5_000L;
+	private static final long DROPPED_ENTRIES_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10L);
+
+	private final ObjectMapper mapper;
+	private final RequestSnapshotter snapshotter;
+	private final double sampleRate;
+	private final Map<String, Double> sampleRates;
+	private final long slowRequestThreshold;
+	private final int maxLength;
+	private final Consumer<String> writer;
+
+	private final BlockingQueue<Entry> queue;
+	private final Thread worker;
+	private final AtomicLong droppedEntries = new AtomicLong();
+	private volatile boolean disposed;
+
+	public RequestLogger(ObjectMapper mapper, RequestLogConfiguration config) {
+		this(mapper, config, LOG::info);
+	}
+
+	RequestLogger(ObjectMapper mapper, RequestLogConfiguration config, Consumer<String> writer) {
+		this.mapper = checkNotNull(mapper, "mapper");
+		this.snapshotter = new RequestSnapshotter(mapper);
+		this.sampleRate = config.getSampleRate();
+		this.sampleRates = ImmutableMap.copyOf(config.getSampleRates());
+		this.slowRequestThreshold = config.getSlowRequestThreshold();
+		this.maxLength = config.getMaxLength();
+		this.writer = checkNotNull(writer, "writer");
+
+		if (config.getQueueSize() > 0) {
+			this.queue = new ArrayBlockingQueue<>(config.getQueueSize());
+			this.worker = new Thread(this::drain, "request-log");
+			this.worker.setDaemon(true);
+			this.worker.start();
+		} else {
+			this.queue = null;
+			this.worker = null;
+		}
+	}
+
+	/**
+	 * @param mapper
+	 * @return a {@link RequestLogger} that logs every request on the calling thread
+	 */
+	public static RequestLogger synchronous(ObjectMapper mapper) {
+		final RequestLogConfiguration config = new RequestLogConfiguration();
+		config.setQueueSize(0);
+		return new RequestLogger(mapper, config);
+	}
+
+	/**
+	 * Logs an executed request, if it is selected by the configured slow request threshold and sample rates.
+	 *
+	 * @param request - the executed request
+	 * @param responseTime - the response time of the request in milliseconds
+	 * @param metrics - additional request specific metrics, may be <code>null</code>
+	 * @param userId - the identifier of the user who executed the request, may be <code>null</code>
+	 */
+	public void log(Request<ServiceProvider, ?> request, long responseTime, Map<String, Object> metrics, String userId) {
+		if (responseTime < slowRequestThreshold || !isSampled(request)) {
+			return;
+		}
+
+		final Entry entry = new Entry(snapshotter, request, responseTime, metrics == null || metrics.isEmpty() ? Map.of() : ImmutableMap.copyOf(metrics), userId);
+		if (queue == null) {
+			write(entry);
+		} else if (disposed || !queue.offer(entry)) {
+			droppedEntries.incrementAndGet();
+		}
+	}
+
+	private boolean isSampled(Request<ServiceProvider, ?> request) {
+		final double rate = sampleRates.isEmpty() ? sampleRate : sampleRates.getOrDefault(MonitoredRequest.getRequestType(request), sampleRate);
+		if (rate >= 1.0) {
+			return true;
+		} else if (rate <= 0.0) {
+			return false;
+		} else {
+			return ThreadLocalRandom.current().nextDouble() < rate;
+		}
+	}
+
+	private void drain() {
+		long lastReport = System.nanoTime();
+		while (!disposed || !queue.isEmpty()) {
+			try {
+				final Entry entry = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (entry != null) {
+					write(entry);
+				}
+				if (System.nanoTime() - lastReport > DROPPED_ENTRIES_REPORT_INTERVAL_NANOS) {
+					reportDroppedEntries();
+					lastReport = System.nanoTime();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				DIAGNOSTICS_LOG.error("Failed to write request log entry", e);
+			}
+		}
+	}
+
+	private void reportDroppedEntries() {
+		final long dropped = droppedEntries.getAndSet(0L);
+		if (dropped > 0L) {
+			DIAGNOSTICS_LOG.warn("Request log queue is full, dropped {} request log entries", dropped);
+		}
+	}
+
+	private void write(Entry entry) {
+		final Map<String, Object> additionalInfo = Maps.newHashMapWithExpectedSize(2);
+		additionalInfo.put("metrics", Json.object("responseTime", entry.responseTime).merge(entry.metrics));
+		if (entry.userId != null) {
+			additionalInfo.put("user", Map.of("sub", entry.userId));
+		}
+
+		final String message = entry.request != null 
+				? MonitoredRequest.toJson(mapper, entry.request, additionalInfo) 
+				: "Unable to get request description: " + entry.failure;
+		writer.accept(maxLength > 0 && message.length() > maxLength ? message.substring(0, maxLength) + "..." : message);
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed) {
+			return;
+		}
+
+		disposed = true;
+		if (worker != null) {
+			try {
+				worker.join(DISPOSE_TIMEOUT_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			reportDroppedEntries();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	private static final class Entry {
+
+		private final Map<String, Object> request;
+		private final String failure;
+		private final long responseTime;
+		private final Map<String, Object> metrics;
+		private final String userId;
+
+		// captures the snapshot of the request on the calling thread
+		private Entry(RequestSnapshotter snapshotter, Request<ServiceProvider, ?> request, long responseTime, Map<String, Object> metrics, String userId) {
+			Map<String, Object> snapshot = null;
+			String failure = null;
+			try {
+				snapshot = snapshotter.snapshot(request);
+			} catch (RuntimeException e) {
+				failure = e.getMessage();
+			}
+			this.request = snapshot;
+			this.failure = failure;
+			this.responseTime = responseTime;
+			this.metrics = metrics;
+			this.userId = userId;
+		}
+
+	}
+
+}
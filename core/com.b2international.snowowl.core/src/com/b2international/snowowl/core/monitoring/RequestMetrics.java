@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import com.b2international.index.IndexMetrics;
+import com.b2international.snowowl.core.RepositoryInfo;
+import com.b2international.snowowl.core.ServiceProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Names of the request execution phase metrics recorded outside of the index layer, see {@link IndexMetrics} for the index level metrics.
+ *
+ * @since 8.10
+ */
+public final class RequestMetrics {
+
+	/**
+	 * Timer of ECL evaluations, tagged with the evaluation request type and the evaluation phase ({@value #PHASE_PARSE} or
+	 * {@value #PHASE_EVALUATE}).
+	 */
+	public static final String ECL_EVALUATION = "ecl.evaluation";
+
+	/**
+	 * Timer of converting documents to resources, tagged with the converter type and the conversion phase ({@value #PHASE_CONVERT},
+	 * {@value #PHASE_EXPAND} or {@value #PHASE_EXPAND_PLUGINS}).
+	 */
+	public static final String CONVERSION = "request.conversion";
+
+	/**
+	 * Timer of repository pre-commit hooks, tagged with the hook type and the processing phase ({@value #PHASE_PRE_UPDATE},
+	 * {@value #PHASE_PROCESS} or {@value #PHASE_POST_UPDATE}) and the type of the change set processor (only in the processing phase).
+	 */
+	public static final String PRE_COMMIT = "repository.pre_commit";
+
+	/**
+	 * Timer of serializing REST API responses, tagged with the response type.
+	 */
+	public static final String SERIALIZATION = "rest.serialization";
+
+	public static final String PHASE_PARSE = "parse";
+	public static final String PHASE_EVALUATE = "evaluate";
+	public static final String PHASE_CONVERT = IndexMetrics.PHASE_CONVERT;
+	public static final String PHASE_EXPAND = "expand";
+	public static final String PHASE_EXPAND_PLUGINS = "expand_plugins";
+	public static final String PHASE_PRE_UPDATE = "pre_update";
+	public static final String PHASE_PROCESS = "process";
+	public static final String PHASE_POST_UPDATE = "post_update";
+
+	public static final String TAG_PROCESSOR = "processor";
+
+	/**
+	 * The repository tag value of metrics that do not belong to any repository.
+	 */
+	public static final String GLOBAL = "global";
+
+	private RequestMetrics() {}
+
+	/**
+	 * @param context
+	 * @return an {@link IndexMetrics} instance that records metrics tagged with the repository of the given context
+	 */
+	public static IndexMetrics of(ServiceProvider context) {
+		return new IndexMetrics(
+			context.optionalService(MeterRegistry.class).orElse(Metrics.globalRegistry),
+			context.optionalService(RepositoryInfo.class).map(RepositoryInfo::id).orElse(GLOBAL)
+		);
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b2international.commons.StringUtils;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Captures the JSON visible properties of a request as a tree of maps and immutable values, without serializing the request. Only the
+ * property metadata of the {@link ObjectMapper} is used (introspected once per type), property values are read directly from the request.
+ * Collection and array valued properties are captured as the string form of their first few elements and their size, so the cost of a
+ * snapshot does not depend on the size of the collections a request holds.
+ *
+ * @since 8.10
+ */
+final class RequestSnapshotter {
+
+	private static final int MAX_ELEMENTS = 10;
+	private static final int MAX_DEPTH = 8;
+
+	private final ObjectMapper mapper;
+	private final Map<Class<?>, TypeDescription> descriptions = new ConcurrentHashMap<>();
+
+	RequestSnapshotter(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	/**
+	 * @param request - the request to capture
+	 * @return the snapshot of the request's properties, never refers to the request or any of its mutable property values
+	 */
+	@SuppressWarnings("unchecked")
+	Map<String, Object> snapshot(Object request) {
+		final Object snapshot = snapshot(request, 0);
+		return snapshot instanceof Map<?, ?> ? (Map<String, Object>) snapshot : Map.of();
+	}
+
+	private Object snapshot(Object value, int depth) {
+		if (value == null
+				|| value instanceof String
+				|| value instanceof Number
+				|| value instanceof Boolean
+				|| value instanceof Character
+				|| value instanceof Enum<?>) {
+			return value;
+		} else if (value instanceof Map<?, ?>) {
+			return depth < MAX_DEPTH ? snapshotMap((Map<?, ?>) value, depth) : value.toString();
+		} else if (value instanceof Collection<?>) {
+			return StringUtils.limitedToString((Collection<?>) value, MAX_ELEMENTS);
+		} else if (value instanceof Iterable<?>) {
+			// other iterables might compute their elements, do not iterate them
+			return value.getClass().getSimpleName();
+		} else if (value.getClass().isArray()) {
+			return snapshotArray(value);
+		} else if (value instanceof Date) {
+			return ((Date) value).getTime();
+		} else if (value.getClass().getName().startsWith("java.") || depth >= MAX_DEPTH) {
+			return value.toString();
+		} else {
+			return snapshotBean(value, depth);
+		}
+	}
+
+	private Map<String, Object> snapshotMap(Map<?, ?> map, int depth) {
+		final Map<String, Object> snapshot = new LinkedHashMap<>(Math.max(4, map.size() * 2));
+		map.forEach((key, value) -> snapshot.put(String.valueOf(key), snapshot(value, depth + 1)));
+		return Collections.unmodifiableMap(snapshot);
+	}
+
+	private static String snapshotArray(Object array) {
+		final int length = Array.getLength(array);
+		final List<Object> elements = new ArrayList<>(Math.min(length, MAX_ELEMENTS));
+		for (int i = 0; i < length && i < MAX_ELEMENTS; i++) {
+			elements.add(Array.get(array, i));
+		}
+		final String head = StringUtils.limitedToString(elements, MAX_ELEMENTS);
+		return length > MAX_ELEMENTS
+				? String.format("%s... %d more items]", head.substring(0, head.length() - 1), length - MAX_ELEMENTS)
+				: head;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object snapshotBean(Object bean, int depth) {
+		final TypeDescription description = descriptions.computeIfAbsent(bean.getClass(), this::describe);
+		if (description.valueAccessor != null) {
+			return snapshot(description.valueAccessor.getValue(bean), depth + 1);
+		} else if (description.properties.isEmpty()) {
+			return bean.toString();
+		}
+
+		final Map<String, Object> snapshot = new LinkedHashMap<>();
+		for (Property property : description.properties) {
+			final Object value = property.accessor.getValue(bean);
+			if (value == null) {
+				continue;
+			}
+			final Object valueSnapshot = snapshot(value, depth + 1);
+			if (property.unwrapped && valueSnapshot instanceof Map<?, ?>) {
+				snapshot.putAll((Map<String, Object>) valueSnapshot);
+			} else {
+				snapshot.put(property.name, valueSnapshot);
+			}
+		}
+		return Collections.unmodifiableMap(snapshot);
+	}
+
+	private TypeDescription describe(Class<?> type) {
+		final BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+		final AnnotatedMember valueAccessor = description.findJsonValueAccessor();
+		if (valueAccessor != null) {
+			valueAccessor.fixAccess(true);
+			return new TypeDescription(valueAccessor, List.of());
+		}
+
+		final List<Property> properties = new ArrayList<>();
+		for (BeanPropertyDefinition definition : description.findProperties()) {
+			final AnnotatedMember accessor = definition.getAccessor();
+			if (accessor == null) {
+				continue;
+			}
+			accessor.fixAccess(true);
+			final JsonUnwrapped unwrapped = accessor.getAnnotation(JsonUnwrapped.class);
+			properties.add(new Property(definition.getName(), accessor, unwrapped != null && unwrapped.enabled()));
+		}
+		return new TypeDescription(null, List.copyOf(properties));
+	}
+
+	private static final class TypeDescription {
+
+		private final AnnotatedMember valueAccessor;
+		private final List<Property> properties;
+
+		private TypeDescription(AnnotatedMember valueAccessor, List<Property> properties) {
+			this.valueAccessor = valueAccessor;
+			this.properties = properties;
+		}
+
+	}
+
+	private static final class Property {
+
+		private final String name;
+		private final AnnotatedMember accessor;
+		private final boolean unwrapped;
+
+		private Property(String name, AnnotatedMember accessor, boolean unwrapped) {
+			this.name = name;
+			this.accessor = accessor;
+			this.unwrapped = unwrapped;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,12 @@ public class ApiConfiguration {
 	@Min(1)
 	private long refillRate = 1L;
 	
+	/**
+	 * The maximum number of entries of a single batch bundle that are executed concurrently.
+	 */
+	@Min(1)
+	private int batchParallelism = 8;
+	
 	@Valid
 	private HttpConfig http = new HttpConfig();
 	
@@ -48,6 +54,14 @@ public class ApiConfiguration {
 		this.refillRate = refillRate;
 	}
 	
+	public int getBatchParallelism() {
+		return batchParallelism;
+	}
+	
+	public void setBatchParallelism(int batchParallelism) {
+		this.batchParallelism = batchParallelism;
+	}
+	
 	public HttpConfig getHttp() {
 		return http;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.authorization.AuthorizedRequest;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.events.RequestWithContext;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
 import com.b2international.snowowl.core.events.util.RequestHeaders;
 import com.b2international.snowowl.core.events.util.ResponseHeaders;
 import com.b2international.snowowl.core.monitoring.MonitoredRequest;
@@ -64,11 +65,17 @@ public final class ApiRequestHandler implements IHandler<IMessage> {
 			}
 			
 			final ResponseHeaders responseHeaders = new ResponseHeaders();
+			final RequestHeaders requestHeaders = new RequestHeaders(message.headers());
 			// prepare the request execution context
 			final RequestContext executionContext = new RequestContext(context);
-			executionContext.bind(RequestHeaders.class, new RequestHeaders(message.headers()));
+			executionContext.bind(RequestHeaders.class, requestHeaders);
 			executionContext.bind(ResponseHeaders.class, responseHeaders);
 			executionContext.bindAll(initialContext);
+			// track content read state to compute ETags for conditional read requests, nested requests record into the original request's instance
+			final ConditionalRead conditionalRead = initialContext.containsKey(ConditionalRead.class) ? null : ConditionalRead.of(requestHeaders, req.getClass()).orElse(null);
+			if (conditionalRead != null) {
+				executionContext.bind(ConditionalRead.class, conditionalRead);
+			}
 			
 			// monitor each request execution
 			final Object body = new MonitoredRequest<>(
@@ -85,6 +92,10 @@ public final class ApiRequestHandler implements IHandler<IMessage> {
 			if (body == null) {
 				LoggerFactory.getLogger(ApiRequestHandler.class).error("No response was returned from request: " + req.getClass());
 			}
+			
+			if (conditionalRead != null) {
+				conditionalRead.complete(responseHeaders);
+			}
 					
 			message.reply(body, responseHeaders.headers());
 		} catch (WrappedException e) {
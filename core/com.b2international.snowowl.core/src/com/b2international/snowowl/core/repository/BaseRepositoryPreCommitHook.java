@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,15 @@ import java.util.Collections;
 
 import org.slf4j.Logger;
 
+import com.b2international.index.IndexMetrics;
 import com.b2international.index.revision.Hooks;
 import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.index.revision.StagingArea;
 import com.b2international.snowowl.core.Repository;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.monitoring.RequestMetrics;
+
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Base {@link Repository} pre-commit hook. It allows terminology plugin developers to attach custom precommit hooks to the underlying
@@ -50,16 +55,33 @@ public abstract class BaseRepositoryPreCommitHook implements Hooks.PreCommitHook
 	
 	private final void updateDocuments(StagingArea staging, RevisionSearcher index) throws IOException {
 		log.info("Processing changes...");
+		final IndexMetrics metrics = getMetrics(staging);
+		final String type = getClass().getSimpleName();
+		
+		final Timer.Sample preUpdateSample = metrics.start();
 		preUpdateDocuments(staging, index);
+		metrics.stop(preUpdateSample, RequestMetrics.PRE_COMMIT, IndexMetrics.TAG_HOOK, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_PRE_UPDATE, RequestMetrics.TAG_PROCESSOR, IndexMetrics.NONE);
+		
 		doProcess(getChangeSetProcessors(staging, index), staging, index);
+		
+		final Timer.Sample postUpdateSample = metrics.start();
 		postUpdateDocuments(staging, index);
+		metrics.stop(postUpdateSample, RequestMetrics.PRE_COMMIT, IndexMetrics.TAG_HOOK, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_POST_UPDATE, RequestMetrics.TAG_PROCESSOR, IndexMetrics.NONE);
 		log.info("Processing changes successfully finished.");
 	}
 
 	protected final void doProcess(Collection<ChangeSetProcessor> changeSetProcessors, StagingArea staging, RevisionSearcher index) throws IOException {
+		final IndexMetrics metrics = getMetrics(staging);
+		final String type = getClass().getSimpleName();
+		
 		for (ChangeSetProcessor processor : changeSetProcessors) {
 			log.trace("Processing {} changes...", processor.description());
+			final Timer.Sample processSample = metrics.start();
 			processor.process(staging, index);
+			metrics.stop(processSample, RequestMetrics.PRE_COMMIT, 
+					IndexMetrics.TAG_HOOK, type, 
+					IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_PROCESS, 
+					RequestMetrics.TAG_PROCESSOR, processor.getClass().getSimpleName());
 			
 			// register additions, deletions from the sub processor
 			for (RevisionDocument revision : processor.getNewMappings().values()) {
@@ -74,6 +96,12 @@ public abstract class BaseRepositoryPreCommitHook implements Hooks.PreCommitHook
 		}
 	}
 
+	private static IndexMetrics getMetrics(StagingArea staging) {
+		return staging.getContext() instanceof ServiceProvider 
+				? RequestMetrics.of((ServiceProvider) staging.getContext()) 
+				: IndexMetrics.of(staging.getIndex().admin());
+	}
+	
 	/**
 	 * Subclasses may override this method to execute additional logic before the processing of the changeset.
 	 * 
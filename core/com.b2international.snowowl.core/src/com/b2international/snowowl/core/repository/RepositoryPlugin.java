@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -269,7 +269,8 @@ public final class RepositoryPlugin extends Plugin {
 					jobsIndex, 
 					env.service(IEventBus.class), 
 					objectMapper, 
-					defaultJobCleanUpInterval)
+					defaultJobCleanUpInterval,
+					env.service(RepositoryConfiguration.class).getJobProgressUpdateInterval())
 			);
 	}
 
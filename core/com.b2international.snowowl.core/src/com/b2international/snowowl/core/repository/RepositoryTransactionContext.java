@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Query;
 import com.b2international.index.revision.*;
 import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.core.context.ResourceRepositoryRequest;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.domain.DelegatingBranchContext;
 import com.b2international.snowowl.core.domain.TransactionContext;
@@ -46,6 +47,7 @@ import com.b2international.snowowl.core.internal.locks.DatastoreLockContextDescr
 import com.b2international.snowowl.core.internal.locks.DatastoreLockTarget;
 import com.b2international.snowowl.core.locks.IOperationLockManager;
 import com.b2international.snowowl.core.locks.Locks;
+import com.b2international.snowowl.core.uri.ResourceURIResolutionCache;
 import com.b2international.snowowl.core.version.VersionDocument;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Strings;
@@ -190,6 +192,16 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 		resolvedObjectsById.put(createComponentKey(changedRevision.getId(), changedRevision.getClass()), changedRevision);
 	}
 	
+	@Override
+	public void update(Revision oldRevision, Revision changedRevision, Set<String> changedProperties) {
+		if (staging.isNew(oldRevision)) {
+			staging.stageNew(changedRevision);
+		} else {
+			staging.stageChange(oldRevision, changedRevision, changedProperties);
+		}
+		resolvedObjectsById.put(createComponentKey(changedRevision.getId(), changedRevision.getClass()), changedRevision);
+	}
+	
 	@Override
 	public void delete(Object o) {
 		delete(o, false);
@@ -262,6 +274,10 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 			throw new SnowowlRuntimeException(e.getMessage(), e);
 		} finally {
 			locks.unlock(lockContext, lockTarget);
+			if (commit != null && ResourceRepositoryRequest.RESOURCE_REPOSITORY_ID.equals(info().id())) {
+				// resource and version changes must be visible to the very next request, invalidate cached resolutions synchronously
+				optionalService(ResourceURIResolutionCache.class).ifPresent(ResourceURIResolutionCache::invalidateAll);
+			}
 			if (commit != null && isNotificationEnabled()) {
 				service(RepositoryCommitNotificationSender.class).publish(this, commit);
 			}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,14 +24,18 @@ import java.util.stream.Collectors;
 import com.b2international.commons.http.ExtendedLocale;
 import com.b2international.commons.options.Options;
 import com.b2international.index.Hits;
+import com.b2international.index.IndexMetrics;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.date.EffectiveTimes;
 import com.b2international.snowowl.core.domain.CollectionResource;
+import com.b2international.snowowl.core.monitoring.RequestMetrics;
 import com.b2international.snowowl.core.plugin.ClassPathScanner;
 import com.b2international.snowowl.core.request.expand.BaseResourceExpander;
 import com.b2international.snowowl.core.request.expand.ResourceExpanderExtension;
 import com.google.common.collect.Iterables;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * @since 4.0
  * @param <T> - document type
@@ -68,16 +72,25 @@ public abstract class BaseResourceConverter<T, R, CR extends CollectionResource<
 	 * @return
 	 */
 	public final CR convert(Collection<T> components, String searchAfter, int limit, int total) {
+		final IndexMetrics metrics = RequestMetrics.of(context());
+		final String type = getClass().getSimpleName();
+		
+		final Timer.Sample convertSample = metrics.start();
 		final List<R> results = components
 				.stream()
 				.map(this::toResource)
 				.collect(Collectors.toList());
+		metrics.stop(convertSample, RequestMetrics.CONVERSION, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_CONVERT);
 		
 		if (!results.isEmpty()) {
 			// expand using the current converter
+			final Timer.Sample expandSample = metrics.start();
 			expand(results);
+			metrics.stop(expandSample, RequestMetrics.CONVERSION, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_EXPAND);
 			// expand via plugins 
+			final Timer.Sample expandPluginsSample = metrics.start();
 			expandViaPlugins(results);
+			metrics.stop(expandPluginsSample, RequestMetrics.CONVERSION, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_EXPAND_PLUGINS);
 		}
 		
 		return createCollectionResource(results, searchAfter, limit, total);
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.request;
+
+import com.b2international.snowowl.core.domain.BranchContext;
+import com.b2international.snowowl.core.events.Request;
+
+/**
+ * Returns the head timestamp of the branch the request is executed on. Clients can append it to the requested path (in the form of
+ * <code>path@timestamp</code>) to execute subsequent requests against the same, unchanging state of the content.
+ * 
+ * @since 8.10
+ */
+public final class BranchHeadTimestampRequest implements Request<BranchContext, Long> {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public Long execute(BranchContext context) {
+		return context.searcher().ref().head();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2020-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,20 @@
 package com.b2international.snowowl.core.request;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.b2international.commons.options.Options;
 import com.b2international.snowowl.core.RepositoryManager;
 import com.b2international.snowowl.core.ResourceURI;
 import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.domain.ConceptMapMapping;
 import com.b2international.snowowl.core.domain.ConceptMapMappings;
+import com.b2international.snowowl.core.request.ResourceSearchEvaluationRequest.Evaluator;
+import com.google.common.collect.Iterables;
 
 /**
 * @since 7.8
@@ -44,37 +49,41 @@ public final class ConceptMapMappingSearchRequest extends SearchResourceRequest<
 		
 		Options options = Options.builder()
 				.putAll(options())
-				.put(ConceptMapMappingSearchRequestEvaluator.OptionKey.AFTER, searchAfter())
-				.put(ConceptMapMappingSearchRequestEvaluator.OptionKey.LIMIT, limit())
 				.put(ConceptMapMappingSearchRequestEvaluator.OptionKey.LOCALES, locales())
 				.put(SearchResourceRequest.OptionKey.SORT_BY, sortBy())
 				.build();
 		
-		List<ConceptMapMappings> evaluatedMappings = context.service(RepositoryManager.class)
+		final Map<ResourceURI, Evaluator<ConceptMapMappings>> evaluators = new LinkedHashMap<>();
+		context.service(RepositoryManager.class)
 			.repositories()
-			.stream()
-			.flatMap(repository -> {
+			.forEach(repository -> {
 				ConceptMapMappingSearchRequestEvaluator evaluator = repository.service(ConceptMapMappingSearchRequestEvaluator.class);
 				Set<ResourceURI> targets = evaluator.evaluateSearchTargetResources(context, options);
-				return targets.stream()
-					.map(uri -> {
-						return evaluator.evaluate(uri, context, options);
-					});
-			})
-			.collect(Collectors.toList());
+				targets.forEach(uri -> evaluators.putIfAbsent(uri, evaluator::evaluate));
+			});
 		
-		// calculate grand total
-		int total = 0;
-		for (ConceptMapMappings evaluatedMember : evaluatedMappings) {
-			total += evaluatedMember.getTotal();
+		if (evaluators.isEmpty()) {
+			return createEmptyResult(limit);
 		}
 		
-		return new ConceptMapMappings(
-			evaluatedMappings.stream().flatMap(ConceptMapMappings::stream).limit(limit).collect(Collectors.toList()), // TODO add manual sorting here if multiple resources have been fetched 
-			null /* not supported across resources, TODO support it when a single Conceptmap is being fetched */, 
-			limit, 
-			total
-		);
+		// for single resource searches, sorting, paging works as it should
+		if (evaluators.size() == 1) {
+			final Entry<ResourceURI, Evaluator<ConceptMapMappings>> evaluator = Iterables.getOnlyElement(evaluators.entrySet());
+			return evaluator.getValue().evaluate(evaluator.getKey(), context, Options.builder()
+					.putAll(options)
+					.put(ConceptMapMappingSearchRequestEvaluator.OptionKey.AFTER, searchAfter())
+					.put(ConceptMapMappingSearchRequestEvaluator.OptionKey.LIMIT, limit)
+					.build());
+		}
+		
+		// otherwise search all resources in parallel and merge the mappings by their URI
+		return new MultiResourceSearch<ConceptMapMapping, ConceptMapMappings>(
+			ConceptMapMappings.class,
+			ConceptMapMappingSearchRequestEvaluator.OptionKey.AFTER,
+			ConceptMapMappingSearchRequestEvaluator.OptionKey.LIMIT,
+			Comparator.comparing(ConceptMapMapping::getUri, Comparator.nullsLast(Comparator.naturalOrder())),
+			ConceptMapMappings::new
+		).search(context, evaluators, options, searchAfter(), limit);
 	}
 	
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2020-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,21 @@
 package com.b2international.snowowl.core.request;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
-import com.b2international.commons.exceptions.BadRequestException;
+import com.b2international.commons.CompareUtils;
 import com.b2international.commons.options.Options;
+import com.b2international.index.query.SortBy;
 import com.b2international.snowowl.core.RepositoryManager;
 import com.b2international.snowowl.core.ResourceURI;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
 import com.b2international.snowowl.core.codesystem.CodeSystemSearchRequestBuilder;
+import com.b2international.snowowl.core.domain.Concept;
 import com.b2international.snowowl.core.domain.Concepts;
+import com.b2international.snowowl.core.request.ResourceSearchEvaluationRequest.Evaluator;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 
@@ -43,6 +45,9 @@ import com.google.common.collect.Maps;
 public final class ConceptSearchRequest extends SearchResourceRequest<ServiceProvider, Concepts> {
 
 	private static final long serialVersionUID = 1L;
+	
+	private static final String ID_FIELD = "id";
+	private static final String TERM_FIELD = "term";
 
 	public enum OptionKey {
 		
@@ -65,8 +70,6 @@ public final class ConceptSearchRequest extends SearchResourceRequest<ServicePro
 		Options conceptSearchOptions = Options.builder()
 				.putAll(options())
 				.put(ConceptSearchRequestEvaluator.OptionKey.ID, componentIds())
-				.put(ConceptSearchRequestEvaluator.OptionKey.AFTER, searchAfter())
-				.put(ConceptSearchRequestEvaluator.OptionKey.LIMIT, limit)
 				.put(ConceptSearchRequestEvaluator.OptionKey.LOCALES, locales())
 				.put(ConceptSearchRequestEvaluator.OptionKey.FIELDS, fields())
 				.put(ConceptSearchRequestEvaluator.OptionKey.EXPAND, expand())
@@ -88,40 +91,73 @@ public final class ConceptSearchRequest extends SearchResourceRequest<ServicePro
 //				.filterByToolingIds(toolingIds) TODO perform TOOLING filtering
 //				.filterByUrls(urls) TODO perform URL filtering
 		
-		List<Concepts> concepts = codeSystemSearchReq
+		final Map<ResourceURI, Evaluator<Concepts>> evaluators = new LinkedHashMap<>();
+		codeSystemSearchReq
 			.buildAsync()
 			.execute(context)
-			.stream()
-			.map(codeSystem -> {
+			.forEach(codeSystem -> {
 				final ResourceURI uriToEvaluateOn = codeSystemResourceFiltersByResource.getOrDefault(codeSystem.getResourceURI(), codeSystem.getResourceURI());
-				return context.service(RepositoryManager.class).get(codeSystem.getToolingId()).service(ConceptSearchRequestEvaluator.class).evaluate(uriToEvaluateOn, context, conceptSearchOptions);
-			})
-//			.sorted(comparator) // TODO perform Java SORT on Concept fields
-//			.limit(limit)
-			.collect(Collectors.toList());
+				evaluators.put(uriToEvaluateOn, context.service(RepositoryManager.class).get(codeSystem.getToolingId()).service(ConceptSearchRequestEvaluator.class)::evaluate);
+			});
+		
+		if (evaluators.isEmpty()) {
+			return createEmptyResult(limit);
+		}
 		
 		// for single CodeSystem searches, sorting, paging works as it should
-		if (concepts.size() == 1) {
-			return Iterables.getOnlyElement(concepts);
+		if (evaluators.size() == 1) {
+			final Entry<ResourceURI, Evaluator<Concepts>> evaluator = Iterables.getOnlyElement(evaluators.entrySet());
+			return evaluator.getValue().evaluate(evaluator.getKey(), context, Options.builder()
+					.putAll(conceptSearchOptions)
+					.put(ConceptSearchRequestEvaluator.OptionKey.AFTER, searchAfter())
+					.put(ConceptSearchRequestEvaluator.OptionKey.LIMIT, limit)
+					.build());
 		}
 		
-		// otherwise, check if searchAfter was used, as it would return bogus results; it can not be applied across code systems
-		if (searchAfter() != null) {
-			throw new BadRequestException("searchAfter is not supported in Concept Search API for multiple code systems.");
+		// otherwise search all code systems in parallel and merge the results by the requested sort
+		return new MultiResourceSearch<Concept, Concepts>(
+			Concepts.class,
+			ConceptSearchRequestEvaluator.OptionKey.AFTER,
+			ConceptSearchRequestEvaluator.OptionKey.LIMIT,
+			toComparator(sortBy()),
+			Concepts::new
+		).search(context, evaluators, conceptSearchOptions, searchAfter(), limit);
+	}
+	
+	/*
+	 * Creates a comparator consistent with the sort order of the generic concept search. Sort keys not available on the generic concept model (eg.
+	 * script sorts) are ignored when merging, in which case results from different code systems are ordered by their code system.
+	 */
+	private static Comparator<Concept> toComparator(List<Sort> sorts) {
+		if (CompareUtils.isEmpty(sorts)) {
+			return Comparator.comparing(Concept::getId);
 		}
 		
-		// calculate grand total
-		int total = 0;
-		for (Concepts conceptsToAdd : concepts) {
-			total += conceptsToAdd.getTotal();
+		Comparator<Concept> comparator = (c1, c2) -> 0;
+		for (Sort sort : sorts) {
+			if (!(sort instanceof SortField)) {
+				continue;
+			}
+			
+			final Comparator<Concept> fieldComparator;
+			switch (((SortField) sort).getField()) {
+			case SortBy.FIELD_SCORE:
+				fieldComparator = Comparator.comparing(Concept::getScore, Comparator.nullsLast(Comparator.naturalOrder()));
+				break;
+			case ID_FIELD:
+				fieldComparator = Comparator.comparing(Concept::getId);
+				break;
+			case TERM_FIELD:
+				fieldComparator = Comparator.comparing(Concept::getTerm, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+				break;
+			default:
+				continue;
+			}
+			
+			comparator = comparator.thenComparing(sort.isAscending() ? fieldComparator : fieldComparator.reversed());
 		}
 		
-		return new Concepts(
-			concepts.stream().flatMap(Concepts::stream).limit(limit).collect(Collectors.toList()), // TODO add manual sorting here if multiple resources have been fetched 
-			null, /* not supported across codesystems */
-			limit, 
-			total
-		);
+		return comparator;
 	}
 
 }
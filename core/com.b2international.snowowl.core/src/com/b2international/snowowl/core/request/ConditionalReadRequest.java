@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.request;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.b2international.commons.exceptions.NotModifiedException;
+import com.b2international.index.revision.RevisionBranchRef;
+import com.b2international.index.revision.RevisionSearcher;
+import com.b2international.snowowl.core.TerminologyResource;
+import com.b2international.snowowl.core.domain.RepositoryContext;
+import com.b2international.snowowl.core.events.DelegatingRequest;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
+import com.b2international.snowowl.core.events.util.ResponseHeaders;
+
+/**
+ * Records the state of the revision index snapshot the next request is going to read from and short-circuits the first content read of a request
+ * with a {@link NotModifiedException} if the client already has the same representation. Only effective when a {@link ConditionalRead} is bound
+ * to the context. The entity tag covering all content read by the request is set on the response by {@link ConditionalRead#complete(ResponseHeaders)}.
+ * 
+ * @since 8.10
+ */
+public final class ConditionalReadRequest<C extends RepositoryContext, R> extends DelegatingRequest<C, C, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	public ConditionalReadRequest(Request<C, R> next) {
+		super(next);
+	}
+	
+	@Override
+	public R execute(C context) {
+		final Optional<ConditionalRead> conditionalRead = context.optionalService(ConditionalRead.class);
+		if (conditionalRead.isEmpty()) {
+			return next(context);
+		}
+		
+		final ConditionalRead read = conditionalRead.get();
+		if (read.record(getStateKey(context))) {
+			// the first content read of the request can stop early if the client's tag was computed from this state only
+			final String etag = read.getETag();
+			if (read.isNotModified(etag)) {
+				throw new NotModifiedException(etag);
+			}
+		}
+		return next(context);
+	}
+
+	private String getStateKey(C context) {
+		final RevisionBranchRef ref = context.service(RevisionSearcher.class).ref();
+		// the resolved terminology resource is part of the state, as resource lookups are not tracked on their own
+		final String resource = context.optionalService(TerminologyResource.class)
+				.map(terminologyResource -> terminologyResource.getResourceURI() + "@" + terminologyResource.getUpdatedAt() + "/")
+				.orElse("");
+		return ref.segments()
+				.stream()
+				.map(segment -> segment.branchId() + ":" + segment.start() + "-" + segment.end())
+				.collect(Collectors.joining(",", resource + context.info().id() + "/" + ref.path() + "[", "]"));
+	}
+	
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import com.b2international.commons.exceptions.BadRequestException;
+import com.b2international.commons.options.Options;
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.domain.PageableCollectionResource;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
+import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.core.identity.User;
+import com.b2international.snowowl.core.request.ResourceSearchEvaluationRequest.Evaluator;
+import com.b2international.snowowl.eventbus.IEventBus;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.primitives.Ints;
+
+/**
+ * Executes a search on multiple terminology resources in parallel and merges the sorted per-resource result pages into a single page using a k-way
+ * merge. Paging across resources is supported with a composite <code>searchAfter</code> token that encodes the position of each resource's result
+ * stream.
+ * <p>
+ * Positions are tracked as an underlying per-resource <code>searchAfter</code> token and the number of items to skip after it. When only a part of
+ * a fetched resource page ends up on the merged page, an additional search limited to the skipped items is executed in parallel with the next
+ * page to move the per-resource token forward, so the number of skipped items never exceeds the page size.
+ *
+ * @since 8.10
+ * @param <T> - the type of the items
+ * @param <R> - the type of the per-resource and merged search results
+ */
+final class MultiResourceSearch<T, R extends PageableCollectionResource<T>> {
+
+	private static final long TIMEOUT = 3L;
+
+	private static final char ENTRY_SEPARATOR = '\n';
+	private static final char FIELD_SEPARATOR = '\t';
+
+	/**
+	 * Creates the merged result instance from the items, the composite searchAfter token, the limit and the grand total of all resources.
+	 */
+	@FunctionalInterface
+	interface ResultFactory<T, R> {
+		R create(List<T> items, String searchAfter, int limit, int total);
+	}
+
+	private static final class Position {
+
+		private final String searchAfter;
+		private final int skip;
+
+		Position(String searchAfter, int skip) {
+			this.searchAfter = searchAfter;
+			this.skip = skip;
+		}
+
+	}
+
+	private final Class<R> resultType;
+	private final Enum<?> searchAfterKey;
+	private final Enum<?> limitKey;
+	private final Comparator<? super T> comparator;
+	private final ResultFactory<T, R> resultFactory;
+
+	/**
+	 * @param resultType - the per-resource result type
+	 * @param searchAfterKey - the evaluator option key for the per-resource searchAfter token
+	 * @param limitKey - the evaluator option key for the per-resource limit
+	 * @param comparator - comparator consistent with the sort order of the per-resource results
+	 * @param resultFactory - factory to create the merged result
+	 */
+	MultiResourceSearch(Class<R> resultType, Enum<?> searchAfterKey, Enum<?> limitKey, Comparator<? super T> comparator, ResultFactory<T, R> resultFactory) {
+		this.resultType = resultType;
+		this.searchAfterKey = searchAfterKey;
+		this.limitKey = limitKey;
+		this.comparator = comparator;
+		this.resultFactory = resultFactory;
+	}
+
+	/**
+	 * Executes the search on the given resources.
+	 *
+	 * @param context - the context to dispatch the per-resource searches from
+	 * @param evaluators - the resources to search with the evaluator to use for each, in tie-breaking order
+	 * @param search - the search options, without searchAfter and limit
+	 * @param searchAfter - the composite searchAfter token returned by a previous page, or <code>null</code> to get the first page
+	 * @param limit - the number of items to return
+	 * @return the merged page
+	 */
+	R search(ServiceProvider context, Map<ResourceURI, ? extends Evaluator<R>> evaluators, Options search, String searchAfter, int limit) {
+		final Map<ResourceURI, Position> positions = decode(searchAfter, evaluators.keySet());
+
+		final IEventBus bus = context.service(IEventBus.class);
+		// pass the authenticated user on to the per-resource searches, so they won't need to authenticate again
+		final Map<Class<?>, Object> requestContext = new HashMap<>(2);
+		context.optionalService(User.class).ifPresent(user -> requestContext.put(User.class, user));
+		// per-resource content reads must contribute to the entity tag of the caller's request
+		context.optionalService(ConditionalRead.class).ifPresent(read -> requestContext.put(ConditionalRead.class, read));
+
+		final List<ResourceURI> resources = new ArrayList<>(positions.keySet());
+		final List<Promise<R>> pages = new ArrayList<>(resources.size());
+		final Map<ResourceURI, Promise<R>> skippedPages = new HashMap<>();
+
+		for (ResourceURI resource : resources) {
+			final Evaluator<R> evaluator = evaluators.get(resource);
+			final Position position = positions.get(resource);
+			pages.add(evaluate(bus, requestContext, resource, evaluator, search, position.searchAfter, position.skip + limit));
+			if (position.skip > 0) {
+				skippedPages.put(resource, evaluate(bus, requestContext, resource, evaluator, search, position.searchAfter, position.skip));
+			}
+		}
+
+		// wait for all per-resource searches to complete
+		Promise.all(pages).getSync(TIMEOUT, TimeUnit.MINUTES);
+		Promise.all(skippedPages.values()).getSync(TIMEOUT, TimeUnit.MINUTES);
+
+		int total = 0;
+		final List<List<T>> items = new ArrayList<>(resources.size());
+		for (int i = 0; i < resources.size(); i++) {
+			final R page = pages.get(i).getSync();
+			final int skip = positions.get(resources.get(i)).skip;
+			final List<T> pageItems = List.copyOf(page.getItems());
+			items.add(pageItems.subList(Math.min(skip, pageItems.size()), pageItems.size()));
+			total += page.getTotal();
+		}
+
+		final int[] consumed = new int[resources.size()];
+		final List<T> merged = merge(items, consumed, limit);
+
+		// compute the next position of each resource, exhausted resources are left out
+		final Map<ResourceURI, Position> nextPositions = new LinkedHashMap<>();
+		for (int i = 0; i < resources.size(); i++) {
+			final ResourceURI resource = resources.get(i);
+			final Position position = positions.get(resource);
+			final R page = pages.get(i).getSync();
+
+			if (consumed[i] == items.get(i).size()) {
+				final boolean exhausted = Strings.isNullOrEmpty(page.getSearchAfter()) || page.getItems().size() < position.skip + limit;
+				if (!exhausted) {
+					nextPositions.put(resource, new Position(page.getSearchAfter(), 0));
+				}
+			} else if (skippedPages.containsKey(resource)) {
+				final R skippedPage = skippedPages.get(resource).getSync();
+				if (!Strings.isNullOrEmpty(skippedPage.getSearchAfter()) && skippedPage.getItems().size() == position.skip) {
+					nextPositions.put(resource, new Position(skippedPage.getSearchAfter(), consumed[i]));
+				} else {
+					nextPositions.put(resource, new Position(position.searchAfter, position.skip + consumed[i]));
+				}
+			} else {
+				nextPositions.put(resource, new Position(position.searchAfter, consumed[i]));
+			}
+		}
+
+		return resultFactory.create(merged, limit > 0 ? encode(nextPositions) : null, limit, total);
+	}
+
+	private Promise<R> evaluate(IEventBus bus, Map<Class<?>, Object> requestContext, ResourceURI resource, Evaluator<R> evaluator, Options search, String searchAfter, int limit) {
+		final Options resourceSearch = Options.builder()
+				.putAll(search)
+				.put(searchAfterKey, searchAfter)
+				.put(limitKey, limit)
+				.build();
+
+		return new ResourceSearchEvaluationRequest<>(resource, resourceSearch, evaluator, resultType)
+				.async(requestContext)
+				.execute(bus);
+	}
+
+	/*
+	 * Performs a k-way merge on the given sorted lists, ties are broken by the list index.
+	 */
+	private List<T> merge(List<List<T>> lists, int[] consumed, int limit) {
+		final PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, lists.size()), (l1, l2) -> {
+			final int result = comparator.compare(lists.get(l1).get(consumed[l1]), lists.get(l2).get(consumed[l2]));
+			return result != 0 ? result : Integer.compare(l1, l2);
+		});
+
+		for (int i = 0; i < lists.size(); i++) {
+			if (!lists.get(i).isEmpty()) {
+				heads.add(i);
+			}
+		}
+
+		final List<T> merged = new ArrayList<>(limit);
+		while (merged.size() < limit && !heads.isEmpty()) {
+			final int list = heads.poll();
+			merged.add(lists.get(list).get(consumed[list]));
+			consumed[list]++;
+			if (consumed[list] < lists.get(list).size()) {
+				heads.add(list);
+			}
+		}
+
+		return merged;
+	}
+
+	private static Map<ResourceURI, Position> decode(String searchAfter, Set<ResourceURI> resources) {
+		final Map<ResourceURI, Position> positions = new LinkedHashMap<>();
+
+		if (Strings.isNullOrEmpty(searchAfter)) {
+			resources.forEach(resource -> positions.put(resource, new Position(null, 0)));
+			return positions;
+		}
+
+		final String token;
+		try {
+			token = new String(Base64.getUrlDecoder().decode(searchAfter), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid searchAfter token '%s'.", searchAfter);
+		}
+
+		for (String entry : Splitter.on(ENTRY_SEPARATOR).omitEmptyStrings().split(token)) {
+			final List<String> fields = Splitter.on(FIELD_SEPARATOR).splitToList(entry);
+			final Integer skip = fields.size() == 3 ? Ints.tryParse(fields.get(2)) : null;
+			if (skip == null || skip < 0) {
+				throw new BadRequestException("Invalid searchAfter token '%s'.", searchAfter);
+			}
+
+			final ResourceURI resource = new ResourceURI(fields.get(0));
+			// resources that are no longer available or not part of the current search are skipped
+			if (resources.contains(resource)) {
+				positions.put(resource, new Position(Strings.emptyToNull(fields.get(1)), skip));
+			}
+		}
+
+		return positions;
+	}
+
+	private static String encode(Map<ResourceURI, Position> positions) {
+		if (positions.isEmpty()) {
+			return null;
+		}
+
+		final StringBuilder token = new StringBuilder();
+		positions.forEach((resource, position) -> {
+			token.append(resource)
+				.append(FIELD_SEPARATOR)
+				.append(Strings.nullToEmpty(position.searchAfter))
+				.append(FIELD_SEPARATOR)
+				.append(position.skip)
+				.append(ENTRY_SEPARATOR);
+		});
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.request;
+
+import com.b2international.commons.options.Options;
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Evaluates a generic search on a single terminology resource. Used by {@link MultiResourceSearch} to dispatch per-resource searches to the
+ * request executor, so that they can run in parallel.
+ *
+ * @since 8.10
+ * @param <R> - the type of the search result
+ */
+final class ResourceSearchEvaluationRequest<R> implements Request<ServiceProvider, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Evaluates search options on a single resource, matches the signature of the generic concept and member search evaluators.
+	 *
+	 * @param <R> - the type of the search result
+	 */
+	@FunctionalInterface
+	interface Evaluator<R> {
+		R evaluate(ResourceURI uri, ServiceProvider context, Options search);
+	}
+
+	@JsonProperty
+	private final ResourceURI resourceUri;
+
+	@JsonProperty
+	private final Options search;
+
+	private final transient Evaluator<R> evaluator;
+
+	private final transient Class<R> returnType;
+
+	ResourceSearchEvaluationRequest(ResourceURI resourceUri, Options search, Evaluator<R> evaluator, Class<R> returnType) {
+		this.resourceUri = resourceUri;
+		this.search = search;
+		this.evaluator = evaluator;
+		this.returnType = returnType;
+	}
+
+	@Override
+	public R execute(ServiceProvider context) {
+		return evaluator.evaluate(resourceUri, context, search);
+	}
+
+	@JsonIgnore
+	@Override
+	public Class<R> getReturnType() {
+		return returnType;
+	}
+
+}
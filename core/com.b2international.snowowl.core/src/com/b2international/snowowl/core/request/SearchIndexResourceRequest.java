@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -81,6 +81,7 @@ public abstract class SearchIndexResourceRequest<C extends ServiceProvider, B, D
 					.sortBy(querySortBy(context))
 					.withScores(trackScores())
 					.cached(cacheHits(context))
+					.collapse(collapseField())
 					.build());
 		}
 		
@@ -187,6 +188,16 @@ public abstract class SearchIndexResourceRequest<C extends ServiceProvider, B, D
 		return false;
 	}
 	
+	/**
+	 * Subclasses may override to collapse the matches on a single valued field, returning only the top hit for each distinct value. By default
+	 * matches are not collapsed.
+	 * 
+	 * @return the field to collapse the matches on or <code>null</code> if collapsing is not required
+	 */
+	protected String collapseField() {
+		return null;
+	}
+	
 	/**
 	 * Subclasses may override to configure caching. By default search requests that are executed against a version URI will be cached.  
 	 * @param context - the context that can be used to determine whether caching should be enabled for this search request or not
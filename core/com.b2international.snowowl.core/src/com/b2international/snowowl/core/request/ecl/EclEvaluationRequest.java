@@ -36,6 +36,7 @@ import org.eclipse.xtext.util.PolymorphicDispatcher;
 import com.b2international.commons.CompareUtils;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.exceptions.TooCostlyException;
+import com.b2international.index.IndexMetrics;
 import com.b2international.index.query.*;
 import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.snomed.ecl.Ecl;
@@ -45,12 +46,15 @@ import com.b2international.snowowl.core.domain.IComponent;
 import com.b2international.snowowl.core.ecl.EclParser;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.core.monitoring.RequestMetrics;
 import com.b2international.snowowl.core.repository.RevisionDocument;
 import com.b2international.snowowl.core.uri.ResourceURIPathResolver.PathWithVersion;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * @since 8.2.0
  */
@@ -69,11 +73,37 @@ public abstract class EclEvaluationRequest<C extends ServiceProvider> implements
 	
 	@Override
 	public final Promise<Expression> execute(C context) {
+		final IndexMetrics metrics = RequestMetrics.of(context);
+		final String type = getType();
+		
+		final Timer.Sample parseSample = metrics.start();
 		final ExpressionConstraint expressionConstraint = context.service(EclParser.class).parse(expression, ignoredSyntaxErrorCodes);
+		metrics.stop(parseSample, RequestMetrics.ECL_EVALUATION, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_PARSE);
 		if (expressionConstraint == null) {
 			return Promise.immediate(Expressions.matchNone());
 		}
-		return doEval(context, expressionConstraint);
+		
+		// evaluation may continue asynchronously, stop the sample when the returned promise completes
+		final Timer.Sample evaluateSample = metrics.start();
+		final Runnable stopEvaluateSample = () -> metrics.stop(evaluateSample, RequestMetrics.ECL_EVALUATION, IndexMetrics.TAG_TYPE, type, IndexMetrics.TAG_PHASE, RequestMetrics.PHASE_EVALUATE);
+		
+		final Promise<Expression> promise;
+		try {
+			promise = doEval(context, expressionConstraint);
+		} catch (RuntimeException | Error e) {
+			stopEvaluateSample.run();
+			throw e;
+		}
+		
+		return promise
+			.failWith(e -> {
+				stopEvaluateSample.run();
+				return Promise.fail(e);
+			})
+			.then(result -> {
+				stopEvaluateSample.run();
+				return result;
+			});
 	}
 
 	public final Promise<Expression> doEval(C context, final ExpressionConstraint expressionConstraint) {
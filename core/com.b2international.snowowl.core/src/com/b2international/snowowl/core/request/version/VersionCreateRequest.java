@@ -21,6 +21,8 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.validation.constraints.NotNull;
@@ -30,13 +32,16 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.hibernate.validator.constraints.NotEmpty;
 
 import com.b2international.commons.CompareUtils;
+import com.b2international.commons.exceptions.ApiException;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.exceptions.ConflictException;
 import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.index.revision.RevisionBranch.BranchNameValidator;
 import com.b2international.snowowl.core.*;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.authorization.AccessControl;
 import com.b2international.snowowl.core.branch.Branch;
+import com.b2international.snowowl.core.config.RepositoryConfiguration;
 import com.b2international.snowowl.core.context.ResourceRepositoryCommitRequestBuilder;
 import com.b2international.snowowl.core.date.EffectiveTimes;
 import com.b2international.snowowl.core.domain.RepositoryContext;
@@ -56,8 +61,11 @@ import com.b2international.snowowl.core.version.VersionDocument;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Strings;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @since 5.7
@@ -65,7 +73,7 @@ import com.google.common.collect.Multimap;
 public final class VersionCreateRequest implements Request<RepositoryContext, Boolean>, AccessControl {
 
 	private static final long serialVersionUID = 1L;
-	private static final int TASK_WORK_STEP = 4;
+	private static final int TASK_WORK_STEP = 3;
 	
 	@NotEmpty
 	@JsonProperty
@@ -92,8 +100,10 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 	@JsonProperty
 	String author;
 	
+	@JsonProperty
+	List<ResourceURI> additionalResources;
+	
 	// local execution variables
-	private transient Multimap<DatastoreLockContext, DatastoreLockTarget> lockTargetsByContext;
 	private transient Map<ResourceURI, TerminologyResource> resourcesById;
 	
 	@Override
@@ -103,35 +113,39 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 			author = submitter;			
 		}
 		
-		if (!resource.isHead()) {
-			throw new BadRequestException("Version '%s' cannot be created on unassigned branch '%s'", version, resource)
-				.withDeveloperMessage("Did you mean to version '%s'?", resource.withoutPath());
+		final List<ResourceURI> resourceUris = getResourceUris();
+		
+		for (ResourceURI resourceUri : resourceUris) {
+			if (!resourceUri.isHead()) {
+				throw new BadRequestException("Version '%s' cannot be created on unassigned branch '%s'", version, resourceUri)
+					.withDeveloperMessage("Did you mean to version '%s'?", resourceUri.withoutPath());
+			}
 		}
 		
 		if (resourcesById == null) {
-			resourcesById = fetchResources(context);
+			resourcesById = fetchResources(context, resourceUris);
 		}
 		
-		if (!resourcesById.containsKey(resource)) {
-			context.log().warn("Resource cannot be found during versioning: " + resourcesById + ", uri: " + resource);
-			throw new NotFoundException("Resource", resource.getResourceId());
+		for (ResourceURI resourceUri : resourceUris) {
+			if (!resourcesById.containsKey(resourceUri)) {
+				context.log().warn("Resource cannot be found during versioning: " + resourcesById + ", uri: " + resourceUri);
+				throw new NotFoundException("Resource", resourceUri.getResourceId());
+			}
 		}
 		
 		// validate new path
 		context.service(BranchNameValidator.class).checkName(version);
 		
-		TerminologyResource resourceToVersion = resourcesById.get(resource);
-
-		if (TerminologyResourceCommitRequestBuilder.READ_ONLY_STATUSES.contains(resourceToVersion.getStatus())) {
-			throw new BadRequestException("Resource '%s' cannot be versioned in its current status '%s'", resourceToVersion.getTitle(), resourceToVersion.getStatus());
-		}
-		
 		// TODO resurrect or eliminate tooling dependencies
-		final List<TerminologyResource> resourcesToVersion = List.of(resourcesById.get(resource));
-//		final List<CodeSystem> resourcesToVersion = codeSystem.getDependenciesAndSelf()
-//				.stream()
-//				.map(resourcesById::get)
-//				.collect(Collectors.toList());
+		final List<TerminologyResource> resourcesToVersion = resourceUris.stream()
+				.map(resourcesById::get)
+				.collect(Collectors.toList());
+		
+		for (TerminologyResource resourceToVersion : resourcesToVersion) {
+			if (TerminologyResourceCommitRequestBuilder.READ_ONLY_STATUSES.contains(resourceToVersion.getStatus())) {
+				throw new BadRequestException("Resource '%s' cannot be versioned in its current status '%s'", resourceToVersion.getTitle(), resourceToVersion.getStatus());
+			}
+		}
 		
 		resourcesToVersion.stream()
 			.filter(cs -> cs.getUpgradeOf() != null)
@@ -140,10 +154,10 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 				throw new BadRequestException("Upgrade resource '%s' can not be versioned", cs.getResourceURI());				
 			});
 		
+		// verify the version on all resources first before we start versioning any of them
 		for (TerminologyResource terminologyResource : resourcesToVersion) {
 			// check that the specified effective time is valid in this code system
-			// XXX ensure we verify version on all codesystems first before we delete any branches
-			validateVersion(context, resourceToVersion);
+			validateVersion(context, terminologyResource);
 			// check that the new versionId does not conflict with any other currently available branch
 			final String newVersionPath = String.join(Branch.SEPARATOR, terminologyResource.getBranchPath(), version);
 			final String repositoryId = terminologyResource.getToolingId();
@@ -167,44 +181,138 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 			}
 		}
 		
-		acquireLocks(context, submitter, resourcesToVersion);
+		final IProgressMonitor monitor = SubMonitor.convert(context.service(IProgressMonitor.class), TASK_WORK_STEP * resourcesToVersion.size());
+		
+		// independent resources are versioned concurrently, a single resource is versioned on the current thread
+		final int threads = Math.min(context.service(RepositoryConfiguration.class).getVersioningParallelism(), resourcesToVersion.size());
+		final ListeningExecutorService executor;
+		if (threads > 1) {
+			executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+					.setNameFormat("create-version-%d")
+					.setDaemon(true)
+					.build()));
+		} else {
+			executor = MoreExecutors.newDirectExecutorService();
+		}
 		
-		final IProgressMonitor monitor = SubMonitor.convert(context.service(IProgressMonitor.class), TASK_WORK_STEP);
 		try {
+			final Map<ResourceURI, ListenableFuture<?>> versionFutures = new LinkedHashMap<>(resourcesToVersion.size());
+			for (TerminologyResource resourceToVersion : resourcesToVersion) {
+				versionFutures.put(resourceToVersion.getResourceURI(), executor.submit(() -> createVersion(context, submitter, resourceToVersion, monitor)));
+			}
 			
-//			resourcesToVersion.forEach(resourceToVersion -> {
-				// version components in the given repository
-				new RepositoryRequest<CommitResult>(resourceToVersion.getToolingId(),
-					new BranchSnapshotContentRequest<CommitResult>(resourceToVersion.getBranchPath(),
-							context.service(RepositoryManager.class).get(resourceToVersion.getToolingId())
-								.service(VersioningRequestBuilder.class)
-								.build(new VersioningConfiguration(author, resourceToVersion.getResourceURI(), version, description, effectiveTime, force))
-					)
-				).execute(context);
-				
-				// tag the repository
-				RepositoryRequests
-					.branching()
-					.prepareCreate()
-					.setParent(resourceToVersion.getBranchPath())
-					.setName(version)
-					// delete the branch if force requested and we get to this point
-					.force(force)
-					.build(resourceToVersion.getToolingId())
-					.execute(context);
-				monitor.worked(1);
-//			});
+			// a failure does not affect the versioning of the other resources, report the failed ones after all of them completed
+			final List<ResourceURI> versionedResources = new ArrayList<>(versionFutures.size());
+			final Map<ResourceURI, Throwable> failures = new LinkedHashMap<>();
+			for (Entry<ResourceURI, ListenableFuture<?>> versionFuture : versionFutures.entrySet()) {
+				try {
+					versionFuture.getValue().get();
+					versionedResources.add(versionFuture.getKey());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SnowowlRuntimeException("Interrupted while creating version " + version, e);
+				} catch (ExecutionException e) {
+					if (versionFutures.size() > 1) {
+						context.log().error("Failed to create version '{}' of '{}'.", version, versionFuture.getKey(), e.getCause());
+					}
+					failures.put(versionFuture.getKey(), e.getCause());
+				}
+			}
+			
+			if (!failures.isEmpty()) {
+				throw toVersioningFailure(context, versionedResources, failures);
+			}
+			
+			return Boolean.TRUE;
+		} finally {
+			executor.shutdownNow();
+			if (null != monitor) {
+				monitor.done();
+			}
+		}
+	}
+	
+	/*
+	 * A single resource fails with its original exception, failures of multiple resources report the outcome of every versioned resource
+	 */
+	private RuntimeException toVersioningFailure(RepositoryContext context, List<ResourceURI> versionedResources, Map<ResourceURI, Throwable> failures) {
+		final Throwable failure = failures.values().iterator().next();
+		failures.values().stream().skip(1).forEach(failure::addSuppressed);
+		
+		if (versionedResources.isEmpty() && failures.size() == 1) {
+			Throwables.throwIfUnchecked(failure);
+			return new SnowowlRuntimeException(failure);
+		}
+		
+		final String message = String.format("Failed to create version '%s' of %s. Version has been created for %s.", 
+				version, 
+				failures.keySet(), 
+				versionedResources.isEmpty() ? "none of the resources" : versionedResources);
+		context.log().error(message);
+		
+		if (failure instanceof ApiException) {
+			// keep the status of the original failure, attach the outcome of the other resources
+			final Map<String, Object> failureMessages = new LinkedHashMap<>(failures.size());
+			failures.forEach((resourceUri, resourceFailure) -> failureMessages.put(resourceUri.toString(), resourceFailure.getMessage()));
+			return ((ApiException) failure)
+					.withAdditionalInfo("failedResources", failureMessages)
+					.withAdditionalInfo("versionedResources", versionedResources.stream().map(ResourceURI::toString).collect(Collectors.toList()));
+		} else {
+			return new SnowowlRuntimeException(message, failure);
+		}
+	}
+	
+	private List<ResourceURI> getResourceUris() {
+		final Set<ResourceURI> resourceUris = new LinkedHashSet<>();
+		resourceUris.add(resource);
+		if (additionalResources != null) {
+			resourceUris.addAll(additionalResources);
+		}
+		return List.copyOf(resourceUris);
+	}
+	
+	private Boolean createVersion(RepositoryContext context, String submitter, TerminologyResource resourceToVersion, IProgressMonitor monitor) {
+		final IOperationLockManager lockManager = context.service(IOperationLockManager.class);
+		final DatastoreLockContext lockContext = new DatastoreLockContext(submitter, CREATE_VERSION);
+		final DatastoreLockTarget lockTarget = new DatastoreLockTarget(resourceToVersion.getToolingId(), resourceToVersion.getBranchPath());
+		
+		lockManager.lock(lockContext, IOperationLockManager.IMMEDIATE, lockTarget);
+		try {
+			
+			// version components in the given repository
+			new RepositoryRequest<CommitResult>(resourceToVersion.getToolingId(),
+				new BranchSnapshotContentRequest<CommitResult>(resourceToVersion.getBranchPath(),
+						context.service(RepositoryManager.class).get(resourceToVersion.getToolingId())
+							.service(VersioningRequestBuilder.class)
+							.build(new VersioningConfiguration(author, resourceToVersion.getResourceURI(), version, description, effectiveTime, force))
+				)
+			).execute(context);
+			worked(monitor);
+			
+			// tag the repository
+			RepositoryRequests
+				.branching()
+				.prepareCreate()
+				.setParent(resourceToVersion.getBranchPath())
+				.setName(version)
+				// delete the branch if force requested and we get to this point
+				.force(force)
+				.build(resourceToVersion.getToolingId())
+				.execute(context);
+			worked(monitor);
+			
+			final ResourceURI resourceUri = resourceToVersion.getResourceURI();
 			
 			// create a version for the resource
-			return new BranchSnapshotContentRequest<>(Branch.MAIN_PATH,
+			final Boolean result = new BranchSnapshotContentRequest<>(Branch.MAIN_PATH,
 				new ResourceRepositoryCommitRequestBuilder()
 				.setBody(tx -> {
 					tx.add(VersionDocument.builder()
-						.id(resource.withPath(version).withoutResourceType())
+						.id(resourceUri.withPath(version).withoutResourceType())
 						.version(version)
 						.description(description)
 						.effectiveTime(EffectiveTimes.getEffectiveTime(effectiveTime))
-						.resource(resource)
+						.resource(resourceUri)
 						.branchPath(resourceToVersion.getRelativeBranchPath(version))
 						.author(author)
 						.createdAt(Instant.now().toEpochMilli())
@@ -216,15 +324,22 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 					
 					return Boolean.TRUE;
 				})
-				.setCommitComment(CompareUtils.isEmpty(commitComment)? String.format("Version '%s' as of '%s'", resource, version) : commitComment)
+				.setCommitComment(CompareUtils.isEmpty(commitComment)? String.format("Version '%s' as of '%s'", resourceUri, version) : commitComment)
 				.setAuthor(author)
 				.build()
 			).execute(context).getResultAs(Boolean.class);
+			worked(monitor);
+			
+			return result;
 		} finally {
-			releaseLocks(context);
-			if (null != monitor) {
-				monitor.done();
-			}
+			lockManager.unlock(lockContext, lockTarget);
+		}
+	}
+	
+	private static void worked(IProgressMonitor monitor) {
+		// resources versioned concurrently report their progress to the same monitor
+		synchronized (monitor) {
+			monitor.worked(1);
 		}
 	}
 	
@@ -235,10 +350,10 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 		return new RepositoryRequest<>(resourceToVersion.getToolingId(), withVersionReq).execute(context);
 	}
 
-	private Map<ResourceURI, TerminologyResource> fetchResources(ServiceProvider context) {
+	private Map<ResourceURI, TerminologyResource> fetchResources(ServiceProvider context, List<ResourceURI> resourceUris) {
 		return ResourceRequests.prepareSearch()
-			.one()
-			.filterById(resource.getResourceId())
+			.setLimit(resourceUris.size())
+			.filterByIds(resourceUris.stream().map(ResourceURI::getResourceId).collect(Collectors.toSet()))
 			.buildAsync()
 			.execute(context)
 			.stream()
@@ -286,34 +401,15 @@ public final class VersionCreateRequest implements Request<RepositoryContext, Bo
 			.findFirst();
 	}
 	
-	private void acquireLocks(ServiceProvider context, String user, Collection<TerminologyResource> codeSystems) {
-		this.lockTargetsByContext = HashMultimap.create();
-		
-		final DatastoreLockContext lockContext = new DatastoreLockContext(user, CREATE_VERSION);
-		for (TerminologyResource codeSystem : codeSystems) {
-			final DatastoreLockTarget lockTarget = new DatastoreLockTarget(codeSystem.getToolingId(), codeSystem.getBranchPath());
-			
-			context.service(IOperationLockManager.class).lock(lockContext, IOperationLockManager.IMMEDIATE, lockTarget);
-
-			lockTargetsByContext.put(lockContext, lockTarget);
-		}
-	}
-	
-	private void releaseLocks(ServiceProvider context) {
-		for (Entry<DatastoreLockContext, DatastoreLockTarget> entry : lockTargetsByContext.entries()) {
-			context.service(IOperationLockManager.class).unlock(entry.getKey(), entry.getValue());
-		}
-	}
-	
 	@Override
 	public List<Permission> getPermissions(ServiceProvider context, Request<ServiceProvider, ?> req) {
-		return List.of(
-			Permission.requireAny(
+		return getResourceUris().stream()
+			.map(resourceUri -> Permission.requireAny(
 				getOperation(), 
-				resource.toString(),
-				resource.withoutResourceType()
-			)
-		);
+				resourceUri.toString(),
+				resourceUri.withoutResourceType()
+			))
+			.collect(Collectors.toList());
 	}
 	
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.b2international.snowowl.core.request.version;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.b2international.snowowl.core.ResourceURI;
 import com.b2international.snowowl.core.context.ResourceRepositoryRequestBuilder;
@@ -35,6 +36,7 @@ public final class VersionCreateRequestBuilder
 	private String description;
 	private LocalDate effectiveTime;
 	private ResourceURI resource;
+	private List<ResourceURI> additionalResources;
 	private boolean force = false;
 	private String commitComment;
 	private String author;
@@ -44,6 +46,19 @@ public final class VersionCreateRequestBuilder
 		return getSelf();
 	}
 	
+	/**
+	 * Sets additional resources to version together with the {@link #setResource(ResourceURI) resource}, using the same version identifier and
+	 * effective time (eg. releasing a bundle of extensions at once). Independent resources are versioned concurrently, a failing resource does not
+	 * prevent the others from being versioned.
+	 * 
+	 * @param additionalResources
+	 * @return
+	 */
+	public VersionCreateRequestBuilder setAdditionalResources(List<ResourceURI> additionalResources) {
+		this.additionalResources = additionalResources;
+		return getSelf();
+	}
+	
 	public VersionCreateRequestBuilder setDescription(String description) {
 		this.description = description;
 		return getSelf();
@@ -80,6 +95,7 @@ public final class VersionCreateRequestBuilder
 		req.description= description;
 		req.effectiveTime = effectiveTime;
 		req.resource = resource;
+		req.additionalResources = additionalResources;
 		req.force = force;
 		req.commitComment = commitComment;
 		req.author = author;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2020-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,9 +40,20 @@ import com.b2international.snowowl.core.version.Versions;
 public final class DefaultResourceURIPathResolver implements ResourceURIPathResolver {
 	
 	private final boolean allowBranches;
+	private final ResourceURIResolutionCache cache;
 	
 	public DefaultResourceURIPathResolver(boolean allowBranches) {
+		this(allowBranches, null);
+	}
+	
+	/**
+	 * @param allowBranches - whether relative branch paths of resources can be resolved when no version matches the path
+	 * @param cache - caches the outcome of version searches, may be <code>null</code>
+	 * @since 8.10
+	 */
+	public DefaultResourceURIPathResolver(boolean allowBranches, ResourceURIResolutionCache cache) {
 		this.allowBranches = allowBranches;
+		this.cache = cache;
 	}
 	
 	@Override
@@ -77,47 +88,58 @@ public final class DefaultResourceURIPathResolver implements ResourceURIPathReso
 				final String absoluteBranchPath = relativeBranchPath + uriToResolve.getTimestampPart();
 				return new PathWithVersion(absoluteBranchPath);
 			}
-				
-			VersionSearchRequestBuilder versionSearch = ResourceRequests.prepareSearchVersion()
-				.one()
-				.filterByResource(terminologyResource.getResourceURI());
 			
-			if (uriToResolve.isLatest()) {
-				// fetch the latest resource version if LATEST is specified in the URI
-				versionSearch.sortBy(SearchResourceRequest.Sort.fieldDesc(VersionDocument.Fields.EFFECTIVE_TIME));
-			} else {
-				// try to fetch the path as exact version if not the special LATEST is specified in the URI
-				versionSearch.filterByVersionId(uriToResolve.getPath());
+			if (cache != null) {
+				final ResourceURI resourceUri = terminologyResource.getResourceURI()
+						.withPath(uriToResolve.getPath())
+						.withTimestampPart(uriToResolve.getTimestampPart());
+				return cache.getPath(resourceUri, () -> resolveVersion(context, uriToResolve, terminologyResource, relativeBranchPath));
 			}
 			
-			// determine the final branch path, if based on the version search we find a version, then use that, otherwise use the defined path as relative branch of the code system working branch
-			Versions versions = versionSearch.buildAsync()
-				.getRequest()
-				.execute(context);
-			
-			return versions.first()
-				.map(v -> {
-					final String versionBranchPath = v.getBranchPath() + uriToResolve.getTimestampPart();
-					final ResourceURI versionResourceURI = v.getVersionResourceURI().withTimestampPart(uriToResolve.getTimestampPart());
-					return new PathWithVersion(versionBranchPath, versionResourceURI);
-				})
-				.orElseGet(() -> {
-					// for draft resources allow HEAD to be queried via LATEST
-					if (uriToResolve.isLatest() && Resource.DRAFT_STATUS.equals(terminologyResource.getStatus())) {
-						return getResourceHeadBranch(uriToResolve, terminologyResource);
-					}
-					if (uriToResolve.isLatest() || !allowBranches) {
-						throw new BadRequestException("No Resource version is present in '%s'. Explicit '%s' can be used to retrieve the latest work in progress version of the Resource.", 
-							terminologyResource.getId(), terminologyResource.getId());
-					}
-					
-					return new PathWithVersion(relativeBranchPath); 
-				});
+			return resolveVersion(context, uriToResolve, terminologyResource, relativeBranchPath);
 		}
 		
 		return new PathWithVersion("");
 	}
 
+	private PathWithVersion resolveVersion(ServiceProvider context, ResourceURI uriToResolve, TerminologyResource terminologyResource, String relativeBranchPath) {
+		VersionSearchRequestBuilder versionSearch = ResourceRequests.prepareSearchVersion()
+			.one()
+			.filterByResource(terminologyResource.getResourceURI());
+		
+		if (uriToResolve.isLatest()) {
+			// fetch the latest resource version if LATEST is specified in the URI
+			versionSearch.sortBy(SearchResourceRequest.Sort.fieldDesc(VersionDocument.Fields.EFFECTIVE_TIME));
+		} else {
+			// try to fetch the path as exact version if not the special LATEST is specified in the URI
+			versionSearch.filterByVersionId(uriToResolve.getPath());
+		}
+		
+		// determine the final branch path, if based on the version search we find a version, then use that, otherwise use the defined path as relative branch of the code system working branch
+		Versions versions = versionSearch.buildAsync()
+			.getRequest()
+			.execute(context);
+		
+		return versions.first()
+			.map(v -> {
+				final String versionBranchPath = v.getBranchPath() + uriToResolve.getTimestampPart();
+				final ResourceURI versionResourceURI = v.getVersionResourceURI().withTimestampPart(uriToResolve.getTimestampPart());
+				return new PathWithVersion(versionBranchPath, versionResourceURI);
+			})
+			.orElseGet(() -> {
+				// for draft resources allow HEAD to be queried via LATEST
+				if (uriToResolve.isLatest() && Resource.DRAFT_STATUS.equals(terminologyResource.getStatus())) {
+					return getResourceHeadBranch(uriToResolve, terminologyResource);
+				}
+				if (uriToResolve.isLatest() || !allowBranches) {
+					throw new BadRequestException("No Resource version is present in '%s'. Explicit '%s' can be used to retrieve the latest work in progress version of the Resource.", 
+						terminologyResource.getId(), terminologyResource.getId());
+				}
+				
+				return new PathWithVersion(relativeBranchPath); 
+			});
+	}
+
 	private PathWithVersion getResourceHeadBranch(ResourceURI uriToResolve, TerminologyResource terminologyResource) {
 		final String workingBranchPath = terminologyResource.getBranchPath() + uriToResolve.getTimestampPart();
 		return new PathWithVersion(workingBranchPath);
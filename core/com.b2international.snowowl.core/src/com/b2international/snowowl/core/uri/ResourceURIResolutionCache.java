@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.uri;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.b2international.index.revision.RevisionIndex;
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.TerminologyResource;
+import com.b2international.snowowl.core.uri.ResourceURIPathResolver.PathWithVersion;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the resolution of resource paths (eg. <code>SNOMEDCT/2023-01-31</code>, <code>SNOMEDCT/LATEST</code> or
+ * <code>SNOMEDCT@2024-01-01</code>) to terminology resources, resource versions and branch paths, so that requests addressing the same few
+ * resource versions do not have to search the resource and version documents before doing any actual work.
+ * <p>
+ * Resolutions depend on the resource and version documents only, so they are discarded whenever the resources repository changes. Resolutions
+ * pointing to a branch are also discarded when the branch changes.
+ *
+ * @since 8.10
+ */
+public final class ResourceURIResolutionCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final AtomicLong invalidations = new AtomicLong();
+	private final Cache<List<String>, ResolvedResource> resources;
+	private final Cache<String, PathWithVersion> paths;
+
+	public ResourceURIResolutionCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public ResourceURIResolutionCache(int maximumSize) {
+		this.resources = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+		this.paths = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	/**
+	 * Returns the terminology resource, resource URI and branch path a resource path resolves to.
+	 *
+	 * @param toolingId - the tooling the resource path is used with, may be <code>null</code>
+	 * @param resourcePath - the resource path to resolve
+	 * @param resolver - resolves the resource path if it is not cached yet
+	 * @return the resolved resource
+	 */
+	public ResolvedResource getResource(String toolingId, String resourcePath, Supplier<ResolvedResource> resolver) {
+		return get(resources, List.of(toolingId == null ? "" : toolingId, resourcePath), resolver);
+	}
+
+	/**
+	 * Returns the branch path and version a resource URI resolves to.
+	 *
+	 * @param resourceUri - the fully qualified resource URI to resolve, including its timestamp part
+	 * @param resolver - resolves the resource URI if it is not cached yet
+	 * @return the resolved branch path and version
+	 */
+	public PathWithVersion getPath(ResourceURI resourceUri, Supplier<PathWithVersion> resolver) {
+		return get(paths, resourceUri.toString(), resolver);
+	}
+
+	private <K, V> V get(Cache<K, V> cache, K key, Supplier<V> resolver) {
+		final V cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		final long invalidationsBeforeResolve = invalidations.get();
+		final V resolved = resolver.get();
+
+		// a resolution computed while resources or branches changed might already be stale
+		if (invalidationsBeforeResolve == invalidations.get()) {
+			cache.put(key, resolved);
+		}
+
+		return resolved;
+	}
+
+	/**
+	 * Discards all resolutions, eg. because resources or resource versions have been created, changed or deleted.
+	 */
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+		resources.invalidateAll();
+		paths.invalidateAll();
+	}
+
+	/**
+	 * Discards resolutions pointing to the given branch or to a point in time of it.
+	 *
+	 * @param branchPath - the changed branch
+	 */
+	public void invalidate(String branchPath) {
+		invalidations.incrementAndGet();
+		resources.asMap().values().removeIf(resolved -> isOnBranch(resolved.getBranchPath(), branchPath));
+		paths.asMap().values().removeIf(resolved -> isOnBranch(resolved.getPath(), branchPath));
+	}
+
+	private static boolean isOnBranch(String resolvedPath, String branchPath) {
+		final int timestampIdx = resolvedPath.indexOf(RevisionIndex.AT_CHAR);
+		return (timestampIdx < 0 ? resolvedPath : resolvedPath.substring(0, timestampIdx)).equals(branchPath);
+	}
+
+	/**
+	 * The result of resolving a resource path.
+	 */
+	public static final class ResolvedResource {
+
+		private final TerminologyResource resource;
+		private final ResourceURI resourceUri;
+		private final String branchPath;
+
+		public ResolvedResource(TerminologyResource resource, ResourceURI resourceUri, String branchPath) {
+			this.resource = checkNotNull(resource, "resource");
+			this.resourceUri = checkNotNull(resourceUri, "resourceUri");
+			this.branchPath = checkNotNull(branchPath, "branchPath");
+		}
+
+		public TerminologyResource getResource() {
+			return resource;
+		}
+
+		public ResourceURI getResourceUri() {
+			return resourceUri;
+		}
+
+		public String getBranchPath() {
+			return branchPath;
+		}
+
+	}
+
+}
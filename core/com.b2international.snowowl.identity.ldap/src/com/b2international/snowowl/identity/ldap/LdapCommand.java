@@ -47,7 +47,8 @@ import picocli.CommandLine.Option;
 				HelpCommand.class,
 				LdapCommand.UserCommand.class,
 				LdapCommand.UsersCommand.class,
-				LdapCommand.RolesCommand.class
+				LdapCommand.RolesCommand.class,
+				LdapCommand.InvalidateCommand.class
 		}
 )
 public class LdapCommand extends Command {
@@ -199,6 +200,40 @@ public class LdapCommand extends Command {
 
 	}
 
+	@CommandLine.Command(
+		name = "invalidate",
+		header = "Discards cached LDAP authentications and roles",
+		description = ""
+	)
+	public static class InvalidateCommand extends Command {
+
+		@Option(names = { "-n", "--name" }, description = "The user name whose cached authentication should be discarded (discards all cached entries if not set)", required = false)
+		String username;
+
+		@Override
+		public void run(final CommandLineStream out) {
+
+			final IdentityProvider provider = getIdentityProvider();
+
+			if (provider == IdentityProvider.UNPROTECTED) {
+				out.println("LDAP based authentication is not configured for Snow Owl");
+				return;
+			}
+
+			final LdapIdentityProvider ldapProvider = (LdapIdentityProvider) provider;
+
+			if (Strings.isNullOrEmpty(username)) {
+				ldapProvider.invalidateCache();
+				out.println("Discarded all cached authentications and roles");
+			} else {
+				ldapProvider.invalidateCache(username);
+				out.println("Discarded cached authentication of user " + username);
+			}
+
+		}
+
+	}
+
 	private static IdentityProvider getIdentityProvider() {
 
 		final IdentityProvider provider = ApplicationContext.getServiceForClass(IdentityProvider.class);
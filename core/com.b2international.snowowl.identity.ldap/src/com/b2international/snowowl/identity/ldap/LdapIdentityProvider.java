@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,11 @@ package com.b2international.snowowl.identity.ldap;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.naming.AuthenticationException;
 import javax.naming.Context;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -32,12 +34,16 @@ import org.slf4j.LoggerFactory;
 
 import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.core.identity.AuthenticationCache;
 import com.b2international.snowowl.core.identity.IdentityProvider;
 import com.b2international.snowowl.core.identity.Permission;
 import com.b2international.snowowl.core.identity.User;
 import com.b2international.snowowl.core.identity.Users;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
@@ -57,6 +63,12 @@ import com.google.common.collect.Iterators;
  * href="http://nodsw.com/blog/leeland/2006/12/06-no-more-unable-find-valid-certification-path-requested-target">
  * http://nodsw.com/blog/leeland/2006/12/06-no-more-unable-find-valid-certification-path-requested-target </a>
  * </p>
+ * <p>
+ * Successful and failed authentications and the roles read from the directory are cached for a configurable amount of time (see
+ * {@link LdapIdentityProviderConfig#getCacheExpireAfter()}), so that clients sending their credentials with each request do not cause a bind
+ * and a role search against the directory every time. Changes made in the directory become visible after the cached entries expire or after
+ * the cache has been invalidated using the <code>ldap invalidate</code> console command.
+ * </p>
  * </pre>
  * 
  * @since 5.11
@@ -103,9 +115,15 @@ final class LdapIdentityProvider implements IdentityProvider {
 	private static final String ATTR_CN = "cn";
 	
 	private final LdapIdentityProviderConfig conf;
+	private final AuthenticationCache authentications;
+	private final Cache<String, Collection<LdapRole>> roles;
 	
 	public LdapIdentityProvider(LdapIdentityProviderConfig conf) {
 		this.conf = conf;
+		this.authentications = new AuthenticationCache(conf.getCacheExpireAfter(), conf.getFailureCacheExpireAfter(), conf.getCacheSize());
+		this.roles = CacheBuilder.newBuilder()
+				.expireAfterWrite(conf.getCacheExpireAfter(), TimeUnit.SECONDS)
+				.build();
 		final Map<String, String> options = new TreeMap<>();
 		options.put("bindDn", conf.getBindDn());
 		options.put("baseDn", conf.getBaseDn());
@@ -135,6 +153,10 @@ final class LdapIdentityProvider implements IdentityProvider {
 	
 	@Override
 	public User auth(String username, String token) {
+		return authentications.auth(username, token, this::authenticate);
+	}
+	
+	private User authenticate(String username, String token) {
 		InitialLdapContext systemContext = null;
 		try {
 			systemContext = createLdapContext();
@@ -151,7 +173,7 @@ final class LdapIdentityProvider implements IdentityProvider {
 		}
 	}
 	
-	protected String findUserDN(final DirContext context, final String username) {
+	protected String findUserDN(final DirContext context, final String username) throws NamingException {
 		Preconditions.checkNotNull(context, "Directory context is null.");
 		Preconditions.checkNotNull(username, "Username is null.");
 
@@ -169,19 +191,21 @@ final class LdapIdentityProvider implements IdentityProvider {
 
 			return Iterables.getOnlyElement(searchResults).getNameInNamespace();
 		} catch (final NamingException e) {
+			// communication errors must not be reported as a missing user (which would result in a cached failed authentication) 
 			LOG.error("Couldn't find user due to LDAP communication error: {}", e.getMessage(), e);
-			return null;
+			throw e;
 		} finally {
 			closeNamingEnumeration(searchResultEnumeration);
 		}
 	}
 	
-	private boolean authenticateUser(final String userDN, final String token) {
+	private boolean authenticateUser(final String userDN, final String token) throws NamingException {
 		InitialLdapContext userContext = null;
 		try {
 			userContext = createLdapContext(userDN, token);
 			return true;
-		} catch (final NamingException e) {
+		} catch (final AuthenticationException e) {
+			// only rejected credentials count as a failed authentication, any other error is propagated
 			return false;
 		} finally {
 			closeLdapContext(userContext);
@@ -198,7 +222,7 @@ final class LdapIdentityProvider implements IdentityProvider {
 
 		try {
 			context = createLdapContext();
-			Collection<LdapRole> ldapRoles = getAllLdapRoles(context);
+			Collection<LdapRole> ldapRoles = getCachedLdapRoles(context);
 			
 			searchResultEnumeration = context.search(conf.getBaseDn(), conf.getUserFilter(), createSearchControls(ATTRIBUTE_DN, uidProp));
 			for (final SearchResult searchResult : ImmutableList.copyOf(Iterators.forEnumeration(searchResultEnumeration))) {
@@ -232,6 +256,32 @@ final class LdapIdentityProvider implements IdentityProvider {
 		}
 	}
 	
+	private Collection<LdapRole> getCachedLdapRoles(InitialLdapContext context) throws NamingException {
+		try {
+			return roles.get(conf.getRoleBaseDn(), () -> getAllLdapRoles(context));
+		} catch (final ExecutionException e) {
+			Throwables.throwIfInstanceOf(e.getCause(), NamingException.class);
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Discards the cached authentication of the given user.
+	 * 
+	 * @param username
+	 */
+	void invalidateCache(String username) {
+		authentications.invalidate(username);
+	}
+	
+	/**
+	 * Discards all cached authentications and roles.
+	 */
+	void invalidateCache() {
+		authentications.invalidateAll();
+		roles.invalidateAll();
+	}
+	
 	protected Collection<LdapRole> getAllLdapRoles(InitialLdapContext context) throws NamingException {
 		NamingEnumeration<SearchResult> enumeration = null;
 		try {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,12 @@
  */
 package com.b2international.snowowl.identity.ldap;
 
+import javax.validation.constraints.Min;
+
 import org.hibernate.validator.constraints.NotEmpty;
 
 import com.b2international.commons.TokenReplacer;
+import com.b2international.snowowl.core.identity.AuthenticationCache;
 import com.b2international.snowowl.core.identity.IdentityProviderConfig;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -47,6 +50,11 @@ public class LdapIdentityProviderConfig implements IdentityProviderConfig {
 	
 	private boolean connectionPoolEnabled = false;
 	
+	// Caching of authentications and roles, 0 disables caching
+	@Min(0) private long cacheExpireAfter = AuthenticationCache.DEFAULT_EXPIRE_AFTER_SECONDS;
+	@Min(0) private long failureCacheExpireAfter = AuthenticationCache.DEFAULT_FAILURE_EXPIRE_AFTER_SECONDS;
+	@Min(0) private int cacheSize = AuthenticationCache.DEFAULT_MAXIMUM_SIZE;
+	
 	public String getBaseDn() {
 		return baseDn;
 	}
@@ -153,6 +161,40 @@ public class LdapIdentityProviderConfig implements IdentityProviderConfig {
 		this.roleFilter = roleFilter;
 	}
 	
+	/**
+	 * @return the number of seconds successful authentications and the roles read from the directory are cached
+	 * @since 8.10
+	 */
+	public long getCacheExpireAfter() {
+		return cacheExpireAfter;
+	}
+	
+	public void setCacheExpireAfter(long cacheExpireAfter) {
+		this.cacheExpireAfter = cacheExpireAfter;
+	}
+	
+	/**
+	 * @return the number of seconds failed authentications are cached
+	 * @since 8.10
+	 */
+	public long getFailureCacheExpireAfter() {
+		return failureCacheExpireAfter;
+	}
+	
+	public void setFailureCacheExpireAfter(long failureCacheExpireAfter) {
+		this.failureCacheExpireAfter = failureCacheExpireAfter;
+	}
 	
+	/**
+	 * @return the maximum number of cached successful and failed authentications
+	 * @since 8.10
+	 */
+	public int getCacheSize() {
+		return cacheSize;
+	}
+	
+	public void setCacheSize(int cacheSize) {
+		this.cacheSize = cacheSize;
+	}
 	
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core;
+
+import javax.validation.constraints.Min;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * @since 8.10
+ */
+public class FhirCoreConfiguration {
+
+	@Min(0)
+	private int maxCachedExpansions = 100;
+
+	@Min(1)
+	private int maxCachedExpansionSize = 100_000;
+
+	/**
+	 * The maximum number of materialized Value Set expansions kept in memory. Zero disables the expansion cache.
+	 *
+	 * @return maxCachedExpansions
+	 */
+	@JsonProperty
+	public int getMaxCachedExpansions() {
+		return maxCachedExpansions;
+	}
+
+	@JsonProperty
+	public void setMaxCachedExpansions(int maxCachedExpansions) {
+		this.maxCachedExpansions = maxCachedExpansions;
+	}
+
+	/**
+	 * The maximum number of codes in a Value Set expansion that is still materialized, larger expansions are always evaluated on demand.
+	 *
+	 * @return maxCachedExpansionSize
+	 */
+	@JsonProperty
+	public int getMaxCachedExpansionSize() {
+		return maxCachedExpansionSize;
+	}
+
+	@JsonProperty
+	public void setMaxCachedExpansionSize(int maxCachedExpansionSize) {
+		this.maxCachedExpansionSize = maxCachedExpansionSize;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2020-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,42 @@
  */
 package com.b2international.snowowl.fhir.core;
 
+import com.b2international.snowowl.core.branch.BranchChangedEvent;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
+import com.b2international.snowowl.core.events.Notifications;
 import com.b2international.snowowl.core.plugin.Component;
+import com.b2international.snowowl.core.setup.ConfigurationRegistry;
+import com.b2international.snowowl.core.setup.Environment;
 import com.b2international.snowowl.core.setup.Plugin;
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache;
 
 /**
  * @since 7.12
  */
 @Component
 public final class FhirCorePlugin extends Plugin {
+
+	@Override
+	public void addConfigurations(ConfigurationRegistry registry) {
+		registry.add("fhir", FhirCoreConfiguration.class);
+	}
+
+	@Override
+	public void preRun(SnowOwlConfiguration configuration, Environment env) throws Exception {
+		if (env.isServer()) {
+			final FhirCoreConfiguration fhirConfig = configuration.getModuleConfig(FhirCoreConfiguration.class);
+			env.services().registerService(FhirCoreConfiguration.class, fhirConfig);
+
+			if (fhirConfig.getMaxCachedExpansions() > 0) {
+				final FhirValueSetExpansionCache expansionCache = new FhirValueSetExpansionCache(fhirConfig.getMaxCachedExpansions(), fhirConfig.getMaxCachedExpansionSize());
+				env.services().registerService(FhirValueSetExpansionCache.class, expansionCache);
+
+				// expansions evaluated on a working branch become stale when the branch changes
+				env.service(Notifications.class)
+					.ofType(BranchChangedEvent.class)
+					.subscribe(event -> expansionCache.invalidate(event.getRepositoryId(), event.getBranch()));
+			}
+		}
+	}
+
 }
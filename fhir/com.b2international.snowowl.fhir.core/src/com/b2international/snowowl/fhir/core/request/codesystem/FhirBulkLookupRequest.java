@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.codesystem;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
+import com.b2international.snowowl.core.domain.Concept;
+import com.b2international.snowowl.fhir.core.model.codesystem.CodeSystem;
+import com.b2international.snowowl.fhir.core.model.codesystem.LookupRequest;
+import com.b2international.snowowl.fhir.core.model.codesystem.LookupResult;
+import com.b2international.snowowl.fhir.core.search.Summary;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Iterables;
+
+/**
+ * Looks up the concepts of many {@link LookupRequest}s at once. Each referenced code system is resolved only once and the concepts of requests
+ * referring to the same code system, display language and requested concept details are loaded with set-oriented concept searches.
+ * <p>
+ * Unlike the single code lookup, an unknown code does not fail the entire request, the result list contains <code>null</code> at the position
+ * of each request whose code could not be found.
+ *
+ * @since 8.10
+ */
+final class FhirBulkLookupRequest extends FhirBulkRequest<LookupResult> {
+
+	private static final long serialVersionUID = 1L;
+
+	@NotNull
+	@Valid
+	@JsonProperty
+	private final List<LookupRequest> requests;
+
+	FhirBulkLookupRequest(List<LookupRequest> requests) {
+		this.requests = requests;
+	}
+
+	@Override
+	public List<LookupResult> execute(ServiceProvider context) {
+		final LookupResult[] results = new LookupResult[requests.size()];
+
+		for (Entry<List<String>, List<Integer>> codeSystemGroup : groupRequests(requests, request -> Arrays.asList(request.getSystem(), request.getVersion())).entrySet()) {
+
+			final String system = codeSystemGroup.getKey().get(0);
+			final String version = codeSystemGroup.getKey().get(1);
+
+			final CodeSystem codeSystem = FhirRequest.findCodeSystem(context, system, version, Summary.TRUE);
+			final FhirCodeSystemLookupConverter converter = FhirLookupRequest.getConverter(context, codeSystem);
+
+			final List<LookupRequest> codeSystemRequests = codeSystemGroup.getValue()
+					.stream()
+					.map(requests::get)
+					.collect(Collectors.toList());
+
+			codeSystemRequests.forEach(request -> FhirLookupRequest.validateRequestedProperties(codeSystem, request));
+
+			// requests that need the same concept details can share concept searches
+			for (Entry<List<String>, List<Integer>> group : groupRequests(codeSystemRequests, request -> Arrays.asList(
+					FhirRequest.extractLocales(request.getDisplayLanguage()),
+					converter.configureConceptExpand(request))).entrySet()) {
+
+				final String acceptLanguage = group.getKey().get(0);
+				final String conceptExpand = group.getKey().get(1);
+
+				final Set<String> conceptIds = group.getValue()
+						.stream()
+						.map(index -> codeSystemRequests.get(index).getCode())
+						.collect(Collectors.toSet());
+
+				final Map<String, Concept> conceptsById = newHashMapWithExpectedSize(conceptIds.size());
+				for (List<String> batch : Iterables.partition(conceptIds, CONCEPT_BATCH_SIZE)) {
+					CodeSystemRequests.prepareSearchConcepts()
+						.setLimit(batch.size())
+						.filterByCodeSystemUri(codeSystem.getResourceURI())
+						.filterByIds(batch)
+						.setLocales(acceptLanguage)
+						.setExpand(conceptExpand)
+						.buildAsync()
+						.execute(context)
+						.forEach(concept -> conceptsById.put(concept.getId(), concept));
+				}
+
+				for (int index : group.getValue()) {
+					final LookupRequest request = codeSystemRequests.get(index);
+					final Concept concept = conceptsById.get(request.getCode());
+					if (concept != null) {
+						results[codeSystemGroup.getValue().get(index)] = FhirLookupRequest.toLookupResult(context, codeSystem, converter, concept, request, acceptLanguage);
+					}
+				}
+			}
+		}
+
+		return Arrays.asList(results);
+	}
+
+}
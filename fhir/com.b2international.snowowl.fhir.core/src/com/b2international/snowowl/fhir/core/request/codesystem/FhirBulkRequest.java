@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.codesystem;
+
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+
+/**
+ * @since 8.10
+ * @param <R> - the type of the result returned for each individual request
+ */
+abstract class FhirBulkRequest<R> implements Request<ServiceProvider, List<R>> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The maximum number of concepts retrieved with a single concept search.
+	 */
+	static final int CONCEPT_BATCH_SIZE = 10_000;
+
+	/**
+	 * Groups the positions of the given requests by a key, eg. the code system they refer to. Groups are returned in the order of their first
+	 * request.
+	 */
+	static <Q> Map<List<String>, List<Integer>> groupRequests(List<Q> requests, Function<Q, List<String>> keyFunction) {
+		final Map<List<String>, List<Integer>> groups = newLinkedHashMap();
+		for (int i = 0; i < requests.size(); i++) {
+			groups.computeIfAbsent(keyFunction.apply(requests.get(i)), key -> new ArrayList<>()).add(i);
+		}
+		return groups;
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.codesystem;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
+import com.b2international.snowowl.core.domain.Concept;
+import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
+import com.b2international.snowowl.fhir.core.model.codesystem.CodeSystem;
+import com.b2international.snowowl.fhir.core.model.codesystem.ValidateCodeRequest;
+import com.b2international.snowowl.fhir.core.model.dt.Coding;
+import com.b2international.snowowl.fhir.core.search.Summary;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Iterables;
+
+/**
+ * Validates the codes of many {@link ValidateCodeRequest}s at once. Each referenced code system is resolved only once and the concepts of all
+ * codings referring to the same code system are loaded with set-oriented concept searches, instead of a code system lookup and a concept search
+ * per validated code.
+ *
+ * @since 8.10
+ */
+final class FhirBulkValidateCodeRequest extends FhirBulkRequest<ValidateCodeResult> {
+
+	private static final long serialVersionUID = 1L;
+
+	@NotNull
+	@Valid
+	@JsonProperty
+	private final List<ValidateCodeRequest> requests;
+
+	FhirBulkValidateCodeRequest(List<ValidateCodeRequest> requests) {
+		this.requests = requests;
+	}
+
+	@Override
+	public List<ValidateCodeResult> execute(ServiceProvider context) {
+		final ValidateCodeResult[] results = new ValidateCodeResult[requests.size()];
+
+		for (Entry<List<String>, List<Integer>> group : groupRequests(requests, request -> Arrays.asList(
+				FhirValidateCodeRequest.getSystem(request),
+				request.getVersion(),
+				FhirRequest.extractLocales(request.getDisplayLanguage()))).entrySet()) {
+
+			final String system = group.getKey().get(0);
+			final String version = group.getKey().get(1);
+			final String locales = group.getKey().get(2);
+			final List<Integer> indexes = group.getValue();
+
+			final CodeSystem codeSystem = FhirRequest.findCodeSystem(context, system, version, Summary.TRUE);
+
+			final Map<Integer, Set<Coding>> codingsByIndex = newLinkedHashMap();
+			final Set<String> conceptIds = new HashSet<>(indexes.size());
+			for (int index : indexes) {
+				final Set<Coding> codings = FhirValidateCodeRequest.collectCodingsToValidate(requests.get(index));
+				codings.forEach(coding -> conceptIds.add(coding.getCodeValue()));
+				codingsByIndex.put(index, codings);
+			}
+
+			final Map<String, Concept> conceptsById = newHashMapWithExpectedSize(conceptIds.size());
+			for (List<String> batch : Iterables.partition(conceptIds, CONCEPT_BATCH_SIZE)) {
+				CodeSystemRequests.prepareSearchConcepts()
+					.setLimit(batch.size())
+					.filterByCodeSystemUri(codeSystem.getResourceURI())
+					.filterByIds(batch)
+					.setLocales(locales)
+					.buildAsync()
+					.execute(context)
+					.forEach(concept -> conceptsById.put(concept.getId(), concept));
+			}
+
+			codingsByIndex.forEach((index, codings) -> {
+				results[index] = FhirValidateCodeRequest.validateCodings(codings, conceptsById);
+			});
+		}
+
+		return Arrays.asList(results);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,10 @@ public final class FhirCodeSystemRequests {
 		return new FhirLookupRequestBuilder();
 	}
 
+	public FhirBulkLookupRequestBuilder prepareBulkLookup() {
+		return new FhirBulkLookupRequestBuilder();
+	}
+
 	public FhirSubsumesRequestBuilder prepareSubsumes() {
 		return new FhirSubsumesRequestBuilder();
 	}
@@ -47,6 +51,10 @@ public final class FhirCodeSystemRequests {
 		return new FhirValidateCodeRequestBuilder();
 	}
 
+	public FhirBulkValidateCodeRequestBuilder prepareBulkValidateCode() {
+		return new FhirBulkValidateCodeRequestBuilder();
+	}
+
 	public ResourceDeleteRequestBuilder prepareDelete(final String codeSystemId) {
 		return new ResourceDeleteRequestBuilder(codeSystemId, ResourceDocument.class);
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,13 +67,11 @@ final class FhirLookupRequest extends FhirRequest<LookupResult> {
 
 	@Override
 	protected LookupResult doExecute(ServiceProvider context, CodeSystem codeSystem) {
-		validateRequestedProperties(codeSystem);
+		validateRequestedProperties(codeSystem, request);
 		
 		final String acceptLanguage = extractLocales(request.getDisplayLanguage());
 
-		FhirCodeSystemLookupConverter converter = context.service(RepositoryManager.class).get(codeSystem.getToolingId())
-				.optionalService(FhirCodeSystemLookupConverter.class)
-				.orElse(FhirCodeSystemLookupConverter.DEFAULT);
+		FhirCodeSystemLookupConverter converter = getConverter(context, codeSystem);
 		
 		final String conceptExpand = converter.configureConceptExpand(request);
 		
@@ -88,7 +86,16 @@ final class FhirLookupRequest extends FhirRequest<LookupResult> {
 			.first()
 			.orElseThrow(() -> new NotFoundException("Concept", request.getCode()));
 		
-		
+		return toLookupResult(context, codeSystem, converter, concept, request, acceptLanguage);
+	}
+	
+	static FhirCodeSystemLookupConverter getConverter(ServiceProvider context, CodeSystem codeSystem) {
+		return context.service(RepositoryManager.class).get(codeSystem.getToolingId())
+				.optionalService(FhirCodeSystemLookupConverter.class)
+				.orElse(FhirCodeSystemLookupConverter.DEFAULT);
+	}
+	
+	static LookupResult toLookupResult(ServiceProvider context, CodeSystem codeSystem, FhirCodeSystemLookupConverter converter, Concept concept, LookupRequest request, String acceptLanguage) {
 		return LookupResult.builder()
 				.name(codeSystem.getName())
 				.display(concept.getTerm())
@@ -98,7 +105,7 @@ final class FhirLookupRequest extends FhirRequest<LookupResult> {
 				.build();
 	}
 	
-	private void validateRequestedProperties(CodeSystem codeSystem) {
+	static void validateRequestedProperties(CodeSystem codeSystem, LookupRequest request) {
 		final Set<String> requestedProperties = request.getPropertyCodes();
 		// first check if any of the properties are lookup request properties
 		final Set<String> nonLookupProperties = Sets.difference(requestedProperties, LOOKUP_REQUEST_PROPS);
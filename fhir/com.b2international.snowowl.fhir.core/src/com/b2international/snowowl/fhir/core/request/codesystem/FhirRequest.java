@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,12 +44,22 @@ abstract class FhirRequest<R> implements Request<ServiceProvider, R> {
 	
 	@Override
 	public final R execute(ServiceProvider context) {
-		CodeSystem codeSystem = FhirRequests
+		CodeSystem codeSystem = findCodeSystem(context, system, version, configureSummary());
+		return doExecute(context, codeSystem);
+	}
+	
+	/**
+	 * Finds the code system by its URL, or if there is no such code system by its ID.
+	 * 
+	 * @throws NotFoundException - if the code system does not exist
+	 */
+	static CodeSystem findCodeSystem(ServiceProvider context, String system, String version, String summary) {
+		return FhirRequests
 				.codeSystems().prepareSearch()
 				.one()
 				.filterByUrl(system)
 				.filterByVersion(version)
-				.setSummary(configureSummary())
+				.setSummary(summary)
 				.buildAsync()
 				.getRequest()
 				.execute(context)
@@ -63,7 +73,7 @@ abstract class FhirRequest<R> implements Request<ServiceProvider, R> {
 						.one()
 						.filterById(system)
 						.filterByVersion(version)
-						.setSummary(configureSummary())
+						.setSummary(summary)
 						.buildAsync()
 						.getRequest()
 						.execute(context)
@@ -73,15 +83,13 @@ abstract class FhirRequest<R> implements Request<ServiceProvider, R> {
 						.map(CodeSystem.class::cast);
 				})
 				.orElseThrow(() -> new NotFoundException("CodeSystem", system));
-		
-		return doExecute(context, codeSystem);
 	}
 	
 	protected String configureSummary() {
 		return Summary.TRUE;
 	}
 
-	protected String extractLocales(Code displayLanguage) {
+	static String extractLocales(Code displayLanguage) {
 		String locales = displayLanguage != null ? displayLanguage.getCodeValue() : null;
 		if (CompareUtils.isEmpty(locales)) {
 			locales = "en";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,26 +50,39 @@ final class FhirValidateCodeRequest extends FhirRequest<ValidateCodeResult> {
 	private final ValidateCodeRequest request;
 	
 	FhirValidateCodeRequest(ValidateCodeRequest request) {
-		super(request.getUrl() != null ? request.getUrl().getUriValue() : request.getCoding().getSystemValue(), request.getVersion());
+		super(getSystem(request), request.getVersion());
 		this.request = request;
 	}
 
 	@Override
 	public ValidateCodeResult doExecute(ServiceProvider context, CodeSystem codeSystem) {
 		Set<Coding> codings = collectCodingsToValidate(request);
-		Map<String, Coding> codingsById = codings.stream().collect(Collectors.toMap(Coding::getCodeValue, c -> c));
+		Set<String> conceptIds = codings.stream().map(Coding::getCodeValue).collect(Collectors.toSet());
 		
 		// extract locales from the request
 		Map<String, Concept> conceptsById = CodeSystemRequests.prepareSearchConcepts()
-				.setLimit(codingsById.keySet().size())
+				.setLimit(conceptIds.size())
 				.filterByCodeSystemUri(codeSystem.getResourceURI())
-				.filterByIds(codingsById.keySet())
+				.filterByIds(conceptIds)
 				.setLocales(extractLocales(request.getDisplayLanguage()))
 				.buildAsync()
 				.execute(context)
 				.stream()
 				.collect(Collectors.toMap(Concept::getId, c -> c));
 		
+		return validateCodings(codings, conceptsById);
+	}
+	
+	/**
+	 * Validates the given codings against the concepts found in the code system.
+	 * 
+	 * @param codings - the codings to validate
+	 * @param conceptsById - the concepts of the code system, keyed by their ID, should contain at least the concepts with the codes of the given codings that exist
+	 * @return the validation result
+	 */
+	static ValidateCodeResult validateCodings(Set<Coding> codings, Map<String, Concept> conceptsById) {
+		Map<String, Coding> codingsById = codings.stream().collect(Collectors.toMap(Coding::getCodeValue, c -> c));
+		
 		// check if both Maps have the same keys and report if not
 		
 		Set<String> missingConceptIds = Sets.difference(codingsById.keySet(), conceptsById.keySet());
@@ -105,7 +118,11 @@ final class FhirValidateCodeRequest extends FhirRequest<ValidateCodeResult> {
 		return ValidateCodeResult.builder().result(true).build();
 	}
 	
-	private Set<Coding> collectCodingsToValidate(ValidateCodeRequest request) {
+	static String getSystem(ValidateCodeRequest request) {
+		return request.getUrl() != null ? request.getUrl().getUriValue() : request.getCoding().getSystemValue();
+	}
+	
+	static Set<Coding> collectCodingsToValidate(ValidateCodeRequest request) {
 		Set<Coding> codings = new HashSet<>(3);
 				
 		if (request.getCode() != null) {
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.valueset;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import org.elasticsearch.common.Strings;
+
+import com.b2international.snowowl.core.ResourceURI;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
+import com.b2international.snowowl.core.domain.Concept;
+import com.b2international.snowowl.core.request.ConceptSearchRequestBuilder;
+import com.b2international.snowowl.core.request.SearchResourceRequest;
+import com.b2international.snowowl.core.uri.ResourceURIPathResolver;
+import com.b2international.snowowl.fhir.core.codesystems.FilterOperator;
+import com.b2international.snowowl.fhir.core.codesystems.PublicationStatus;
+import com.b2international.snowowl.fhir.core.model.ResourceResponseEntry;
+import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
+import com.b2international.snowowl.fhir.core.model.codesystem.CodeSystem;
+import com.b2international.snowowl.fhir.core.model.dt.Uri;
+import com.b2international.snowowl.fhir.core.model.valueset.*;
+import com.b2international.snowowl.fhir.core.request.FhirRequests;
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache.MaterializedExpansion;
+import com.google.common.collect.Iterables;
+
+/**
+ * An implicit Value Set defined by a code system URL and an optional <code>fhir_vs</code> query part, eg.
+ * <code>http://snomed.info/sct?fhir_vs=ecl/&lt;404684003</code>.
+ *
+ * @see <a href="http://hl7.org/fhir/r4/snomedct.html#implicit">Implicit Value Sets</a>
+ * @since 8.10
+ */
+final class FhirImplicitValueSet {
+
+	private static final int EXPANSION_PAGE_SIZE = 10_000;
+	private static final int CONCEPT_BATCH_SIZE = 10_000;
+
+	private final String url;
+	private final String baseUrl;
+	private final CodeSystem codeSystem;
+	private final String name;
+	private final String description;
+	private final Compose compose;
+	private final Consumer<ConceptSearchRequestBuilder> filter;
+
+	private FhirImplicitValueSet(String url, String baseUrl, CodeSystem codeSystem, String name, String description, Compose compose, Consumer<ConceptSearchRequestBuilder> filter) {
+		this.url = url;
+		this.baseUrl = baseUrl;
+		this.codeSystem = codeSystem;
+		this.name = name;
+		this.description = description;
+		this.compose = compose;
+		this.filter = filter;
+	}
+
+	/**
+	 * @param context
+	 * @param urlValue - the URL of the implicit Value Set
+	 * @return the implicit Value Set or <code>null</code> if the URL does not refer to a supported implicit Value Set
+	 */
+	static FhirImplicitValueSet parse(ServiceProvider context, String urlValue) {
+		// only URLs with query parts are supported, every other case is rejected for now
+		if (!urlValue.startsWith("http://") || urlValue.contains("#")) {
+			return null;
+		}
+
+		// extract the non-query part from the URL value
+		String baseUrl = urlValue.split("\\?")[0];
+		String query = "";
+		if (urlValue.contains("?")) {
+			query = urlValue.split("\\?")[1];
+		}
+
+		// if this is the base URI string, then always append the core module to represent the International Edition properly
+		if (Uri.SNOMED_BASE_URI_STRING.equals(baseUrl)) {
+			baseUrl = baseUrl.concat("/900000000000207008");
+		}
+
+		// try to lookup the CodeSystem using the baseUrl
+		CodeSystem codeSystem = FhirRequests.codeSystems().prepareSearch()
+				.one()
+				.filterByUrl(baseUrl)
+				.buildAsync()
+				.execute(context)
+				.first()
+				.map(ResourceResponseEntry.class::cast)
+				.map(ResourceResponseEntry::getResponseResource)
+				.map(CodeSystem.class::cast)
+				.orElse(null);
+
+		// if no CodeSystem stored to use as Value Set source, return NotFound response
+		if (codeSystem == null) {
+			return null;
+		}
+
+		// configure query based on fhir_vs query parameter and also build the compose declaration for this implicit Value Set
+		if (Strings.isNullOrEmpty(query) || "fhir_vs".equals(query)) {
+			// do nothing, search all concepts
+			return new FhirImplicitValueSet(urlValue, baseUrl, codeSystem, null, null, null, req -> {});
+		} else if (query.startsWith("fhir_vs=")) {
+			String fhirVsValue = query.replace("fhir_vs=", "");
+			if (fhirVsValue.startsWith("ecl/")) {
+				String ecl = fhirVsValue.replace("ecl/", "");
+				// configure compose for ECL
+				Compose compose = Compose.builder().addInclude(Include.builder()
+						.addFilters(
+							ValueSetFilter.builder()
+								.property("constraint")
+								.operator(FilterOperator.EQUALS)
+								.value(ecl)
+							.build()
+						)
+						.build()).build();
+				return new FhirImplicitValueSet(urlValue, baseUrl, codeSystem,
+						String.format("%s Concepts matching %s", codeSystem.getName(), ecl),
+						String.format("All SNOMED CT concepts that match the expression constraint %s", ecl),
+						compose,
+						req -> req.filterByQuery(ecl));
+			} else if (fhirVsValue.startsWith("isa/")) {
+				String parent = fhirVsValue.replace("isa/", "");
+				// configure compose for IS A
+				Compose compose = Compose.builder().addInclude(Include.builder()
+						.system(baseUrl)
+						.addFilters(
+							ValueSetFilter.builder()
+								.property("concept")
+								.operator(FilterOperator.IS_A)
+								.value(parent)
+							.build()
+						)
+						.build()).build();
+				return new FhirImplicitValueSet(urlValue, baseUrl, codeSystem,
+						String.format("%s Concept %s and descendants", codeSystem.getName(), parent),
+						String.format("All SNOMED CT concepts for %s", parent),
+						compose,
+						req -> req.filterByAncestor(parent));
+			} else if (fhirVsValue.startsWith("refset/")) {
+				String refsetId = fhirVsValue.replace("refset/", "");
+				if (Strings.isNullOrEmpty(refsetId)) {
+					// TODO support refset identifier concept search
+					return null;
+				}
+				// configure compose for REFSET
+				Compose compose = Compose.builder().addInclude(Include.builder()
+						.addFilters(
+							ValueSetFilter.builder()
+								.property("concept")
+								.operator(FilterOperator.IN)
+								.value(refsetId)
+							.build()
+						)
+						.build()).build();
+				return new FhirImplicitValueSet(urlValue, baseUrl, codeSystem,
+						String.format("%s Reference Set %s", codeSystem.getName(), refsetId),
+						String.format("All SNOMED CT concepts in the reference set %s", refsetId),
+						compose,
+						req -> req.filterByQuery("^" + refsetId));
+			}
+		}
+
+		// no support for this unknown filter, return 404
+		// TODO return unsupported maybe?
+		// TODO check against declared filter values in CodeSystem
+		return null;
+	}
+
+	String getBaseUrl() {
+		return baseUrl;
+	}
+
+	/**
+	 * @param id - the identifier of the Value Set
+	 * @return a Value Set builder prepopulated with the definition of this implicit Value Set
+	 */
+	ValueSet.Builder toValueSet(String id) {
+		return ValueSet.builder(id)
+				.url(url)
+				// according to http://hl7.org/fhir/r4/snomedct.html#implicit they always ACTIVE
+				.status(PublicationStatus.ACTIVE)
+				.name(name)
+				.description(description)
+				.compose(compose);
+	}
+
+	/**
+	 * @param activeOnly
+	 * @return a concept search that returns the members of this implicit Value Set
+	 */
+	ConceptSearchRequestBuilder prepareSearchMembers(Boolean activeOnly) {
+		ConceptSearchRequestBuilder req = CodeSystemRequests.prepareSearchConcepts()
+				.filterByCodeSystemUri(codeSystem.getResourceURI())
+				.filterByActive(activeOnly)
+				// SNOMED only preferred display support (VS should always use FSN)
+				.setPreferredDisplay("FSN");
+		filter.accept(req);
+		return req;
+	}
+
+	/**
+	 * Returns the materialized expansion of this implicit Value Set from the {@link FhirValueSetExpansionCache}, or evaluates and caches it
+	 * if not available yet.
+	 *
+	 * @param context
+	 * @param activeOnly
+	 * @return the materialized expansion or <code>null</code> if the expansion cache is disabled or the Value Set is too large to materialize
+	 */
+	MaterializedExpansion materialize(ServiceProvider context, Boolean activeOnly) {
+		final FhirValueSetExpansionCache cache = context.optionalService(FhirValueSetExpansionCache.class).orElse(null);
+		if (cache == null) {
+			return null;
+		}
+
+		final ResourceURI codeSystemUri = codeSystem.getResourceURI();
+		final FhirValueSetExpansionCache.Key key = new FhirValueSetExpansionCache.Key(url, null, List.of(codeSystemUri.toString()), activeOnly);
+
+		return cache.get(key, () -> {
+			// resolve the branch first, so changes made during the evaluation invalidate the expansion
+			final String branchPath = context.service(ResourceURIPathResolver.class).resolve(context, List.of(codeSystemUri)).get(0);
+
+			final int total = prepareSearchMembers(activeOnly)
+					.setLimit(0)
+					.buildAsync()
+					.execute(context)
+					.getTotal();
+
+			if (total > cache.getMaxExpansionSize()) {
+				return null;
+			}
+
+			final SortedMap<String, String> members = new TreeMap<>();
+			prepareSearchMembers(activeOnly)
+				.setLimit(EXPANSION_PAGE_SIZE)
+				.sortBy(SearchResourceRequest.Sort.fieldAsc("id"))
+				.stream(context, ConceptSearchRequestBuilder::buildAsync)
+				.forEach(concepts -> concepts.forEach(concept -> members.put(concept.getId(), concept.getTerm())));
+
+			return new MaterializedExpansion(codeSystem.getToolingId(),
+					branchPath,
+					members.keySet().toArray(new String[members.size()]),
+					members.values().toArray(new String[members.size()]));
+		});
+	}
+
+	/**
+	 * Validates the codes of the given requests against this implicit Value Set. Membership is checked against the materialized expansion if
+	 * possible, otherwise with set-oriented concept searches.
+	 *
+	 * @param context
+	 * @param requests
+	 * @return the code validation results in the order of the given requests
+	 */
+	List<ValidateCodeResult> validateCodes(ServiceProvider context, List<ValidateCodeRequest> requests) {
+		final MaterializedExpansion expansion = materialize(context, null);
+
+		final Map<String, String> displaysByCode;
+		if (expansion != null) {
+			displaysByCode = null;
+		} else {
+			final Set<String> codes = new HashSet<>(requests.size());
+			requests.forEach(request -> codes.add(request.getCode()));
+			codes.remove(null);
+
+			displaysByCode = newHashMapWithExpectedSize(codes.size());
+			for (List<String> batch : Iterables.partition(codes, CONCEPT_BATCH_SIZE)) {
+				for (Concept concept : prepareSearchMembers(null).filterByIds(batch).setLimit(batch.size()).buildAsync().execute(context)) {
+					displaysByCode.put(concept.getId(), concept.getTerm());
+				}
+			}
+		}
+
+		final List<ValidateCodeResult> results = new ArrayList<>(requests.size());
+		for (ValidateCodeRequest request : requests) {
+			final String code = request.getCode();
+			final String system = request.getSystem();
+
+			String display = null;
+			boolean member = false;
+			if (system == null || baseUrl.startsWith(system)) {
+				if (expansion != null) {
+					final int index = expansion.indexOf(code);
+					member = index >= 0;
+					display = member ? expansion.getDisplay(index) : null;
+				} else {
+					member = displaysByCode.containsKey(code);
+					display = displaysByCode.get(code);
+				}
+			}
+
+			if (member) {
+				results.add(ValidateCodeResult.builder().okResult(display).build());
+			} else {
+				results.add(ValidateCodeResult.builder().valueSetMemberNotFoundResult(system, code, url).build());
+			}
+		}
+
+		return results;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.valueset;
+
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.b2international.commons.exceptions.NotFoundException;
+import com.b2international.snowowl.core.RepositoryManager;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
+import com.b2international.snowowl.fhir.core.model.valueset.ValidateCodeRequest;
+import com.b2international.snowowl.fhir.core.model.valueset.ValueSet;
+import com.b2international.snowowl.fhir.core.request.FhirRequests;
+
+/**
+ * Validates the codes of many {@link ValidateCodeRequest}s at once. Each referenced Value Set is retrieved only once and all codes validated
+ * against it are handed over to its {@link FhirValueSetCodeValidator} in a single call.
+ * 
+ * @since 8.10
+ */
+final class FhirValueSetBulkValidateCodeRequest implements Request<ServiceProvider, List<ValidateCodeResult>> {
+
+	private static final long serialVersionUID = 1L;
+	
+	private final List<ValidateCodeRequest> requests;
+
+	FhirValueSetBulkValidateCodeRequest(List<ValidateCodeRequest> requests) {
+		this.requests = requests;
+	}
+	
+	@Override
+	public List<ValidateCodeResult> execute(ServiceProvider context) {
+		final Map<String, List<Integer>> indexesByUrl = newLinkedHashMap();
+		for (int i = 0; i < requests.size(); i++) {
+			indexesByUrl.computeIfAbsent(requests.get(i).getUrl().getUriValue(), url -> new ArrayList<>()).add(i);
+		}
+		
+		final ValidateCodeResult[] results = new ValidateCodeResult[requests.size()];
+		
+		indexesByUrl.forEach((url, indexes) -> {
+			final List<ValidateCodeRequest> valueSetRequests = new ArrayList<>(indexes.size());
+			indexes.forEach(index -> valueSetRequests.add(requests.get(index)));
+			
+			final List<ValidateCodeResult> valueSetResults = validateCodes(context, url, valueSetRequests);
+			
+			for (int i = 0; i < indexes.size(); i++) {
+				results[indexes.get(i)] = valueSetResults.get(i);
+			}
+		});
+		
+		return Arrays.asList(results);
+	}
+
+	private List<ValidateCodeResult> validateCodes(ServiceProvider context, String url, List<ValidateCodeRequest> valueSetRequests) {
+		final ValueSet valueSet;
+		try {
+			valueSet = FhirRequests.valueSets().prepareGet(url).buildAsync().execute(context);
+		} catch (NotFoundException e) {
+			// validate codes against implicit Value Sets defined by the URL, if possible
+			final FhirImplicitValueSet implicitValueSet = FhirImplicitValueSet.parse(context, url);
+			if (implicitValueSet != null) {
+				return implicitValueSet.validateCodes(context, valueSetRequests);
+			}
+			
+			throw e;
+		}
+		
+		return context.service(RepositoryManager.class)
+				.get(valueSet.getToolingId())
+				.optionalService(FhirValueSetCodeValidator.class)
+				.orElse(FhirValueSetCodeValidator.NOOP)
+				.validateCodes(context, valueSet, valueSetRequests);
+	}
+
+}
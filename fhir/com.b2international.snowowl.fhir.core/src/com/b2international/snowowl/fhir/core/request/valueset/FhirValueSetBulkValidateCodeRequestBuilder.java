@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.valueset;
+
+import java.util.List;
+
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.BaseRequestBuilder;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.request.SystemRequestBuilder;
+import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
+import com.b2international.snowowl.fhir.core.model.valueset.ValidateCodeRequest;
+
+/**
+ * Builds a request executing many $validate-code operations at once, returning their results in the order of the given requests.
+ * 
+ * @since 8.10
+ */
+public final class FhirValueSetBulkValidateCodeRequestBuilder 
+		extends BaseRequestBuilder<FhirValueSetBulkValidateCodeRequestBuilder, ServiceProvider, List<ValidateCodeResult>>
+		implements SystemRequestBuilder<List<ValidateCodeResult>> {
+
+	private List<ValidateCodeRequest> requests;
+	
+	public FhirValueSetBulkValidateCodeRequestBuilder setRequests(List<ValidateCodeRequest> requests) {
+		this.requests = requests;
+		return getSelf();
+	}
+	
+	@Override
+	protected Request<ServiceProvider, List<ValidateCodeResult>> doBuild() {
+		return new FhirValueSetBulkValidateCodeRequest(requests);
+	}
+
+}
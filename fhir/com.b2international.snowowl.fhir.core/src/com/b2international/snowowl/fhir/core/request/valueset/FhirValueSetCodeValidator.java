@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package com.b2international.snowowl.fhir.core.request.valueset;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
 import com.b2international.snowowl.fhir.core.model.valueset.ValidateCodeRequest;
@@ -37,4 +40,20 @@ public interface FhirValueSetCodeValidator {
 	 */
 	ValidateCodeResult validateCode(ServiceProvider context, ValueSet valueSet, ValidateCodeRequest request);
 	
+	/**
+	 * Validates many codes against the same Value Set. Implementations should override this method to check the membership of all codes with a
+	 * single set-oriented query or against a single expansion of the Value Set. The default implementation validates each request individually.
+	 * 
+	 * @param context
+	 * @param valueSet
+	 * @param requests
+	 * @return the code validation results in the order of the given requests, never <code>null</code>.
+	 * @since 8.10
+	 */
+	default List<ValidateCodeResult> validateCodes(ServiceProvider context, ValueSet valueSet, List<ValidateCodeRequest> requests) {
+		return requests.stream()
+				.map(request -> validateCode(context, valueSet, request))
+				.collect(Collectors.toList());
+	}
+	
 }
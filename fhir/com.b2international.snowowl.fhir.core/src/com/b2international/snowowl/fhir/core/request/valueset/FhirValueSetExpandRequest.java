@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,29 +20,22 @@ import java.util.Date;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
-import org.elasticsearch.common.Strings;
-
 import com.b2international.commons.CompareUtils;
 import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.snowowl.core.RepositoryManager;
 import com.b2international.snowowl.core.ServiceProvider;
-import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
 import com.b2international.snowowl.core.domain.Concept;
 import com.b2international.snowowl.core.domain.Concepts;
 import com.b2international.snowowl.core.events.Request;
-import com.b2international.snowowl.core.request.ConceptSearchRequestBuilder;
 import com.b2international.snowowl.core.request.SearchIndexResourceRequest;
 import com.b2international.snowowl.core.request.SearchResourceRequest;
-import com.b2international.snowowl.fhir.core.codesystems.FilterOperator;
-import com.b2international.snowowl.fhir.core.codesystems.PublicationStatus;
-import com.b2international.snowowl.fhir.core.model.ResourceResponseEntry;
-import com.b2international.snowowl.fhir.core.model.codesystem.CodeSystem;
-import com.b2international.snowowl.fhir.core.model.dt.Uri;
-import com.b2international.snowowl.fhir.core.model.valueset.*;
-import com.b2international.snowowl.fhir.core.model.valueset.ValueSet.Builder;
+import com.b2international.snowowl.fhir.core.exceptions.BadRequestException;
+import com.b2international.snowowl.fhir.core.model.valueset.ExpandValueSetRequest;
+import com.b2international.snowowl.fhir.core.model.valueset.ValueSet;
 import com.b2international.snowowl.fhir.core.model.valueset.expansion.Contains;
 import com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion;
 import com.b2international.snowowl.fhir.core.request.FhirRequests;
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache.MaterializedExpansion;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.google.common.base.Charsets;
@@ -56,6 +49,12 @@ final class FhirValueSetExpandRequest implements Request<ServiceProvider, ValueS
 
 	private static final long serialVersionUID = 1L;
 	
+	/*
+	 * Paging tokens of expansions served from the expansion cache start with this prefix, followed by the last returned code. The prefix is not
+	 * part of the Base64 alphabet of search after tokens of concept searches, so the two kinds of tokens can not be confused.
+	 */
+	private static final String CACHED_AFTER_PREFIX = "code:";
+	
 	@NotNull
 	@Valid
 	@JsonProperty
@@ -94,135 +93,61 @@ final class FhirValueSetExpandRequest implements Request<ServiceProvider, ValueS
 	}
 
 	private ValueSet computeFhirValueSetUsingUrl(ServiceProvider context, String urlValue) {
-		// only URLs with query parts are supported, every other case is rejected for now
-		if (urlValue.contains("#")) {
-			return null;
-		}
-		
-		// extract the non-query part from the URL value
-		String baseUrl = urlValue.split("\\?")[0];
-		String query = "";
-		if (urlValue.contains("?")) {
-			query = urlValue.split("\\?")[1];
-		}
-		
-		// if this is the base URI string, then always append the core module to represent the International Edition properly
-		if (Uri.SNOMED_BASE_URI_STRING.equals(baseUrl)) {
-			baseUrl = baseUrl.concat("/900000000000207008");
-		}
-		
-		// try to lookup the CodeSystem using the baseUrl
-		CodeSystem codeSystem = FhirRequests.codeSystems().prepareSearch()
-				.one()
-				.filterByUrl(baseUrl)
-				.buildAsync()
-				.execute(context)
-				.first()
-				.map(ResourceResponseEntry.class::cast)
-				.map(ResourceResponseEntry::getResponseResource)
-				.map(CodeSystem.class::cast)
-				.orElse(null);
+		final FhirImplicitValueSet implicitValueSet = FhirImplicitValueSet.parse(context, urlValue);
 		
-		// if no CodeSystem stored to use as Value Set source, return NotFound response
-		if (codeSystem == null) {
+		// unsupported URL or no CodeSystem stored to use as Value Set source, return NotFound response
+		if (implicitValueSet == null) {
 			return null;
 		}
 		
 		// return the content of the CodeSystem as Value Set
 		String id = Hashing.goodFastHash(8).hashString(urlValue, Charsets.UTF_8).toString();
-		Builder valueSet = ValueSet.builder(id)
-				.url(urlValue)
-				// according to http://hl7.org/fhir/r4/snomedct.html#implicit they always ACTIVE
-				.status(PublicationStatus.ACTIVE);
 		
 		final Expansion.Builder expansion = Expansion.builder()
 				.identifier(id)
 				.timestamp(new Date());
 		
-		ConceptSearchRequestBuilder req = CodeSystemRequests.prepareSearchConcepts()
-				.filterByCodeSystemUri(codeSystem.getResourceURI())
-				.filterByActive(request.getActiveOnly())
-				.filterByTerm(request.getFilter())
-				.setLimit(request.getCount() == null ? 10 : request.getCount())
-				.setSearchAfter(request.getAfter())
-				// SNOMED only preferred display support (VS should always use FSN)
-				.setPreferredDisplay("FSN") 
-				// always return sorted results for consistency, in case of term filtering return by score otherwise by ID
-				.sortBy(!CompareUtils.isEmpty(request.getFilter()) ? SearchIndexResourceRequest.SCORE : SearchResourceRequest.Sort.fieldAsc("id"));
-
-		Compose compose = null;
+		final int count = request.getCount() == null ? 10 : request.getCount();
+		final String after = request.getAfter();
+		final boolean cachedAfter = after != null && after.startsWith(CACHED_AFTER_PREFIX);
 		
-		// configure query based on fhir_vs query parameter and also build the compose declaration for this implicit Value Set
-		if (Strings.isNullOrEmpty(query) || "fhir_vs".equals(query)) {
-			// do nothing, search all concepts
-		} else if (query.startsWith("fhir_vs=")) {
-			String fhirVsValue = query.replace("fhir_vs=", "");
-			if (fhirVsValue.startsWith("ecl/")) {
-				String ecl = fhirVsValue.replace("ecl/", "");
-				req.filterByQuery(ecl);
-				// configure Value Set for ECL
-				valueSet
-					.name(String.format("%s Concepts matching %s", codeSystem.getName(), ecl))
-					.description(String.format("All SNOMED CT concepts that match the expression constraint %s", ecl));
-				// configure compose for ECL
-				compose = Compose.builder().addInclude(Include.builder()
-						.addFilters(
-							ValueSetFilter.builder()
-								.property("constraint")
-								.operator(FilterOperator.EQUALS)
-								.value(ecl)
-							.build()
-						)
-						.build()).build();
-			} else if (fhirVsValue.startsWith("isa/")) {
-				String parent = fhirVsValue.replace("isa/", "");
-				req.filterByAncestor(parent);
-				// configure Value Set for IS A
-				valueSet
-					.name(String.format("%s Concept %s and descendants", codeSystem.getName(), parent))
-					.description(String.format("All SNOMED CT concepts for %s", parent));
-				// configure compose for IS A
-				compose = Compose.builder().addInclude(Include.builder()
-						.system(baseUrl)
-						.addFilters(
-							ValueSetFilter.builder()
-								.property("concept")
-								.operator(FilterOperator.IS_A)
-								.value(parent)
-							.build()
-						)
-						.build()).build();
-			} else if (fhirVsValue.startsWith("refset/")) {
-				String refsetId = fhirVsValue.replace("refset/", "");
-				if (Strings.isNullOrEmpty(refsetId)) {
-					// TODO support refset identifier concept search
-					return null;
-				} else {
-					req.filterByQuery("^"+refsetId);
-					// configure Value Set for REFSET
-					valueSet
-						.name(String.format("%s Reference Set %s", codeSystem.getName(), refsetId))
-						.description(String.format("All SNOMED CT concepts in the reference set %s", refsetId));
-					// configure compose for REFSET
-					compose = Compose.builder().addInclude(Include.builder()
-							.addFilters(
-								ValueSetFilter.builder()
-									.property("concept")
-									.operator(FilterOperator.IN)
-									.value(refsetId)
-								.build()
-							)
-							.build()).build();
+		// term filtered expansions are ordered by score, only unfiltered expansions can be served from the materialized expansion
+		if (CompareUtils.isEmpty(request.getFilter()) && (after == null || cachedAfter)) {
+			final MaterializedExpansion materializedExpansion = implicitValueSet.materialize(context, request.getActiveOnly());
+			
+			if (materializedExpansion != null) {
+				final int from = materializedExpansion.indexAfter(cachedAfter ? after.substring(CACHED_AFTER_PREFIX.length()) : null);
+				final int to = Math.min(from + count, materializedExpansion.size());
+				
+				expansion.total(materializedExpansion.size());
+				if (to > from) {
+					expansion.after(CACHED_AFTER_PREFIX + materializedExpansion.getCode(to - 1));
 				}
-			} else {
-				// no support for this unknown filter, return 404
-				// TODO return unsupported maybe?
-				// TODO check against declared filter values in CodeSystem
-				return null;
+				
+				for (int i = from; i < to; i++) {
+					expansion.addContains(Contains.builder()
+							.code(materializedExpansion.getCode(i))
+							.system(implicitValueSet.getBaseUrl())
+							.display(materializedExpansion.getDisplay(i))
+							.build());
+				}
+				
+				return implicitValueSet.toValueSet(id)
+						.expansion(expansion.build())
+						.build();
+			} else if (cachedAfter) {
+				throw new BadRequestException(String.format("Paging token '%s' is no longer valid.", after), "ExpandValueSetRequest.after");
 			}
 		}
 		
-		Concepts concepts = req.buildAsync().execute(context);
+		Concepts concepts = implicitValueSet.prepareSearchMembers(request.getActiveOnly())
+				.filterByTerm(request.getFilter())
+				.setLimit(count)
+				.setSearchAfter(after)
+				// always return sorted results for consistency, in case of term filtering return by score otherwise by ID
+				.sortBy(!CompareUtils.isEmpty(request.getFilter()) ? SearchIndexResourceRequest.SCORE : SearchResourceRequest.Sort.fieldAsc("id"))
+				.buildAsync()
+				.execute(context);
 		
 		expansion
 			.total(concepts.getTotal())
@@ -231,13 +156,12 @@ final class FhirValueSetExpandRequest implements Request<ServiceProvider, ValueS
 		for (Concept concept : concepts) {
 			expansion.addContains(Contains.builder()
 					.code(concept.getId())
-					.system(baseUrl)
+					.system(implicitValueSet.getBaseUrl())
 					.display(concept.getTerm())
 					.build());
 		}
 		
-		return valueSet
-				.compose(compose)
+		return implicitValueSet.toValueSet(id)
 				.expansion(expansion.build())
 				.build();
 	}
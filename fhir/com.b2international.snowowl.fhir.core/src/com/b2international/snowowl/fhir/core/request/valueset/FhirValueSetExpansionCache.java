@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.core.request.valueset;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.b2international.snowowl.core.IDisposableService;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Keeps materialized Value Set expansions in memory, so that paging through an expansion returns a slice of it and validating a code against
+ * the Value Set becomes a membership check instead of evaluating the Value Set definition again.
+ * <p>
+ * Expansions are keyed by the Value Set URL and version, and the code system versions they were evaluated against. Expansions computed on
+ * versioned code systems never change; expansions computed on the working branch of a code system are invalidated when the branch changes.
+ *
+ * @since 8.10
+ */
+public final class FhirValueSetExpansionCache implements IDisposableService {
+
+	private final AtomicBoolean disposed = new AtomicBoolean(false);
+	private final AtomicLong invalidations = new AtomicLong();
+	private final Cache<Key, MaterializedExpansion> expansions;
+	private final int maxExpansionSize;
+
+	public FhirValueSetExpansionCache(int maxExpansions, int maxExpansionSize) {
+		checkArgument(maxExpansionSize > 0, "Maximum expansion size must be positive.");
+		this.expansions = CacheBuilder.newBuilder()
+				.maximumSize(maxExpansions)
+				.build();
+		this.maxExpansionSize = maxExpansionSize;
+	}
+
+	/**
+	 * @return the maximum number of codes an expansion may contain to be kept in memory
+	 */
+	public int getMaxExpansionSize() {
+		return maxExpansionSize;
+	}
+
+	/**
+	 * Returns the materialized expansion for the given key, or computes it with the given loader if it is not available yet.
+	 *
+	 * @param key - the key of the expansion
+	 * @param loader - computes the expansion, may return <code>null</code> if the expansion is too large to materialize
+	 * @return the expansion or <code>null</code> if the loader could not materialize it
+	 */
+	public MaterializedExpansion get(Key key, Supplier<MaterializedExpansion> loader) {
+		final MaterializedExpansion cached = expansions.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		final long invalidationsBeforeLoad = invalidations.get();
+		final MaterializedExpansion expansion = loader.get();
+
+		// do not cache expansions that might have been computed on a branch that changed in the meantime
+		if (expansion != null && invalidationsBeforeLoad == invalidations.get() && !isDisposed()) {
+			expansions.put(key, expansion);
+		}
+
+		return expansion;
+	}
+
+	/**
+	 * Discards all expansions that were evaluated on the given branch.
+	 *
+	 * @param repositoryId - the repository of the changed branch
+	 * @param branchPath - the changed branch
+	 */
+	public void invalidate(String repositoryId, String branchPath) {
+		invalidations.incrementAndGet();
+		expansions.asMap().values().removeIf(expansion -> expansion.isEvaluatedOn(repositoryId, branchPath));
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed.compareAndSet(false, true)) {
+			expansions.invalidateAll();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed.get();
+	}
+
+	/**
+	 * Identifies a Value Set expansion.
+	 */
+	public static final class Key {
+
+		private final String url;
+		private final String version;
+		private final List<String> codeSystemUris;
+		private final Boolean activeOnly;
+
+		/**
+		 * @param url - the URL of the Value Set
+		 * @param version - the version of the Value Set, may be <code>null</code>
+		 * @param codeSystemUris - the resource URIs of the code system versions the Value Set was expanded against
+		 * @param activeOnly - whether only active codes are part of the expansion, may be <code>null</code>
+		 */
+		public Key(String url, String version, List<String> codeSystemUris, Boolean activeOnly) {
+			this.url = checkNotNull(url, "url");
+			this.version = version;
+			this.codeSystemUris = ImmutableList.copyOf(codeSystemUris);
+			this.activeOnly = activeOnly;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(url, version, codeSystemUris, activeOnly);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null) return false;
+			if (getClass() != obj.getClass()) return false;
+			Key other = (Key) obj;
+			return Objects.equals(url, other.url)
+					&& Objects.equals(version, other.version)
+					&& Objects.equals(codeSystemUris, other.codeSystemUris)
+					&& Objects.equals(activeOnly, other.activeOnly);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+					.add("url", url)
+					.add("version", version)
+					.add("codeSystemUris", codeSystemUris)
+					.add("activeOnly", activeOnly)
+					.toString();
+		}
+
+	}
+
+	/**
+	 * The codes and displays of an expansion, sorted by code. Codes and displays are stored in parallel arrays to keep the memory footprint of
+	 * large expansions low.
+	 */
+	public static final class MaterializedExpansion {
+
+		private final String repositoryId;
+		private final String branchPath;
+		private final String[] codes;
+		private final String[] displays;
+
+		/**
+		 * @param repositoryId - the repository the expansion was evaluated in
+		 * @param branchPath - the branch the expansion was evaluated on
+		 * @param codes - the member codes, sorted in ascending order
+		 * @param displays - the displays of the member codes, in the order of the codes
+		 */
+		public MaterializedExpansion(String repositoryId, String branchPath, String[] codes, String[] displays) {
+			checkArgument(codes.length == displays.length, "Number of codes and displays must match.");
+			this.repositoryId = checkNotNull(repositoryId, "repositoryId");
+			this.branchPath = checkNotNull(branchPath, "branchPath");
+			this.codes = codes;
+			this.displays = displays;
+		}
+
+		boolean isEvaluatedOn(String repositoryId, String branchPath) {
+			return this.repositoryId.equals(repositoryId) && this.branchPath.equals(branchPath);
+		}
+
+		public int size() {
+			return codes.length;
+		}
+
+		public String getCode(int index) {
+			return codes[index];
+		}
+
+		public String getDisplay(int index) {
+			return displays[index];
+		}
+
+		/**
+		 * @param code
+		 * @return the index of the code in the expansion or a negative value if the code is not a member of it
+		 */
+		public int indexOf(String code) {
+			return code == null ? -1 : Arrays.binarySearch(codes, code);
+		}
+
+		/**
+		 * @param code
+		 * @return the index of the first code in the expansion that follows the given code, <code>0</code> if the code is <code>null</code>
+		 */
+		public int indexAfter(String code) {
+			if (code == null) {
+				return 0;
+			}
+			final int index = Arrays.binarySearch(codes, code);
+			return index >= 0 ? index + 1 : -(index + 1);
+		}
+
+	}
+
+}
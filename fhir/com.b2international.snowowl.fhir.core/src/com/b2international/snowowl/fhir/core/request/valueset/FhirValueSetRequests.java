@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,4 +39,8 @@ public class FhirValueSetRequests {
 	public FhirValueSetValidateCodeRequestBuilder prepareValidateCode() {
 		return new FhirValueSetValidateCodeRequestBuilder();
 	}
+	
+	public FhirValueSetBulkValidateCodeRequestBuilder prepareBulkValidateCode() {
+		return new FhirValueSetBulkValidateCodeRequestBuilder();
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package com.b2international.snowowl.fhir.core.request.valueset;
 
+import java.util.List;
+
+import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.snowowl.core.RepositoryManager;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.events.Request;
@@ -38,7 +41,20 @@ final class FhirValueSetValidateCodeRequest implements Request<ServiceProvider,
 	
 	@Override
 	public ValidateCodeResult execute(ServiceProvider context) {
-		final ValueSet valueSet = FhirRequests.valueSets().prepareGet(request.getUrl().getUriValue()).buildAsync().execute(context);
+		final String url = request.getUrl().getUriValue();
+		final ValueSet valueSet;
+		try {
+			valueSet = FhirRequests.valueSets().prepareGet(url).buildAsync().execute(context);
+		} catch (NotFoundException e) {
+			// validate codes against implicit Value Sets defined by the URL, if possible
+			final FhirImplicitValueSet implicitValueSet = FhirImplicitValueSet.parse(context, url);
+			if (implicitValueSet != null) {
+				return implicitValueSet.validateCodes(context, List.of(request)).get(0);
+			}
+			
+			throw e;
+		}
+		
 		return context.service(RepositoryManager.class)
 				.get(valueSet.getToolingId())
 				.optionalService(FhirValueSetCodeValidator.class)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 import com.b2international.snowowl.fhir.rest.tests.capabilitystatement.CapabilityStatementRestTest;
 import com.b2international.snowowl.fhir.rest.tests.codesystem.FhirCodeSystemApiTest;
+import com.b2international.snowowl.fhir.rest.tests.codesystem.FhirCodeSystemBulkOperationTest;
 import com.b2international.snowowl.fhir.rest.tests.codesystem.FhirCodeSystemLookupOperationTest;
 import com.b2international.snowowl.fhir.rest.tests.codesystem.FhirCodeSystemSubsumesOperationTest;
 import com.b2international.snowowl.fhir.rest.tests.codesystem.FhirCodeSystemValidateCodeOperationTest;
@@ -45,6 +46,7 @@ import com.b2international.snowowl.test.commons.SnowOwlAppRule;
 	FhirCodeSystemLookupOperationTest.class,
 	FhirCodeSystemSubsumesOperationTest.class,
 	FhirCodeSystemValidateCodeOperationTest.class,
+	FhirCodeSystemBulkOperationTest.class,
 	
 	// ValueSet API
 	FhirValueSetSnomedExpandTest.class,
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,14 @@ package com.b2international.snowowl.fhir.rest.tests.batch;
 import static com.b2international.snowowl.test.commons.rest.RestExtensions.givenAuthenticatedRequest;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.b2international.snowowl.fhir.core.codesystems.BundleType;
 import com.b2international.snowowl.fhir.core.codesystems.CodeSystemContentMode;
@@ -32,6 +38,7 @@ import com.b2international.snowowl.fhir.core.model.dt.Parameters;
 import com.b2international.snowowl.fhir.core.model.dt.Parameters.Json;
 import com.b2international.snowowl.fhir.tests.FhirRestTest;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.google.common.base.Stopwatch;
 
 /**
  * Tests for batch REST operations
@@ -39,6 +46,8 @@ import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
  */
 public class FhirBatchApiRestTest extends FhirRestTest {
 	
+	private static final Logger LOG = LoggerFactory.getLogger(FhirBatchApiRestTest.class);
+	
 	@Test
 	public void singleLookupGET() {
 		
@@ -283,5 +292,61 @@ public class FhirBatchApiRestTest extends FhirRestTest {
 		
 	}
 	
+	@Test
+	public void largeBatchResponseOrder() {
+		
+		final int numberOfEntries = 1000;
+		
+		Bundle.Builder builder = Bundle.builder()
+				.language("en")
+				.total(numberOfEntries)
+				.type(BundleType.BATCH);
+		
+		// every third entry fails, so that the order of the response entries can be verified 
+		for (int i = 0; i < numberOfEntries; i++) {
+			if (i % 3 == 2) {
+				builder.addEntry(RequestEntry.builder()
+						.request(BatchRequest.createGetRequest("CodeSystem/$lookup?system=whatever&code=1234"))
+						.build());
+			} else if (i % 3 == 1) {
+				builder.addEntry(RequestEntry.builder()
+						.request(BatchRequest.createGetRequest("CodeSystem/$validate-code?"
+								+ "url=http://snomed.info/sct"
+								+ "&code=" + Concepts.MORPHOLOGY))
+						.build());
+			} else {
+				builder.addEntry(ParametersRequestEntry.builder()
+						.request(BatchRequest.createPostRequest("CodeSystem/$lookup"))
+						.resource(new Parameters.Fhir(new Parameters.Json(LookupRequest.builder()
+								.coding(Coding.builder()
+										.system("http://snomed.info/sct")
+										.code(Concepts.IS_A)
+										.build())
+								.build()).parameters()))
+						.build());
+			}
+		}
+		
+		Stopwatch w = Stopwatch.createStarted();
+		
+		List<String> statuses = givenAuthenticatedRequest(FHIR_ROOT_CONTEXT)
+				.contentType(APPLICATION_FHIR_JSON)
+				.body(builder.build())
+				.when().post("/")
+				.then()
+				.statusCode(200)
+				.body("type", is("batch-response"))
+				.extract()
+				.jsonPath()
+				.getList("entry.response.status", String.class);
+		
+		LOG.info("Executed batch of {} entries in {} ({} entries/s)", numberOfEntries, w, 
+				numberOfEntries * 1000L / Math.max(1L, w.elapsed(TimeUnit.MILLISECONDS)));
+		
+		assertEquals(numberOfEntries, statuses.size());
+		for (int i = 0; i < numberOfEntries; i++) {
+			assertEquals("Unexpected status of entry " + i, i % 3 == 2 ? "404" : "200", statuses.get(i));
+		}
+	}
 
 }
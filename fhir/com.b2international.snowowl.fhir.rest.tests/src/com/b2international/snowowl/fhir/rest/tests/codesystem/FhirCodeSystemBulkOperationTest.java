@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.rest.tests.codesystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.index.IndexMetrics;
+import com.b2international.snowowl.fhir.core.model.ValidateCodeResult;
+import com.b2international.snowowl.fhir.core.model.codesystem.LookupRequest;
+import com.b2international.snowowl.fhir.core.model.codesystem.LookupResult;
+import com.b2international.snowowl.fhir.core.model.codesystem.ValidateCodeRequest;
+import com.b2international.snowowl.fhir.core.request.FhirRequests;
+import com.b2international.snowowl.fhir.tests.FhirRestTest;
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.b2international.snowowl.test.commons.Services;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Bulk $validate-code and $lookup request test cases.
+ * 
+ * @since 8.10
+ */
+public class FhirCodeSystemBulkOperationTest extends FhirRestTest {
+	
+	private static final String[] CODES = { Concepts.ROOT_CONCEPT, Concepts.IS_A, Concepts.MORPHOLOGY, "12345" };
+	
+	private SimpleMeterRegistry registry;
+	
+	@Before
+	public void setup() {
+		// index searches are recorded into the global registry
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+	}
+	
+	@After
+	public void teardown() {
+		Metrics.removeRegistry(registry);
+		registry.close();
+	}
+	
+	@Test
+	public void bulkValidateCode() throws Exception {
+		final List<ValidateCodeRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			requests.add(ValidateCodeRequest.builder()
+					.url(SNOMEDCT_URL)
+					.code(CODES[i % CODES.length])
+					.build());
+		}
+		
+		long searchCount = getSearchCount();
+		final List<ValidateCodeResult> singleResults = new ArrayList<>(requests.size());
+		for (ValidateCodeRequest request : requests) {
+			singleResults.add(FhirRequests.codeSystems().prepareValidateCode()
+					.setRequest(request)
+					.buildAsync()
+					.execute(Services.bus())
+					.getSync(1, TimeUnit.MINUTES));
+		}
+		final long singleSearchCount = getSearchCount() - searchCount;
+		
+		searchCount = getSearchCount();
+		final List<ValidateCodeResult> bulkResults = FhirRequests.codeSystems().prepareBulkValidateCode()
+				.setRequests(requests)
+				.buildAsync()
+				.execute(Services.bus())
+				.getSync(1, TimeUnit.MINUTES);
+		final long bulkSearchCount = getSearchCount() - searchCount;
+		
+		assertThat(bulkResults).hasSize(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			assertThat(bulkResults.get(i).getResult()).isEqualTo(singleResults.get(i).getResult()).isEqualTo(i % CODES.length != 3);
+			assertThat(bulkResults.get(i).getMessage()).isEqualTo(singleResults.get(i).getMessage());
+		}
+		
+		// the code system and the concepts are searched once for all requests, instead of once per request
+		assertThat(singleSearchCount).isGreaterThanOrEqualTo(requests.size());
+		assertThat(bulkSearchCount).isPositive().isLessThan(singleSearchCount / 100);
+	}
+	
+	@Test
+	public void bulkLookup() throws Exception {
+		final List<LookupRequest> requests = new ArrayList<>();
+		for (String code : CODES) {
+			requests.add(LookupRequest.builder()
+					.system(SNOMEDCT_URL)
+					.code(code)
+					.build());
+		}
+		
+		long searchCount = getSearchCount();
+		final List<LookupResult> results = FhirRequests.codeSystems().prepareBulkLookup()
+				.setRequests(requests)
+				.buildAsync()
+				.execute(Services.bus())
+				.getSync(1, TimeUnit.MINUTES);
+		final long bulkSearchCount = getSearchCount() - searchCount;
+		
+		assertThat(results).hasSize(CODES.length);
+		assertThat(results.get(3)).isNull();
+		
+		searchCount = getSearchCount();
+		for (int i = 0; i < 3; i++) {
+			final LookupResult expected = FhirRequests.codeSystems().prepareLookup()
+					.setRequest(requests.get(i))
+					.buildAsync()
+					.execute(Services.bus())
+					.getSync(1, TimeUnit.MINUTES);
+			
+			assertThat(results.get(i).getName()).isEqualTo(expected.getName());
+			assertThat(results.get(i).getDisplay()).isEqualTo(expected.getDisplay());
+		}
+		final long singleSearchCount = getSearchCount() - searchCount;
+		
+		// a single bulk request looks up more codes with fewer searches than the individual lookups of the existing codes
+		assertThat(bulkSearchCount).isPositive().isLessThan(singleSearchCount);
+	}
+	
+	/*
+	 * Returns the number of index searches executed so far in any repository
+	 */
+	private long getSearchCount() {
+		return registry.find(IndexMetrics.SEARCH)
+				.tag(IndexMetrics.TAG_PHASE, IndexMetrics.PHASE_QUERY)
+				.timers()
+				.stream()
+				.mapToLong(Timer::count)
+				.sum();
+	}
+	
+}
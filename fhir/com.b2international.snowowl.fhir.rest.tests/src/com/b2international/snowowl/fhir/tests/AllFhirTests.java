@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,7 @@ import com.b2international.snowowl.fhir.tests.serialization.parameterized.*;
 	//Generic tests
 	SnomedUriParsingTest.class,
 	ExceptionTest.class,
+	FhirValueSetExpansionCacheTest.class,
 
 	//Data type tests
 	PrimitiveDataTypeTest.class,
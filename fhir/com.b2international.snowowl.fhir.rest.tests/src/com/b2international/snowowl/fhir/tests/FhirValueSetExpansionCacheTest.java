@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache;
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache.Key;
+import com.b2international.snowowl.fhir.core.request.valueset.FhirValueSetExpansionCache.MaterializedExpansion;
+
+/**
+ * @since 8.10
+ */
+public class FhirValueSetExpansionCacheTest {
+
+	private static final Key WORKING_KEY = new Key("http://snomed.info/sct?fhir_vs=isa/404684003", null, List.of("codesystems/SNOMEDCT"), null);
+	private static final Key VERSION_KEY = new Key("http://snomed.info/sct?fhir_vs=isa/404684003", null, List.of("codesystems/SNOMEDCT/2023-01-31"), null);
+
+	private static MaterializedExpansion expansion(String branchPath) {
+		return new MaterializedExpansion("snomed", branchPath, new String[] { "1", "2", "4" }, new String[] { "one", "two", "four" });
+	}
+
+	@Test
+	public void loadOnce() throws Exception {
+		final FhirValueSetExpansionCache cache = new FhirValueSetExpansionCache(10, 100);
+		final AtomicInteger loads = new AtomicInteger();
+
+		final MaterializedExpansion first = cache.get(WORKING_KEY, () -> {
+			loads.incrementAndGet();
+			return expansion("MAIN");
+		});
+		final MaterializedExpansion second = cache.get(WORKING_KEY, () -> {
+			loads.incrementAndGet();
+			return expansion("MAIN");
+		});
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void notMaterialized() throws Exception {
+		final FhirValueSetExpansionCache cache = new FhirValueSetExpansionCache(10, 100);
+		final AtomicInteger loads = new AtomicInteger();
+
+		assertNull(cache.get(WORKING_KEY, () -> {
+			loads.incrementAndGet();
+			return null;
+		}));
+		assertNull(cache.get(WORKING_KEY, () -> {
+			loads.incrementAndGet();
+			return null;
+		}));
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void invalidateChangedBranchOnly() throws Exception {
+		final FhirValueSetExpansionCache cache = new FhirValueSetExpansionCache(10, 100);
+		final MaterializedExpansion working = cache.get(WORKING_KEY, () -> expansion("MAIN"));
+		final MaterializedExpansion version = cache.get(VERSION_KEY, () -> expansion("MAIN/2023-01-31"));
+
+		cache.invalidate("snomed", "MAIN");
+
+		assertSame(version, cache.get(VERSION_KEY, () -> expansion("MAIN/2023-01-31")));
+		assertTrue(working != cache.get(WORKING_KEY, () -> expansion("MAIN")));
+	}
+
+	@Test
+	public void doNotCacheExpansionEvaluatedDuringBranchChange() throws Exception {
+		final FhirValueSetExpansionCache cache = new FhirValueSetExpansionCache(10, 100);
+		final MaterializedExpansion stale = cache.get(WORKING_KEY, () -> {
+			cache.invalidate("snomed", "MAIN");
+			return expansion("MAIN");
+		});
+
+		assertTrue(stale != cache.get(WORKING_KEY, () -> expansion("MAIN")));
+	}
+
+	@Test
+	public void membershipAndPaging() throws Exception {
+		final MaterializedExpansion expansion = expansion("MAIN");
+
+		assertEquals(1, expansion.indexOf("2"));
+		assertTrue(expansion.indexOf("3") < 0);
+		assertTrue(expansion.indexOf(null) < 0);
+
+		assertEquals(0, expansion.indexAfter(null));
+		assertEquals(2, expansion.indexAfter("2"));
+		assertEquals(2, expansion.indexAfter("3"));
+		assertEquals(3, expansion.indexAfter("4"));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import com.b2international.commons.exceptions.ConflictException;
 import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.commons.exceptions.NotImplementedException;
+import com.b2international.commons.exceptions.NotModifiedException;
 import com.b2international.commons.exceptions.UnauthorizedException;
 import com.b2international.snowowl.core.rest.AbstractRestService;
 import com.b2international.snowowl.core.rest.RestApiError;
@@ -91,6 +92,11 @@ public abstract class AbstractFhirController extends AbstractRestService {
 	    }
 	}
 	
+	@ExceptionHandler
+	public ResponseEntity<Void> handle(final NotModifiedException ex) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ex.getETag()).build();
+	}
+	
 	@ExceptionHandler
 	@ResponseStatus(HttpStatus.UNAUTHORIZED)
 	public @ResponseBody ResponseEntity<OperationOutcome> handle(final UnauthorizedException ex) {
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.fhir.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.fhir.core.model.dt.Parameters;
+
+/**
+ * Dispatches FHIR operation calls of batch bundle entries directly to the operation controllers, without a loopback HTTP round trip. The
+ * controllers are invoked on the thread serving the batch request, so that request scoped services are available to them, while the returned
+ * {@link Promise}s complete asynchronously on the request layer.
+ *
+ * @since 8.10
+ */
+@Component
+public class FhirBatchOperationDispatcher {
+
+	@Autowired
+	private FhirCodeSystemLookupOperationController codeSystemLookup;
+
+	@Autowired
+	private FhirCodeSystemValidateCodeOperationController codeSystemValidateCode;
+
+	@Autowired
+	private FhirCodeSystemSubsumesOperationController codeSystemSubsumes;
+
+	@Autowired
+	private FhirValueSetValidateCodeController valueSetValidateCode;
+
+	/**
+	 * Dispatches a GET operation call.
+	 *
+	 * @param url - the relative URL of the bundle entry, including the query parameters
+	 * @return the promise of the operation's response or <code>null</code> if the URL does not point to an operation that can be executed in-process
+	 */
+	public Promise<?> get(String url) {
+		final OperationUrl operationUrl = OperationUrl.parse(url);
+		if (operationUrl == null) {
+			return null;
+		}
+
+		final String id = operationUrl.id;
+		final QueryParameters params = operationUrl.params;
+
+		switch (operationUrl.operation) {
+		case "CodeSystem/$lookup":
+			if (id != null) {
+				return null;
+			}
+			return codeSystemLookup.lookup(
+				params.required("code"),
+				params.required("system"),
+				params.optional("version"),
+				params.optional("date"),
+				params.optional("displayLanguage"),
+				params.all("property"));
+		case "CodeSystem/$validate-code":
+			if (id != null) {
+				return codeSystemValidateCode.validateCode(id,
+					params.required("code"),
+					params.optional("version"),
+					params.optional("display"),
+					params.optional("date"),
+					params.optional("abstract").map(Boolean::valueOf));
+			} else {
+				return codeSystemValidateCode.validateCodeByUrl(
+					params.required("url"),
+					params.required("code"),
+					params.optional("version"),
+					params.optional("display"),
+					params.optional("date"),
+					params.optional("abstract").map(Boolean::valueOf));
+			}
+		case "CodeSystem/$subsumes":
+			if (id != null) {
+				return codeSystemSubsumes.subsumes(id,
+					params.required("codeA"),
+					params.required("codeB"),
+					params.required("system"),
+					params.optional("version").orElse(null));
+			} else {
+				return codeSystemSubsumes.subsumes(
+					params.required("codeA"),
+					params.required("codeB"),
+					params.required("system"),
+					params.optional("version").orElse(null));
+			}
+		case "ValueSet/$validate-code":
+			if (id != null) {
+				return valueSetValidateCode.validateCode(id,
+					params.required("code"),
+					params.required("system"),
+					params.optional("version").orElse(null));
+			} else {
+				return valueSetValidateCode.validateCodeByURL(
+					params.required("url"),
+					params.required("code"),
+					params.required("system"),
+					params.optional("version").orElse(null));
+			}
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Dispatches a POST operation call with a FHIR {@link Parameters} body.
+	 *
+	 * @param url - the relative URL of the bundle entry
+	 * @param body - the parameters of the operation
+	 * @return the promise of the operation's response or <code>null</code> if the URL does not point to an operation that can be executed in-process
+	 */
+	public Promise<?> post(String url, Parameters.Fhir body) {
+		final OperationUrl operationUrl = OperationUrl.parse(url);
+		if (operationUrl == null) {
+			return null;
+		}
+
+		final String id = operationUrl.id;
+
+		switch (operationUrl.operation) {
+		case "CodeSystem/$lookup":
+			return id == null ? codeSystemLookup.lookup(body) : null;
+		case "CodeSystem/$validate-code":
+			return id == null ? codeSystemValidateCode.validateCode(body) : codeSystemValidateCode.validateCode(id, body);
+		case "CodeSystem/$subsumes":
+			return id == null ? codeSystemSubsumes.subsumes(body) : codeSystemSubsumes.subsumes(id, body);
+		default:
+			return null;
+		}
+	}
+
+	/*
+	 * An operation URL in the form of <resourceType>[/<id>]/$<operation>[?<query parameters>], where the ID may contain slashes.
+	 */
+	private static final class OperationUrl {
+
+		private final String operation;
+		private final String id;
+		private final QueryParameters params;
+
+		private OperationUrl(String operation, String id, QueryParameters params) {
+			this.operation = operation;
+			this.id = id;
+			this.params = params;
+		}
+
+		static OperationUrl parse(String url) {
+			final UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+			final List<String> segments = uri.getPathSegments()
+					.stream()
+					.map(QueryParameters::decode)
+					.collect(Collectors.toList());
+
+			if (segments.size() < 2 || !segments.get(segments.size() - 1).startsWith("$")) {
+				return null;
+			}
+
+			final String operation = segments.get(0) + "/" + segments.get(segments.size() - 1);
+			final String id = segments.size() > 2 ? String.join("/", segments.subList(1, segments.size() - 1)) : null;
+			return new OperationUrl(operation, id, new QueryParameters(uri.getQueryParams()));
+		}
+
+	}
+
+	/*
+	 * Mirrors the @RequestParam binding of the operation controllers.
+	 */
+	private static final class QueryParameters {
+
+		private final MultiValueMap<String, String> params;
+
+		QueryParameters(MultiValueMap<String, String> params) {
+			this.params = params;
+		}
+
+		String required(String name) {
+			return optional(name).orElseThrow(() -> new IllegalArgumentException(String.format("Required request parameter '%s' is not present", name)));
+		}
+
+		Optional<String> optional(String name) {
+			return Optional.ofNullable(params.getFirst(name)).map(QueryParameters::decode);
+		}
+
+		Set<String> all(String name) {
+			final List<String> values = params.get(name);
+			return values == null ? null : values.stream().map(QueryParameters::decode).collect(Collectors.toSet());
+		}
+
+		static String decode(String value) {
+			return UriUtils.decode(value, StandardCharsets.UTF_8);
+		}
+
+	}
+
+}
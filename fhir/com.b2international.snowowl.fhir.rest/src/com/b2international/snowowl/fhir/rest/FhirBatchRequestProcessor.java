@@ -1,6 +1,6 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
- * 
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -19,14 +19,24 @@ import java.util.Enumeration;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import com.b2international.commons.exceptions.ConflictException;
+import com.b2international.commons.exceptions.NotFoundException;
+import com.b2international.commons.exceptions.NotImplementedException;
+import com.b2international.commons.exceptions.UnauthorizedException;
+import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.fhir.core.codesystems.IssueSeverity;
 import com.b2international.snowowl.fhir.core.codesystems.IssueType;
+import com.b2international.snowowl.fhir.core.exceptions.BadRequestException;
 import com.b2international.snowowl.fhir.core.model.*;
 import com.b2international.snowowl.fhir.core.model.dt.Code;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -34,7 +44,6 @@ import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 
@@ -43,17 +52,27 @@ import com.fasterxml.jackson.databind.node.TextNode;
  * @since 8.0.0
  */
 public abstract class FhirBatchRequestProcessor {
-	
+
+	/*
+	 * RestTemplate instances are thread-safe, entries not supported by the in-process dispatcher share a single instance.
+	 */
+	private static final RestTemplate REST_TEMPLATE = new RestTemplate();
+
 	protected ObjectMapper objectMapper;
-	private FhirBundleController batchRequestController;
+	protected FhirBundleController batchRequestController;
 
+	/**
+	 * @param objectMapper - the mapper to use for creating response entries, must not be a request scoped instance as response entries of
+	 *                     in-process requests are created on the thread completing the request
+	 * @param batchRequestController
+	 */
 	public FhirBatchRequestProcessor(ObjectMapper objectMapper, FhirBundleController batchRequestController) {
 		this.objectMapper = objectMapper;
 		this.batchRequestController = batchRequestController;
 	}
 
 	public static FhirBatchRequestProcessor getInstance(Entry entry, ObjectMapper objectMapper, FhirBundleController batchRequestController) {
-		
+
 		if (entry instanceof RequestEntry) {
 			RequestEntry requestEntry = (RequestEntry) entry;
 			return new FhirRequestEntryProcessor(objectMapper, requestEntry, batchRequestController);
@@ -66,34 +85,37 @@ public abstract class FhirBatchRequestProcessor {
 		} else {
 			return new FhirUnknowRequestEntryProcessor(objectMapper, entry, batchRequestController);
 		}
-		
+
 	}
 
-	public void process(ArrayNode arrayNode, HttpServletRequest request) throws JsonMappingException, JsonProcessingException {
-		
+	/**
+	 * Process the entry on the thread serving the batch request.
+	 *
+	 * @param request
+	 * @return the promise of the response entry; errors are reported as an {@link OperationOutcome} response entry, the returned promise never fails
+	 */
+	public final Promise<ObjectNode> process(HttpServletRequest request) {
+
+		Promise<ObjectNode> response;
 		try {
-			doProcess(arrayNode, request);
-		} catch (HttpClientErrorException hcee) {
-			processClientErrorException(arrayNode, hcee);
-		} catch (HttpServerErrorException hsee) {
-			processHttpException(arrayNode, hsee);
+			response = doProcess(request);
 		} catch (Exception e) {
-			processGenericError(arrayNode, e);
+			response = Promise.fail(e);
 		}
+
+		return response.fail(this::createErrorResponse);
 	}
-	
+
 	/**
-	 * Process the entry and insert the result to the {@link ArrayNode} of the response
-	 * @param arrayNode
+	 * Process the entry and return the promise of the response entry to insert into the response bundle
 	 * @param request
-	 * @throws JsonProcessingException 
-	 * @throws JsonMappingException 
-	 * @throws Exception 
+	 * @return
+	 * @throws Exception
 	 */
-	public abstract void doProcess(ArrayNode arrayNode, HttpServletRequest request) throws Exception;
-	
-	protected void createInvalidMethodResponse(ArrayNode arrayNode, Code requestMethod) {
-		
+	public abstract Promise<ObjectNode> doProcess(HttpServletRequest request) throws Exception;
+
+	protected ObjectNode createInvalidMethodResponse(Code requestMethod) {
+
 		OperationOutcome operationOutcome = OperationOutcome.builder()
 				.addIssue(Issue.builder()
 						.severity(IssueSeverity.ERROR)
@@ -102,72 +124,111 @@ public abstract class FhirBatchRequestProcessor {
 						.diagnostics(String.format("'%s' request method is invalid.", requestMethod.getCodeValue()))
 						.build())
 				.build();
-		
-		OperationOutcomeEntry ooEntry = OperationOutcomeEntry.builder()
-				.operationOutcome(operationOutcome)
-				.build();
-		
-		ObjectNode resourceNode = (ObjectNode) objectMapper.valueToTree(ooEntry);
-		BatchResponse batchResponse = new BatchResponse("500");
-		JsonNode responseNode = objectMapper.valueToTree(batchResponse);
-		resourceNode.putPOJO("response", responseNode);
-		arrayNode.add(resourceNode);
-		
+
+		return createOperationOutcomeResponse(operationOutcome, "500");
+	}
+
+	/**
+	 * Executes the request entry with a loopback HTTP call to this server. Used for entries that can not be dispatched in-process.
+	 */
+	protected Promise<ObjectNode> exchange(HttpServletRequest request, HttpMethod method, BatchRequest batchRequest, Object body) throws JsonMappingException, JsonProcessingException {
+
+		StringBuilder uriBuilder = new StringBuilder(request.getScheme())
+				.append("://")
+				.append(request.getServerName())
+				.append(":")
+				.append(request.getLocalPort())
+				.append(request.getRequestURI())
+				.append(batchRequest.getUrl().getUriValue());
+
+		HttpEntity<?> httpEntity = new HttpEntity<>(body, getHeaders(request));
+		ResponseEntity<String> response = REST_TEMPLATE.exchange(uriBuilder.toString(), method, httpEntity, String.class);
+
+		ObjectNode resourceNode = (ObjectNode) objectMapper.readTree(response.getBody());
+
+		return Promise.immediate(createResponse(resourceNode, String.valueOf(response.getStatusCode().value())));
 	}
-	
+
 	protected HttpHeaders getHeaders(HttpServletRequest request) {
-		
+
 		HttpHeaders headers = new HttpHeaders();
-		
+
 		Enumeration<String> headerNames = request.getHeaderNames();
 		while (headerNames.hasMoreElements()) {
-			
+
 			String headerName = (String) headerNames.nextElement();
-			
+
 			Enumeration<String> headerValues = request.getHeaders(headerName);
 			while (headerValues.hasMoreElements()) {
 				String headerValue = (String) headerValues.nextElement();
 				headers.add(headerName, headerValue);
-				
+
 			}
 		};
-		
+
 		return headers;
 	}
-	
-	private void processClientErrorException(ArrayNode arrayNode, HttpClientErrorException hcee) throws JsonMappingException, JsonProcessingException {
-		
+
+	private ObjectNode createErrorResponse(Throwable t) {
+
+		try {
+			if (t instanceof HttpClientErrorException) {
+				return processClientErrorException((HttpClientErrorException) t);
+			} else if (t instanceof HttpServerErrorException) {
+				return processHttpException((HttpServerErrorException) t);
+			} else {
+				return processInProcessException(t);
+			}
+		} catch (Exception e) {
+			return processGenericError(e);
+		}
+	}
+
+	private ObjectNode processClientErrorException(HttpClientErrorException hcee) throws JsonMappingException, JsonProcessingException {
+
 		//HttpClientErrorException can return an OperationOutcome in the response body
 		ObjectNode resourceNode = (ObjectNode) objectMapper.readTree(hcee.getResponseBodyAsString());
-		
+
 		TreeNode resourceTypeNode = resourceNode.path("resource").path("resourceType");
 		if (resourceTypeNode instanceof TextNode) {
 			TextNode textNode = (TextNode) resourceTypeNode;
 			if (textNode.textValue().equals("OperationOutcome")) {
-				addResponse(arrayNode, resourceNode, String.valueOf(hcee.getStatusCode().value()));
-				return;
+				return createResponse(resourceNode, String.valueOf(hcee.getStatusCode().value()));
 			}
 		}
-		processHttpException(arrayNode, hcee);
-		
+		return processHttpException(hcee);
+
 	}
 
-	private void processHttpException(ArrayNode arrayNode, HttpStatusCodeException hsee) throws JsonMappingException, JsonProcessingException {
-		
+	private ObjectNode processHttpException(HttpStatusCodeException hsee) {
+
 		OperationOutcome operationOutcome = batchRequestController.handle(hsee);
-		
-		OperationOutcomeEntry ooEntry = OperationOutcomeEntry.builder()
-				.operationOutcome(operationOutcome)
-				.build();
-		
-		ObjectNode resourceNode = (ObjectNode) objectMapper.valueToTree(ooEntry);
-		BatchResponse batchResponse = new BatchResponse(String.valueOf(hsee.getStatusCode().value()));
-		JsonNode responseNode = objectMapper.valueToTree(batchResponse);
-		resourceNode.putPOJO("response", responseNode);
-		arrayNode.add(resourceNode);
+		return createOperationOutcomeResponse(operationOutcome, String.valueOf(hsee.getStatusCode().value()));
 	}
 
-	private void processGenericError(ArrayNode arrayNode, Exception e) {
+	/*
+	 * Maps exceptions of in-process requests the same way as the exception handlers of AbstractFhirController.
+	 */
+	private ObjectNode processInProcessException(Throwable t) {
+
+		if (t instanceof BadRequestException) {
+			return createOperationOutcomeResponse(batchRequestController.handle((BadRequestException) t), HttpStatus.BAD_REQUEST);
+		} else if (t instanceof NotFoundException) {
+			return createOperationOutcomeResponse(batchRequestController.handle((NotFoundException) t), HttpStatus.NOT_FOUND);
+		} else if (t instanceof NotImplementedException) {
+			return createOperationOutcomeResponse(batchRequestController.handle((NotImplementedException) t), HttpStatus.NOT_IMPLEMENTED);
+		} else if (t instanceof ConflictException) {
+			return createOperationOutcomeResponse(batchRequestController.handle((ConflictException) t), HttpStatus.CONFLICT);
+		} else if (t instanceof UnauthorizedException) {
+			return createOperationOutcomeResponse(batchRequestController.handle((UnauthorizedException) t).getBody(), HttpStatus.UNAUTHORIZED);
+		} else if (t instanceof Exception) {
+			return createOperationOutcomeResponse(batchRequestController.handle((Exception) t), HttpStatus.INTERNAL_SERVER_ERROR);
+		} else {
+			return processGenericError(t);
+		}
+	}
+
+	private ObjectNode processGenericError(Throwable e) {
 		OperationOutcome operationOutcome = OperationOutcome.builder()
 				.addIssue(Issue.builder()
 						.severity(IssueSeverity.ERROR)
@@ -176,56 +237,35 @@ public abstract class FhirBatchRequestProcessor {
 						.diagnostics(String.format("Exception when processing request. Exception: '%s'", e.getMessage()))
 						.build())
 				.build();
-		
+
+		return createOperationOutcomeResponse(operationOutcome, "500");
+	}
+
+	private ObjectNode createOperationOutcomeResponse(OperationOutcome operationOutcome, HttpStatus status) {
+		return createOperationOutcomeResponse(operationOutcome, String.valueOf(status.value()));
+	}
+
+	protected ObjectNode createOperationOutcomeResponse(OperationOutcome operationOutcome, String statusCode) {
+
 		OperationOutcomeEntry ooEntry = OperationOutcomeEntry.builder()
 				.operationOutcome(operationOutcome)
 				.build();
-		
+
 		ObjectNode resourceNode = (ObjectNode) objectMapper.valueToTree(ooEntry);
-		BatchResponse batchResponse = new BatchResponse("500");
+		BatchResponse batchResponse = new BatchResponse(statusCode);
 		JsonNode responseNode = objectMapper.valueToTree(batchResponse);
 		resourceNode.putPOJO("response", responseNode);
-		arrayNode.add(resourceNode);
-		
+		return resourceNode;
 	}
-	
-	protected void addResponse(ArrayNode arrayNode, ObjectNode resourceNode, String statusCode) {
-		
-		ObjectNode resourceRoot = objectMapper.createObjectNode().putPOJO("resource", resourceNode);
-		
+
+	protected ObjectNode createResponse(Object resource, String statusCode) {
+
+		ObjectNode resourceRoot = objectMapper.createObjectNode().putPOJO("resource", objectMapper.valueToTree(resource));
+
 		BatchResponse batchResponse = new BatchResponse(statusCode);
 		JsonNode responseNode = objectMapper.valueToTree(batchResponse);
 		resourceRoot.putPOJO("response", responseNode);
-		arrayNode.add(resourceRoot);
+		return resourceRoot;
 	}
-	
-	/*
-	 * This REST template is suitable for debugging.
-	 */
-	protected RestTemplate getRestTemplate() {
-		RestTemplate restTemplate = new RestTemplate();
-		
-//		List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
-//		MappingJackson2HttpMessageConverter jsonMessageConverter = new MappingJackson2HttpMessageConverter() {
-//
-//			public boolean canRead(java.lang.Class<?> clazz, org.springframework.http.MediaType mediaType) {
-//				return true;
-//			}
-//
-//			public boolean canRead(java.lang.reflect.Type type, java.lang.Class<?> contextClass,
-//					org.springframework.http.MediaType mediaType) {
-//				return true;
-//			}
-//
-//			protected boolean canRead(org.springframework.http.MediaType mediaType) {
-//				return true;
-//			}
-//		};
-//
-//		jsonMessageConverter.setObjectMapper(objectMapper);
-//		messageConverters.add(jsonMessageConverter);
-		//restTemplate.setMessageConverters(messageConverters);
-		return restTemplate;
-	}
-	
+
 }
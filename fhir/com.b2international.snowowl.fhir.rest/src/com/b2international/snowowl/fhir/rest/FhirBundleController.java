@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,12 @@
  */
 package com.b2international.snowowl.fhir.rest;
 
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -23,7 +28,11 @@ import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import com.b2international.commons.exceptions.RequestTimeoutException;
+import com.b2international.snowowl.core.ApplicationContext;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.core.rate.ApiConfiguration;
 import com.b2international.snowowl.fhir.core.codesystems.BundleType;
 import com.b2international.snowowl.fhir.core.model.Bundle;
 import com.b2international.snowowl.fhir.core.model.Entry;
@@ -52,6 +61,9 @@ public class FhirBundleController extends AbstractFhirController {
 	@Autowired
 	private ObjectMapper objectMapper;
 	
+	@Autowired
+	private FhirBatchOperationDispatcher operationDispatcher;
+	
 	@Operation(
 		summary = "Perform batch operations",
 	    description = "Executes the FHIR requests included in the bundle provided.")
@@ -63,7 +75,7 @@ public class FhirBundleController extends AbstractFhirController {
 	public Promise<Bundle> getBatchResponse(
 			@Parameter(name = "bundle", description = "The bundle including the list of requests to perform")
 			@RequestBody final Bundle bundle, 
-			HttpServletRequest request) throws JsonProcessingException {
+			HttpServletRequest request) throws JsonProcessingException, InterruptedException {
 		
 		Collection<Entry> entries = bundle.getEntry();
 		
@@ -76,15 +88,37 @@ public class FhirBundleController extends AbstractFhirController {
 		
 		ArrayNode arrayNode = rootNode.putArray("entry");
 		
+		// response entries are created on the threads completing the requests, where the request scoped mapper is not available
+		ObjectMapper entryMapper = objectMapper.copy();
+		ApiConfiguration apiConfiguration = ApplicationContext.getServiceForClass(SnowOwlConfiguration.class).getModuleConfig(ApiConfiguration.class);
+		long requestTimeout = apiConfiguration.getHttp().getRequestTimeoutInMillis();
+		Semaphore permits = new Semaphore(apiConfiguration.getBatchParallelism());
+		
+		// entries are dispatched in order, with at most batchParallelism of them running at the same time
+		List<Promise<ObjectNode>> responses = newArrayListWithCapacity(entries.size());
 		for (Entry entry : entries) {
-			FhirBatchRequestProcessor requestProcessor = FhirBatchRequestProcessor.getInstance(entry, objectMapper, this);
-			requestProcessor.process(arrayNode, request);
+			if (!permits.tryAcquire(requestTimeout, TimeUnit.MILLISECONDS)) {
+				throw new RequestTimeoutException("Batch entries did not complete in %s ms.", requestTimeout);
+			}
+			FhirBatchRequestProcessor requestProcessor = FhirBatchRequestProcessor.getInstance(entry, entryMapper, this);
+			responses.add(requestProcessor.process(request).then(response -> {
+				permits.release();
+				return response;
+			}));
+		}
+		
+		for (Promise<ObjectNode> response : responses) {
+			arrayNode.add(response.getSync(requestTimeout, TimeUnit.MILLISECONDS));
 		}
 		
 		Bundle treeToValue = objectMapper.treeToValue(rootNode, Bundle.class);
 		return Promise.immediate(treeToValue);
 	}
 	
+	FhirBatchOperationDispatcher getOperationDispatcher() {
+		return operationDispatcher;
+	}
+	
 	/**
 	 * @param params
 	 * @return bundle of bundles
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,18 +17,14 @@ package com.b2international.snowowl.fhir.rest;
 
 import javax.servlet.http.HttpServletRequest;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
+import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.fhir.core.codesystems.HttpVerb;
 import com.b2international.snowowl.fhir.core.model.BatchRequest;
 import com.b2international.snowowl.fhir.core.model.RequestEntry;
 import com.b2international.snowowl.fhir.core.model.dt.Code;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -45,38 +41,21 @@ public class FhirRequestEntryProcessor extends FhirBatchRequestProcessor {
 	}
 
 	@Override
-	public void doProcess(ArrayNode arrayNode, HttpServletRequest request) throws Exception {
-		 
+	public Promise<ObjectNode> doProcess(HttpServletRequest request) throws Exception {
 
 		BatchRequest batchRequest = requestEntry.getRequest();
 		Code requestMethod = batchRequest.getMethod();
 		
 		if (!requestMethod.equals(HttpVerb.GET.getCode())) {
-			createInvalidMethodResponse(arrayNode, requestMethod);
-			return;
+			return Promise.immediate(createInvalidMethodResponse(requestMethod));
 		}
 
-		HttpHeaders headers = getHeaders(request);
-			
-		RestTemplate restTemplate = getRestTemplate();
-			
-		StringBuilder uriBuilder = new StringBuilder(request.getScheme())
-				.append("://")
-				.append(request.getServerName())
-				.append(":")
-				.append(request.getLocalPort())
-				.append(request.getRequestURI())
-				.append(batchRequest.getUrl().getUriValue());
-			
-			
-		HttpEntity<String> httpEntity = new HttpEntity<>(headers);
-		ResponseEntity<String> response = restTemplate.exchange(uriBuilder.toString(), HttpMethod.GET, httpEntity, String.class);
-		
-		String json = response.getBody();
-		
-		ObjectNode resourceNode = (ObjectNode) objectMapper.readTree(json);
+		Promise<?> response = batchRequestController.getOperationDispatcher().get(batchRequest.getUrl().getUriValue());
+		if (response != null) {
+			return response.then(resource -> createResponse(resource, "200"));
+		}
 		
-		addResponse(arrayNode, resourceNode, String.valueOf(response.getStatusCode().value()));
+		return exchange(request, HttpMethod.GET, batchRequest, null);
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,9 @@ package com.b2international.snowowl.fhir.rest;
 
 import javax.servlet.http.HttpServletRequest;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
+import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.fhir.core.codesystems.HttpVerb;
 import com.b2international.snowowl.fhir.core.model.BatchRequest;
 import com.b2international.snowowl.fhir.core.model.ResourceRequestEntry;
@@ -30,7 +27,6 @@ import com.b2international.snowowl.fhir.core.model.dt.Code;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -47,36 +43,16 @@ public class FhirResourceRequestEntryProcessor extends FhirBatchRequestProcessor
 	}
 
 	@Override
-	public void doProcess(ArrayNode arrayNode, HttpServletRequest request) throws JsonMappingException, JsonProcessingException {
+	public Promise<ObjectNode> doProcess(HttpServletRequest request) throws JsonMappingException, JsonProcessingException {
 		
 		BatchRequest batchRequest = requestEntry.getRequest();
 		Code requestMethod = batchRequest.getMethod();
 		
 		if (!requestMethod.equals(HttpVerb.POST.getCode())) {
-			createInvalidMethodResponse(arrayNode, requestMethod);
-			return;
+			return Promise.immediate(createInvalidMethodResponse(requestMethod));
 		}
 		
-		HttpHeaders headers = getHeaders(request);
-		
-		RestTemplate restTemplate = getRestTemplate();
-		
-		StringBuilder uriBuilder = new StringBuilder(request.getScheme())
-				.append("://")
-				.append(request.getServerName())
-				.append(":")
-				.append(request.getLocalPort())
-				.append(request.getRequestURI())
-				.append(batchRequest.getUrl().getUriValue());
-		
-		HttpEntity<?> httpEntity = new HttpEntity<>(requestEntry.getRequestResource(), headers);
-		ResponseEntity<String> response = restTemplate.exchange(uriBuilder.toString(), HttpMethod.POST, httpEntity, String.class);
-		
-		String json = response.getBody();
-		
-		ObjectNode resourceNode = (ObjectNode) objectMapper.readTree(json);
-		
-		addResponse(arrayNode, resourceNode, String.valueOf(response.getStatusCode().value()));
+		return exchange(request, HttpMethod.POST, batchRequest, requestEntry.getRequestResource());
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,10 @@ package com.b2international.snowowl.fhir.rest;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.fhir.core.codesystems.IssueType;
 import com.b2international.snowowl.fhir.core.model.*;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -38,7 +37,7 @@ public class FhirUnknowRequestEntryProcessor extends FhirBatchRequestProcessor {
 	}
 
 	@Override
-	public void doProcess(ArrayNode arrayNode, HttpServletRequest request) {
+	public Promise<ObjectNode> doProcess(HttpServletRequest request) {
 		
 		OperationOutcome operationOutcome = OperationOutcome.builder()
 				.addIssue(Issue.builder()
@@ -47,16 +46,7 @@ public class FhirUnknowRequestEntryProcessor extends FhirBatchRequestProcessor {
 						.build())
 				.build();
 		
-		OperationOutcomeEntry ooEntry = OperationOutcomeEntry.builder()
-				.operationOutcome(operationOutcome)
-				.build();
-		
-		ObjectNode resourceNode = (ObjectNode) objectMapper.valueToTree(ooEntry);
-		BatchResponse batchResponse = new BatchResponse(String.valueOf("500"));
-		JsonNode responseNode = objectMapper.valueToTree(batchResponse);
-		resourceNode.putPOJO("response", responseNode);
-		arrayNode.add(resourceNode);
-
+		return Promise.immediate(createOperationOutcomeResponse(operationOutcome, "500"));
 	}
 
 }
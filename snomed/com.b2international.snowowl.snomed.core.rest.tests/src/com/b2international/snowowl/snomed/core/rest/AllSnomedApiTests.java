@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -82,6 +82,7 @@ import com.b2international.snowowl.test.commons.SnowOwlAppRule;
 	SnomedConcreteValueApiTest.class,
 	SnomedPartialLoadingApiTest.class,
 	SnomedComponentInactivationApiTest.class,
+	SnomedConditionalReadApiTest.class,
 	// RefSet/Member API
 	SnomedRefSetApiTest.class,
 	SnomedOfficialRefSetTest.class,
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core.rest;
+
+import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.createNewConcept;
+import static com.b2international.snowowl.test.commons.codesystem.CodeSystemRestRequests.createCodeSystem;
+import static com.b2international.snowowl.test.commons.rest.RestExtensions.givenAuthenticatedRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.NotModifiedException;
+import com.b2international.snowowl.core.api.IBranchPath;
+import com.b2international.snowowl.core.authorization.AuthorizedEventBus;
+import com.b2international.snowowl.core.authorization.AuthorizedRequest;
+import com.b2international.snowowl.core.branch.BranchPathUtils;
+import com.b2international.snowowl.core.codesystem.CodeSystem;
+import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
+import com.b2international.snowowl.core.domain.Concepts;
+import com.b2international.snowowl.core.events.util.ConditionalRead;
+import com.b2international.snowowl.core.events.util.Response;
+import com.b2international.snowowl.eventbus.IEventBus;
+import com.b2international.snowowl.snomed.common.SnomedConstants;
+import com.b2international.snowowl.test.commons.Services;
+
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * @since 8.10
+ */
+public class SnomedConditionalReadApiTest extends AbstractSnomedApiTest {
+
+	private static final String ETAG = "ETag";
+	private static final String IF_NONE_MATCH = "If-None-Match";
+
+	private static final String EXPAND = "fsn(),pt(),descriptions(),relationships(),inboundRelationships(),ancestors(direct:true)";
+
+	@Test
+	public void notModifiedUntilContentChanges() throws Exception {
+		final String conceptId = createNewConcept(branchPath);
+		final String etag = conditionalGetConcept(conceptId, null, null)
+				.statusCode(200)
+				.header(ETAG, notNullValue())
+				.extract()
+				.header(ETAG);
+
+		conditionalGetConcept(conceptId, null, etag)
+			.statusCode(304)
+			.header(ETAG, equalTo(etag));
+
+		// the same content in another representation has a different tag
+		conditionalGetConcept(conceptId, "fsn()", etag)
+			.statusCode(200)
+			.header(ETAG, not(equalTo(etag)));
+
+		updateConcept(conceptId, Map.of("definitionStatusId", SnomedConstants.Concepts.FULLY_DEFINED));
+
+		conditionalGetConcept(conceptId, null, etag)
+			.statusCode(200)
+			.header(ETAG, not(equalTo(etag)))
+			.body("definitionStatusId", equalTo(SnomedConstants.Concepts.FULLY_DEFINED));
+	}
+
+	@Test
+	public void notModifiedWithConcurrentExpansions() throws Exception {
+		final String conceptId = createNewConcept(branchPath);
+		final String etag = conditionalGetConcept(conceptId, EXPAND, null)
+				.statusCode(200)
+				.extract()
+				.header(ETAG);
+
+		// expansions reading the same content concurrently do not affect the tag
+		for (int i = 0; i < 10; i++) {
+			conditionalGetConcept(conceptId, EXPAND, etag).statusCode(304);
+		}
+
+		final String childId = createNewConcept(branchPath, conceptId);
+
+		conditionalGetConcept(conceptId, EXPAND, etag)
+			.statusCode(200)
+			.header(ETAG, not(equalTo(etag)))
+			.body("inboundRelationships.items.sourceId", hasItem(childId));
+	}
+
+	@Test
+	public void notModifiedUntilContentChangesInAnyCodeSystem() throws Exception {
+		final IBranchPath a = BranchPathUtils.createPath(branchPath, "a");
+		final IBranchPath b = BranchPathUtils.createPath(branchPath, "b");
+		branching.createBranch(a).statusCode(201);
+		branching.createBranch(b).statusCode(201);
+		
+		final String codeSystemA = "SNOMEDCT-CR-A";
+		final String codeSystemB = "SNOMEDCT-CR-B";
+		createCodeSystem(a, codeSystemA).statusCode(201);
+		createCodeSystem(b, codeSystemB).statusCode(201);
+		
+		final String conceptA = createNewConcept(a);
+		final String conceptB = createNewConcept(b);
+		final List<String> conceptIds = List.of(conceptA, conceptB);
+		
+		final Response<Concepts> response = conditionalSearchConcepts(codeSystemA, codeSystemB, conceptIds, null);
+		assertThat(response.getBody().getTotal()).isEqualTo(2);
+		final String etag = response.getHeaders().get(ConditionalRead.ETAG_HEADER);
+		assertThat(etag).isNotNull();
+		
+		assertThatThrownBy(() -> conditionalSearchConcepts(codeSystemA, codeSystemB, conceptIds, etag))
+			.isInstanceOf(NotModifiedException.class);
+		
+		// a change in one of the searched code systems must invalidate the tag of the merged result
+		updateConcept(CodeSystem.uri(codeSystemB), conceptB, Map.of("definitionStatusId", SnomedConstants.Concepts.FULLY_DEFINED));
+		
+		final Response<Concepts> changed = conditionalSearchConcepts(codeSystemA, codeSystemB, conceptIds, etag);
+		assertThat(changed.getHeaders().get(ConditionalRead.ETAG_HEADER)).isNotEqualTo(etag);
+	}
+	
+	/*
+	 * Multi code system concept searches are not exposed via a REST endpoint, execute them with the same headers as the REST API would send
+	 */
+	private Response<Concepts> conditionalSearchConcepts(String codeSystemA, String codeSystemB, List<String> conceptIds, String ifNoneMatch) {
+		final Map<String, String> headers = new HashMap<>();
+		headers.put(AuthorizedRequest.AUTHORIZATION_HEADER, Services.getAuthorizationToken());
+		headers.put(ConditionalRead.KEY_HEADER, "conceptSearch|" + codeSystemA + "|" + codeSystemB + "|" + String.join(",", conceptIds));
+		if (ifNoneMatch != null) {
+			headers.put(ConditionalRead.IF_NONE_MATCH_HEADER, ifNoneMatch);
+		}
+		
+		return CodeSystemRequests.prepareSearchConcepts()
+				.filterByCodeSystemUris(List.of(CodeSystem.uri(codeSystemA), CodeSystem.uri(codeSystemB)))
+				.filterByIds(conceptIds)
+				.buildAsync()
+				.execute(new AuthorizedEventBus(Services.service(IEventBus.class), headers))
+				.getSyncResponse();
+	}
+	
+	private ValidatableResponse conditionalGetConcept(String conceptId, String expand, String ifNoneMatch) {
+		RequestSpecification request = givenAuthenticatedRequest(getApiBaseUrl());
+		if (expand != null) {
+			request = request.queryParam("expand", expand);
+		}
+		if (ifNoneMatch != null) {
+			request = request.header(IF_NONE_MATCH, ifNoneMatch);
+		}
+		return request.get("/{path}/concepts/{id}", branchPath.getPath(), conceptId).then();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package com.b2international.snowowl.snomed.core.rest.classification;
 import static com.b2international.snowowl.snomed.core.rest.SnomedClassificationRestRequests.*;
 import static com.b2international.snowowl.snomed.core.rest.SnomedComponentRestRequests.createComponent;
 import static com.b2international.snowowl.snomed.core.rest.SnomedComponentRestRequests.getComponent;
+import static com.b2international.snowowl.snomed.core.rest.SnomedComponentRestRequests.searchComponent;
 import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.*;
 import static com.b2international.snowowl.test.commons.codesystem.CodeSystemRestRequests.createCodeSystem;
 import static com.b2international.snowowl.test.commons.codesystem.CodeSystemVersionRestRequests.createVersion;
@@ -38,7 +39,11 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import com.b2international.snowowl.core.ApplicationContext;
 import com.b2international.snowowl.core.api.IBranchPath;
+import com.b2international.snowowl.core.config.IndexConfiguration;
+import com.b2international.snowowl.core.config.RepositoryConfiguration;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.repository.JsonSupport;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
@@ -331,6 +336,83 @@ public class SnomedClassificationApiTest extends AbstractSnomedApiTest {
 		assertEquals(1, getPersistedInferredRelationshipCount(branchPath, childConceptId));
 	}
 
+	@Test
+	public void persistMultiplePagesOfChanges() throws Exception {
+		final IndexConfiguration indexConfiguration = ApplicationContext.getServiceForClass(SnowOwlConfiguration.class)
+				.getModuleConfig(RepositoryConfiguration.class)
+				.getIndexConfiguration();
+		final int commitWatermarkLow = indexConfiguration.getCommitWatermarkLow();
+		
+		String parentConceptId = createNewConcept(branchPath);
+		String targetConceptId = createNewConcept(branchPath);
+		String childConceptId = createNewConcept(branchPath, parentConceptId);
+		
+		// The stated relationship of the parent is the origin of the new inferred relationships of both concepts
+		createNewRelationship(branchPath, parentConceptId, Concepts.MORPHOLOGY, targetConceptId);
+		// The existing inferred relationship of the parent with a different group should be removed as redundant
+		String redundantRelationshipId = createNewRelationship(branchPath, parentConceptId, Concepts.MORPHOLOGY, targetConceptId, Concepts.INFERRED_RELATIONSHIP, 5);
+		// A stated relationship on the root concept is inherited by all concepts, resulting in multiple pages of changes
+		createNewRelationship(branchPath);
+		
+		String classificationId = getClassificationJobId(beginClassification(branchPath));
+		waitForClassificationJob(branchPath, classificationId)
+			.statusCode(200)
+			.body("status", equalTo(ClassificationStatus.COMPLETED.name()));
+		
+		RelationshipChanges changes = MAPPER.readValue(getRelationshipChanges(branchPath, classificationId).statusCode(200)
+				.extract()
+				.asInputStream(), RelationshipChanges.class);
+		
+		assertEquals(changes.getTotal(), changes.getItems().size());
+		assertTrue(changes.stream().anyMatch(change -> ChangeNature.REDUNDANT.equals(change.getChangeNature()) 
+				&& redundantRelationshipId.equals(change.getRelationship().getOriginId())));
+		
+		long newPartOfCount = changes.stream()
+				.filter(change -> ChangeNature.NEW.equals(change.getChangeNature()))
+				.filter(change -> Concepts.PART_OF.equals(change.getRelationship().getTypeId()))
+				.count();
+		
+		// Read and commit changes in pages much smaller than the number of changes
+		final int pageSize = 100;
+		assertTrue(newPartOfCount > 2 * pageSize);
+		
+		try {
+			indexConfiguration.setCommitWatermarkLow(pageSize);
+			beginClassificationSave(branchPath, classificationId);
+			waitForClassificationSaveJob(branchPath, classificationId)
+				.statusCode(200)
+				.body("status", equalTo(ClassificationStatus.SAVED.name()));
+		} finally {
+			indexConfiguration.setCommitWatermarkLow(commitWatermarkLow);
+		}
+		
+		getComponent(branchPath, SnomedComponentType.RELATIONSHIP, redundantRelationshipId).statusCode(404);
+		
+		// parent and child should both have the inferred IS A, MORPHOLOGY and PART OF relationships
+		assertEquals(3, getPersistedInferredRelationshipCount(branchPath, parentConceptId));
+		assertEquals(3, getPersistedInferredRelationshipCount(branchPath, childConceptId));
+		
+		for (String conceptId : List.of(parentConceptId, childConceptId)) {
+			searchComponent(branchPath, SnomedComponentType.RELATIONSHIP, Map.of(
+					"source", conceptId,
+					"type", Concepts.MORPHOLOGY,
+					"characteristicType", Concepts.INFERRED_RELATIONSHIP,
+					"active", true))
+				.statusCode(200)
+				.body("total", equalTo(1))
+				.body("items[0].destinationId", equalTo(targetConceptId))
+				.body("items[0].relationshipGroup", equalTo(0));
+		}
+		
+		searchComponent(branchPath, SnomedComponentType.RELATIONSHIP, Map.of(
+				"type", Concepts.PART_OF,
+				"characteristicType", Concepts.INFERRED_RELATIONSHIP,
+				"active", true,
+				"limit", 0))
+			.statusCode(200)
+			.body("total", equalTo((int) newPartOfCount));
+	}
+	
 	@Test
 	public void testRedundantRelationshipModuleChange() throws Exception {
 		
@@ -38,12 +38,15 @@ import org.junit.Test;
 import com.b2international.commons.json.Json;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
+import com.b2international.snowowl.snomed.core.domain.SnomedConcept;
 import com.b2international.snowowl.snomed.core.domain.SnomedConcepts;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedRefSetType;
 import com.b2international.snowowl.snomed.core.rest.AbstractSnomedApiTest;
 import com.b2international.snowowl.snomed.core.rest.SnomedComponentType;
 import com.google.common.collect.HashBiMap;
 
+import io.restassured.path.json.JsonPath;
+
 /**
  * @since 8.0.0
  */
@@ -113,6 +116,41 @@ public class SnomedConceptSearchApiTest extends AbstractSnomedApiTest {
 		assertThat(hits.getTotal()).isEqualTo(1);
 	}
 
+	@Test
+	public void searchByTermTypeahead() throws Exception {
+		for (String term : List.of("Typeahead fracture", "Typeahead fracture of bone", "Typeahead fracture of left bone")) {
+			String conceptId = createNewConcept(branchPath, Concepts.ROOT_CONCEPT);
+			createNewDescription(branchPath, Json.object(
+				"conceptId", conceptId,
+				"moduleId", Concepts.MODULE_SCT_CORE,
+				"typeId", Concepts.SYNONYM,
+				"term", term,
+				"languageCode", "en",
+				"acceptability", UK_PREFERRED_MAP,
+				"caseSignificanceId", Concepts.ENTIRE_TERM_CASE_INSENSITIVE,
+				"commitComment", "New synonym"
+			));
+		}
+		
+		SnomedConcepts expected = searchByTerm(Map.of("term", "typeahead fracture", "limit", 2));
+		SnomedConcepts actual = searchByTerm(Map.of("term", "typeahead fracture", "limit", 2, "typeahead", true));
+		
+		assertThat(expected.getTotal()).isEqualTo(3);
+		assertThat(actual.getItems())
+			.extracting(SnomedConcept::getId)
+			.containsExactlyElementsOf(expected.getItems().stream().map(SnomedConcept::getId).collect(Collectors.toList()));
+	}
+	
+	private SnomedConcepts searchByTerm(Map<String, Object> params) {
+		return givenAuthenticatedRequest(getApiBaseUrl())
+			.accept(JSON_UTF8)
+			.queryParams(params)
+			.get("/{path}/concepts/", branchPath.getPath())
+			.then().assertThat()
+			.statusCode(200)
+			.extract().as(SnomedConcepts.class);
+	}
+	
 	@Test
 	public void searchByMembership() throws Exception {
 		String conceptId1 = createNewConcept(branchPath, Concepts.ROOT_CONCEPT);
@@ -408,6 +446,33 @@ public class SnomedConceptSearchApiTest extends AbstractSnomedApiTest {
 			.body("items[0].pt.term", CoreMatchers.notNullValue());
 	}
 
+	@Test
+	public void streamAsNdJson() throws Exception {
+		String parentId = createNewConcept(branchPath, Concepts.ROOT_CONCEPT);
+		Set<String> childIds = Set.of(
+			createNewConcept(branchPath, parentId),
+			createNewConcept(branchPath, parentId),
+			createNewConcept(branchPath, parentId)
+		);
+		
+		assertThat(streamConceptIds(Map.of("parent", parentId, "limit", 10))).containsExactlyInAnyOrderElementsOf(childIds);
+		assertThat(streamConceptIds(Map.of("parent", parentId, "limit", 2))).hasSize(2).isSubsetOf(childIds);
+	}
+	
+	private List<String> streamConceptIds(Map<String, Object> params) {
+		String body = givenAuthenticatedRequest(getApiBaseUrl())
+			.accept("application/x-ndjson")
+			.queryParams(params)
+			.get("/{path}/concepts/", branchPath.getPath())
+			.then().assertThat()
+			.statusCode(200)
+			.extract().asString();
+		
+		return body.lines()
+			.map(line -> JsonPath.from(line).getString("id"))
+			.collect(Collectors.toList());
+	}
+	
 	private void assertHierarchyContains(String hierarchyField, String parentOrAncestorRole, Map<String, String> roleToId, Set<String> expectedRoles) {
 		Map<String, String> idToRole = HashBiMap.create(roleToId).inverse();
 		
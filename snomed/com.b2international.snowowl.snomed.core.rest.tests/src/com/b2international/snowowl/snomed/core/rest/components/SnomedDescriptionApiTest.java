@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -84,6 +85,7 @@ import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 import com.google.common.collect.Iterables;
 
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 
 /**
  * @since 2.0
@@ -973,4 +975,46 @@ public class SnomedDescriptionApiTest extends AbstractSnomedApiTest {
 		
 		assertThat(descriptions).hasSameElementsAs(List.of(searchTerm));
 	}
+	
+	@Test
+	public void streamAsNdJson() throws Exception {
+		final String conceptId = createNewConcept(branchPath);
+		final String descriptionId = createNewDescription(branchPath, conceptId);
+		final Set<String> descriptionIds = getComponent(branchPath, SnomedComponentType.CONCEPT, conceptId, "descriptions()")
+				.statusCode(200)
+				.extract()
+				.jsonPath()
+				.getList("descriptions.items.id", String.class)
+				.stream()
+				.collect(Collectors.toSet());
+		assertThat(descriptionIds).contains(descriptionId);
+		
+		assertThat(streamDescriptionIds(branchPath.getPath(), Map.of("concept", conceptId, "limit", 10))).containsExactlyInAnyOrderElementsOf(descriptionIds);
+		assertThat(streamDescriptionIds(branchPath.getPath(), Map.of("concept", conceptId, "limit", 1))).hasSize(1).isSubsetOf(descriptionIds);
+		
+		// streams from a point in time path are not pinned to the current head of the branch
+		final String headTimestamp = branching.getBranch(branchPath).extract().jsonPath().getString("headTimestamp");
+		final String newDescriptionId = createNewDescription(branchPath, conceptId);
+		
+		assertThat(streamDescriptionIds(branchPath.getPath() + RevisionIndex.AT_CHAR + headTimestamp, Map.of("concept", conceptId, "limit", 10)))
+			.containsExactlyInAnyOrderElementsOf(descriptionIds);
+		assertThat(streamDescriptionIds(branchPath.getPath(), Map.of("concept", conceptId, "limit", 10)))
+			.contains(newDescriptionId)
+			.hasSize(descriptionIds.size() + 1);
+	}
+	
+	private List<String> streamDescriptionIds(String path, Map<String, Object> params) {
+		final String body = givenAuthenticatedRequest(getApiBaseUrl())
+			.accept("application/x-ndjson")
+			.queryParams(params)
+			.get("/{path}/descriptions/", path)
+			.then().assertThat()
+			.statusCode(200)
+			.extract().asString();
+		
+		return body.lines()
+			.map(line -> JsonPath.from(line).getString("id"))
+			.collect(Collectors.toList());
+	}
+	
 }
@@ -40,12 +40,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
 import com.b2international.commons.exceptions.AlreadyExistsException;
 import com.b2international.commons.json.Json;
+import com.b2international.snowowl.core.api.IBranchPath;
 import com.b2international.snowowl.core.branch.BranchPathUtils;
 import com.b2international.snowowl.core.date.DateFormats;
 import com.b2international.snowowl.core.date.EffectiveTimes;
@@ -858,6 +860,75 @@ public class SnomedRefSetMemberApiTest extends AbstractSnomedApiTest {
 		checkReferencedComponentIds(conceptIds, simpleRefSetId);
 	}
 	
+	@Test
+	public void executeIncrementalSyncAction() throws Exception {
+		final String queryRefSetId = createNewRefSet(branchPath, SnomedRefSetType.QUERY);
+		final String simpleRefSetId = createNewRefSet(branchPath);
+
+		final String parentId = createNewConcept(branchPath);
+		final List<String> conceptIds = newArrayList();
+		for (int i = 0; i < 3; i++) {
+			final String conceptId = createNewConcept(branchPath, parentId);
+			conceptIds.add(conceptId);
+			createNewRelationship(branchPath, conceptId, Concepts.IS_A, parentId, Concepts.INFERRED_RELATIONSHIP);
+		}
+		// not matching the query until it gets a new parent
+		final String movedConceptId = createNewConcept(branchPath);
+
+		final Json memberRequest = Json.object(
+			SnomedRf2Headers.FIELD_MODULE_ID, Concepts.MODULE_SCT_CORE,
+			"refsetId", queryRefSetId,
+			SnomedRf2Headers.FIELD_REFERENCED_COMPONENT_ID, simpleRefSetId,
+			SnomedRf2Headers.FIELD_QUERY, "<" + parentId,
+			"commitComment", "Created new query reference set member"
+		);
+		final String memberId = assertCreated(createComponent(branchPath, SnomedComponentType.MEMBER, memberRequest));
+
+		executeSyncAction(memberId);
+		checkReferencedComponentIds(conceptIds, simpleRefSetId);
+		final long lastSync = branching.getBranch(branchPath).extract().jsonPath().getLong("headTimestamp");
+
+		// add a new matching concept, move an existing concept under the parent and inactivate one of the members
+		final String newConceptId = createNewConcept(branchPath, parentId);
+		createNewRelationship(branchPath, newConceptId, Concepts.IS_A, parentId, Concepts.INFERRED_RELATIONSHIP);
+		createNewRelationship(branchPath, movedConceptId, Concepts.IS_A, parentId, Concepts.INFERRED_RELATIONSHIP);
+		inactivateConcept(branchPath, conceptIds.get(0));
+
+		// sync the same state incrementally and in full on separate branches
+		final IBranchPath incrementalPath = BranchPathUtils.createPath(branchPath, "incremental");
+		final IBranchPath fullPath = BranchPathUtils.createPath(branchPath, "full");
+		branching.createBranch(incrementalPath).statusCode(201);
+		branching.createBranch(fullPath).statusCode(201);
+
+		executeMemberAction(incrementalPath, memberId, Json.object(
+			"action", "sync",
+			SnomedRf2Headers.FIELD_MODULE_ID, Concepts.MODULE_SCT_CORE,
+			"changedSince", lastSync,
+			"commitComment", "Executed incremental sync action on reference set member"
+		)).statusCode(200);
+		executeMemberAction(fullPath, memberId, Json.object(
+			"action", "sync",
+			SnomedRf2Headers.FIELD_MODULE_ID, Concepts.MODULE_SCT_CORE,
+			"commitComment", "Executed sync action on reference set member"
+		)).statusCode(200);
+
+		final Map<String, Boolean> incrementalMembers = getMemberStatusByReferencedComponent(incrementalPath, simpleRefSetId);
+		assertThat(incrementalMembers).containsEntry(newConceptId, true).containsEntry(movedConceptId, true);
+		assertEquals(getMemberStatusByReferencedComponent(fullPath, simpleRefSetId), incrementalMembers);
+	}
+	
+	private Map<String, Boolean> getMemberStatusByReferencedComponent(IBranchPath branch, String refSetId) {
+		return SnomedRequests.prepareSearchMember()
+			.all()
+			.filterByRefSet(refSetId)
+			.build(branch.getPath())
+			.execute(getBus())
+			.getSync(1, TimeUnit.MINUTES)
+			.stream()
+			// a referenced component may have an inactive and an active member, the active one wins
+			.collect(Collectors.toMap(SnomedReferenceSetMember::getReferencedComponentId, SnomedReferenceSetMember::isActive, Boolean::logicalOr));
+	}
+	
 	/**
 	 * Removals are sent in a BulkRequest which includes individual DeleteRequests for each member to be deleted. The version of SnomedEditingContext prior to the fix, however, used
 	 * a server-side query to determine the list index for each member, and the list index reported by the database become misaligned with the actual
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import static com.b2international.snowowl.test.commons.rest.RestExtensions.asser
 import static com.google.common.collect.Sets.newHashSet;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -41,11 +42,16 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -62,6 +68,7 @@ import com.b2international.snowowl.core.attachments.AttachmentRegistry;
 import com.b2international.snowowl.core.attachments.InternalAttachmentRegistry;
 import com.b2international.snowowl.core.branch.BranchPathUtils;
 import com.b2international.snowowl.core.codesystem.CodeSystem;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.date.DateFormats;
 import com.b2international.snowowl.core.date.EffectiveTimes;
 import com.b2international.snowowl.core.events.util.Promise;
@@ -76,7 +83,9 @@ import com.b2international.snowowl.snomed.core.rest.AbstractSnomedApiTest;
 import com.b2international.snowowl.snomed.core.rest.SnomedApiTestConstants;
 import com.b2international.snowowl.snomed.core.rest.SnomedComponentType;
 import com.b2international.snowowl.snomed.datastore.SnomedRefSetUtil;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
+import com.b2international.snowowl.test.commons.SnomedContentRule;
 import com.b2international.snowowl.test.commons.codesystem.CodeSystemRestRequests;
 import com.b2international.snowowl.test.commons.rest.RestExtensions;
 import com.google.common.base.Joiner;
@@ -1582,6 +1591,184 @@ public class SnomedExportApiTest extends AbstractSnomedApiTest {
 		assertArchiveContainsLines(exportArchiveWithBranchRange, fileToLinesMap);
 	}
 
+	@Test
+	public void exportUnpublishedDeltaAfterVersion() throws Exception {
+		final String codeSystemShortName = "SNOMEDCT-UNPUBLISHED-DELTA";
+		createCodeSystem(branchPath, codeSystemShortName).statusCode(201);
+		
+		// versioned and left unchanged, must not appear in the delta
+		createNewConcept(branchPath);
+		final String changedConceptId = createNewConcept(branchPath);
+		createVersion(codeSystemShortName, "v1", EffectiveTimes.parse("20170305", DateFormats.SHORT)).statusCode(201);
+		
+		final String newConceptId = createNewConcept(branchPath);
+		changeToDefining(branchPath, changedConceptId);
+		
+		final Map<String, Object> config = Map.of(
+			"type", Rf2ReleaseType.DELTA.name(),
+			"includeUnpublished", true
+		);
+		
+		final File exportArchive = doExport(branchPath, config);
+		
+		// id, effectiveTime, active, moduleId, definitionStatusId
+		assertEquals(Set.of(
+			getComponentLine(List.of(newConceptId, "", "1", MODULE_SCT_CORE, Concepts.PRIMITIVE)),
+			getComponentLine(List.of(changedConceptId, "", "1", MODULE_SCT_CORE, Concepts.FULLY_DEFINED))
+		), Set.copyOf(readRows(exportArchive, "sct2_Concept")));
+		
+		// only the descriptions of the new concept are unpublished
+		final List<String> descriptionRows = readRows(exportArchive, "sct2_Description");
+		assertFalse(descriptionRows.isEmpty());
+		for (String descriptionRow : descriptionRows) {
+			final String[] columns = descriptionRow.split("\t");
+			assertEquals("", columns[1]);
+			assertEquals(newConceptId, columns[4]);
+		}
+	}
+	
+	@Test
+	public void exportUnpublishedExtensionDelta() throws Exception {
+		final String codeSystemShortName = "SNOMEDCT-EXT-UNPUBLISHED-DELTA";
+		createCodeSystem(SnomedContentRule.SNOMEDCT.withPath("2019-07-31"), codeSystemShortName).statusCode(201);
+		final IBranchPath extensionPath = BranchPathUtils.createPath(CodeSystemRestRequests.getCodeSystem(codeSystemShortName).getBranchPath());
+		
+		final Map<String, Object> config = Map.of(
+			"type", Rf2ReleaseType.DELTA.name(),
+			"includeUnpublished", true
+		);
+		
+		// the extension has no versions of its own, only the content created on the extension branch is unpublished
+		final String changedConceptId = createNewConcept(extensionPath);
+		
+		// id, effectiveTime, active, moduleId, definitionStatusId
+		assertEquals(Set.of(
+			getComponentLine(List.of(changedConceptId, "", "1", MODULE_SCT_CORE, Concepts.PRIMITIVE))
+		), Set.copyOf(readRows(doExport(extensionPath, config), "sct2_Concept")));
+		
+		// versions of the extended code system do not publish extension content, the extension's own version does
+		createVersion(codeSystemShortName, "v1", EffectiveTimes.parse("20200131", DateFormats.SHORT)).statusCode(201);
+		
+		final String newConceptId = createNewConcept(extensionPath);
+		changeToDefining(extensionPath, changedConceptId);
+		
+		assertEquals(Set.of(
+			getComponentLine(List.of(newConceptId, "", "1", MODULE_SCT_CORE, Concepts.PRIMITIVE)),
+			getComponentLine(List.of(changedConceptId, "", "1", MODULE_SCT_CORE, Concepts.FULLY_DEFINED))
+		), Set.copyOf(readRows(doExport(extensionPath, config), "sct2_Concept")));
+	}
+	
+	@Test
+	public void exportDeltaFromStartEffectiveTimeWithUnpublishedContent() throws Exception {
+		final String codeSystemShortName = "SNOMEDCT-DELTA-START-EFFECTIVE-TIME";
+		createCodeSystem(branchPath, codeSystemShortName).statusCode(201);
+		
+		final String changedConceptId = createNewConcept(branchPath);
+		createVersion(codeSystemShortName, "v1", EffectiveTimes.parse("20170306", DateFormats.SHORT)).statusCode(201);
+		
+		final String secondVersionConceptId = createNewConcept(branchPath);
+		createVersion(codeSystemShortName, "v2", EffectiveTimes.parse("20170307", DateFormats.SHORT)).statusCode(201);
+		
+		changeToDefining(branchPath, changedConceptId);
+		createVersion(codeSystemShortName, "v3", EffectiveTimes.parse("20170308", DateFormats.SHORT)).statusCode(201);
+		
+		final String unpublishedConceptId = createNewConcept(branchPath);
+		
+		final Map<String, Object> config = Map.of(
+			"type", Rf2ReleaseType.DELTA.name(),
+			"startEffectiveTime", "20170307",
+			"includeUnpublished", true
+		);
+		
+		// id, effectiveTime, active, moduleId, definitionStatusId
+		assertEquals(Set.of(
+			getComponentLine(List.of(secondVersionConceptId, "20170307", "1", MODULE_SCT_CORE, Concepts.PRIMITIVE)),
+			getComponentLine(List.of(changedConceptId, "20170308", "1", MODULE_SCT_CORE, Concepts.FULLY_DEFINED)),
+			getComponentLine(List.of(unpublishedConceptId, "", "1", MODULE_SCT_CORE, Concepts.PRIMITIVE))
+		), Set.copyOf(readRows(doExport(branchPath, config), "sct2_Concept")));
+	}
+	
+	@Test
+	public void exportRefSetsConcurrently() throws Exception {
+		final String codeSystemShortName = "SNOMEDCT-CONCURRENT-REFSETS";
+		createCodeSystem(branchPath, codeSystemShortName).statusCode(201);
+		
+		// simple reference sets share a single file in the combined layout, other files are written by the reference sets of the base content
+		final List<String> memberIds = Stream.generate(() -> createNewRefSet(branchPath, SnomedRefSetType.SIMPLE))
+				.limit(3)
+				.map(refSetId -> createNewRefSetMember(branchPath, createNewConcept(branchPath), refSetId))
+				.collect(Collectors.toList());
+		
+		final Map<String, Object> config = Map.of(
+			"type", Rf2ReleaseType.SNAPSHOT.name(),
+			"includeUnpublished", true,
+			"refSetLayout", Rf2RefSetExportLayout.COMBINED
+		);
+		
+		final SnomedCoreConfiguration snomedConfiguration = ApplicationContext.getServiceForClass(SnowOwlConfiguration.class).getModuleConfig(SnomedCoreConfiguration.class);
+		final int refSetExportParallelism = snomedConfiguration.getRefSetExportParallelism();
+		
+		final Map<String, List<String>> sequentialFiles;
+		final Map<String, List<String>> concurrentFiles;
+		try {
+			snomedConfiguration.setRefSetExportParallelism(1);
+			sequentialFiles = readSortedFiles(doExport(branchPath, config));
+			snomedConfiguration.setRefSetExportParallelism(4);
+			concurrentFiles = readSortedFiles(doExport(branchPath, config));
+		} finally {
+			snomedConfiguration.setRefSetExportParallelism(refSetExportParallelism);
+		}
+		
+		final Set<String> simpleRefSetFiles = sequentialFiles.entrySet()
+				.stream()
+				.filter(file -> file.getValue().stream().anyMatch(row -> memberIds.stream().anyMatch(row::startsWith)))
+				.map(Entry::getKey)
+				.collect(Collectors.toSet());
+		assertEquals(1, simpleRefSetFiles.size());
+		
+		assertEquals(sequentialFiles.keySet(), concurrentFiles.keySet());
+		for (Entry<String, List<String>> file : sequentialFiles.entrySet()) {
+			assertEquals(file.getKey(), file.getValue(), concurrentFiles.get(file.getKey()));
+		}
+	}
+	
+	/*
+	 * Returns the sorted rows of each file in the archive, keyed by the file's path within the release directory (its name includes the hour of the export)
+	 */
+	private static Map<String, List<String>> readSortedFiles(File exportArchive) throws IOException {
+		final Map<String, List<String>> files = new TreeMap<>();
+		try (FileSystem fs = FileSystems.newFileSystem(exportArchive.toPath(), (ClassLoader) null)) {
+			for (Path path : fs.getRootDirectories()) {
+				try (Stream<Path> paths = Files.walk(path)) {
+					for (Path file : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+						final List<String> lines = Files.readAllLines(file);
+						Collections.sort(lines);
+						files.put(file.subpath(1, file.getNameCount()).toString(), lines);
+					}
+				}
+			}
+		}
+		return files;
+	}
+	
+	/*
+	 * Returns the rows of the first file in the archive that starts with the given prefix, without the header
+	 */
+	private static List<String> readRows(File exportArchive, String filePrefix) throws IOException {
+		try (FileSystem fs = FileSystems.newFileSystem(exportArchive.toPath(), (ClassLoader) null)) {
+			for (Path path : fs.getRootDirectories()) {
+				try (Stream<Path> files = Files.walk(path)) {
+					final Optional<Path> file = files.filter(candidate -> candidate.getFileName() != null && candidate.getFileName().toString().startsWith(filePrefix + "_")).findFirst();
+					if (file.isPresent()) {
+						final List<String> lines = Files.readAllLines(file.get());
+						return lines.subList(1, lines.size());
+					}
+				}
+			}
+		}
+		throw new AssertionError(String.format("File starting with <%s> is missing from the export archive", filePrefix));
+	}
+	
 	private String createRelationshipLine(final String relationshipId) {
 		// id, effectiveTime, active, moduleId, sourceId, destinationId, relationshipGroup, typeId, characteristicTypeId, modifierId
 		return getComponentLine(List.of(
@@ -15,6 +15,7 @@
  */
 package com.b2international.snowowl.snomed.core.rest.versioning;
 
+import static com.b2international.snowowl.test.commons.codesystem.CodeSystemRestRequests.createCodeSystem;
 import static com.b2international.snowowl.test.commons.codesystem.CodeSystemVersionRestRequests.assertGetVersion;
 import static com.b2international.snowowl.test.commons.codesystem.CodeSystemVersionRestRequests.createVersion;
 import static com.b2international.snowowl.test.commons.codesystem.CodeSystemVersionRestRequests.getNextAvailableEffectiveDate;
@@ -22,18 +23,31 @@ import static com.b2international.snowowl.test.commons.rest.RestExtensions.given
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.elasticsearch.core.List;
 import org.junit.Test;
 
+import com.b2international.snowowl.core.ApplicationContext;
 import com.b2international.snowowl.core.ResourceURI;
 import com.b2international.snowowl.core.branch.Branch;
 import com.b2international.snowowl.core.branch.Branches;
+import com.b2international.snowowl.core.codesystem.CodeSystem;
+import com.b2international.snowowl.core.codesystem.CodeSystemRequests;
 import com.b2international.snowowl.core.commit.CommitInfos;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockContext;
+import com.b2international.snowowl.core.internal.locks.DatastoreLockTarget;
+import com.b2international.snowowl.core.jobs.JobRequests;
+import com.b2international.snowowl.core.jobs.RemoteJobEntry;
+import com.b2international.snowowl.core.locks.IOperationLockManager;
+import com.b2international.snowowl.core.repository.JsonSupport;
 import com.b2international.snowowl.core.repository.RepositoryRequests;
+import com.b2international.snowowl.core.request.ResourceRequests;
 import com.b2international.snowowl.core.rest.AbstractRestService;
 import com.b2international.snowowl.snomed.common.SnomedTerminologyComponentConstants;
 import com.b2international.snowowl.snomed.core.domain.SnomedConcept;
@@ -201,4 +215,94 @@ public class SnomedVersioningApiTest extends AbstractSnomedApiTest {
 		assertEquals(versionEffectiveDate, afterForceVersioning.getEffectiveTime());
 	}
 	
+	@Test
+	public void createVersionOfMultipleResources() throws Exception {
+		final ResourceURI firstCodeSystem = CodeSystem.uri("SNOMEDCT-VERSION-BUNDLE-1");
+		final ResourceURI secondCodeSystem = CodeSystem.uri("SNOMEDCT-VERSION-BUNDLE-2");
+		createCodeSystem(firstCodeSystem.getResourceId()).statusCode(201);
+		createCodeSystem(secondCodeSystem.getResourceId()).statusCode(201);
+		
+		final String firstConceptId = createConcept(firstCodeSystem, SnomedRestFixtures.childUnderRootWithDefaults());
+		final String secondConceptId = createConcept(secondCodeSystem, SnomedRestFixtures.childUnderRootWithDefaults());
+		
+		final String versionName = "createVersionOfMultipleResources";
+		final LocalDate versionEffectiveDate = getNextAvailableEffectiveDate(firstCodeSystem.getResourceId());
+		final String jobId = ResourceRequests.prepareNewVersion()
+			.setResource(firstCodeSystem)
+			.setAdditionalResources(List.of(secondCodeSystem))
+			.setVersion(versionName)
+			.setEffectiveTime(versionEffectiveDate)
+			.buildAsync()
+			.runAsJob("Creating version of multiple resources")
+			.execute(getBus())
+			.getSync(1, TimeUnit.MINUTES);
+		
+		final RemoteJobEntry job = JobRequests.waitForJob(getBus(), jobId, 500);
+		assertTrue(job.isSuccessful());
+		
+		assertGetVersion(firstCodeSystem.getResourceId(), versionName).statusCode(200);
+		assertGetVersion(secondCodeSystem.getResourceId(), versionName).statusCode(200);
+		assertEquals(versionEffectiveDate, getConcept(firstCodeSystem.withPath(versionName), firstConceptId).getEffectiveTime());
+		assertEquals(versionEffectiveDate, getConcept(secondCodeSystem.withPath(versionName), secondConceptId).getEffectiveTime());
+	}
+	
+	@Test
+	public void createVersionOfMultipleResourcesWithLockedResource() throws Exception {
+		final ResourceURI firstCodeSystem = CodeSystem.uri("SNOMEDCT-VERSION-LOCKED-1");
+		final ResourceURI secondCodeSystem = CodeSystem.uri("SNOMEDCT-VERSION-LOCKED-2");
+		createCodeSystem(firstCodeSystem.getResourceId()).statusCode(201);
+		createCodeSystem(secondCodeSystem.getResourceId()).statusCode(201);
+		
+		final String firstConceptId = createConcept(firstCodeSystem, SnomedRestFixtures.childUnderRootWithDefaults());
+		createConcept(secondCodeSystem, SnomedRestFixtures.childUnderRootWithDefaults());
+		
+		final String versionName = "createVersionOfMultipleResourcesWithLockedResource";
+		final LocalDate versionEffectiveDate = getNextAvailableEffectiveDate(firstCodeSystem.getResourceId());
+		
+		// an operation holding the lock of the second resource only prevents versioning of that resource
+		final String secondBranchPath = CodeSystemRequests.prepareGetCodeSystem(secondCodeSystem.getResourceId())
+			.buildAsync()
+			.execute(getBus())
+			.getSync(1, TimeUnit.MINUTES)
+			.getBranchPath();
+		final IOperationLockManager lockManager = ApplicationContext.getServiceForClass(IOperationLockManager.class);
+		final DatastoreLockContext lockContext = new DatastoreLockContext("test", "Holding lock during versioning");
+		final DatastoreLockTarget lockTarget = new DatastoreLockTarget(SnomedTerminologyComponentConstants.TOOLING_ID, secondBranchPath);
+		
+		final RemoteJobEntry job;
+		lockManager.lock(lockContext, IOperationLockManager.IMMEDIATE, lockTarget);
+		try {
+			final String jobId = ResourceRequests.prepareNewVersion()
+				.setResource(firstCodeSystem)
+				.setAdditionalResources(List.of(secondCodeSystem))
+				.setVersion(versionName)
+				.setEffectiveTime(versionEffectiveDate)
+				.buildAsync()
+				.runAsJob("Creating version of multiple resources")
+				.execute(getBus())
+				.getSync(1, TimeUnit.MINUTES);
+			
+			job = JobRequests.waitForJob(getBus(), jobId, 500);
+		} finally {
+			lockManager.unlock(lockContext, lockTarget);
+		}
+		
+		assertFalse(job.isSuccessful());
+		final Map<String, Object> error = job.getResult(JsonSupport.getDefaultObjectMapper());
+		assertEquals(409, error.get("status"));
+		assertThat(error)
+			.extracting("additionalInfo")
+			.isEqualTo(Map.of(
+				"failedResources", Map.of(secondCodeSystem.toString(), error.get("message")),
+				"versionedResources", List.of(firstCodeSystem.toString())
+			));
+		
+		assertGetVersion(firstCodeSystem.getResourceId(), versionName).statusCode(200);
+		assertGetVersion(secondCodeSystem.getResourceId(), versionName).statusCode(404);
+		assertEquals(versionEffectiveDate, getConcept(firstCodeSystem.withPath(versionName), firstConceptId).getEffectiveTime());
+		
+		// the failed resource is not left locked by the version request
+		createVersion(secondCodeSystem.getResourceId(), versionName, versionEffectiveDate).statusCode(201);
+	}
+	
 }
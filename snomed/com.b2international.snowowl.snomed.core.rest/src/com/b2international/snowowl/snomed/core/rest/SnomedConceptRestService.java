@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.b2international.commons.StringUtils;
 import com.b2international.commons.http.AcceptLanguageHeader;
@@ -39,6 +40,7 @@ import com.b2international.snowowl.snomed.core.rest.domain.SnomedConceptRestInpu
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedConceptRestSearch;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedConceptRestUpdate;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedResourceRequest;
+import com.b2international.snowowl.snomed.datastore.request.SnomedConceptSearchRequestBuilder;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 import com.google.common.collect.ImmutableSet;
 
@@ -90,39 +92,8 @@ public class SnomedConceptRestService extends AbstractRestService {
 			@RequestHeader(value=HttpHeaders.ACCEPT_LANGUAGE, defaultValue=AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
 			final String acceptLanguage) {
 		
-		List<Sort> sorts = extractSortFields(params.getSort());
-		
-		if (sorts.isEmpty() && !StringUtils.isEmpty(params.getTerm())) {
-			sorts = Collections.singletonList(SearchIndexResourceRequest.SCORE);
-		}
-		
-		return SnomedRequests
-					.prepareSearchConcept()
+		return prepareSearch(params, acceptLanguage)
 					.setLimit(params.getLimit())
-					.setSearchAfter(params.getSearchAfter())
-					.filterByIds(params.getId())
-					.filterByEffectiveTime(params.getEffectiveTime())
-					.filterByActive(params.getActive())
-					.filterByModules(params.getModule())
-					.filterByDefinitionStatus(params.getDefinitionStatus())
-					.filterByNamespaces(params.getNamespace())
-					.filterByNamespaceConcepts(params.getNamespaceConceptId())
-					.filterByParents(params.getParent())
-					.filterByAncestors(params.getAncestor())
-					.filterByStatedParents(params.getStatedParent())
-					.filterByStatedAncestors(params.getStatedAncestor())
-					.filterByEcl(params.getEcl())
-					.filterByStatedEcl(params.getStatedEcl())
-					.filterByTerm(params.getTerm())
-					.filterByDescriptionLanguageRefSet(acceptLanguage)
-					.filterByDescriptionType(params.getDescriptionType())
-					.filterBySemanticTags(params.getSemanticTag())
-					.isActiveMemberOf(params.getIsActiveMemberOf())
-					.withDoi(params.getDoi())
-					.setExpand(params.getExpand())
-					.setFields(params.getField())
-					.setLocales(acceptLanguage)
-					.sortBy(sorts)
 					.build(path)
 					.execute(getBus());
 	}
@@ -157,6 +128,58 @@ public class SnomedConceptRestService extends AbstractRestService {
 		return searchByGet(path, body, acceptLanguage);
 	}
 
+	@Operation(
+		summary="Stream Concepts from a path", 
+		description="Streams all/filtered Concepts from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@GetMapping(produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByGet(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@ParameterObject
+			final SnomedConceptRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value=HttpHeaders.ACCEPT_LANGUAGE, defaultValue=AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamItems(prepareSearch(params, acceptLanguage), path, params.getLimit());
+	}
+	
+	@Operation(
+		summary="Stream Concepts from a path", 
+		description="Streams all/filtered Concepts from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@PostMapping(value="/search", produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByPost(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@RequestBody(required = false)
+			final SnomedConceptRestSearch body,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value=HttpHeaders.ACCEPT_LANGUAGE, defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamByGet(path, body, acceptLanguage);
+	}
+	
 	@Operation(
 		summary="Retrieve Concept properties",
 		description="Returns all properties of the specified Concept, including a summary of inactivation indicator and association members."
@@ -335,4 +358,40 @@ public class SnomedConceptRestService extends AbstractRestService {
 			.getSync(COMMIT_TIMEOUT, TimeUnit.MINUTES);
 	}
 	
+	private SnomedConceptSearchRequestBuilder prepareSearch(final SnomedConceptRestSearch params, final String acceptLanguage) {
+		List<Sort> sorts = extractSortFields(params.getSort());
+		
+		if (sorts.isEmpty() && !StringUtils.isEmpty(params.getTerm())) {
+			sorts = Collections.singletonList(SearchIndexResourceRequest.SCORE);
+		}
+		
+		return SnomedRequests
+					.prepareSearchConcept()
+					.setSearchAfter(params.getSearchAfter())
+					.filterByIds(params.getId())
+					.filterByEffectiveTime(params.getEffectiveTime())
+					.filterByActive(params.getActive())
+					.filterByModules(params.getModule())
+					.filterByDefinitionStatus(params.getDefinitionStatus())
+					.filterByNamespaces(params.getNamespace())
+					.filterByNamespaceConcepts(params.getNamespaceConceptId())
+					.filterByParents(params.getParent())
+					.filterByAncestors(params.getAncestor())
+					.filterByStatedParents(params.getStatedParent())
+					.filterByStatedAncestors(params.getStatedAncestor())
+					.filterByEcl(params.getEcl())
+					.filterByStatedEcl(params.getStatedEcl())
+					.filterByTerm(params.getTerm())
+					.filterByDescriptionLanguageRefSet(acceptLanguage)
+					.filterByDescriptionType(params.getDescriptionType())
+					.filterBySemanticTags(params.getSemanticTag())
+					.isActiveMemberOf(params.getIsActiveMemberOf())
+					.withDoi(params.getDoi())
+					.withTypeahead(params.getTypeahead())
+					.setExpand(params.getExpand())
+					.setFields(params.getField())
+					.setLocales(acceptLanguage)
+					.sortBy(sorts);
+	}
+
 }
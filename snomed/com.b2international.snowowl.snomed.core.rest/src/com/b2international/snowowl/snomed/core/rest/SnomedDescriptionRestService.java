@@ -24,6 +24,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.b2international.commons.StringUtils;
 import com.b2international.commons.http.AcceptLanguageHeader;
@@ -38,6 +39,7 @@ import com.b2international.snowowl.snomed.core.rest.domain.SnomedDescriptionRest
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedDescriptionRestSearch;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedDescriptionRestUpdate;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedResourceRequest;
+import com.b2international.snowowl.snomed.datastore.request.SnomedDescriptionSearchRequestBuilder;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -80,36 +82,8 @@ public class SnomedDescriptionRestService extends AbstractRestService {
 			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
 			final String acceptLanguage) {
 		
-		List<Sort> sorts = extractSortFields(params.getSort());
-		
-		if (sorts.isEmpty() && !StringUtils.isEmpty(params.getTerm())) {
-			sorts = Collections.singletonList(SearchIndexResourceRequest.SCORE);
-		}
-		
-		return SnomedRequests
-				.prepareSearchDescription()
-				.filterByIds(params.getId())
-				.filterByEffectiveTime(params.getEffectiveTime())
-				.filterByActive(params.getActive())
-				.filterByModules(params.getModule())
-				.filterByNamespaces(params.getNamespace())
-				.filterByNamespaceConcepts(params.getNamespaceConceptId())
-				.filterByConcepts(params.getConcept())
-				.filterByLanguageCodes(params.getLanguageCode())
-				.filterByType(params.getType())
-				.filterByTerm(params.getTerm())
-				.filterByCaseSignificances(params.getCaseSignificance())
-				.filterBySemanticTags(params.getSemanticTag())
-				.filterByLanguageRefSets(params.getLanguageRefSet())
-				.filterByAcceptableIn(params.getAcceptableIn())
-				.filterByPreferredIn(params.getPreferredIn())
-				.isActiveMemberOf(params.getIsActiveMemberOf())
-				.setLocales(acceptLanguage)
+		return prepareSearch(params, acceptLanguage)
 				.setLimit(params.getLimit())
-				.setSearchAfter(params.getSearchAfter())
-				.setExpand(params.getExpand())
-				.setFields(params.getField())
-				.sortBy(sorts)
 				.build(path)
 				.execute(getBus());
 	}
@@ -139,6 +113,58 @@ public class SnomedDescriptionRestService extends AbstractRestService {
 		return searchByGet(path, body, acceptLanguage);
 	}
 
+	@Operation(
+		summary="Stream Descriptions from a path", 
+		description="Streams all/filtered Descriptions from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@GetMapping(produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByGet(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@ParameterObject
+			final SnomedDescriptionRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value=HttpHeaders.ACCEPT_LANGUAGE, defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamItems(prepareSearch(params, acceptLanguage), path, params.getLimit());
+	}
+	
+	@Operation(
+		summary="Stream Descriptions from a path", 
+		description="Streams all/filtered Descriptions from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@PostMapping(value="/search", produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByPost(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@RequestBody(required = false)
+			final SnomedDescriptionRestSearch body,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value=HttpHeaders.ACCEPT_LANGUAGE, defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamByGet(path, body, acceptLanguage);
+	}
+	
 	@Operation(
 		summary="Create Description", 
 		description="Creates a new Description directly on a version."
@@ -295,4 +321,36 @@ public class SnomedDescriptionRestService extends AbstractRestService {
 			.getSync(COMMIT_TIMEOUT, TimeUnit.MINUTES);
 	}
 	
+	private SnomedDescriptionSearchRequestBuilder prepareSearch(final SnomedDescriptionRestSearch params, final String acceptLanguage) {
+		List<Sort> sorts = extractSortFields(params.getSort());
+		
+		if (sorts.isEmpty() && !StringUtils.isEmpty(params.getTerm())) {
+			sorts = Collections.singletonList(SearchIndexResourceRequest.SCORE);
+		}
+		
+		return SnomedRequests
+				.prepareSearchDescription()
+				.filterByIds(params.getId())
+				.filterByEffectiveTime(params.getEffectiveTime())
+				.filterByActive(params.getActive())
+				.filterByModules(params.getModule())
+				.filterByNamespaces(params.getNamespace())
+				.filterByNamespaceConcepts(params.getNamespaceConceptId())
+				.filterByConcepts(params.getConcept())
+				.filterByLanguageCodes(params.getLanguageCode())
+				.filterByType(params.getType())
+				.filterByTerm(params.getTerm())
+				.filterByCaseSignificances(params.getCaseSignificance())
+				.filterBySemanticTags(params.getSemanticTag())
+				.filterByLanguageRefSets(params.getLanguageRefSet())
+				.filterByAcceptableIn(params.getAcceptableIn())
+				.filterByPreferredIn(params.getPreferredIn())
+				.isActiveMemberOf(params.getIsActiveMemberOf())
+				.setLocales(acceptLanguage)
+				.setSearchAfter(params.getSearchAfter())
+				.setExpand(params.getExpand())
+				.setFields(params.getField())
+				.sortBy(sorts);
+	}
+
 }
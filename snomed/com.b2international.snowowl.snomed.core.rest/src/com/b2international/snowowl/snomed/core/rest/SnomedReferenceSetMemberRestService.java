@@ -23,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.b2international.commons.http.AcceptLanguageHeader;
 import com.b2international.commons.options.Options;
@@ -83,26 +84,10 @@ public class SnomedReferenceSetMemberRestService extends AbstractRestService {
 			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
 			final String acceptLanguage) {
 
-		final SnomedRefSetMemberSearchRequestBuilder req = SnomedRequests.prepareSearchMember()
+		return prepareSearch(params, acceptLanguage)
 				.setLimit(params.getLimit())
-				.setSearchAfter(params.getSearchAfter())
-				.filterByIds(params.getId())
-				.filterByActive(params.getActive())
-				.filterByModules(params.getModule())
-				.filterByEffectiveTime(params.getEffectiveTime())
-				.filterByRefSet(params.getRefsetId())
-				.filterByReferencedComponent(params.getReferencedComponentId())
-				.setExpand(params.getExpand())
-				.setFields(params.getField())
-				.setLocales(acceptLanguage)
-				.sortBy(extractSortFields(params.getSort()));
-		
-		Options propFilters = params.toPropsFilter();
-		if (!propFilters.isEmpty()) {
-			req.filterByProps(propFilters);
-		}
-		
-		return req.build(path).execute(getBus());
+				.build(path)
+				.execute(getBus());
 	}
 	
 	@Operation(
@@ -116,7 +101,7 @@ public class SnomedReferenceSetMemberRestService extends AbstractRestService {
 		@ApiResponse(responseCode = "200", description = "OK"),
 		@ApiResponse(responseCode = "404", description = "Branch not found")
 	})
-	@PostMapping("/search")
+	@PostMapping(value = "/search", produces = { AbstractRestService.JSON_MEDIA_TYPE })
 	public @ResponseBody Promise<SnomedReferenceSetMembers> searchByPost(
 			@Parameter(description = "The resource path", required = true)
 			@PathVariable(value="path")
@@ -131,6 +116,58 @@ public class SnomedReferenceSetMemberRestService extends AbstractRestService {
 		return searchByGet(branch, params, acceptLanguage);
 	}
 	
+	@Operation(
+		summary="Stream reference set members from a path", 
+		description="Streams all/filtered reference set members from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@GetMapping(produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByGet(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@ParameterObject
+			final SnomedReferenceSetMemberRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamItems(prepareSearch(params, acceptLanguage), path, params.getLimit());
+	}
+	
+	@Operation(
+		summary="Stream reference set members from a path", 
+		description="Streams all/filtered reference set members from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@PostMapping(value="/search", produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByPost(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@RequestBody(required = false)
+			final SnomedReferenceSetMemberRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamByGet(path, params, acceptLanguage);
+	}
+	
 	@Operation(
 		summary="Retrieve a reference set member",
 		description="Returns all properties of the specified reference set member."
@@ -350,4 +387,26 @@ public class SnomedReferenceSetMemberRestService extends AbstractRestService {
 				.getSync();
 	}
 	
+	private SnomedRefSetMemberSearchRequestBuilder prepareSearch(final SnomedReferenceSetMemberRestSearch params, final String acceptLanguage) {
+		final SnomedRefSetMemberSearchRequestBuilder req = SnomedRequests.prepareSearchMember()
+				.setSearchAfter(params.getSearchAfter())
+				.filterByIds(params.getId())
+				.filterByActive(params.getActive())
+				.filterByModules(params.getModule())
+				.filterByEffectiveTime(params.getEffectiveTime())
+				.filterByRefSet(params.getRefsetId())
+				.filterByReferencedComponent(params.getReferencedComponentId())
+				.setExpand(params.getExpand())
+				.setFields(params.getField())
+				.setLocales(acceptLanguage)
+				.sortBy(extractSortFields(params.getSort()));
+		
+		Options propFilters = params.toPropsFilter();
+		if (!propFilters.isEmpty()) {
+			req.filterByProps(propFilters);
+		}
+		
+		return req;
+	}
+
 }
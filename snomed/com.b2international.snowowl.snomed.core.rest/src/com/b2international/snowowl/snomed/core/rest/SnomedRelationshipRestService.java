@@ -21,6 +21,7 @@ import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.b2international.commons.http.AcceptLanguageHeader;
 import com.b2international.snowowl.core.events.util.Promise;
@@ -33,6 +34,7 @@ import com.b2international.snowowl.snomed.core.rest.domain.SnomedRelationshipRes
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedRelationshipRestSearch;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedRelationshipRestUpdate;
 import com.b2international.snowowl.snomed.core.rest.domain.SnomedResourceRequest;
+import com.b2international.snowowl.snomed.datastore.request.SnomedRelationshipSearchRequestBuilder;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -79,29 +81,8 @@ public class SnomedRelationshipRestService extends AbstractRestService {
 			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
 			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
 			final String acceptLanguage) {
-		return SnomedRequests
-					.prepareSearchRelationship()
-					.filterByIds(params.getId())
-					.filterByActive(params.getActive())
-					.filterByModules(params.getModule())
-					.filterByNamespaces(params.getNamespace())
-					.filterByNamespaceConcepts(params.getNamespaceConceptId())
-					.filterByEffectiveTime(params.getEffectiveTime())
-					.filterByCharacteristicType(params.getCharacteristicType())
-					.filterBySources(params.getSource())
-					.filterByTypes(params.getType())
-					.filterByDestinations(params.getDestination())
-					.filterByGroup(params.getGroup())
-					.filterByUnionGroup(params.getUnionGroup())
-					.filterByValueType(params.getValueType())
-					.filterByValue(params.getOperator(), RelationshipValue.fromLiteral(params.getValue()))
-					.isActiveMemberOf(params.getIsActiveMemberOf())
+		return prepareSearch(params, acceptLanguage)
 					.setLimit(params.getLimit())
-					.setSearchAfter(params.getSearchAfter())
-					.setExpand(params.getExpand())
-					.setFields(params.getField())
-					.setLocales(acceptLanguage)
-					.sortBy(extractSortFields(params.getSort()))
 					.build(path)
 					.execute(getBus());
 	}
@@ -135,6 +116,58 @@ public class SnomedRelationshipRestService extends AbstractRestService {
 		return searchByGet(path, params, acceptLanguage);
 	}
 	
+	@Operation(
+		summary="Stream Relationships from a path", 
+		description="Streams all/filtered Relationships from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@GetMapping(produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByGet(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@ParameterObject
+			final SnomedRelationshipRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamItems(prepareSearch(params, acceptLanguage), path, params.getLimit());
+	}
+	
+	@Operation(
+		summary="Stream Relationships from a path", 
+		description="Streams all/filtered Relationships from a path as newline delimited JSON, one item per line. Items are fetched and written in batches, "
+				+ "so the limit parameter can be set to large values without increasing the memory footprint of the request."
+	)
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "OK"),
+		@ApiResponse(responseCode = "400", description = "Invalid search config"),
+		@ApiResponse(responseCode = "404", description = "Branch not found")
+	})
+	@PostMapping(value="/search", produces = { AbstractRestService.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> streamByPost(
+			@Parameter(description = "The resource path", required = true)
+			@PathVariable(value="path")
+			final String path,
+
+			@RequestBody(required = false)
+			final SnomedRelationshipRestSearch params,
+			
+			@Parameter(description = "Accepted language tags, in order of preference", example = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER)
+			@RequestHeader(value="Accept-Language", defaultValue = AcceptLanguageHeader.DEFAULT_ACCEPT_LANGUAGE_HEADER, required=false) 
+			final String acceptLanguage) {
+		
+		return streamByGet(path, params, acceptLanguage);
+	}
+	
 	@Operation(
 		summary="Create Relationship", 
 		description="Creates a new Relationship directly on a version path."
@@ -300,5 +333,30 @@ public class SnomedRelationshipRestService extends AbstractRestService {
 			.execute(getBus())
 			.getSync(COMMIT_TIMEOUT, TimeUnit.MINUTES);
 	}
+	
+	private SnomedRelationshipSearchRequestBuilder prepareSearch(final SnomedRelationshipRestSearch params, final String acceptLanguage) {
+		return SnomedRequests
+					.prepareSearchRelationship()
+					.filterByIds(params.getId())
+					.filterByActive(params.getActive())
+					.filterByModules(params.getModule())
+					.filterByNamespaces(params.getNamespace())
+					.filterByNamespaceConcepts(params.getNamespaceConceptId())
+					.filterByEffectiveTime(params.getEffectiveTime())
+					.filterByCharacteristicType(params.getCharacteristicType())
+					.filterBySources(params.getSource())
+					.filterByTypes(params.getType())
+					.filterByDestinations(params.getDestination())
+					.filterByGroup(params.getGroup())
+					.filterByUnionGroup(params.getUnionGroup())
+					.filterByValueType(params.getValueType())
+					.filterByValue(params.getOperator(), RelationshipValue.fromLiteral(params.getValue()))
+					.isActiveMemberOf(params.getIsActiveMemberOf())
+					.setSearchAfter(params.getSearchAfter())
+					.setExpand(params.getExpand())
+					.setFields(params.getField())
+					.setLocales(acceptLanguage)
+					.sortBy(extractSortFields(params.getSort()));
+	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,6 +53,9 @@ public final class SnomedConceptRestSearch extends SnomedComponentRestSearch {
 
 	@Parameter(description = "doi (degree-of-interest-based scoring)")
 	private Boolean doi = null;
+	
+	@Parameter(description = "Evaluate the term filter on the best matching concepts only (first page only, total is computed from the evaluated concepts)")
+	private Boolean typeahead = null;
 
 	public String getDefinitionStatus() {
 		return definitionStatus;
@@ -141,4 +144,12 @@ public final class SnomedConceptRestSearch extends SnomedComponentRestSearch {
 	public void setDoi(Boolean doi) {
 		this.doi = doi;
 	}
+	
+	public Boolean getTypeahead() {
+		return typeahead;
+	}
+	
+	public void setTypeahead(Boolean typeahead) {
+		this.typeahead = typeahead;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,9 @@ import org.junit.runners.Suite.SuiteClasses;
 
 import com.b2international.snowowl.snomed.core.ecl.*;
 import com.b2international.snowowl.snomed.core.tree.TerminologyTreeTest;
+import com.b2international.snowowl.snomed.datastore.converter.ExpansionExecutorTest;
+import com.b2international.snowowl.snomed.datastore.id.cis.CisBulkRegistrationTest;
+import com.b2international.snowowl.snomed.datastore.id.memory.DefaultSnomedIdentifierServiceBlockTest;
 import com.b2international.snowowl.snomed.datastore.id.memory.DefaultSnomedIdentifierServiceRegressionTest;
 import com.b2international.snowowl.snomed.datastore.id.memory.DefaultSnomedIdentifierServiceTest;
 import com.b2international.snowowl.snomed.datastore.index.change.*;
@@ -42,6 +45,8 @@ import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEv
 	SnomedIdentifierReservationServiceImplTest.class,
 	DefaultSnomedIdentifierServiceTest.class,
 	DefaultSnomedIdentifierServiceRegressionTest.class,
+	DefaultSnomedIdentifierServiceBlockTest.class,
+	CisBulkRegistrationTest.class,
 	// index document test cases 
 	SnomedConceptDocumentSerializationTest.class,
 	SnomedRelationshipIndexEntrySerializationTest.class,
@@ -62,6 +67,7 @@ import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEv
 	SnomedStatedEclEvaluationTest.class,
 	SnomedEclShortcutTest.class,
 	SnomedDescriptionUtilsTest.class,
+	ExpansionExecutorTest.class,
 	// Validate Rule Evaluators
 	SnomedQueryValidationRuleEvaluatorTest.class,
 })
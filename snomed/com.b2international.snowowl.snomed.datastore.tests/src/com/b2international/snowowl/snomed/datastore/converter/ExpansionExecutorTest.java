@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.b2international.snowowl.core.RequestContext;
+import com.b2international.snowowl.core.ServiceProvider;
+
+/**
+ * @since 8.10
+ */
+public class ExpansionExecutorTest {
+
+	private final ExpansionExecutor executor = new ExpansionExecutor(4);
+	private final RequestContext context = new RequestContext(ServiceProvider.EMPTY);
+
+	@After
+	public void after() {
+		executor.dispose();
+	}
+
+	@Test
+	public void expandConcurrently() throws Exception {
+		// each expansion waits for all others, which completes only if they run at the same time
+		final CountDownLatch latch = new CountDownLatch(3);
+		final Set<String> threads = ConcurrentHashMap.newKeySet();
+		final Map<String, Runnable> expansions = new LinkedHashMap<>();
+		for (String name : Set.of("descriptions", "relationships", "ancestors")) {
+			expansions.put(name, () -> {
+				threads.add(Thread.currentThread().getName());
+				latch.countDown();
+				await(latch);
+			});
+		}
+
+		executor.expand(context, expansions);
+
+		assertEquals(0L, latch.getCount());
+		assertEquals(3, threads.size());
+		assertTrue(threads.contains(Thread.currentThread().getName()));
+	}
+
+	@Test
+	public void expandNestedSequentially() throws Exception {
+		final Set<String> nestedThreads = ConcurrentHashMap.newKeySet();
+		final Map<String, Runnable> nested = new LinkedHashMap<>();
+		nested.put("fsn", () -> nestedThreads.add(Thread.currentThread().getName()));
+		nested.put("pt", () -> nestedThreads.add(Thread.currentThread().getName()));
+
+		final Map<String, Runnable> expansions = new LinkedHashMap<>();
+		expansions.put("descriptions", () -> {});
+		expansions.put("members", () -> executor.expand(context, nested));
+
+		executor.expand(context, expansions);
+
+		assertEquals(1, nestedThreads.size());
+		assertTrue(nestedThreads.iterator().next().startsWith("snomed-expansion-"));
+	}
+
+	@Test
+	public void propagateFailure() throws Exception {
+		final Map<String, Runnable> expansions = new LinkedHashMap<>();
+		expansions.put("descriptions", () -> {});
+		expansions.put("relationships", () -> {
+			throw new IllegalStateException("relationships");
+		});
+		expansions.put("ancestors", () -> {});
+
+		final IllegalStateException e = assertThrows(IllegalStateException.class, () -> executor.expand(context, expansions));
+		assertEquals("relationships", e.getMessage());
+	}
+
+	@Test
+	public void recordMetrics() throws Exception {
+		final Map<String, Runnable> expansions = new LinkedHashMap<>();
+		expansions.put("descriptions", () -> {});
+		expansions.put("ancestors", () -> {});
+
+		executor.expand(context, expansions);
+		ExpansionExecutor.SEQUENTIAL.expand(context, expansions);
+
+		assertTrue(context.getMetrics().containsKey("expand.descriptions"));
+		assertTrue(context.getMetrics().containsKey("expand.ancestors"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue("Expansions did not run concurrently", latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.id.cis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.snomed.cis.SnomedIdentifierConfiguration;
+import com.b2international.snowowl.snomed.cis.client.CisSnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.domain.SctId;
+import com.b2international.snowowl.snomed.cis.internal.reservations.SnomedIdentifierReservationServiceImpl;
+import com.b2international.snowowl.snomed.datastore.request.rf2.importer.Rf2IdentifierRegistration;
+import com.b2international.snowowl.test.commons.snomed.RandomSnomedIdentiferGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs bulk identifier registration against a local stub CIS server, which reports each bulk job as pending on the first poll and finished
+ * (or failed) on the second one.
+ *
+ * @since 8.10
+ */
+public class CisBulkRegistrationTest {
+
+	private static final int PENDING = 0;
+	private static final int FINISHED = 2;
+	private static final int ERROR = 3;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final AtomicInteger registeredIds = new AtomicInteger();
+	private final AtomicInteger jobIds = new AtomicInteger();
+	private final Map<Integer, AtomicInteger> pollsByJob = new ConcurrentHashMap<>();
+	private volatile int finalJobStatus = FINISHED;
+
+	private ExecutorService serverExecutor;
+	private HttpServer server;
+	private CisSnomedIdentifierService service;
+
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/api/login", exchange -> respond(exchange, "{\"token\":\"token\"}"));
+		server.createContext("/api/logout", exchange -> respond(exchange, "{}"));
+		// all IDs are unknown to the stub service, so they are all available for registration
+		server.createContext("/api/sct/bulk/ids", exchange -> respond(exchange, "[]"));
+		server.createContext("/api/sct/bulk/register", exchange -> {
+			final JsonNode request = mapper.readTree(exchange.getRequestBody());
+			registeredIds.addAndGet(request.get("records").size());
+			final int jobId = jobIds.incrementAndGet();
+			pollsByJob.put(jobId, new AtomicInteger());
+			respond(exchange, "{\"id\":" + jobId + "}");
+		});
+		server.createContext("/api/bulk/jobs", exchange -> {
+			final String path = exchange.getRequestURI().getPath();
+			final int jobId = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+			final int status = pollsByJob.get(jobId).incrementAndGet() == 1 ? PENDING : finalJobStatus;
+			respond(exchange, "{\"id\":" + jobId + ",\"status\":" + status + "}");
+		});
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.start();
+
+		final SnomedIdentifierConfiguration conf = new SnomedIdentifierConfiguration();
+		conf.setCisBaseUrl("http://localhost:" + server.getAddress().getPort());
+		conf.setCisContextRoot("api");
+		conf.setCisTimeBetweenPollTries(10);
+		conf.setCisNumberOfPollTries(5);
+		conf.setRequestBulkLimit(100);
+		service = new CisSnomedIdentifierService(conf, new SnomedIdentifierReservationServiceImpl(), mapper);
+	}
+
+	@After
+	public void teardown() {
+		service.dispose();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	public void registerInConcurrentBulkJobs() throws Exception {
+		final Set<String> componentIds = generateConceptIds(1_000);
+
+		final Map<String, SctId> registered = service.registerAsync(componentIds).get();
+
+		assertThat(registered).containsOnlyKeys(componentIds);
+		assertThat(registeredIds).hasValue(componentIds.size());
+		// every bulk job has been polled until it finished
+		assertThat(pollsByJob).hasSize((componentIds.size() + 99) / 100);
+		assertThat(pollsByJob.values()).allSatisfy(polls -> assertThat(polls).hasValue(2));
+	}
+
+	@Test
+	public void registerFailedBulkJob() throws Exception {
+		finalJobStatus = ERROR;
+
+		assertThatThrownBy(() -> service.register(generateConceptIds(200)))
+			.isInstanceOf(SnowowlRuntimeException.class)
+			.hasMessageContaining("Bulk request has ended in error.");
+	}
+
+	@Test
+	public void registerImportedIdsInBatches() throws Exception {
+		final Set<String> componentIds = generateConceptIds(1_000);
+
+		try (Rf2IdentifierRegistration registration = new Rf2IdentifierRegistration(service)) {
+			// register IDs the same way as RF2 import commits do, in multiple smaller chunks
+			componentIds.stream()
+				.collect(Collectors.groupingBy(id -> Math.abs(id.hashCode()) % 7))
+				.values()
+				.forEach(registration::register);
+		}
+
+		assertThat(registeredIds).hasValue(componentIds.size());
+	}
+
+	private static Set<String> generateConceptIds(int quantity) {
+		return Stream.generate(RandomSnomedIdentiferGenerator::generateConceptId)
+			.distinct()
+			.limit(quantity)
+			.collect(Collectors.toSet());
+	}
+
+	private static void respond(HttpExchange exchange, String body) throws IOException {
+		final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+}
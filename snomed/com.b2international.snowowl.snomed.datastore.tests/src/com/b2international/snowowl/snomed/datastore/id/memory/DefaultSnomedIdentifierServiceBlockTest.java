@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.id.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.index.Hits;
+import com.b2international.index.Index;
+import com.b2international.index.Indexes;
+import com.b2international.index.mapping.Mappings;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.snowowl.core.terminology.ComponentCategory;
+import com.b2international.snowowl.snomed.cis.SnomedIdentifierConfiguration;
+import com.b2international.snowowl.snomed.cis.domain.SctId;
+import com.b2international.snowowl.snomed.cis.gen.SequentialItemIdGenerationStrategy;
+import com.b2international.snowowl.snomed.cis.internal.reservations.SnomedIdentifierReservationServiceImpl;
+import com.b2international.snowowl.snomed.cis.memory.DefaultSnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.reservations.ISnomedIdentifierReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+
+/**
+ * @since 8.10
+ */
+public class DefaultSnomedIdentifierServiceBlockTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DefaultSnomedIdentifierServiceBlockTest.class);
+
+	private static final String INT_NAMESPACE = "";
+	private static final String B2I_NAMESPACE = "1000129";
+
+	private Index store;
+
+	@Before
+	public void init() {
+		store = Indexes.createIndex(UUID.randomUUID().toString(), new ObjectMapper(), new Mappings(SctId.class));
+		store.admin().create();
+	}
+
+	@After
+	public void after() {
+		store.admin().delete();
+	}
+
+	@Test
+	public void generateFromBlockInSequence() throws Exception {
+		final DefaultSnomedIdentifierService identifiers = createService(10);
+
+		assertThat(identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 3)).containsExactly("100005", "101009", "102002");
+		assertThat(identifiers.generate(B2I_NAMESPACE, ComponentCategory.CONCEPT, 3)).containsExactly("11000129102", "21000129106", "31000129108");
+		assertThat(identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 1)).containsExactly("103007");
+
+		// the rest of the INT block is persisted as reserved
+		assertThat(identifiers.getSctIds(ImmutableSet.of("104001")).get("104001").isReserved()).isTrue();
+	}
+
+	@Test
+	public void generateMoreThanBlockSize() throws Exception {
+		final DefaultSnomedIdentifierService identifiers = createService(10);
+
+		final Set<String> componentIds = identifiers.generate(INT_NAMESPACE, ComponentCategory.DESCRIPTION, 25);
+
+		assertThat(componentIds).hasSize(25);
+		assertThat(identifiers.getSctIds(componentIds).values()).allMatch(SctId::isAssigned);
+	}
+
+	@Test
+	public void registeredIdIsRemovedFromBlock() throws Exception {
+		final DefaultSnomedIdentifierService identifiers = createService(10);
+
+		assertThat(identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 1)).containsExactly("100005");
+
+		// the next preallocated ID gets registered, eg. by an RF2 import
+		identifiers.register(ImmutableSet.of("101009"));
+
+		assertThat(identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 1)).containsExactly("102002");
+	}
+
+	@Test
+	public void unusedIdsAreReturnedOnDispose() throws Exception {
+		final DefaultSnomedIdentifierService identifiers = createService(100);
+
+		final Set<String> generatedIds = identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 10);
+		final Set<String> reservedIds = identifiers.reserve(B2I_NAMESPACE, ComponentCategory.RELATIONSHIP, 5);
+		assertThat(countSctIds()).isEqualTo(200);
+
+		identifiers.dispose();
+
+		assertThat(identifiers.isDisposed()).isTrue();
+		assertThat(countSctIds()).isEqualTo(15);
+		assertThat(identifiers.getSctIds(generatedIds).values()).allMatch(SctId::isAssigned);
+		assertThat(identifiers.getSctIds(reservedIds).values()).allMatch(SctId::isReserved);
+	}
+
+	@Test
+	public void generationThroughput() throws Exception {
+		final List<String> withoutBlocks = generateConcurrently(0, 4, 50);
+		final List<String> withBlocks = generateConcurrently(1000, 4, 50);
+
+		// both services use the same index, so IDs must be unique across them as well
+		assertThat(Iterables.concat(withoutBlocks, withBlocks)).doesNotHaveDuplicates();
+	}
+
+	private List<String> generateConcurrently(int blockSize, int numberOfThreads, int requestsPerThread) throws Exception {
+		final DefaultSnomedIdentifierService identifiers = createService(blockSize);
+		final Set<String> generatedIds = ConcurrentHashMap.newKeySet();
+		final List<String> allIds = new CopyOnWriteArrayList<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+		final Stopwatch w = Stopwatch.createStarted();
+		try {
+			final List<Future<?>> futures = IntStream.range(0, numberOfThreads)
+				.mapToObj(thread -> executor.submit(() -> {
+					for (int i = 0; i < requestsPerThread; i++) {
+						// single concept with a few descriptions, similar to authoring requests
+						final Set<String> conceptIds = identifiers.generate(INT_NAMESPACE, ComponentCategory.CONCEPT, 1);
+						final Set<String> descriptionIds = identifiers.generate(INT_NAMESPACE, ComponentCategory.DESCRIPTION, 2);
+						allIds.addAll(conceptIds);
+						allIds.addAll(descriptionIds);
+						generatedIds.addAll(conceptIds);
+						generatedIds.addAll(descriptionIds);
+					}
+				}))
+				.collect(Collectors.toList());
+
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		w.stop();
+
+		final int numberOfIds = allIds.size();
+		LOG.info("Generated {} IDs with block size {} in {} ({} IDs/s)", numberOfIds, blockSize, w,
+				numberOfIds * 1000L / Math.max(1L, w.elapsed(TimeUnit.MILLISECONDS)));
+
+		assertThat(numberOfIds).isEqualTo(numberOfThreads * requestsPerThread * 3);
+		assertThat(generatedIds).hasSize(numberOfIds);
+		assertThat(identifiers.getSctIds(ImmutableSet.copyOf(allIds)).values()).allMatch(SctId::isAssigned);
+
+		identifiers.dispose();
+		return ImmutableList.copyOf(allIds);
+	}
+
+	private DefaultSnomedIdentifierService createService(int blockSize) {
+		final ISnomedIdentifierReservationService reservationService = new SnomedIdentifierReservationServiceImpl();
+		final SnomedIdentifierConfiguration config = new SnomedIdentifierConfiguration();
+		config.setIdBlockSize(blockSize);
+		return new DefaultSnomedIdentifierService(store, new SequentialItemIdGenerationStrategy(reservationService), reservationService, config);
+	}
+
+	private int countSctIds() {
+		final Hits<SctId> hits = store.read(searcher -> searcher.search(Query.select(SctId.class)
+				.where(Expressions.matchAll())
+				.limit(0)
+				.build()));
+		return hits.getTotal();
+	}
+
+}
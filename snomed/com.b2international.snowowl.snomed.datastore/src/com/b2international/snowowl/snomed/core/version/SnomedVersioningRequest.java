@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,12 @@ public final class SnomedVersioningRequest extends VersioningRequest {
 		SnomedRelationshipIndexEntry.class
 	);
 	
+	// versioning stamps these properties only, the rest of the document remains the same
+	private static final Set<String> VERSIONED_PROPERTIES = ImmutableSet.of(
+		SnomedDocument.Fields.EFFECTIVE_TIME,
+		SnomedDocument.Fields.RELEASED
+	);
+	
 	private final Set<String> componentIdsToPublish = newHashSet();
 	private final long effectiveTime;
 	
@@ -195,7 +201,8 @@ public final class SnomedVersioningRequest extends VersioningRequest {
 				updatedComponent
 					.effectiveTime(effectiveTime)
 					.released(true)
-				.build()
+				.build(),
+				VERSIONED_PROPERTIES
 			);
 		}
 		
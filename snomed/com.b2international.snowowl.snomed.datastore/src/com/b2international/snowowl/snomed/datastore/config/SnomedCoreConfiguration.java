@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,10 @@ public class SnomedCoreConfiguration {
 	public static final int DEFAULT_MAXIMUM_REASONER_COUNT = 2;
 	public static final int DEFAULT_MAXIMUM_REASONER_RESULTS = 10;
 	public static final int DEFAULT_MAXIMUM_REASONER_RUNS = 1000;
+	public static final int DEFAULT_REFSET_EXPORT_PARALLELISM = 4;
+	public static final int DEFAULT_EXPANSION_PARALLELISM = 4;
+	public static final int DEFAULT_MAXIMUM_REASONER_SESSIONS = 0;
+	public static final int DEFAULT_REASONER_SESSION_TIMEOUT = 30;
 	
 	@Min(1)
 	@Max(3)
@@ -44,6 +48,21 @@ public class SnomedCoreConfiguration {
 	@Max(1_000_000)
 	private int maxReasonerRuns = DEFAULT_MAXIMUM_REASONER_RUNS;
 	
+	@Min(1)
+	@Max(64)
+	private int refSetExportParallelism = DEFAULT_REFSET_EXPORT_PARALLELISM;
+	
+	@Min(1)
+	@Max(64)
+	private int expansionParallelism = DEFAULT_EXPANSION_PARALLELISM;
+	
+	@Min(0)
+	@Max(16)
+	private int maxReasonerSessions = DEFAULT_MAXIMUM_REASONER_SESSIONS;
+	
+	@Min(1)
+	private int reasonerSessionTimeout = DEFAULT_REASONER_SESSION_TIMEOUT;
+	
 	@NotEmpty
 	private String concreteDomainTypeRefsetIdentifier = Concepts.REFSET_CONCRETE_DOMAIN_TYPE;
 	
@@ -96,6 +115,60 @@ public class SnomedCoreConfiguration {
 		this.maxReasonerRuns = maxReasonerRuns;
 	}
 	
+	/**
+	 * @return the number of reference set files that a single RF2 export is allowed to write simultaneously.
+	 */
+	@JsonProperty
+	public int getRefSetExportParallelism() {
+		return refSetExportParallelism;
+	}
+	
+	@JsonProperty
+	public void setRefSetExportParallelism(int refSetExportParallelism) {
+		this.refSetExportParallelism = refSetExportParallelism;
+	}
+	
+	/**
+	 * @return the number of threads shared by all requests for executing the independent expansions of returned components concurrently,
+	 *         expansions are executed sequentially if set to one.
+	 */
+	@JsonProperty
+	public int getExpansionParallelism() {
+		return expansionParallelism;
+	}
+	
+	@JsonProperty
+	public void setExpansionParallelism(int expansionParallelism) {
+		this.expansionParallelism = expansionParallelism;
+	}
+	
+	/**
+	 * @return the number of warm reasoner sessions kept in memory for incremental re-classification of the same branch lineage. Sessions
+	 *         are disabled if set to zero.
+	 */
+	@JsonProperty
+	public int getMaxReasonerSessions() {
+		return maxReasonerSessions;
+	}
+	
+	@JsonProperty
+	public void setMaxReasonerSessions(int maxReasonerSessions) {
+		this.maxReasonerSessions = maxReasonerSessions;
+	}
+	
+	/**
+	 * @return the number of minutes after which an unused reasoner session is disposed.
+	 */
+	@JsonProperty
+	public int getReasonerSessionTimeout() {
+		return reasonerSessionTimeout;
+	}
+	
+	@JsonProperty
+	public void setReasonerSessionTimeout(int reasonerSessionTimeout) {
+		this.reasonerSessionTimeout = reasonerSessionTimeout;
+	}
+	
 	@Deprecated
 	@JsonProperty("concreteDomainSupport")
 	public boolean isConcreteDomainSupported() {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.RequestContext;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.google.common.base.Throwables;
+
+/**
+ * Executes the independent expansions of a converter concurrently on a shared, bounded thread pool. The first expansion always runs on the
+ * calling thread, the rest are handed over to the pool (or run on the calling thread when the pool is saturated). Expansions started from an
+ * expansion thread (eg. nested expansions of a member's referenced component) are executed sequentially, so that expansions never wait for
+ * pool threads that are waiting for them.
+ * <p>
+ * The time spent on each expansion is added to the metrics of the enclosing request (under the key <code>expand.&lt;name&gt;</code>), so it
+ * becomes part of the request log.
+ *
+ * @since 8.10
+ */
+public final class ExpansionExecutor implements IDisposableService {
+
+	/**
+	 * Executes expansions on the calling thread.
+	 */
+	public static final ExpansionExecutor SEQUENTIAL = new ExpansionExecutor(1);
+
+	private static final String METRIC_PREFIX = "expand.";
+	private static final int QUEUE_SIZE_PER_THREAD = 64;
+	private static final long KEEP_ALIVE_SECONDS = 60L;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * @param parallelism - the number of pool threads, expansions are executed sequentially if less than 2
+	 */
+	public ExpansionExecutor(int parallelism) {
+		if (parallelism > 1) {
+			this.executor = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(parallelism * QUEUE_SIZE_PER_THREAD),
+					ExpansionThread::new,
+					new ThreadPoolExecutor.CallerRunsPolicy());
+			this.executor.allowCoreThreadTimeOut(true);
+		} else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Executes the given expansions and waits for all of them to complete.
+	 *
+	 * @param context - the context of the request the expansions belong to
+	 * @param expansions - the expansions to execute by their name, expansions must not depend on each other
+	 * @throws RuntimeException - the first failure of the expansions, after all of them have completed
+	 */
+	public void expand(ServiceProvider context, Map<String, Runnable> expansions) {
+		if (executor == null || expansions.size() < 2 || Thread.currentThread() instanceof ExpansionThread) {
+			expansions.forEach((name, expansion) -> run(context, name, expansion));
+			return;
+		}
+
+		final List<Future<?>> futures = new ArrayList<>(expansions.size() - 1);
+		Throwable failure = null;
+		try {
+			Entry<String, Runnable> first = null;
+			for (Entry<String, Runnable> expansion : expansions.entrySet()) {
+				if (first == null) {
+					first = expansion;
+				} else {
+					futures.add(executor.submit(() -> run(context, expansion.getKey(), expansion.getValue())));
+				}
+			}
+			run(context, first.getKey(), first.getValue());
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				futures.forEach(f -> f.cancel(true));
+				throw new SnowowlRuntimeException("Interrupted while expanding resources.", e);
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				} else {
+					failure.addSuppressed(e.getCause());
+				}
+			}
+		}
+
+		if (failure != null) {
+			Throwables.throwIfUnchecked(failure);
+			throw new SnowowlRuntimeException(failure);
+		}
+	}
+
+	private void run(ServiceProvider context, String name, Runnable expansion) {
+		final long start = System.nanoTime();
+		try {
+			expansion.run();
+		} finally {
+			final long took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			context.optionalService(RequestContext.class).ifPresent(requestContext -> requestContext.withMetric(METRIC_PREFIX + name, took, Long::sum));
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return executor != null && executor.isShutdown();
+	}
+
+	private static final class ExpansionThread extends Thread {
+
+		private static final AtomicInteger COUNTER = new AtomicInteger();
+
+		private ExpansionThread(Runnable runnable) {
+			super(runnable, "snomed-expansion-" + COUNTER.getAndIncrement());
+			setDaemon(true);
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,8 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import com.b2international.commons.collections.Collections3;
@@ -39,7 +37,6 @@ import com.b2international.snowowl.snomed.datastore.SnomedDescriptionUtils;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
 import com.b2international.snowowl.snomed.datastore.request.SnomedConceptRequestCache;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
-import com.google.common.base.Functions;
 import com.google.common.collect.*;
 
 /**
@@ -137,24 +134,29 @@ public final class SnomedConceptConverter extends BaseRevisionResourceConverter<
 		
 		final Set<String> conceptIds = FluentIterable.from(results).transform(SnomedConcept::getId).toSet();
 		
-		expandReferenceSet(results);
-		new InactivationPropertiesExpander(context(), expand(), locales(), Concepts.REFSET_CONCEPT_INACTIVITY_INDICATOR).expand(results, conceptIds);
-		new MembersExpander(context(), expand(), locales()).expand(results, conceptIds);
+		// concepts referenced by the results are collected and fetched together in a single search per expand options at the end of the request
 		new ModuleExpander(context(), expand(), locales()).expand(results);
 		expandDefinitionStatus(results);
 		
-		expandPreferredTerm(results, conceptIds);
-		expandFullySpecifiedName(results, conceptIds);
-		expandDescriptions(results, conceptIds);
-		
-		expandRelationships(results, conceptIds);
-		expandInboundRelationships(results, conceptIds);
-		
-		new SnomedDescendantsExpander(context(), expand(), locales(), SnomedConcept.Expand.DESCENDANTS).expand(results, conceptIds);
-		new SnomedDescendantsExpander(context(), expand(), locales(), SnomedConcept.Expand.STATED_DESCENDANTS).expand(results, conceptIds);
-		expandAncestors(results, conceptIds, SnomedConcept.Expand.ANCESTORS, false);
-		expandAncestors(results, conceptIds, SnomedConcept.Expand.STATED_ANCESTORS, true);
+		// expansions that search other documents do not depend on each other, they are executed concurrently
+		final Map<String, Runnable> expansions = new LinkedHashMap<>();
+		addExpansion(expansions, SnomedConcept.Expand.DESCRIPTIONS, () -> expandDescriptions(results, conceptIds));
+		addExpansion(expansions, SnomedConcept.Expand.RELATIONSHIPS, () -> expandRelationships(results, conceptIds));
+		addExpansion(expansions, SnomedConcept.Expand.INBOUND_RELATIONSHIPS, () -> expandInboundRelationships(results, conceptIds));
+		addExpansion(expansions, SnomedCoreComponent.Expand.REFERRING_MEMBERS, () -> new MembersExpander(context(), expand(), locales()).expand(results, conceptIds));
+		addExpansion(expansions, SnomedCoreComponent.Expand.INACTIVATION_PROPERTIES, () -> new InactivationPropertiesExpander(context(), expand(), locales(), Concepts.REFSET_CONCEPT_INACTIVITY_INDICATOR).expand(results, conceptIds));
+		addExpansion(expansions, SnomedConcept.Expand.REFERENCE_SET, () -> expandReferenceSet(results));
+		addExpansion(expansions, SnomedConcept.Expand.DESCENDANTS, () -> new SnomedDescendantsExpander(context(), expand(), locales(), SnomedConcept.Expand.DESCENDANTS).expand(results, conceptIds));
+		addExpansion(expansions, SnomedConcept.Expand.STATED_DESCENDANTS, () -> new SnomedDescendantsExpander(context(), expand(), locales(), SnomedConcept.Expand.STATED_DESCENDANTS).expand(results, conceptIds));
+		if (expand().containsKey(SnomedConcept.Expand.ANCESTORS) || expand().containsKey(SnomedConcept.Expand.STATED_ANCESTORS)) {
+			expansions.put(SnomedConcept.Expand.ANCESTORS, () -> expandAncestors(results));
+		}
+		addExpansion(expansions, SnomedConcept.Expand.PREFERRED_TERM, () -> expandPreferredTerm(results, conceptIds));
+		addExpansion(expansions, SnomedConcept.Expand.FULLY_SPECIFIED_NAME, () -> expandFullySpecifiedName(results, conceptIds));
 		
+		context().optionalService(ExpansionExecutor.class)
+			.orElse(ExpansionExecutor.SEQUENTIAL)
+			.expand(context(), expansions);
 		
 		// XXX make sure we set the preferred descriptions field to null if the client did not explicitly request it
 		// it is necessary to expand this field for pt and fsn expand, but do not increase the payload unnecessarily
@@ -165,6 +167,12 @@ public final class SnomedConceptConverter extends BaseRevisionResourceConverter<
 		}
 	}
 
+	private void addExpansion(Map<String, Runnable> expansions, String expandKey, Runnable expansion) {
+		if (expand().containsKey(expandKey)) {
+			expansions.put(expandKey, expansion);
+		}
+	}
+
 	private void expandDefinitionStatus(List<SnomedConcept> results) {
 		if (!expand().containsKey(SnomedConcept.Expand.DEFINITION_STATUS)) {
 			return;
@@ -333,11 +341,53 @@ public final class SnomedConceptConverter extends BaseRevisionResourceConverter<
 		}
 	}
 
-	private void expandAncestors(List<SnomedConcept> results, Set<String> conceptIds, String ancestorsExpandKey, boolean stated) {
-		if (!expand().containsKey(ancestorsExpandKey)) {
-			return;
+	private void expandAncestors(List<SnomedConcept> results) {
+		final Map<String, Multimap<String, String>> ancestorsByExpandKey = new LinkedHashMap<>(2);
+		if (expand().containsKey(SnomedConcept.Expand.ANCESTORS)) {
+			ancestorsByExpandKey.put(SnomedConcept.Expand.ANCESTORS, getAncestorsByDescendant(results, SnomedConcept.Expand.ANCESTORS, false));
+		}
+		if (expand().containsKey(SnomedConcept.Expand.STATED_ANCESTORS)) {
+			ancestorsByExpandKey.put(SnomedConcept.Expand.STATED_ANCESTORS, getAncestorsByDescendant(results, SnomedConcept.Expand.STATED_ANCESTORS, true));
+		}
+		
+		// inferred and stated ancestors requested with the same nested expand options are fetched in a single search
+		final Map<Options, Set<String>> ancestorIdsByExpand = newHashMap();
+		for (Entry<String, Multimap<String, String>> ancestors : ancestorsByExpandKey.entrySet()) {
+			final Options expandOptions = expand().get(ancestors.getKey(), Options.class);
+			if (getLimit(expandOptions) > 0 && !ancestors.getValue().isEmpty()) {
+				ancestorIdsByExpand.computeIfAbsent(expandOptions.getOptions("expand"), key -> newHashSet()).addAll(ancestors.getValue().values());
+			}
+		}
+		
+		final Map<Options, Map<String, SnomedConcept>> ancestorsByExpand = newHashMap();
+		ancestorIdsByExpand.forEach((nestedExpand, ancestorIds) -> ancestorsByExpand.put(nestedExpand, getConcepts(ancestorIds, nestedExpand)));
+		
+		for (Entry<String, Multimap<String, String>> ancestors : ancestorsByExpandKey.entrySet()) {
+			final boolean stated = SnomedConcept.Expand.STATED_ANCESTORS.equals(ancestors.getKey());
+			final Options expandOptions = expand().get(ancestors.getKey(), Options.class);
+			final Map<String, SnomedConcept> ancestorsById = ancestorsByExpand.get(expandOptions.getOptions("expand"));
+			final int limit = getLimit(expandOptions);
+			
+			for (SnomedConcept concept : results) {
+				final Collection<String> ancestorIds = ancestors.getValue().get(concept.getId());
+				final SnomedConcepts ancestorConcepts;
+				if (limit > 0 && ancestorsById != null && !ancestors.getValue().isEmpty()) {
+					final List<SnomedConcept> conceptAncestors = FluentIterable.from(ancestorIds).limit(limit).transform(ancestorsById::get).filter(Objects::nonNull).toList();
+					ancestorConcepts = new SnomedConcepts(conceptAncestors, null, limit, ancestorIds.size());
+				} else {
+					ancestorConcepts = new SnomedConcepts(limit, ancestorIds.size());
+				}
+				
+				if (stated) {
+					concept.setStatedAncestors(ancestorConcepts);
+				} else {
+					concept.setAncestors(ancestorConcepts);
+				}
+			}
 		}
+	}
 
+	private Multimap<String, String> getAncestorsByDescendant(List<SnomedConcept> results, String ancestorsExpandKey, boolean stated) {
 		final Options expandOptions = expand().get(ancestorsExpandKey, Options.class);
 		final boolean direct = DescendantsExpander.checkDirect(expandOptions, ancestorsExpandKey);
 		
@@ -364,41 +414,27 @@ public final class SnomedConceptConverter extends BaseRevisionResourceConverter<
 			}
 		}
 		
-		final int limit = getLimit(expandOptions);
-
-		final Collection<String> componentIds = newHashSet(ancestorsByDescendant.values());
-		
-		if (limit > 0 && !componentIds.isEmpty()) {
-			final SnomedConcepts ancestors = SnomedRequests.prepareSearchConcept()
-					.all()
-					.filterByIds(componentIds)
-					.setLocales(locales())
-					.setExpand(expandOptions.get("expand", Options.class))
-					.build().execute(context());
-			
-			final Map<String, SnomedConcept> ancestorsById = newHashMap();
-			ancestorsById.putAll(Maps.uniqueIndex(ancestors, SnomedConcept::getId));
-			for (SnomedConcept concept : results) {
-				final Collection<String> ancestorIds = ancestorsByDescendant.get(concept.getId());
-				final List<SnomedConcept> conceptAncestors = FluentIterable.from(ancestorIds).limit(limit).transform(Functions.forMap(ancestorsById)).toList();
-				final SnomedConcepts ancestorConcepts = new SnomedConcepts(conceptAncestors, null, limit, ancestorIds.size());
-				if (stated) {
-					concept.setStatedAncestors(ancestorConcepts);
-				} else {
-					concept.setAncestors(ancestorConcepts);
-				}
-			}
-		} else {
-			for (SnomedConcept concept : results) {
-				final Collection<String> ancestorIds = ancestorsByDescendant.get(concept.getId());
-				final SnomedConcepts ancestors = new SnomedConcepts(limit, ancestorIds.size());
-				if (stated) {
-					concept.setStatedAncestors(ancestors);
-				} else {
-					concept.setAncestors(ancestors);
-				}
-			}
+		return ancestorsByDescendant;
+	}
+	
+	/*
+	 * Fetches concepts through the request scoped cache if available, so that identical fetches are executed only once per request and pending
+	 * fetches with the same expand options are fetched in the same search.
+	 */
+	private Map<String, SnomedConcept> getConcepts(Set<String> conceptIds, Options conceptExpand) {
+		final Optional<SnomedConceptRequestCache> cache = context().optionalService(SnomedConceptRequestCache.class);
+		if (cache.isPresent()) {
+			return cache.get().get(context(), conceptIds, conceptExpand, locales());
 		}
+		
+		final SnomedConcepts concepts = SnomedRequests.prepareSearchConcept()
+				.all()
+				.filterByIds(conceptIds)
+				.setLocales(locales())
+				.setExpand(conceptExpand)
+				.build()
+				.execute(context());
+		return Maps.uniqueIndex(concepts, SnomedConcept::getId);
 	}
 
 	private SubclassDefinitionStatus toSubclassDefinitionStatus(final Boolean exhaustive) {
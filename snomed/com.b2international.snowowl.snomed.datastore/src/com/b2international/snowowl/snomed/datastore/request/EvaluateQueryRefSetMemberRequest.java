@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,19 +22,27 @@ import static com.google.common.collect.Sets.newHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.hibernate.validator.constraints.NotEmpty;
 
 import com.b2international.commons.options.Options;
+import com.b2international.index.Hits;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.index.revision.RevisionIndex;
+import com.b2international.snomed.ecl.ecl.*;
 import com.b2international.snowowl.core.authorization.AccessControl;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.domain.TransactionContext;
+import com.b2international.snowowl.core.ecl.EclParser;
 import com.b2international.snowowl.core.identity.Permission;
 import com.b2international.snowowl.core.request.IndexResourceRequest;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
 import com.b2international.snowowl.snomed.core.domain.SnomedConcept;
 import com.b2international.snowowl.snomed.core.domain.refset.*;
+import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedRefSetMemberIndexEntry;
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterators;
@@ -47,14 +55,22 @@ import com.google.common.collect.Streams;
 public final class EvaluateQueryRefSetMemberRequest extends IndexResourceRequest<BranchContext, QueryRefSetMemberEvaluation> implements AccessControl {
 
 	private static final int BATCH_SIZE = 10_000;
+	
+	/**
+	 * The maximum number of changed concepts to re-evaluate incrementally, more changes fall back to a full evaluation of the query.
+	 */
+	private static final int MAX_INCREMENTAL_CONCEPTS = 50_000;
 
 	private static final long serialVersionUID = 1L;
 
 	@NotEmpty
 	private final String memberId;
+	
+	private final Long changedSince;
 
-	EvaluateQueryRefSetMemberRequest(final String memberId) {
+	EvaluateQueryRefSetMemberRequest(final String memberId, final Long changedSince) {
 		this.memberId = memberId;
+		this.changedSince = changedSince;
 	}
 
 	@Override
@@ -89,11 +105,18 @@ public final class EvaluateQueryRefSetMemberRequest extends IndexResourceRequest
 			return new QueryRefSetMemberEvaluationImpl(memberId, targetReferenceSet);
 		}
 
+		// null means that all concepts matching the query need to be checked
+		final Set<String> changedConceptIds = getChangedConceptIds(context, query);
+		if (changedConceptIds != null && changedConceptIds.isEmpty()) {
+			return new QueryRefSetMemberEvaluationImpl(memberId, targetReferenceSet);
+		}
+		
 		final Set<String> expectedConcepts = newHashSet();
 		final Options expandOptions = expand().getOptions("referencedComponent");
 		
 		// Evaluate the query expression to find out which concepts should be in the simple type reference set
 		final Stream<MemberChange> expectedConceptChanges = SnomedRequests.prepareSearchConcept()
+			.filterByIds(changedConceptIds)
 			.filterByEcl(query)
 			.setExpand(expandOptions.getOptions("expand"))
 			.setLocales(locales())
@@ -161,6 +184,7 @@ public final class EvaluateQueryRefSetMemberRequest extends IndexResourceRequest
 		final Stream<MemberChange> unexpectedConceptChanges = SnomedRequests.prepareSearchMember()
 			.filterByActive(true)
 			.filterByRefSet(targetReferenceSet)
+			.filterByReferencedComponent(changedConceptIds)
 			.setExpand(expand())
 			.setLocales(locales())
 			.setLimit(10_000)
@@ -178,6 +202,89 @@ public final class EvaluateQueryRefSetMemberRequest extends IndexResourceRequest
 		return new QueryRefSetMemberEvaluationImpl(memberId, targetReferenceSet, Stream.concat(expectedConceptBatches, unexpectedConceptBatches));
 	}
 
+	/*
+	 * Returns the concepts that have been changed on the current branch since the last evaluation if the query member can be evaluated
+	 * incrementally, or null if a full evaluation is required.
+	 */
+	private Set<String> getChangedConceptIds(final BranchContext context, final String query) {
+		if (changedSince == null || RevisionIndex.isBranchAtPath(context.path()) || RevisionIndex.isRevRangePath(context.path())) {
+			return null;
+		}
+		
+		if (!isLocallyEvaluable(context.service(EclParser.class).parse(query))) {
+			return null;
+		}
+		
+		final String changedSincePath = RevisionIndex.toRevisionRange(RevisionIndex.toBranchAtPath(context.path(), changedSince), context.path());
+		return context.service(RevisionIndex.class).read(changedSincePath, searcher -> {
+			// the query itself has been changed, evaluate it from scratch
+			if (searcher.get(SnomedRefSetMemberIndexEntry.class, memberId) != null) {
+				return null;
+			}
+			
+			// count the changes first, so that large change sets fall back to a full evaluation without loading any of the IDs
+			final int numberOfChangedConcepts = searcher.search(Query.select(String.class)
+					.from(SnomedConceptDocument.class)
+					.fields(SnomedConceptDocument.Fields.ID)
+					.where(Expressions.matchAll())
+					.limit(0)
+					.build())
+					.getTotal();
+			
+			if (numberOfChangedConcepts > MAX_INCREMENTAL_CONCEPTS) {
+				return null;
+			}
+			
+			final Hits<String> changedConceptIds = searcher.search(Query.select(String.class)
+					.from(SnomedConceptDocument.class)
+					.fields(SnomedConceptDocument.Fields.ID)
+					.where(Expressions.matchAll())
+					.limit(MAX_INCREMENTAL_CONCEPTS)
+					.build());
+			
+			return changedConceptIds.stream().collect(Collectors.toSet());
+		});
+	}
+	
+	/*
+	 * Returns true if the given expression matches a concept based on the concept's own document only (its ID, parents, ancestors and
+	 * reference set memberships), so that concepts which have not been changed can not enter or leave the result set.
+	 */
+	private static boolean isLocallyEvaluable(final ExpressionConstraint expression) {
+		if (expression instanceof Any || expression instanceof EclConceptReference || expression instanceof EclConceptReferenceSet) {
+			return true;
+		} else if (expression instanceof DescendantOf) {
+			return isFocusConcept(((DescendantOf) expression).getConstraint());
+		} else if (expression instanceof DescendantOrSelfOf) {
+			return isFocusConcept(((DescendantOrSelfOf) expression).getConstraint());
+		} else if (expression instanceof ChildOf) {
+			return isFocusConcept(((ChildOf) expression).getConstraint());
+		} else if (expression instanceof ChildOrSelfOf) {
+			return isFocusConcept(((ChildOrSelfOf) expression).getConstraint());
+		} else if (expression instanceof MemberOf) {
+			final MemberOf memberOf = (MemberOf) expression;
+			return memberOf.getRefsetFields().isEmpty() && (memberOf.getConstraint() instanceof Any || memberOf.getConstraint() instanceof EclConceptReference);
+		} else if (expression instanceof NestedExpression) {
+			return isLocallyEvaluable(((NestedExpression) expression).getNested());
+		} else if (expression instanceof AndExpressionConstraint) {
+			final AndExpressionConstraint and = (AndExpressionConstraint) expression;
+			return isLocallyEvaluable(and.getLeft()) && isLocallyEvaluable(and.getRight());
+		} else if (expression instanceof OrExpressionConstraint) {
+			final OrExpressionConstraint or = (OrExpressionConstraint) expression;
+			return isLocallyEvaluable(or.getLeft()) && isLocallyEvaluable(or.getRight());
+		} else if (expression instanceof ExclusionExpressionConstraint) {
+			final ExclusionExpressionConstraint exclusion = (ExclusionExpressionConstraint) expression;
+			return isLocallyEvaluable(exclusion.getLeft()) && isLocallyEvaluable(exclusion.getRight());
+		} else {
+			// refinements, filters, dotted attributes and ancestor/parent operators depend on other concepts as well
+			return false;
+		}
+	}
+	
+	private static boolean isFocusConcept(final ExpressionConstraint expression) {
+		return expression instanceof Any || expression instanceof EclConceptReference || expression instanceof EclConceptReferenceSet;
+	}
+
 	@Override
 	public String getOperation() {
 		return Permission.OPERATION_BROWSE;
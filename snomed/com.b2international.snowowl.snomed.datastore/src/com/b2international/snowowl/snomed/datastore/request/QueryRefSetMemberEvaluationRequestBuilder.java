@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2017 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import com.b2international.snowowl.snomed.core.domain.refset.QueryRefSetMemberEv
 public final class QueryRefSetMemberEvaluationRequestBuilder extends IndexResourceRequestBuilder<QueryRefSetMemberEvaluationRequestBuilder, BranchContext, QueryRefSetMemberEvaluation> {
 
 	private String memberId;
+	private Long changedSince;
 
 	QueryRefSetMemberEvaluationRequestBuilder() {}
 
@@ -34,9 +35,22 @@ public final class QueryRefSetMemberEvaluationRequestBuilder extends IndexResour
 		return this;
 	}
 	
+	/**
+	 * Enables incremental evaluation of the query member. Only concepts that have been changed on the branch after the given timestamp are
+	 * checked, if the query's result set depends on the concepts' own properties only. Queries that can not be evaluated incrementally, or
+	 * that have been changed themselves after the timestamp, are evaluated in full.
+	 * 
+	 * @param changedSince - the timestamp of the last evaluation of the query member or <code>null</code> to always evaluate it in full
+	 * @return this builder instance
+	 */
+	public QueryRefSetMemberEvaluationRequestBuilder setChangedSince(Long changedSince) {
+		this.changedSince = changedSince;
+		return this;
+	}
+	
 	@Override
 	public IndexResourceRequest<BranchContext, QueryRefSetMemberEvaluation> create() {
-		return new EvaluateQueryRefSetMemberRequest(memberId);
+		return new EvaluateQueryRefSetMemberRequest(memberId, changedSince);
 	}
 
 }
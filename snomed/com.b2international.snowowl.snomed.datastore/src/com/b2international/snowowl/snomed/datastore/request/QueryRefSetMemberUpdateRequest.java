@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,16 +42,20 @@ public final class QueryRefSetMemberUpdateRequest implements Request<Transaction
 	
 	@NotEmpty
 	private final String moduleId;
+	
+	private final Long changedSince;
 
-	QueryRefSetMemberUpdateRequest(String memberId, String moduleId) {
+	QueryRefSetMemberUpdateRequest(String memberId, String moduleId, Long changedSince) {
 		this.memberId = memberId;
 		this.moduleId = moduleId;
+		this.changedSince = changedSince;
 	}
 
 	@Override
 	public Boolean execute(TransactionContext context) {
 		// evaluate query member
 		final QueryRefSetMemberEvaluation evaluation = SnomedRequests.prepareQueryRefSetMemberEvaluation(memberId)
+			.setChangedSince(changedSince)
 			.build()
 			.execute(context);
 		
@@ -115,7 +119,10 @@ public final class QueryRefSetMemberUpdateRequest implements Request<Transaction
 			});
 			
 			// Commit changes at the end of each batch (the context will also be committed at the end of the request)
-			context.commit();
+			// incremental updates are expected to be small, their changes are applied together in a single commit
+			if (changedSince == null) {
+				context.commit();
+			}
 		});
 
 		return Boolean.TRUE;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2017 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ public final class QueryRefSetMemberUpdateRequestBuilder extends BaseRequestBuil
 
 	private String memberId;
 	private String moduleId;
+	private Long changedSince;
 
 	QueryRefSetMemberUpdateRequestBuilder() {
 		super();
@@ -44,13 +45,29 @@ public final class QueryRefSetMemberUpdateRequestBuilder extends BaseRequestBuil
 		return getSelf();
 	}
 	
+	/**
+	 * Evaluates the query member incrementally, considering only the changes after the given timestamp and applies all resulting member
+	 * changes in a single commit.
+	 * 
+	 * @param changedSince - the timestamp of the last update of the query member or <code>null</code> to evaluate it in full
+	 * @return this builder instance
+	 * @see QueryRefSetMemberEvaluationRequestBuilder#setChangedSince(Long)
+	 */
+	public QueryRefSetMemberUpdateRequestBuilder setChangedSince(Long changedSince) {
+		this.changedSince = changedSince;
+		return getSelf();
+	}
+	
 	public QueryRefSetMemberUpdateRequestBuilder setSource(Map<String, Object> source) {
-		return setModuleId((String) source.get("moduleId")).setMemberId((String) source.get("memberId"));
+		final Object changedSince = source.get("changedSince");
+		return setModuleId((String) source.get("moduleId"))
+				.setMemberId((String) source.get("memberId"))
+				.setChangedSince(changedSince instanceof Number ? ((Number) changedSince).longValue() : null);
 	}
 	
 	@Override
 	protected Request<TransactionContext, Boolean> doBuild() {
-		return new QueryRefSetMemberUpdateRequest(memberId, moduleId);
+		return new QueryRefSetMemberUpdateRequest(memberId, moduleId, changedSince);
 	}
 
 }
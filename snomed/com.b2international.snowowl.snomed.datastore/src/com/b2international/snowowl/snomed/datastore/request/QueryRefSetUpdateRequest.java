@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,9 +35,12 @@ public final class QueryRefSetUpdateRequest implements Request<TransactionContex
 	@NotEmpty
 	private final String moduleId;
 	
-	QueryRefSetUpdateRequest(String refSetId, String moduleId) {
+	private final Long changedSince;
+	
+	QueryRefSetUpdateRequest(String refSetId, String moduleId, Long changedSince) {
 		this.referenceSetId = refSetId;
 		this.moduleId = moduleId;
+		this.changedSince = changedSince;
 	}
 	
 	@Override
@@ -47,7 +50,12 @@ public final class QueryRefSetUpdateRequest implements Request<TransactionContex
 
 		// execute update on all of them
 		for (SnomedReferenceSetMember member : members.getItems()) {
-			SnomedRequests.prepareUpdateQueryRefSetMember().setMemberId(member.getId()).setModuleId(moduleId).build().execute(context);
+			SnomedRequests.prepareUpdateQueryRefSetMember()
+				.setMemberId(member.getId())
+				.setModuleId(moduleId)
+				.setChangedSince(changedSince)
+				.build()
+				.execute(context);
 		}
 		return Boolean.TRUE;
 	}
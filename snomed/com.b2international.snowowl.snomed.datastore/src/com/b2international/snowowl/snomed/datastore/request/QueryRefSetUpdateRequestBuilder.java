@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ public final class QueryRefSetUpdateRequestBuilder extends BaseRequestBuilder<Qu
 
 	private String referenceSetId;
 	private String moduleId;
+	private Long changedSince;
 	
 	public QueryRefSetUpdateRequestBuilder setModuleId(String moduleId) {
 		this.moduleId = moduleId;
@@ -40,13 +41,29 @@ public final class QueryRefSetUpdateRequestBuilder extends BaseRequestBuilder<Qu
 		return this;
 	}
 	
+	/**
+	 * Updates the reference set incrementally, re-evaluating only the query members that could be affected by changes after the given
+	 * timestamp, and applies all member changes in a single commit.
+	 * 
+	 * @param changedSince - the timestamp of the last update of the reference set or <code>null</code> to evaluate all query members in full
+	 * @return this builder instance
+	 * @see QueryRefSetMemberEvaluationRequestBuilder#setChangedSince(Long)
+	 */
+	public QueryRefSetUpdateRequestBuilder setChangedSince(Long changedSince) {
+		this.changedSince = changedSince;
+		return this;
+	}
+	
 	public QueryRefSetUpdateRequestBuilder setSource(Map<String, Object> source) {
-		return setModuleId((String) source.get(SnomedRf2Headers.FIELD_MODULE_ID)).setReferenceSetId((String) source.get(SnomedRf2Headers.FIELD_REFSET_ID));
+		final Object changedSince = source.get("changedSince");
+		return setModuleId((String) source.get(SnomedRf2Headers.FIELD_MODULE_ID))
+				.setReferenceSetId((String) source.get(SnomedRf2Headers.FIELD_REFSET_ID))
+				.setChangedSince(changedSince instanceof Number ? ((Number) changedSince).longValue() : null);
 	}
 
 	@Override
 	protected Request<TransactionContext, Boolean> doBuild() {
-		return new QueryRefSetUpdateRequest(referenceSetId, moduleId);
+		return new QueryRefSetUpdateRequest(referenceSetId, moduleId, changedSince);
 	}
 	
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2021-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.b2international.snowowl.snomed.datastore.request;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -29,11 +30,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedSet;
 
 /**
+ * Collects concept fetches requested while a request is executed and fetches concepts with the same expand options and locales in a single
+ * search. Fetches may be requested concurrently (eg. by expansions running on multiple threads).
+ * 
  * @since 8.1.0
  */
 public class SnomedConceptRequestCache {
 
-	private final Map<FetchConfig, Map<String, SnomedConcept>> cache = new HashMap<>(); 
+	private final Map<FetchConfig, Map<String, SnomedConcept>> cache = new ConcurrentHashMap<>(); 
 	private final Deque<FetchConfig> requestedFetches = new ArrayDeque<>();
 	private final boolean immediate;
 
@@ -48,7 +52,9 @@ public class SnomedConceptRequestCache {
 
 	public void request(BranchContext context, Iterable<String> ids, Options expand, List<ExtendedLocale> locales, Consumer<Map<String, SnomedConcept>> onConceptsReady) {
 		final FetchConfig fetchConfig = new FetchConfig(ids, expand, locales, onConceptsReady);
-		requestedFetches.add(fetchConfig);
+		synchronized (requestedFetches) {
+			requestedFetches.add(fetchConfig);
+		}
 		if (immediate) {
 			compute(context);
 		}
@@ -59,33 +65,51 @@ public class SnomedConceptRequestCache {
 		if (cache.containsKey(config)) {
 			return cache.get(config);
 		} else {
-			requestedFetches.add(config);
-			compute(context, config);
+			fetch(context, config, takeSimilar(config));
 			return cache.get(config);
 		}
 	}
 	
 	public void compute(BranchContext context) {
 		// run until all requested fetches are resolved
-		while (!requestedFetches.isEmpty()) {
+		List<FetchConfig> configsToFetch;
+		while (!(configsToFetch = takeSimilar(null)).isEmpty()) {
 			// compute all similar requests using the currently first requestedFetch config
-			compute(context, requestedFetches.getFirst());
+			fetch(context, configsToFetch.get(0), configsToFetch);
 		}
 	}
 	
 	public void compute(BranchContext context, FetchConfig toEvaluate) {
-		if (requestedFetches.isEmpty()) {
-			return;
-		}
-
 		// evaluate all similar requests using the toEvaluate param
-		// check if there are similar fetchConfigs requested earlier, and if yes, try to fetch them now, so they can be referenced later from the cache, and immediately get populated via the callback
-		final List<FetchConfig> configsToFetch = requestedFetches.stream()
-				.filter(cfg -> Objects.equals(toEvaluate.expand, cfg.expand) && Objects.equals(toEvaluate.locales, cfg.locales))
-				.collect(Collectors.toList());
-		// remove them from the requested fetches
-		requestedFetches.removeAll(configsToFetch);
-
+		fetch(context, toEvaluate, takeSimilar(toEvaluate));
+	}
+	
+	/*
+	 * Removes the requested fetches that can be fetched together with the given config (or with the first requested fetch if there is no config
+	 * given). Concept searches are executed without holding the lock, as they might request further fetches on other threads.
+	 */
+	private List<FetchConfig> takeSimilar(FetchConfig toEvaluate) {
+		synchronized (requestedFetches) {
+			final FetchConfig template = toEvaluate != null ? toEvaluate : requestedFetches.peekFirst();
+			if (template == null) {
+				return List.of();
+			}
+			
+			// check if there are similar fetchConfigs requested earlier, and if yes, try to fetch them now, so they can be referenced later from the cache, and immediately get populated via the callback
+			final List<FetchConfig> configsToFetch = requestedFetches.stream()
+					.filter(cfg -> Objects.equals(template.expand, cfg.expand) && Objects.equals(template.locales, cfg.locales))
+					.collect(Collectors.toCollection(ArrayList::new));
+			// remove them from the requested fetches
+			requestedFetches.removeAll(configsToFetch);
+			
+			if (!configsToFetch.contains(template)) {
+				configsToFetch.add(0, template);
+			}
+			return configsToFetch;
+		}
+	}
+	
+	private void fetch(BranchContext context, FetchConfig toEvaluate, List<FetchConfig> configsToFetch) {
 		// search for configs using the same expand and locales, merge the IDs and fetch all of them together
 		final Set<String> ids = configsToFetch.stream().flatMap(cfg -> cfg.ids.stream()).collect(Collectors.toSet());
 		
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,8 +34,10 @@ import com.b2international.index.Hits;
 import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Expressions.ExpressionBuilder;
+import com.b2international.index.query.Query;
 import com.b2international.index.query.SortBy.Builder;
 import com.b2international.index.query.SortBy.Order;
+import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.repository.RevisionDocument;
 import com.b2international.snowowl.core.request.KnnFilter;
@@ -70,6 +72,12 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 	private static final float MIN_DOI_VALUE = 1.05f;
 	private static final float MAX_DOI_VALUE = 10288.383f;
 	
+	/*
+	 * Number of best matching concepts to evaluate per requested concept when performing a typeahead search
+	 */
+	private static final int TYPEAHEAD_CANDIDATE_FACTOR = 10;
+	private static final int MAX_TYPEAHEAD_CANDIDATES = 10_000;
+	
 	public enum OptionKey {
 
 		/**
@@ -136,6 +144,11 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 		 * Knn filter to match concept description against a specified query vector 
 		 */
 		DESCRIPTION_KNN,
+		
+		/**
+		 * Evaluate the term filter on the best matching concepts only instead of all matching descriptions
+		 */
+		TYPEAHEAD,
 	}
 	
 	protected SnomedConceptSearchRequest() {}
@@ -216,13 +229,20 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 		}
 		
 		if (containsKey(OptionKey.TERM) || containsKey(OptionKey.DESCRIPTION_KNN)) {
+			final Expression conceptFilter = queryBuilder.build();
 			final ExpressionBuilder bq = Expressions.bool();
 			// nest current query
-			bq.filter(queryBuilder.build());
+			bq.filter(conceptFilter);
 			queryBuilder = bq;
 			
 			final TermFilter termFilter = containsKey(OptionKey.TERM) ? get(OptionKey.TERM, TermFilter.class) : null;
-			final Map<String, Float> conceptScoreMap = executeDescriptionSearch(context, termFilter);
+			Map<String, Float> conceptScoreMap = null;
+			if (isTypeaheadSearch(termFilter)) {
+				conceptScoreMap = executeTypeaheadDescriptionSearch(context, termFilter, conceptFilter);
+			}
+			if (conceptScoreMap == null) {
+				conceptScoreMap = executeDescriptionSearch(context, termFilter);
+			}
 			
 			if (termFilter != null) {
 				try {
@@ -303,27 +323,60 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 		return SnomedConceptDocument.Fields.SIMILARITY_FIELD;
 	}
 
-	private Map<String, Float> executeDescriptionSearch(BranchContext context, TermFilter termFilter) {
-		final SnomedDescriptionSearchRequestBuilder requestBuilder = SnomedRequests.prepareSearchDescription()
-			.filterByActive(true)
-			.setFields(SnomedDescriptionIndexEntry.Fields.ID, SnomedDescriptionIndexEntry.Fields.CONCEPT_ID)
-			.sortBy(SCORE);
+	/*
+	 * Typeahead searches can be evaluated on a limited number of best matching concepts if the first page is requested in order of relevance and the
+	 * concept scores depend on the term score only
+	 */
+	private boolean isTypeaheadSearch(TermFilter termFilter) {
+		return termFilter != null
+				&& Boolean.TRUE.equals(get(OptionKey.TYPEAHEAD, Boolean.class))
+				&& !containsKey(OptionKey.USE_DOI)
+				&& !containsKey(OptionKey.DESCRIPTION_KNN)
+				&& Strings.isNullOrEmpty(searchAfter())
+				&& limit() > 0
+				&& limit() <= MAX_TYPEAHEAD_CANDIDATES / TYPEAHEAD_CANDIDATE_FACTOR
+				&& List.of(SCORE).equals(sortBy());
+	}
+	
+	/*
+	 * Returns the scores of the best matching concepts using a single description search that collapses matches by concept ID, or null if the best
+	 * matching concepts do not contain enough concepts to fill the requested page after applying the concept filters.
+	 */
+	private Map<String, Float> executeTypeaheadDescriptionSearch(BranchContext context, TermFilter termFilter, Expression conceptFilter) {
+		final int candidateLimit = limit() * TYPEAHEAD_CANDIDATE_FACTOR;
 		
-		if (containsKey(SnomedConceptSearchRequest.OptionKey.LANGUAGE_REFSET)) {
-			List<ExtendedLocale> extendedLocales = getList(SnomedDescriptionSearchRequest.OptionKey.LANGUAGE_REFSET, ExtendedLocale.class);
-			requestBuilder.filterByLanguageRefSets(SnomedDescriptionUtils.getLanguageRefSetIds(context, extendedLocales));
-		}
-			
-		applyIdFilter(requestBuilder, (rb, ids) -> rb.filterByConcepts(ids));
+		final SnomedDescriptions items = prepareDescriptionSearch(context)
+			.filterByTerm(termFilter)
+			.collapseByConcept()
+			.setLimit(candidateLimit)
+			.build()
+			.execute(context);
 		
-		if (containsKey(OptionKey.DESCRIPTION_TYPE)) {
-			final String type = getString(OptionKey.DESCRIPTION_TYPE);
-			requestBuilder.filterByType(type);
+		final Map<String, Float> conceptMap = toConceptScores(items);
+		
+		// all matching concepts have been returned
+		if (conceptMap.size() < candidateLimit) {
+			return conceptMap;
 		}
 		
+		final int matchingCandidates = Query.select(SnomedConceptDocument.class)
+			.where(Expressions.bool()
+				.filter(conceptFilter)
+				.filter(RevisionDocument.Expressions.ids(conceptMap.keySet()))
+				.build())
+			.limit(0)
+			.build()
+			.search(context.service(RevisionSearcher.class))
+			.getTotal();
+		
+		return matchingCandidates >= limit() ? conceptMap : null;
+	}
+	
+	private Map<String, Float> executeDescriptionSearch(BranchContext context, TermFilter termFilter) {
+		final SnomedDescriptionSearchRequestBuilder requestBuilder = prepareDescriptionSearch(context);
+		
 		if (termFilter != null) {
 			requestBuilder
-				// XXX would it make sense to use other than fetching all matching descriptions with scores?
 				.all()
 				.filterByTerm(termFilter);
 		}
@@ -339,6 +392,31 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 			.build()
 			.execute(context);
 		
+		return toConceptScores(items);
+	}
+	
+	private SnomedDescriptionSearchRequestBuilder prepareDescriptionSearch(BranchContext context) {
+		final SnomedDescriptionSearchRequestBuilder requestBuilder = SnomedRequests.prepareSearchDescription()
+			.filterByActive(true)
+			.setFields(SnomedDescriptionIndexEntry.Fields.ID, SnomedDescriptionIndexEntry.Fields.CONCEPT_ID)
+			.sortBy(SCORE);
+		
+		if (containsKey(SnomedConceptSearchRequest.OptionKey.LANGUAGE_REFSET)) {
+			List<ExtendedLocale> extendedLocales = getList(SnomedDescriptionSearchRequest.OptionKey.LANGUAGE_REFSET, ExtendedLocale.class);
+			requestBuilder.filterByLanguageRefSets(SnomedDescriptionUtils.getLanguageRefSetIds(context, extendedLocales));
+		}
+			
+		applyIdFilter(requestBuilder, (rb, ids) -> rb.filterByConcepts(ids));
+		
+		if (containsKey(OptionKey.DESCRIPTION_TYPE)) {
+			final String type = getString(OptionKey.DESCRIPTION_TYPE);
+			requestBuilder.filterByType(type);
+		}
+		
+		return requestBuilder;
+	}
+	
+	private static Map<String, Float> toConceptScores(SnomedDescriptions items) {
 		final Map<String, Float> conceptMap = newHashMap();
 		
 		for (SnomedDescription description : items) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,6 +80,21 @@ public final class SnomedConceptSearchRequestBuilder extends SnomedComponentSear
 		return addOption(SnomedConceptSearchRequest.OptionKey.USE_DOI, withDoi);
 	}
 
+	/**
+	 * Enables/Disables typeahead term searches: instead of collecting all descriptions matching the {@link #filterByTerm(TermFilter) term filter},
+	 * only a limited number of best matching concepts (proportional to the requested limit) are evaluated using a single description search.
+	 * <p>
+	 * This setting takes effect only when the first page is requested, results are sorted by {@link SearchResourceRequest#SCORE relevance} only and
+	 * degree-of-interest-based scoring is disabled; it falls back to the regular term search otherwise, or when the best matching concepts are
+	 * filtered out by other constraints. The page returned is the same as with the regular term search, but the total number of hits is computed
+	 * from the evaluated concepts only.
+	 * 
+	 * @return <code>this</code> search request builder, for method chaining
+	 */
+	public final SnomedConceptSearchRequestBuilder withTypeahead(Boolean typeahead) {
+		return addOption(SnomedConceptSearchRequest.OptionKey.TYPEAHEAD, typeahead);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
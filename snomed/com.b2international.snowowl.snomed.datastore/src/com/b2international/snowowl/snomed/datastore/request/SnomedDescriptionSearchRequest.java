@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -68,6 +68,11 @@ final class SnomedDescriptionSearchRequest extends SnomedComponentSearchRequest<
 		 * To perform knn based query vector filtering using a similarity vector field indexed on the description documents
 		 */
 		KNN, 
+		
+		/**
+		 * Return only the best matching description of each concept
+		 */
+		COLLAPSE_BY_CONCEPT,
 	}
 	
 	SnomedDescriptionSearchRequest() {}
@@ -152,6 +157,11 @@ final class SnomedDescriptionSearchRequest extends SnomedComponentSearchRequest<
 		return containsKey(OptionKey.TERM) || containsKey(OptionKey.KNN);
 	}
 
+	@Override
+	protected String collapseField() {
+		return containsKey(OptionKey.COLLAPSE_BY_CONCEPT) ? SnomedDescriptionIndexEntry.Fields.CONCEPT_ID : null;
+	}
+
 	@Override
 	protected SnomedDescriptions toCollectionResource(BranchContext context, Hits<SnomedDescriptionIndexEntry> hits) {
 		if (limit() < 1 || hits.getTotal() < 1) {
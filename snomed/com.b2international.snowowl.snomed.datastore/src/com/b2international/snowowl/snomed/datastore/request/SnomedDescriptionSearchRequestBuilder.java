@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -305,6 +305,17 @@ public final class SnomedDescriptionSearchRequestBuilder extends SnomedComponent
 		return addOption(OptionKey.ACCEPTABLE_IN_LOCALES, locales);
 	}
 	
+	/**
+	 * Return only the first matching description (in sort order) of each concept. Can be used to get the best matching concepts for a term filter
+	 * in a single pass, but cannot be combined with {@link #setSearchAfter(String) searchAfter} and limits greater than the configured result
+	 * window.
+	 * 
+	 * @return <code>this</code> search request builder, for method chaining
+	 */
+	public SnomedDescriptionSearchRequestBuilder collapseByConcept() {
+		return addOption(OptionKey.COLLAPSE_BY_CONCEPT, true);
+	}
+	
 	@Override
 	protected SearchResourceRequest<BranchContext, SnomedDescriptions> createSearch() {
 		return new SnomedDescriptionSearchRequest();
@@ -33,7 +33,7 @@ import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDoc
 public final class Synonyms {
 
 	private final BranchContext context;
-	private Set<String> synonyms;
+	private volatile Set<String> synonyms;
 
 	public Synonyms(BranchContext context) {
 		this.context = checkNotNull(context, "context");
@@ -34,6 +34,8 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -81,6 +83,7 @@ import com.b2international.snowowl.snomed.core.domain.*;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedRefSetType;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSets;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedDescriptionIndexEntry;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedRelationshipIndexEntry;
 import com.b2international.snowowl.snomed.datastore.request.SnomedConceptSearchRequestBuilder;
@@ -89,8 +92,14 @@ import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.*;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.*;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @since 5.7
@@ -350,7 +359,8 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 			// create main folder including release status and archive effective date
 			final Path releaseDirectory = createReleaseDirectory(exportDirectory, archiveEffectiveDate);
 
-			final Set<String> visitedComponentEffectiveTimes = newHashSet();
+			// reference set files are written concurrently, see exportRefSets
+			final Set<String> visitedComponentEffectiveTimes = Sets.newConcurrentHashSet();
 			
 			final long effectiveTimeStart = startEffectiveTime != null ? EffectiveTimes.getEffectiveTime(startEffectiveTime) : 0;
 			final long effectiveTimeEnd =  endEffectiveTime != null ? EffectiveTimes.getEffectiveTime(endEffectiveTime) : Long.MAX_VALUE;
@@ -375,7 +385,7 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 				// If a special branch path was given, use it directly
 				final String referenceBranchToExport = containsSpecialCharacter(referenceBranch) 
 						? referenceBranch
-						: RevisionIndex.toBranchAtPath(referenceBranch, exportStartTime);
+						: getUnpublishedChangesPath(referenceCodeSystem, versionsToExport, referenceBranch, exportStartTime);
 				
 				exportBranch(releaseDirectory, 
 						context, 
@@ -402,6 +412,40 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 		}
 	}
 
+	/*
+	 * Unpublished delta exports only need the revisions committed after the latest version of the exported code system, as versioning assigns an
+	 * effective time to all components that are unpublished on the code system's branch at that point. Restricting the export to the revision
+	 * range of the later commits avoids going through every component of the branch, the unset effective time filter is still applied on the
+	 * remaining revisions.
+	 * 
+	 * Versions of the extended code system do not publish the content of an extension, so only the code system's own versions are considered.
+	 * An extension without versions of its own is exported from the base of its branch if it extends a version of another code system, as all
+	 * content visible at the base is published; extensions of an unversioned code system are exported from the entire branch.
+	 */
+	private String getUnpublishedChangesPath(final CodeSystem referenceCodeSystem, final TreeSet<Version> versionsToExport, final String referenceBranch, final long exportStartTime) {
+		final String referenceBranchAtExportTime = RevisionIndex.toBranchAtPath(referenceBranch, exportStartTime);
+		
+		if (!Rf2ReleaseType.DELTA.equals(releaseType)) {
+			return referenceBranchAtExportTime;
+		}
+		
+		final Optional<Version> latestVersion = versionsToExport.descendingSet()
+				.stream()
+				.filter(v -> referenceCodeSystem.getId().equals(v.getResourceId()))
+				.findFirst();
+		
+		if (latestVersion.isPresent()) {
+			return RevisionIndex.toRevisionRange(latestVersion.get().getBranchPath(), referenceBranchAtExportTime);
+		}
+		
+		final ResourceURI extensionOf = referenceCodeSystem.getExtensionOf();
+		if (extensionOf != null && !extensionOf.isHead()) {
+			return RevisionIndex.toRevisionRange(RevisionIndex.toBaseRef(referenceBranch), referenceBranchAtExportTime);
+		}
+		
+		return referenceBranchAtExportTime;
+	}
+
 	private boolean containsSpecialCharacter(final String referenceBranch) {
 		return referenceBranch.contains(RevisionIndex.AT_CHAR) || referenceBranch.contains(RevisionIndex.REV_RANGE);
 	}
@@ -461,6 +505,7 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 	private List<String> computeBranchesToExport(final String referenceBranch, final TreeSet<Version> versionsToExport) {
 		
 		final List<String> branchesToExport = newArrayList();
+		final Set<String> branchesBeforeStartEffectiveTime = newHashSet();
 		
 		switch (releaseType) {
 			case FULL:
@@ -478,6 +523,17 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 						.map(v -> v.getBranchPath())
 						.filter(v -> !branchesToExport.contains(v))
 						.forEachOrdered(branchesToExport::add);
+					/*
+					 * Content visible on a version branch is either published with an effective time not later than the version's, or it is
+					 * unpublished; version branches (and the ranges ending in them) that precede the start effective time can not contain
+					 * any component to export.
+					 */
+					if (startEffectiveTime != null) {
+						versionsToExport.stream()
+							.filter(v -> v.getEffectiveTime().isBefore(startEffectiveTime))
+							.map(v -> v.getBranchPath())
+							.forEach(branchesBeforeStartEffectiveTime::add);
+					}
 					if (!branchesToExport.contains(referenceBranch)) {
 						branchesToExport.add(referenceBranch);
 					}
@@ -494,6 +550,10 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 			
 			final String previousVersion = i == 0 ? null : branchesToExport.get(i - 1);
 			final String currentVersion = branchesToExport.get(i);
+			
+			if (branchesBeforeStartEffectiveTime.contains(currentVersion)) {
+				continue;
+			}
 
 			branchRangesToExport.add(previousVersion == null ? currentVersion : RevisionIndex.toRevisionRange(previousVersion, currentVersion));
 			
@@ -929,6 +989,8 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 		final Multimap<SnomedRefSetType, SnomedConcept> referenceSetsByType = FluentIterable.from(getIdentifierConcepts(context, getBranchOrRangeTarget(branch)))
 				.index(c -> c.getReferenceSet().getType());
 
+		final List<Rf2RefSetExporter> refSetExporters = newArrayList();
+		
 		// Create single exporter instance for each reference set type
 		for (final SnomedRefSetType refSetType : referenceSetsByType.keySet()) {
 
@@ -947,8 +1009,10 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 					refSetType,
 					referenceSetsByType.get(refSetType));
 
-			refSetExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+			refSetExporters.add(refSetExporter);
 		}
+		
+		exportRefSets(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes, refSetExporters);
 
 		exportLanguageRefSets(releaseDirectory, 
 				context, 
@@ -973,6 +1037,8 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 		final Multimap<SnomedRefSetType, SnomedConcept> referenceSetsByType = FluentIterable.from(getIdentifierConcepts(context, getBranchOrRangeTarget(revisionRange)))
 				.index(c -> c.getReferenceSet().getType());
 
+		final List<Rf2RefSetExporter> refSetExporters = newArrayList();
+		
 		/* 
 		 * Create single exporter instance for each reference set type - reference set concept 
 		 * pair (so effectively one for each reference set)
@@ -994,8 +1060,10 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 					entry.getKey(),
 					ImmutableSet.of(entry.getValue()));
 
-			refSetExporter.exportBranch(releaseDirectory, context, revisionRange, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+			refSetExporters.add(refSetExporter);
 		}
+		
+		exportRefSets(releaseDirectory, context, revisionRange, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes, refSetExporters);
 
 		exportLanguageRefSets(releaseDirectory, 
 				context, 
@@ -1008,6 +1076,56 @@ final class SnomedRf2ExportRequest extends ResourceRequest<BranchContext, Attach
 				visitedComponentEffectiveTimes);
 	}
 
+	/*
+	 * Runs the given reference set exporters concurrently. Exporters writing the same file are executed one after the other in their original
+	 * order on the same thread, so the content of each file is the same as with a sequential export.
+	 */
+	private void exportRefSets(final Path releaseDirectory, 
+			final RepositoryContext context, 
+			final String branch,
+			final long effectiveTimeFilterStart,
+			final long effectiveTimeFilterEnd,
+			final Set<String> visitedComponentEffectiveTimes,
+			final List<Rf2RefSetExporter> refSetExporters) throws IOException {
+		
+		final Map<Path, List<Rf2RefSetExporter>> exportersByFile = refSetExporters.stream()
+				.collect(Collectors.groupingBy(exporter -> exporter.getExportFile(releaseDirectory), LinkedHashMap::new, Collectors.toList()));
+		
+		final int threads = Math.min(context.service(SnomedCoreConfiguration.class).getRefSetExportParallelism(), exportersByFile.size());
+		final ListeningExecutorService executor;
+		if (threads > 1) {
+			executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+					.setNameFormat("rf2-refset-export-%d")
+					.setDaemon(true)
+					.build()));
+		} else {
+			executor = MoreExecutors.newDirectExecutorService();
+		}
+		
+		final List<ListenableFuture<?>> exportFutures = newArrayList();
+		for (final List<Rf2RefSetExporter> fileExporters : exportersByFile.values()) {
+			exportFutures.add(executor.submit(() -> {
+				for (final Rf2RefSetExporter refSetExporter : fileExporters) {
+					refSetExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+				}
+				return null;
+			}));
+		}
+		
+		try {
+			Futures.allAsList(exportFutures).get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SnowowlRuntimeException("Interrupted while exporting reference sets.", e);
+		} catch (final ExecutionException e) {
+			Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new SnowowlRuntimeException("Failed to export reference sets.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private void exportLanguageRefSets(final Path releaseDirectory, 
 			final RepositoryContext context, 
 			final String branch,
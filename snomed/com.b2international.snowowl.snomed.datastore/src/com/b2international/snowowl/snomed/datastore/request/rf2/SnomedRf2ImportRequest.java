@@ -72,6 +72,7 @@ import com.b2international.snowowl.core.request.io.ImportResponse;
 import com.b2international.snowowl.core.uri.ComponentURI;
 import com.b2international.snowowl.core.version.Version;
 import com.b2international.snowowl.eventbus.IEventBus;
+import com.b2international.snowowl.snomed.cis.ISnomedIdentifierService;
 import com.b2international.snowowl.snomed.common.SnomedTerminologyComponentConstants;
 import com.b2international.snowowl.snomed.core.domain.Rf2ReleaseType;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedRefSetType;
@@ -280,9 +281,15 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, ImportRespo
 			
 			// if not a dryRun, perform import
 			if (!dryRun) {
-				// Import effective time slices in chronological order
-				for (Rf2EffectiveTimeSlice slice : orderedEffectiveTimeSlices) {
-					slice.doImport(context, codeSystemUri, importconfig, visitedComponents);
+				// Import effective time slices in chronological order, component IDs are registered in the background while importing
+				try (final Rf2IdentifierRegistration identifierRegistration = new Rf2IdentifierRegistration(context.service(ISnomedIdentifierService.class))) {
+					final BranchContext importContext = context.inject()
+							.bind(Rf2IdentifierRegistration.class, identifierRegistration)
+							.build();
+					
+					for (Rf2EffectiveTimeSlice slice : orderedEffectiveTimeSlices) {
+						slice.doImport(importContext, codeSystemUri, importconfig, visitedComponents);
+					}
 				}
 					
 			    // Update locales registered on the code system
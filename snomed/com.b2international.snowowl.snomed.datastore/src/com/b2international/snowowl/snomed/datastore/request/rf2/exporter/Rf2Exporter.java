@@ -107,6 +107,14 @@ public abstract class Rf2Exporter<B extends SnomedSearchRequestBuilder<B, R>, R
 		return BooleanUtils.toString(component.isActive());
 	}
 
+	/**
+	 * @param releaseDirectory - the release directory of the export
+	 * @return the file this exporter appends its rows to
+	 */
+	public final Path getExportFile(final Path releaseDirectory) {
+		return releaseDirectory.resolve(getRelativeDirectory()).resolve(getFileName());
+	}
+
 	public final void exportBranch(
 			final Path releaseDirectory, 
 			final RepositoryContext context, 
@@ -118,10 +126,9 @@ public abstract class Rf2Exporter<B extends SnomedSearchRequestBuilder<B, R>, R
 		LOG.info("Exporting {} branch to '{}'", branch, getFileName());
 		
 		// Ensure that the path leading to the export file exists
-		final Path exportFileDirectory = releaseDirectory.resolve(getRelativeDirectory());
-		Files.createDirectories(exportFileDirectory);
+		final Path exportFile = getExportFile(releaseDirectory);
+		Files.createDirectories(exportFile.getParent());
 
-		final Path exportFile = exportFileDirectory.resolve(getFileName());
 		try (RandomAccessFile randomAccessFile = new RandomAccessFile(exportFile.toFile(), "rw")) {
 			try (FileChannel fileChannel = randomAccessFile.getChannel()) {
 
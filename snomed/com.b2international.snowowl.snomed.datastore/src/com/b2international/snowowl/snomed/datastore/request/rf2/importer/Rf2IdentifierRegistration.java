@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.request.rf2.importer;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.snomed.cis.ISnomedIdentifierService;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Registers the identifiers of committed RF2 components with the identifier service in the background. Identifiers are collected across
+ * commits and effective time slices and submitted in batches, so that the registration overlaps with importing the rest of the release.
+ * Closing the registration submits the remaining identifiers and waits for all submitted batches to complete.
+ *
+ * @since 8.10
+ */
+public final class Rf2IdentifierRegistration implements AutoCloseable {
+
+	static final int BATCH_SIZE = 10_000;
+
+	private final ISnomedIdentifierService identifierService;
+	private final List<ListenableFuture<?>> registrations = newArrayList();
+
+	private Set<String> idsToRegister = newHashSet();
+
+	public Rf2IdentifierRegistration(ISnomedIdentifierService identifierService) {
+		this.identifierService = identifierService;
+	}
+
+	public void register(Collection<String> componentIds) {
+		if (!identifierService.importSupported()) {
+			return;
+		}
+
+		idsToRegister.addAll(componentIds);
+		if (idsToRegister.size() >= BATCH_SIZE) {
+			submit();
+		}
+	}
+
+	private void submit() {
+		if (!idsToRegister.isEmpty()) {
+			registrations.add(identifierService.registerAsync(idsToRegister));
+			idsToRegister = newHashSet();
+		}
+	}
+
+	@Override
+	public void close() {
+		submit();
+
+		try {
+			Futures.allAsList(registrations).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SnowowlRuntimeException("Interrupted while registering imported component IDs.", e);
+		} catch (ExecutionException e) {
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new SnowowlRuntimeException("Failed to register imported component IDs.", e.getCause());
+		} finally {
+			registrations.clear();
+		}
+	}
+
+}
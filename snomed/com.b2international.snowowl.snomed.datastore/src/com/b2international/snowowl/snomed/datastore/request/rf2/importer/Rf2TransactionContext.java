@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -91,10 +91,15 @@ public final class Rf2TransactionContext extends DelegatingTransactionContext {
 		newComponents = newHashMap();
 		LOG.info("Pushing changes: {}", commitComment);
 		Optional<Commit> commit = getDelegate().commit(commitComment);
-		// after successful commit register all commited IDs to CIS
-		final ISnomedIdentifierService cis = service(ISnomedIdentifierService.class);
-		if (cis.importSupported()) {
-			cis.register(idsToRegister);
+		// after successful commit register all commited IDs to CIS, in the background if the import provides a registration pipeline
+		final Optional<Rf2IdentifierRegistration> registration = optionalService(Rf2IdentifierRegistration.class);
+		if (registration.isPresent()) {
+			registration.get().register(idsToRegister);
+		} else {
+			final ISnomedIdentifierService cis = service(ISnomedIdentifierService.class);
+			if (cis.importSupported()) {
+				cis.register(idsToRegister);
+			}
 		}
 		return commit;
 	}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.classification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
+import com.google.common.base.Ticker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @since 8.10
+ */
+public class ReasonerSessionCacheTest {
+
+	private static final String REASONER_ID = SnomedCoreConfiguration.ELK_REASONER_ID;
+	private static final String NAMESPACE = "http://snomed.info/id/";
+	private static final int CLASS_COUNT = 100;
+	private static final long IDLE_TIMEOUT_MINUTES = 30L;
+
+	private final FakeTicker ticker = new FakeTicker();
+	private SimpleMeterRegistry registry;
+	private OWLOntologyManager manager;
+	private OWLDataFactory factory;
+
+	@Before
+	public void setup() {
+		registry = new SimpleMeterRegistry();
+		manager = OWLManager.createOWLOntologyManager();
+		factory = manager.getOWLDataFactory();
+	}
+
+	@After
+	public void teardown() {
+		registry.close();
+	}
+
+	private ReasonerSessionCache createCache(final int maximumSessions) {
+		return new ReasonerSessionCache(maximumSessions, IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES, registry, ticker);
+	}
+
+	@Test
+	public void reclassifyWithWarmSession() throws Exception {
+		final ReasonerSessionCache cache = createCache(10);
+		try {
+			final OWLOntology ontology = createOntology("initial");
+			assertEquals(classifyFresh(ontology), cache.classify("MAIN", REASONER_ID, ontology, this::getTaxonomy));
+
+			// move a subtree, add a new subclass and an equivalence
+			final OWLOntology changed = createOntology("changed");
+			manager.removeAxiom(changed, subClassOf(10, 5));
+			manager.addAxiom(changed, subClassOf(10, 3));
+			manager.addAxiom(changed, subClassOf(50, 7));
+			manager.addAxiom(changed, factory.getOWLEquivalentClassesAxiom(owlClass(99), owlClass(49)));
+
+			// the task branch takes over the session of its parent
+			final Map<String, Set<String>> expected = classifyFresh(changed);
+			assertNotEquals(classifyFresh(ontology), expected);
+			assertEquals(expected, cache.classify("MAIN/task", REASONER_ID, changed, this::getTaxonomy));
+
+			assertEquals(1.0, getSessionCount("created"), 0.0);
+			assertEquals(1.0, getSessionCount("reused"), 0.0);
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	@Test
+	public void discardSessionOnLargeChanges() throws Exception {
+		final ReasonerSessionCache cache = createCache(10);
+		try {
+			final OWLOntology ontology = createOntology("initial");
+			cache.classify("MAIN", REASONER_ID, ontology, this::getTaxonomy);
+
+			// flatten the hierarchy, far above the change ratio accepted by sessions
+			final OWLOntology changed = createOntology("changed");
+			for (int i = 2; i < CLASS_COUNT; i++) {
+				manager.removeAxiom(changed, subClassOf(i, i / 2));
+				manager.addAxiom(changed, subClassOf(i, 0));
+			}
+
+			assertEquals(classifyFresh(changed), cache.classify("MAIN", REASONER_ID, changed, this::getTaxonomy));
+			assertEquals(1.0, getSessionCount("discarded"), 0.0);
+			assertEquals(2.0, getSessionCount("created"), 0.0);
+			assertEquals(0.0, getSessionCount("reused"), 0.0);
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	@Test
+	public void evictLeastRecentlyUsedSession() throws Exception {
+		final ReasonerSessionCache cache = createCache(1);
+		try {
+			final OWLOntology ontology = createOntology("initial");
+			cache.classify("MAIN/a", REASONER_ID, ontology, this::getTaxonomy);
+			cache.classify("MAIN/b", REASONER_ID, ontology, this::getTaxonomy);
+			// the session of MAIN/a has been evicted to make room for the session of MAIN/b
+			assertEquals(classifyFresh(ontology), cache.classify("MAIN/a", REASONER_ID, ontology, this::getTaxonomy));
+
+			assertEquals(3.0, getSessionCount("created"), 0.0);
+			assertEquals(0.0, getSessionCount("reused"), 0.0);
+			assertEquals(1.0, registry.get("reasoner.sessions.idle").gauge().value(), 0.0);
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	@Test
+	public void expireIdleSession() throws Exception {
+		final ReasonerSessionCache cache = createCache(10);
+		try {
+			final OWLOntology ontology = createOntology("initial");
+			cache.classify("MAIN", REASONER_ID, ontology, this::getTaxonomy);
+
+			ticker.advance(IDLE_TIMEOUT_MINUTES - 1, TimeUnit.MINUTES);
+			cache.classify("MAIN", REASONER_ID, ontology, this::getTaxonomy);
+			assertEquals(1.0, getSessionCount("reused"), 0.0);
+
+			ticker.advance(IDLE_TIMEOUT_MINUTES + 1, TimeUnit.MINUTES);
+			assertEquals(classifyFresh(ontology), cache.classify("MAIN", REASONER_ID, ontology, this::getTaxonomy));
+			assertEquals(1.0, getSessionCount("reused"), 0.0);
+			assertEquals(2.0, getSessionCount("created"), 0.0);
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	/*
+	 * Creates a binary tree of classes where each class is a subclass of the class at half of its index
+	 */
+	private OWLOntology createOntology(final String name) throws OWLOntologyCreationException {
+		final OWLOntology ontology = manager.createOntology(IRI.create(NAMESPACE + "ontology/" + name));
+		for (int i = 1; i < CLASS_COUNT; i++) {
+			manager.addAxiom(ontology, subClassOf(i, i / 2));
+		}
+		return ontology;
+	}
+
+	private OWLClass owlClass(final int index) {
+		return factory.getOWLClass(IRI.create(NAMESPACE + index));
+	}
+
+	private OWLSubClassOfAxiom subClassOf(final int subIndex, final int superIndex) {
+		return factory.getOWLSubClassOfAxiom(owlClass(subIndex), owlClass(superIndex));
+	}
+
+	private double getSessionCount(final String outcome) {
+		return registry.get("reasoner.sessions").tag("outcome", outcome).counter().count();
+	}
+
+	private Map<String, Set<String>> classifyFresh(final OWLOntology ontology) {
+		final OWLReasoner reasoner = ReasonerTaxonomyInferrer.createReasoner(REASONER_ID, ontology, false);
+		try {
+			return getTaxonomy(reasoner);
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+	/*
+	 * Returns the direct superclasses and equivalents of each class, keyed by the class IRI
+	 */
+	private Map<String, Set<String>> getTaxonomy(final OWLReasoner reasoner) {
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		final Map<String, Set<String>> taxonomy = new TreeMap<>();
+		for (int i = 0; i < CLASS_COUNT; i++) {
+			final OWLClass owlClass = owlClass(i);
+			final Set<String> parents = new TreeSet<>();
+			reasoner.getSuperClasses(owlClass, true).getFlattened().forEach(parent -> parents.add(parent.getIRI().toString()));
+			reasoner.getEquivalentClasses(owlClass).getEntitiesMinus(owlClass).forEach(equivalent -> parents.add("=" + equivalent.getIRI()));
+			taxonomy.put(owlClass.getIRI().toString(), parents);
+		}
+		return taxonomy;
+	}
+
+	private static final class FakeTicker extends Ticker {
+
+		private final AtomicLong nanos = new AtomicLong();
+
+		@Override
+		public long read() {
+			return nanos.get();
+		}
+
+		void advance(final long duration, final TimeUnit unit) {
+			nanos.addAndGet(unit.toNanos(duration));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,9 +28,12 @@ import com.b2international.snowowl.core.setup.Plugin;
 import com.b2international.snowowl.snomed.common.SnomedTerminologyComponentConstants;
 import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
 import com.b2international.snowowl.snomed.reasoner.classification.ClassificationTracker;
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerSessionCache;
 import com.b2international.snowowl.snomed.reasoner.index.*;
 import com.google.common.collect.ImmutableList;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * @since 7.0
  */
@@ -47,6 +50,15 @@ public final class SnomedReasonerPlugin extends Plugin implements TerminologyRep
 			final ClassificationTracker classificationTracker = new ClassificationTracker(repositoryIndex, maximumReasonerRuns, cleanUpInterval);
 			
 			env.services().registerService(ClassificationTracker.class, classificationTracker);
+			
+			if (snomedConfig.getMaxReasonerSessions() > 0) {
+				final ReasonerSessionCache reasonerSessionCache = new ReasonerSessionCache(snomedConfig.getMaxReasonerSessions(), 
+						snomedConfig.getReasonerSessionTimeout(), 
+						TimeUnit.MINUTES, 
+						env.service(MeterRegistry.class));
+				
+				env.services().registerService(ReasonerSessionCache.class, reasonerSessionCache);
+			}
 		}
 	}
 	
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.classification;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.snowowl.snomed.reasoner.exceptions.ReasonerApiException;
+
+/**
+ * A reasoner instance that is kept in memory between classification runs. The session holds an in-memory copy of the logical axioms the
+ * reasoner has last seen; subsequent classifications only apply the differences to this copy, which reasoners supporting incremental
+ * reasoning (eg. ELK) can process without repeating the full load and saturation of the ontology.
+ * <p>
+ * Only logical axioms are copied to the session; declarations and annotations of the source ontology are not visible to the session's
+ * reasoner, so classifications using a session must only depend on the logical axioms.
+ * <p>
+ * Sessions are not thread-safe; a session can only be used by a single classification at a time.
+ *
+ * @since 8.10
+ */
+public final class ReasonerSession {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("reasoner-session");
+
+	// Sessions are not updated if the number of changed axioms exceeds this fraction of the new axiom count
+	private static final double MAX_CHANGE_RATIO = 0.1;
+
+	private final String reasonerId;
+	private final OWLOntologyManager manager;
+	private final OWLOntology ontology;
+	private final OWLReasoner reasoner;
+
+	private long fullRunNanos = -1L;
+
+	private ReasonerSession(final String reasonerId, final OWLOntologyManager manager, final OWLOntology ontology, final OWLReasoner reasoner) {
+		this.reasonerId = reasonerId;
+		this.manager = manager;
+		this.ontology = ontology;
+		this.reasoner = reasoner;
+	}
+
+	/**
+	 * Creates a new session for the specified reasoner, copying all logical axioms of the source ontology.
+	 *
+	 * @param reasonerId - the identifier of the reasoner extension to use
+	 * @param source - the ontology to copy axioms from
+	 * @return the created session
+	 */
+	public static ReasonerSession create(final String reasonerId, final OWLOntology source) {
+		final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+
+		try {
+			final OWLOntology ontology = manager.createOntology(source.getOntologyID());
+			manager.addAxioms(ontology, source.getLogicalAxioms());
+			final OWLReasoner reasoner = ReasonerTaxonomyInferrer.createReasoner(reasonerId, ontology, true);
+			return new ReasonerSession(reasonerId, manager, ontology, reasoner);
+		} catch (final OWLOntologyCreationException e) {
+			throw new ReasonerApiException("Exception caught while creating ontology instance for reasoner session.", e);
+		}
+	}
+
+	public String getReasonerId() {
+		return reasonerId;
+	}
+
+	public OWLReasoner getReasoner() {
+		return reasoner;
+	}
+
+	/**
+	 * @return the duration of the first classification run in this session in nanoseconds, including the creation of the session, or
+	 *         <code>-1L</code> if the session has not been used yet
+	 */
+	long getFullRunNanos() {
+		return fullRunNanos;
+	}
+
+	void setFullRunNanos(final long fullRunNanos) {
+		this.fullRunNanos = fullRunNanos;
+	}
+
+	/**
+	 * Brings the session in sync with the specified ontology by removing axioms that are no longer present and adding new ones. Changes are
+	 * only applied if they represent a small delta compared to the size of the ontology.
+	 *
+	 * @param source - the ontology to compare the session's axioms with
+	 * @return <code>true</code> if the session is up to date and can be used for classifying the source ontology, <code>false</code> if it
+	 *         should be discarded
+	 */
+	boolean update(final OWLOntology source) {
+		final Set<OWLLogicalAxiom> newAxioms = newHashSet(source.getLogicalAxioms());
+		final int maxChanges = (int) (newAxioms.size() * MAX_CHANGE_RATIO);
+		final List<OWLOntologyChange> changes = newArrayList();
+
+		for (final OWLLogicalAxiom axiom : ontology.getLogicalAxioms()) {
+			if (!newAxioms.contains(axiom)) {
+				changes.add(new RemoveAxiom(ontology, axiom));
+				if (changes.size() > maxChanges) {
+					return false;
+				}
+			}
+		}
+
+		for (final OWLLogicalAxiom axiom : newAxioms) {
+			if (!ontology.containsAxiom(axiom)) {
+				changes.add(new AddAxiom(ontology, axiom));
+				if (changes.size() > maxChanges) {
+					return false;
+				}
+			}
+		}
+
+		LOGGER.info("Applying {} axiom changes to reasoner session.", changes.size());
+
+		if (!changes.isEmpty()) {
+			manager.applyChanges(changes);
+			reasoner.flush();
+		}
+
+		return true;
+	}
+
+	void dispose() {
+		reasoner.dispose();
+		manager.removeOntology(ontology);
+	}
+}
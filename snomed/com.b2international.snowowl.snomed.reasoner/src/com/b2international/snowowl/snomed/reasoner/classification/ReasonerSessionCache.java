@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.classification;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.branch.Branch;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Keeps warm {@link ReasonerSession reasoner sessions} in memory, keyed by the branch path they were last used on. A classification on a
+ * branch reuses the session of the same branch or, if there is none, the session of its closest ancestor, so that authors classifying
+ * repeatedly on a task branch only pay for the changes made since the last run. Sessions not used for the configured idle time are
+ * disposed.
+ *
+ * @since 8.10
+ */
+public final class ReasonerSessionCache implements IDisposableService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("reasoner-session");
+
+	private final AtomicBoolean disposed = new AtomicBoolean(false);
+	private final Cache<String, ReasonerSession> sessions;
+	private final ScheduledExecutorService cleanUp;
+
+	private final Counter reusedSessions;
+	private final Counter createdSessions;
+	private final Counter discardedSessions;
+	private final Timer timeSaved;
+
+	public ReasonerSessionCache(final int maximumSessions, final long idleTimeout, final TimeUnit unit, final MeterRegistry registry) {
+		this(maximumSessions, idleTimeout, unit, registry, Ticker.systemTicker());
+	}
+
+	/*package*/ ReasonerSessionCache(final int maximumSessions, final long idleTimeout, final TimeUnit unit, final MeterRegistry registry, final Ticker ticker) {
+		this.sessions = CacheBuilder.newBuilder()
+				.maximumSize(maximumSessions)
+				.expireAfterAccess(idleTimeout, unit)
+				.ticker(ticker)
+				.<String, ReasonerSession>removalListener(notification -> {
+					// Explicitly removed sessions are in use by a classification
+					if (notification.getCause() != RemovalCause.EXPLICIT) {
+						LOGGER.info("Disposing reasoner session of '{}' ({}).", notification.getKey(), notification.getCause());
+						notification.getValue().dispose();
+					}
+				})
+				.build();
+
+		this.cleanUp = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("reasoner-session-cleanup-%d")
+				.setDaemon(true)
+				.build());
+		this.cleanUp.scheduleWithFixedDelay(sessions::cleanUp, 1L, 1L, TimeUnit.MINUTES);
+
+		this.reusedSessions = Counter.builder("reasoner.sessions")
+				.description("The number of classifications that have reused a warm reasoner session")
+				.tag("outcome", "reused")
+				.register(registry);
+
+		this.createdSessions = Counter.builder("reasoner.sessions")
+				.description("The number of classifications that have started a new reasoner session")
+				.tag("outcome", "created")
+				.register(registry);
+
+		this.discardedSessions = Counter.builder("reasoner.sessions")
+				.description("The number of reasoner sessions discarded because of too many changes since the last classification")
+				.tag("outcome", "discarded")
+				.register(registry);
+
+		this.timeSaved = Timer.builder("reasoner.sessions.saved")
+				.description("The estimated classification time saved by reusing a warm reasoner session, compared to the first run of the session including its creation")
+				.register(registry);
+
+		Gauge.builder("reasoner.sessions.idle", sessions, Cache::size)
+				.description("The number of reasoner sessions currently kept in memory")
+				.register(registry);
+	}
+
+	/**
+	 * Runs a classification with a reasoner session suitable for the given branch and ontology. If a session is available for the branch
+	 * lineage, the ontology changes are applied to it incrementally; otherwise a new session is started. After a successful run the session
+	 * is returned to the cache under the specified branch path.
+	 *
+	 * @param branchPath - the branch the classification is running on
+	 * @param reasonerId - the identifier of the reasoner extension to use
+	 * @param ontology - the ontology to classify
+	 * @param classification - the function that extracts classification results using the session's reasoner
+	 * @return the classification results
+	 */
+	public <T> T classify(final String branchPath, final String reasonerId, final OWLOntology ontology, final Function<OWLReasoner, T> classification) {
+		// measure the preparation of the session as well, so that the cost of computing and applying the changes is not reported as saved time
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		ReasonerSession session = checkOut(branchPath, reasonerId);
+
+		if (session != null && !session.update(ontology)) {
+			LOGGER.info("Too many changes since the last classification, discarding reasoner session for '{}'.", branchPath);
+			discardedSessions.increment();
+			session.dispose();
+			session = null;
+		}
+
+		final boolean reused = session != null;
+		if (reused) {
+			reusedSessions.increment();
+		} else {
+			createdSessions.increment();
+			session = ReasonerSession.create(reasonerId, ontology);
+		}
+
+		final T result;
+
+		try {
+			result = classification.apply(session.getReasoner());
+		} catch (final RuntimeException e) {
+			session.dispose();
+			throw e;
+		}
+
+		final long elapsedNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+		if (!reused) {
+			session.setFullRunNanos(elapsedNanos);
+		} else if (session.getFullRunNanos() > elapsedNanos) {
+			timeSaved.record(session.getFullRunNanos() - elapsedNanos, TimeUnit.NANOSECONDS);
+		}
+
+		if (isDisposed()) {
+			session.dispose();
+		} else {
+			sessions.put(branchPath, session);
+		}
+
+		return result;
+	}
+
+	private ReasonerSession checkOut(final String branchPath, final String reasonerId) {
+		String path = branchPath;
+
+		while (path != null) {
+			final ReasonerSession session = sessions.asMap().remove(path);
+
+			if (session != null) {
+				if (reasonerId.equals(session.getReasonerId())) {
+					LOGGER.info("Reusing reasoner session of '{}' for classifying '{}'.", path, branchPath);
+					return session;
+				}
+
+				// Leave sessions of other reasoners in place
+				if (sessions.asMap().putIfAbsent(path, session) != null) {
+					session.dispose();
+				}
+			}
+
+			final int separatorIdx = path.lastIndexOf(Branch.SEPARATOR);
+			path = separatorIdx > 0 ? path.substring(0, separatorIdx) : null;
+		}
+
+		return null;
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed.compareAndSet(false, true)) {
+			cleanUp.shutdownNow();
+			sessions.asMap().values().forEach(ReasonerSession::dispose);
+			sessions.invalidateAll();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed.get();
+	}
+}
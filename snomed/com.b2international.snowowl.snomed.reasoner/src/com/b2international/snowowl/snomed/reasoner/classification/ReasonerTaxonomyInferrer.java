@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2021 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -127,7 +127,7 @@ public final class ReasonerTaxonomyInferrer {
 	private InternalSctIdSet.Builder unsatisfiableConcepts;
 	private InternalSctIdMultimap.Builder equivalentConcepts;
 
-	private static OWLReasoner createReasoner(final String reasonerId, final OWLOntology owlOntology) {
+	static OWLReasoner createReasoner(final String reasonerId, final OWLOntology owlOntology, final boolean buffering) {
 		final IExtensionPoint extensionPoint = Platform.getExtensionRegistry().getExtensionPoint(EXTENSION_POINT_ID);
 		final IExtension[] extensions = extensionPoint.getExtensions();
 
@@ -157,7 +157,9 @@ public final class ReasonerTaxonomyInferrer {
 
 				final OWLReasonerFactory reasonerFactory = reasonerInfo.getReasonerFactory();
 				final OWLReasonerConfiguration reasonerConfiguration = reasonerInfo.getConfiguration(new LoggingProgressMonitor(LOGGER));
-				return reasonerFactory.createNonBufferingReasoner(owlOntology, reasonerConfiguration);
+				return buffering 
+						? reasonerFactory.createReasoner(owlOntology, reasonerConfiguration)
+						: reasonerFactory.createNonBufferingReasoner(owlOntology, reasonerConfiguration);
 			}
 		}
 
@@ -171,69 +173,79 @@ public final class ReasonerTaxonomyInferrer {
 	}
 
 	public ReasonerTaxonomy addInferences(final ReasonerTaxonomy taxonomy) {
+		final OWLReasoner reasoner = createReasoner(reasonerId, ontology, false);
+		try {
+			return addInferences(taxonomy, reasoner);
+		} finally {
+			reasoner.dispose();
+		}
+	}
+
+	/**
+	 * Extracts inferences using the specified reasoner instance, which is expected to reason over the same set of axioms as this inferrer's
+	 * ontology. The reasoner is not disposed after use.
+	 * 
+	 * @param taxonomy - the taxonomy to add inferences to
+	 * @param reasoner - the reasoner to query
+	 * @return the taxonomy with inferences
+	 */
+	public ReasonerTaxonomy addInferences(final ReasonerTaxonomy taxonomy, final OWLReasoner reasoner) {
 		LOGGER.info(">>> Classification and inferred taxonomy extraction");
 
-		try {
-			final Stopwatch stopwatch = Stopwatch.createStarted();
-			
-			Deque<Node<OWLClass>> firstLayer = new LinkedList<Node<OWLClass>>();
-			Deque<Node<OWLClass>> secondLayer = new LinkedList<Node<OWLClass>>();
-			final Set<Node<OWLClass>> deferredNodes = newHashSet();
-			
-			reasoner = createReasoner(reasonerId, ontology);
-			if (Boolean.getBoolean(PRECOMPUTE_PROPERTY)) {
-				reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
-			}
-			
-			final NodeSet<OWLClass> initialSubClasses = reasoner.getSubClasses(ontology.getOWLThing(), true);
-			final Set<Node<OWLClass>> initialNodes = initialSubClasses.getNodes();
-			firstLayer.addAll(initialNodes);
-			
-			processedConceptIds = PrimitiveSets.newLongOpenHashSetWithExpectedSize(EXPECTED_SIZE);
-			iterationOrder = PrimitiveLists.newLongArrayListWithExpectedSize(EXPECTED_SIZE);
-
-			final InternalIdMap conceptMap = taxonomy.getConceptMap();
-			inferredAncestors = InternalIdEdges.builder(conceptMap);
-			unsatisfiableConcepts = InternalSctIdSet.builder(conceptMap);
-			equivalentConcepts = InternalSctIdMultimap.builder(conceptMap);
-
-			// Breadth-first walk through the class hierarchy
-			while (!firstLayer.isEmpty()) {
-				final Node<OWLClass> current = firstLayer.removeFirst();
-				deferredNodes.remove(current);
-				final NodeSet<OWLClass> nextNodeSet = processNode(current, deferredNodes);
-				final Set<Node<OWLClass>> nextNodes = nextNodeSet.getNodes();
-				secondLayer.addAll(nextNodes);
-			
-				if (firstLayer.isEmpty()) {
-					// Indicate that the previous set of caches can be emptied
-					if (deferredNodes.isEmpty()) {
-						iterationOrder.add(DEPTH_CHANGE);
-					}
-			
-					// Swap the role of the two layers
-					if (!secondLayer.isEmpty()) {
-						Deque<Node<OWLClass>> temp = firstLayer;
-						firstLayer = secondLayer;
-						secondLayer = temp;
-					}
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		
+		Deque<Node<OWLClass>> firstLayer = new LinkedList<Node<OWLClass>>();
+		Deque<Node<OWLClass>> secondLayer = new LinkedList<Node<OWLClass>>();
+		final Set<Node<OWLClass>> deferredNodes = newHashSet();
+		
+		this.reasoner = reasoner;
+		if (Boolean.getBoolean(PRECOMPUTE_PROPERTY)) {
+			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		}
+		
+		final NodeSet<OWLClass> initialSubClasses = reasoner.getSubClasses(ontology.getOWLThing(), true);
+		final Set<Node<OWLClass>> initialNodes = initialSubClasses.getNodes();
+		firstLayer.addAll(initialNodes);
+		
+		processedConceptIds = PrimitiveSets.newLongOpenHashSetWithExpectedSize(EXPECTED_SIZE);
+		iterationOrder = PrimitiveLists.newLongArrayListWithExpectedSize(EXPECTED_SIZE);
+
+		final InternalIdMap conceptMap = taxonomy.getConceptMap();
+		inferredAncestors = InternalIdEdges.builder(conceptMap);
+		unsatisfiableConcepts = InternalSctIdSet.builder(conceptMap);
+		equivalentConcepts = InternalSctIdMultimap.builder(conceptMap);
+
+		// Breadth-first walk through the class hierarchy
+		while (!firstLayer.isEmpty()) {
+			final Node<OWLClass> current = firstLayer.removeFirst();
+			deferredNodes.remove(current);
+			final NodeSet<OWLClass> nextNodeSet = processNode(current, deferredNodes);
+			final Set<Node<OWLClass>> nextNodes = nextNodeSet.getNodes();
+			secondLayer.addAll(nextNodes);
+		
+			if (firstLayer.isEmpty()) {
+				// Indicate that the previous set of caches can be emptied
+				if (deferredNodes.isEmpty()) {
+					iterationOrder.add(DEPTH_CHANGE);
+				}
+		
+				// Swap the role of the two layers
+				if (!secondLayer.isEmpty()) {
+					Deque<Node<OWLClass>> temp = firstLayer;
+					firstLayer = secondLayer;
+					secondLayer = temp;
 				}
 			}
+		}
 
-			processedConceptIds = null;
+		processedConceptIds = null;
 
-			LOGGER.info("<<< Classification and inferred taxonomy extraction [{}]", stopwatch.stop());
+		LOGGER.info("<<< Classification and inferred taxonomy extraction [{}]", stopwatch.stop());
 
-			return taxonomy.withInferences(inferredAncestors.build(), 
-					unsatisfiableConcepts.build(), 
-					equivalentConcepts.build(),
-					iterationOrder);
-			
-		} finally {
-			if (reasoner != null) {
-				reasoner.dispose();
-			}
-		}
+		return taxonomy.withInferences(inferredAncestors.build(), 
+				unsatisfiableConcepts.build(), 
+				equivalentConcepts.build(),
+				iterationOrder);
 	}
 
 	private NodeSet<OWLClass> processNode(final Node<OWLClass> node, Set<Node<OWLClass>> deferredNodes) {
@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.http.ExtendedLocale;
 import com.b2international.commons.options.Options;
+import com.b2international.index.revision.RevisionIndex;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.domain.RepositoryContext;
 import com.b2international.snowowl.core.events.Request;
@@ -147,15 +148,18 @@ public final class RelationshipChangeConverter
 			return;
 		}
 
+		// Check if we only need to load inferred relationships in their entirety
+		final Options expandOptions = expand().getOptions(RelationshipChange.Expand.RELATIONSHIP);
+		final boolean inferredOnly = expandOptions.getBoolean("inferredOnly");
+		
+		// Expanded properties can be read from a fixed point in time of the classified branches (eg. while changes are being saved)
+		final Number timestamp = expandOptions.get("timestamp", Number.class);
+		
 		/*
 		 * Depending on the relationship change search request, we might need to issue
 		 * SNOMED CT searches against multiple branches; find out which ones we have.
 		 */
-		final Multimap<String, RelationshipChange> itemsByBranch = getItemsByBranch(results);
-
-		// Check if we only need to load inferred relationships in their entirety
-		final Options expandOptions = expand().getOptions(RelationshipChange.Expand.RELATIONSHIP);
-		final boolean inferredOnly = expandOptions.getBoolean("inferredOnly");
+		final Multimap<String, RelationshipChange> itemsByBranch = getItemsByBranch(results, timestamp);
 		
 		final Options relationshipExpandOptions = expandOptions.getOptions("expand");
 		
@@ -302,7 +306,7 @@ public final class RelationshipChangeConverter
 		}
 	}
 
-	private Multimap<String, RelationshipChange> getItemsByBranch(final List<RelationshipChange> results) {
+	private Multimap<String, RelationshipChange> getItemsByBranch(final List<RelationshipChange> results, final Number timestamp) {
 		final Set<String> classificationTaskIds = results.stream()
 				.map(RelationshipChange::getClassificationId)
 				.collect(Collectors.toSet());
@@ -313,7 +317,9 @@ public final class RelationshipChangeConverter
 				.setLimit(BATCH_LIMIT)
 				.stream(context())
 				.flatMap(ClassificationTasks::stream)
-				.forEach(task -> branchesByClassificationIdMap.put(task.getId(), task.getBranch()));
+				.forEach(task -> branchesByClassificationIdMap.put(task.getId(), timestamp == null 
+						? task.getBranch() 
+						: RevisionIndex.toBranchAtPath(task.getBranch(), timestamp.longValue())));
 		
 		final Multimap<String, RelationshipChange> itemsByBranch = Multimaps.index(results, 
 				r -> branchesByClassificationIdMap.get(r.getClassificationId()));
@@ -19,6 +19,7 @@ import static com.b2international.snowowl.snomed.common.SnomedTerminologyCompone
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -54,6 +55,7 @@ import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfigurati
 import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomy;
 import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomyBuilder;
 import com.b2international.snowowl.snomed.reasoner.classification.ClassificationTracker;
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerSessionCache;
 import com.b2international.snowowl.snomed.reasoner.classification.ReasonerTaxonomyInferrer;
 import com.b2international.snowowl.snomed.reasoner.exceptions.ReasonerApiException;
 import com.b2international.snowowl.snomed.reasoner.normalform.NormalFormGenerator;
@@ -148,7 +150,15 @@ final class ClassificationJobRequest implements Request<BranchContext, Boolean>,
 
 			final DelegateOntology ontology = (DelegateOntology) ontologyManager.createOntology(ontologyIRI);
 			final ReasonerTaxonomyInferrer inferrer = new ReasonerTaxonomyInferrer(reasonerId, ontology, context);
-			final ReasonerTaxonomy inferredTaxonomy = inferrer.addInferences(taxonomy);
+			final Optional<ReasonerSessionCache> reasonerSessions = context.optionalService(ReasonerSessionCache.class);
+			final ReasonerTaxonomy inferredTaxonomy;
+			
+			if (reasonerSessions.isPresent()) {
+				inferredTaxonomy = reasonerSessions.get().classify(context.path(), reasonerId, ontology, reasoner -> inferrer.addInferences(taxonomy, reasoner));
+			} else {
+				inferredTaxonomy = inferrer.addInferences(taxonomy);
+			}
+			
 			final NormalFormGenerator normalFormGenerator = new NormalFormGenerator(inferredTaxonomy);
 			
 			tracker.classificationCompleted(classificationId, inferredTaxonomy, normalFormGenerator);
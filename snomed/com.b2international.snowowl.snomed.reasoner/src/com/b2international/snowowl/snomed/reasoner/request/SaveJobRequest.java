@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2023 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,24 +20,33 @@ import static com.b2international.snowowl.snomed.common.SnomedTerminologyCompone
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.validation.constraints.NotNull;
 
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.SubMonitor;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.exceptions.LockedException;
+import com.b2international.index.query.Query;
 import com.b2international.index.revision.Commit;
+import com.b2international.index.revision.RevisionDocument;
+import com.b2international.index.revision.RevisionIndex;
+import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.snowowl.core.TerminologyResource;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.authorization.AccessControl;
 import com.b2international.snowowl.core.branch.Branch;
 import com.b2international.snowowl.core.config.RepositoryConfiguration;
@@ -53,7 +62,10 @@ import com.b2international.snowowl.core.internal.locks.DatastoreLockContextDescr
 import com.b2international.snowowl.core.locks.Locks;
 import com.b2international.snowowl.core.plugin.Extensions;
 import com.b2international.snowowl.core.repository.RepositoryRequests;
+import com.b2international.snowowl.core.request.BranchSnapshotContentRequest;
 import com.b2international.snowowl.core.request.CommitResult;
+import com.b2international.snowowl.core.terminology.ComponentCategory;
+import com.b2international.snowowl.snomed.cis.action.IdActionRecorder;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
 import com.b2international.snowowl.snomed.core.domain.*;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
@@ -66,10 +78,16 @@ import com.b2international.snowowl.snomed.reasoner.domain.*;
 import com.b2international.snowowl.snomed.reasoner.equivalence.IEquivalentConceptMerger;
 import com.b2international.snowowl.snomed.reasoner.exceptions.ReasonerApiException;
 import com.google.common.base.Strings;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Represents a request that saves pre-recorded changes of a classification,
@@ -156,7 +174,7 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		try (Locks locks = Locks.on(context)
 				.user(user)
 				.lock(DatastoreLockContextDescriptions.SAVE_CLASSIFICATION_RESULTS, parentLockContext)) {
-			return persistChanges(context, monitor);
+			return persistChanges(context);
 		} catch (final LockedException e) {
 			tracker.classificationFailed(classificationId);
 			throw new ReasonerApiException("Couldn't acquire exclusive access to terminology store for persisting classification changes; %s", e.getMessage(), e);
@@ -169,7 +187,7 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		}
 	}
 
-	private Boolean persistChanges(final BranchContext context, final IProgressMonitor monitor) {
+	private Boolean persistChanges(final BranchContext context) {
 		// Repeat the same checks as in ClassificationSaveRequest, now within the lock
 		final ClassificationTask classification = ClassificationRequests.prepareGetClassification(classificationId)
 				.build()
@@ -198,25 +216,27 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		// Signal the state change
 		classificationTracker.classificationSaving(classificationId);
 
-		final SubMonitor subMonitor = SubMonitor.convert(monitor, "Persisting changes", 6);
-		final BulkRequestBuilder<TransactionContext> bulkRequestBuilder = BulkRequest.create();
+		final SnomedNamespaceAndModuleAssigner assigner = createNamespaceAndModuleAssigner(context);
+		final int commitLimit = getCommitLimit(context);
+		
+		// Changes are read from the state the classification was computed on, not from the branch the changes are being committed to
+		final long snapshotTimestamp = branch.headTimestamp();
+		
+		// Equivalent concept merging decides which relationship and CD member changes should be skipped, so it is committed first
+		final BulkRequestBuilder<TransactionContext> mergeRequestBuilder = BulkRequest.create();
+		final Set<String> conceptIdsToSkip = mergeEquivalentConcepts(context, mergeRequestBuilder, assigner);
+		long resultTimeStamp = commitChanges(context, mergeRequestBuilder, commitLimit, Commit.NO_COMMIT_TIMESTAMP);
+		
+		resultTimeStamp = saveRelationshipChanges(context, assigner, conceptIdsToSkip, commitLimit, snapshotTimestamp, resultTimeStamp);
 
-		applyChanges(subMonitor, context, bulkRequestBuilder);
-	
-		long resultTimeStamp = Commit.NO_COMMIT_TIMESTAMP;
-		for (List<Request<TransactionContext, ?>> partition : Iterables.partition(bulkRequestBuilder.build().getRequests(), getCommitLimit(context))) {
-			final BulkRequestBuilder<TransactionContext> batchRequest = BulkRequest.create();
-			partition.forEach(request -> batchRequest.add(request));
-			
-			final Request<BranchContext, CommitResult> commitRequest = SnomedRequests.prepareCommit()
-					.setBody(batchRequest.build())
-					.setCommitComment(commitComment)
-					.setParentContextDescription(DatastoreLockContextDescriptions.SAVE_CLASSIFICATION_RESULTS)
-					.setAuthor(userId)
-					.build();
-			
-			final CommitResult commitResult = new IdRequest<>(commitRequest).execute(context);
-			resultTimeStamp = commitResult.getCommitTimestamp();
+		if (handleConcreteDomains) {
+			// CD member support in configuration overrides the flag on the save request
+			final SnomedCoreConfiguration snomedCoreConfiguration = context.service(SnomedCoreConfiguration.class);
+			if (snomedCoreConfiguration.isConcreteDomainSupported()) {
+				final BulkRequestBuilder<TransactionContext> concreteDomainRequestBuilder = BulkRequest.create();
+				applyConcreteDomainChanges(context, concreteDomainRequestBuilder, assigner, conceptIdsToSkip);
+				resultTimeStamp = commitChanges(context, concreteDomainRequestBuilder, commitLimit, resultTimeStamp);
+			}
 		}
 		
 		if (Commit.NO_COMMIT_TIMESTAMP == resultTimeStamp) {
@@ -232,103 +252,251 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		return context.service(SnowOwlConfiguration.class).getModuleConfig(RepositoryConfiguration.class).getIndexConfiguration().getCommitWatermarkLow();
 	}
 
-	private void applyChanges(final SubMonitor subMonitor, 
-			final BranchContext context,
-			final BulkRequestBuilder<TransactionContext> bulkRequestBuilder) {
+	private long commitChanges(final BranchContext context, 
+			final BulkRequestBuilder<TransactionContext> bulkRequestBuilder, 
+			final int commitLimit, 
+			final long lastCommitTimestamp) {
+		
+		long resultTimeStamp = lastCommitTimestamp;
+		for (List<Request<TransactionContext, ?>> partition : Iterables.partition(bulkRequestBuilder.build().getRequests(), commitLimit)) {
+			final BulkRequestBuilder<TransactionContext> batchRequest = BulkRequest.create();
+			partition.forEach(request -> batchRequest.add(request));
+			
+			final CommitResult commitResult = new IdRequest<>(prepareCommit(batchRequest.build())).execute(context);
+			resultTimeStamp = commitResult.getCommitTimestamp();
+		}
+		
+		return resultTimeStamp;
+	}
 
-		final SnomedNamespaceAndModuleAssigner assigner = createNamespaceAndModuleAssigner(context);
-		final Set<String> conceptIdsToSkip = mergeEquivalentConcepts(context, bulkRequestBuilder, assigner);
-		applyRelationshipChanges(context, bulkRequestBuilder, assigner, conceptIdsToSkip);
+	private Request<BranchContext, CommitResult> prepareCommit(final Request<TransactionContext, ?> body) {
+		return SnomedRequests.prepareCommit()
+				.setBody(body)
+				.setCommitComment(commitComment)
+				.setParentContextDescription(DatastoreLockContextDescriptions.SAVE_CLASSIFICATION_RESULTS)
+				.setAuthor(userId)
+				.build();
+	}
 
-		if (handleConcreteDomains) {
-			// CD member support in configuration overrides the flag on the save request
-			final SnomedCoreConfiguration snomedCoreConfiguration = context.service(SnomedCoreConfiguration.class);
-			if (snomedCoreConfiguration.isConcreteDomainSupported()) {
-				applyConcreteDomainChanges(context, bulkRequestBuilder, assigner, conceptIdsToSkip);
+	private long saveRelationshipChanges(final BranchContext context, 
+			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner, 
+			final Set<String> conceptIdsToSkip,
+			final int commitLimit,
+			final long snapshotTimestamp,
+			final long lastCommitTimestamp) {
+
+		final String snapshotPath = RevisionIndex.toBranchAtPath(context.path(), snapshotTimestamp);
+		final Iterator<RelationshipChanges> pages = ClassificationRequests.prepareSearchRelationshipChange()
+				.setLimit(Math.min(SCROLL_LIMIT, commitLimit))
+				.setExpand(String.format("relationship(inferredOnly:true, timestamp:%d)", snapshotTimestamp))
+				.filterByClassificationId(classificationId)
+				.stream(context)
+				.iterator();
+		
+		final ListeningExecutorService pageReader = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("classification-save-%d")
+				.setDaemon(true)
+				.build()));
+		
+		long resultTimeStamp = lastCommitTimestamp;
+		try {
+			
+			ListenableFuture<Optional<RelationshipChanges>> nextPage = pageReader.submit(() -> readNextPage(pages));
+			Optional<RelationshipChanges> page;
+			while ((page = Futures.getUnchecked(nextPage)).isPresent()) {
+				// Read the next page of changes while the current one is being committed
+				nextPage = pageReader.submit(() -> readNextPage(pages));
+				for (final List<RelationshipChange> changes : Iterables.partition(page.get().getItems(), commitLimit)) {
+					resultTimeStamp = saveRelationshipChanges(context, snapshotPath, namespaceAndModuleAssigner, conceptIdsToSkip, changes, resultTimeStamp);
+				}
 			}
+			
+		} finally {
+			pageReader.shutdownNow();
+			namespaceAndModuleAssigner.clear();
 		}
+		
+		return resultTimeStamp;
 	}
 
-	private void applyRelationshipChanges(final BranchContext context, 
-			final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
+	private static Optional<RelationshipChanges> readNextPage(final Iterator<RelationshipChanges> pages) {
+		return pages.hasNext() ? Optional.of(pages.next()) : Optional.empty();
+	}
+
+	private long saveRelationshipChanges(final BranchContext context, 
+			final String snapshotPath,
 			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner, 
-			final Set<String> conceptIdsToSkip) {
+			final Set<String> conceptIdsToSkip,
+			final List<RelationshipChange> changes,
+			final long lastCommitTimestamp) {
 
-		ClassificationRequests.prepareSearchRelationshipChange()
-				.setLimit(SCROLL_LIMIT)
-				.setExpand("relationship(inferredOnly:true)")
-				.filterByClassificationId(classificationId)
-				.stream(context)
-				.forEach(nextChanges -> {
-					final Set<String> conceptIds = nextChanges.stream()
-							.map(RelationshipChange::getRelationship)
-							.map(ReasonerRelationship::getSourceId)
-							.collect(Collectors.toSet());
-					
-					final Set<String> originRelationshipIds = nextChanges.stream()
-							.filter(change -> ChangeNature.NEW.equals(change.getChangeNature())
-								|| ChangeNature.UPDATED.equals(change.getChangeNature()))
-							.map(RelationshipChange::getRelationship)
-							.map(ReasonerRelationship::getOriginId)
-							.filter(id -> id != null)
-							.collect(Collectors.toSet());
+		final Set<String> conceptIds = changes.stream()
+				.map(RelationshipChange::getRelationship)
+				.map(ReasonerRelationship::getSourceId)
+				.collect(Collectors.toSet());
+		
+		final Set<String> originRelationshipIds = changes.stream()
+				.filter(change -> ChangeNature.NEW.equals(change.getChangeNature())
+					|| ChangeNature.UPDATED.equals(change.getChangeNature()))
+				.map(RelationshipChange::getRelationship)
+				.map(ReasonerRelationship::getOriginId)
+				.filter(id -> id != null)
+				.collect(Collectors.toSet());
 
-					final Map<String, String> originSourceIds = SnomedRequests.prepareSearchRelationship()
-						.setLimit(originRelationshipIds.size())
-						.filterByIds(originRelationshipIds)
-						.setFields(SnomedRelationshipIndexEntry.Fields.ID, SnomedRelationshipIndexEntry.Fields.SOURCE_ID)
-						.build()
-						.execute(context)
-						.stream()
-						.collect(Collectors.toMap(
-								SnomedRelationship::getId, // keys: ID of the "origin" relationship  
-								SnomedRelationship::getSourceId)); // values: source concept ID of the "origin" relationship
-					
-					conceptIds.removeAll(conceptIdsToSkip);
-					namespaceAndModuleAssigner.collectRelationshipNamespacesAndModules(conceptIds, context);
+		final Request<BranchContext, SnomedRelationships> originSearchRequest = SnomedRequests.prepareSearchRelationship()
+			.setLimit(originRelationshipIds.size())
+			.filterByIds(originRelationshipIds)
+			.setFields(SnomedRelationshipIndexEntry.Fields.ID, SnomedRelationshipIndexEntry.Fields.SOURCE_ID)
+			.build();
+		
+		final Map<String, String> originSourceIds = new BranchSnapshotContentRequest<>(snapshotPath, originSearchRequest)
+			.execute(context)
+			.stream()
+			.collect(Collectors.toMap(
+					SnomedRelationship::getId, // keys: ID of the "origin" relationship  
+					SnomedRelationship::getSourceId)); // values: source concept ID of the "origin" relationship
+		
+		conceptIds.removeAll(conceptIdsToSkip);
+		namespaceAndModuleAssigner.collectRelationshipNamespacesAndModules(conceptIds, context);
 
-					for (final RelationshipChange change : nextChanges) {
-						final ReasonerRelationship relationship = change.getRelationship();
+		final SaveRelationshipChangesRequest saveRequest = new SaveRelationshipChangesRequest();
+		final Multimap<String, ReasonerRelationship> relationshipsToAddByNamespace = ArrayListMultimap.create();
+		
+		for (final RelationshipChange change : changes) {
+			final ReasonerRelationship relationship = change.getRelationship();
 
-						// Relationship changes related to merged concepts should not be applied
-						if (conceptIdsToSkip.contains(relationship.getSourceId()) || conceptIdsToSkip.contains(relationship.getDestinationId())) {
-							continue;
+			// Relationship changes related to merged concepts should not be applied
+			if (conceptIdsToSkip.contains(relationship.getSourceId()) || conceptIdsToSkip.contains(relationship.getDestinationId())) {
+				continue;
+			}
+			
+			switch (change.getChangeNature()) {
+				case NEW: {
+						/*
+						 * Do not "infer" any relationship that is passed down from a concept that was
+						 * already merged by the equivalent concept merging step
+						 */
+						final String originSourceId = originSourceIds.get(relationship.getOriginId());
+						if (!conceptIdsToSkip.contains(originSourceId)) {
+							final String relationshipNamespace = namespaceAndModuleAssigner.getRelationshipNamespace(relationship.getSourceId());
+							relationshipsToAddByNamespace.put(Strings.nullToEmpty(relationshipNamespace), relationship);
 						}
-						
-						switch (change.getChangeNature()) {
-							case NEW: {
-									/*
-									 * Do not "infer" any relationship that is passed down from a concept that was
-									 * already merged by the equivalent concept merging step
-									 */
-									final String originSourceId = originSourceIds.get(relationship.getOriginId());
-									if (!conceptIdsToSkip.contains(originSourceId)) {
-										addComponent(bulkRequestBuilder, namespaceAndModuleAssigner, relationship);
-									}
-								}
-								break;
-								
-							case UPDATED: {
-									final String originSourceId = originSourceIds.get(relationship.getOriginId());
-									if (!conceptIdsToSkip.contains(originSourceId)) {
-										updateComponent(bulkRequestBuilder, namespaceAndModuleAssigner, relationship);
-									}
-								}
-								break;
-								
-							case REDUNDANT:
-								removeOrDeactivate(bulkRequestBuilder, namespaceAndModuleAssigner, relationship);
-								break;
-								
-							default:
-								throw new IllegalStateException(String.format("Unexpected relationship change '%s' found with SCTID '%s'.", 
-										change.getChangeNature(), 
-										change.getRelationship().getOriginId()));
+					}
+					break;
+					
+				case UPDATED: {
+						final String originSourceId = originSourceIds.get(relationship.getOriginId());
+						if (!conceptIdsToSkip.contains(originSourceId)) {
+							saveRequest.update(relationship.getOriginId(), 
+									namespaceAndModuleAssigner.getRelationshipModuleId(relationship.getSourceId()), 
+									relationship.getGroup());
 						}
 					}
-				});
+					break;
+					
+				case REDUNDANT:
+					saveRequest.removeOrDeactivate(relationship.getOriginId(), 
+							namespaceAndModuleAssigner.getRelationshipModuleId(relationship.getSourceId()));
+					break;
+					
+				default:
+					throw new IllegalStateException(String.format("Unexpected relationship change '%s' found with SCTID '%s'.", 
+							change.getChangeNature(), 
+							change.getRelationship().getOriginId()));
+			}
+		}
+		
+		if (saveRequest.isEmpty() && relationshipsToAddByNamespace.isEmpty()) {
+			return lastCommitTimestamp;
+		}
+		
+		final IdActionRecorder recorder = new IdActionRecorder(context);
+		final Set<String> usedIds = newHashSet();
+		final Set<String> discardedIds = newHashSet();
+		final CommitResult commitResult;
+		
+		try {
+			
+			// Identifiers for new relationships are reserved in bulk per namespace
+			for (final String relationshipNamespace : relationshipsToAddByNamespace.keySet()) {
+				final Collection<ReasonerRelationship> relationshipsToAdd = relationshipsToAddByNamespace.get(relationshipNamespace);
+				final Set<String> relationshipIds = reserveRelationshipIds(context, recorder, Strings.emptyToNull(relationshipNamespace), relationshipsToAdd.size(), discardedIds);
+				final Iterator<String> relationshipIdIterator = relationshipIds.iterator();
+				usedIds.addAll(relationshipIds);
+				
+				for (final ReasonerRelationship relationship : relationshipsToAdd) {
+					saveRequest.add(relationshipIdIterator.next(), namespaceAndModuleAssigner.getRelationshipModuleId(relationship.getSourceId()), relationship);
+				}
+			}
+			
+			commitResult = prepareCommit(saveRequest).execute(context);
+			
+		} catch (final Exception e) {
+			recorder.rollback();
+			throw e;
+		}
+		
+		/*
+		 * Register only the identifiers used by the commit instead of committing the recorder (which would register
+		 * all reserved candidates), and release the candidates that were discarded as already existing.
+		 */
+		if (!usedIds.isEmpty()) {
+			SnomedRequests.identifiers()
+				.prepareRegister()
+				.setComponentIds(usedIds)
+				.build()
+				.execute(context);
+		}
+		
+		if (!discardedIds.isEmpty()) {
+			SnomedRequests.identifiers()
+				.prepareRelease()
+				.setComponentIds(discardedIds)
+				.build()
+				.execute(context);
+		}
+		
+		return commitResult.getCommitTimestamp();
+	}
 
-		namespaceAndModuleAssigner.clear();
+	private Set<String> reserveRelationshipIds(final BranchContext context, 
+			final IdActionRecorder recorder, 
+			final String namespace, 
+			final int quantity,
+			final Set<String> discardedIds) {
+		
+		final Set<String> uniqueIds = newHashSet();
+		
+		for (int i = 0; i < IdRequest.ID_GENERATION_ATTEMPTS && uniqueIds.size() < quantity; i++) {
+			final Set<String> candidateIds = recorder.reserve(namespace, ComponentCategory.RELATIONSHIP, quantity - uniqueIds.size());
+			final Set<String> existingIds = getExistingRelationshipIds(context, candidateIds);
+			uniqueIds.addAll(candidateIds);
+			uniqueIds.removeAll(existingIds);
+			discardedIds.addAll(existingIds);
+		}
+		
+		if (uniqueIds.size() != quantity) {
+			throw new BadRequestException("There are insufficient number of component ids available for category: %s", ComponentCategory.RELATIONSHIP.getDisplayName());
+		}
+		
+		return uniqueIds;
+	}
+
+	private Set<String> getExistingRelationshipIds(final BranchContext context, final Set<String> relationshipIds) {
+		try {
+			
+			final Query<String> query = Query.select(String.class)
+					.from(SnomedRelationshipIndexEntry.class)
+					.fields(RevisionDocument.Fields.ID)
+					.where(RevisionDocument.Expressions.ids(relationshipIds))
+					.limit(relationshipIds.size())
+					.build();
+			
+			return Set.copyOf(context.service(RevisionSearcher.class).search(query).getHits());
+			
+		} catch (final IOException e) {
+			throw new SnowowlRuntimeException(e);
+		}
 	}
 
 	private void applyConcreteDomainChanges(final BranchContext context, 
@@ -608,12 +776,6 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		removeOrDeactivateRelationship(bulkRequestBuilder, namespaceAndModuleAssigner, relationship.isReleased(), relationship.getId(), relationship.getSourceId());
 	}
 
-	private void removeOrDeactivate(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
-			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner,
-			final ReasonerRelationship relationship) {
-		removeOrDeactivateRelationship(bulkRequestBuilder, namespaceAndModuleAssigner, relationship.isReleased(), relationship.getOriginId(), relationship.getSourceId());
-	}
-
 	private void removeOrDeactivateRelationship(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
 			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner,
 			final boolean released, final String relationshipId, String sourceId) {
@@ -691,25 +853,6 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		bulkRequestBuilder.add(request);
 	}
 
-	private void addComponent(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
-			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner, 
-			final ReasonerRelationship relationship) {
-	
-		final String sourceId = relationship.getSourceId();
-		final String typeId = relationship.getTypeId();
-		final String destinationId = relationship.getDestinationId();
-		final boolean destinationNegated = relationship.isDestinationNegated();
-		final RelationshipValue valueAsObject = relationship.getValueAsObject();
-		final String characteristicTypeId = relationship.getCharacteristicTypeId();
-		final int group = relationship.getGroup();
-		final int unionGroup = relationship.getUnionGroup();
-		final String modifier = relationship.getModifierId();
-		
-		addComponent(bulkRequestBuilder, namespaceAndModuleAssigner, 
-				sourceId, typeId, destinationId, destinationNegated, valueAsObject,
-				characteristicTypeId, group, unionGroup, modifier);
-	}
-
 	private void addComponent(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
 			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner, 
 			final SnomedRelationship relationship) {
@@ -839,18 +982,6 @@ final class SaveJobRequest implements Request<BranchContext, Boolean>, AccessCon
 		bulkRequestBuilder.add(createRequest);
 	}
 
-	private void updateComponent(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
-			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner,
-			final ReasonerRelationship relationship) {
-		
-		final SnomedRelationshipUpdateRequestBuilder updateRequest = SnomedRequests
-				.prepareUpdateRelationship(relationship.getOriginId())
-				.setModuleId(namespaceAndModuleAssigner.getRelationshipModuleId(relationship.getSourceId()))
-				.setRelationshipGroup(relationship.getGroup());
-		
-		bulkRequestBuilder.add(updateRequest);
-	}
-
 	private void updateComponent(final BulkRequestBuilder<TransactionContext> bulkRequestBuilder,
 			final SnomedNamespaceAndModuleAssigner namespaceAndModuleAssigner,
 			final ReasonerConcreteDomainMember referenceSetMember) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.request;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import com.b2international.snowowl.core.date.EffectiveTimes;
+import com.b2international.snowowl.core.domain.TransactionContext;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.exceptions.ComponentNotFoundException;
+import com.b2international.snowowl.snomed.core.store.SnomedComponents;
+import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
+import com.b2international.snowowl.snomed.datastore.index.entry.SnomedRelationshipIndexEntry;
+import com.b2international.snowowl.snomed.reasoner.domain.ReasonerRelationship;
+import com.google.common.collect.Sets;
+
+/**
+ * Applies a batch of inferred relationship changes by writing relationship documents directly to the transaction, instead of going through
+ * individual create, update and delete requests. All relationships and concepts referenced by the batch are looked up in bulk before the
+ * first document is written.
+ *
+ * @since 8.10
+ */
+final class SaveRelationshipChangesRequest implements Request<TransactionContext, Boolean> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Map<String, ReasonerRelationship> relationshipsToAdd = newHashMap();
+	private final Map<String, Integer> groupsToUpdate = newHashMap();
+	private final Set<String> relationshipsToRemove = newHashSet();
+	private final Map<String, String> moduleIds = newHashMap();
+
+	void add(final String relationshipId, final String moduleId, final ReasonerRelationship relationship) {
+		relationshipsToAdd.put(relationshipId, relationship);
+		moduleIds.put(relationshipId, moduleId);
+	}
+
+	void update(final String relationshipId, final String moduleId, final int group) {
+		groupsToUpdate.put(relationshipId, group);
+		moduleIds.put(relationshipId, moduleId);
+	}
+
+	void removeOrDeactivate(final String relationshipId, final String moduleId) {
+		relationshipsToRemove.add(relationshipId);
+		moduleIds.put(relationshipId, moduleId);
+	}
+
+	boolean isEmpty() {
+		return moduleIds.isEmpty();
+	}
+
+	@Override
+	public Boolean execute(final TransactionContext context) {
+		// Prefetch all existing relationships and all concepts referenced by the changes
+		final Map<String, SnomedRelationshipIndexEntry> relationships = context.lookup(Sets.union(groupsToUpdate.keySet(), relationshipsToRemove),
+				SnomedRelationshipIndexEntry.class);
+
+		final Set<String> conceptIds = newHashSet(moduleIds.values());
+		for (final ReasonerRelationship relationship : relationshipsToAdd.values()) {
+			conceptIds.add(relationship.getSourceId());
+			conceptIds.add(relationship.getTypeId());
+			conceptIds.add(relationship.getCharacteristicTypeId());
+			conceptIds.add(relationship.getModifierId());
+			if (relationship.getDestinationId() != null) {
+				conceptIds.add(relationship.getDestinationId());
+			}
+		}
+
+		try {
+			context.lookup(conceptIds, SnomedConceptDocument.class);
+			for (final Entry<String, ReasonerRelationship> entry : relationshipsToAdd.entrySet()) {
+				addRelationship(context, entry.getKey(), entry.getValue());
+			}
+		} catch (final ComponentNotFoundException e) {
+			throw e.toBadRequestException();
+		}
+
+		for (final Entry<String, Integer> entry : groupsToUpdate.entrySet()) {
+			final SnomedRelationshipIndexEntry relationship = relationships.get(entry.getKey());
+			if (relationship == null) {
+				throw new ComponentNotFoundException(SnomedRelationshipIndexEntry.class.getSimpleName(), entry.getKey());
+			}
+
+			final SnomedRelationshipIndexEntry.Builder updatedRelationship = SnomedRelationshipIndexEntry.builder(relationship)
+					.moduleId(moduleIds.get(entry.getKey()))
+					.relationshipGroup(entry.getValue());
+
+			updateRelationship(context, relationship, updatedRelationship);
+		}
+
+		for (final String relationshipId : relationshipsToRemove) {
+			final SnomedRelationshipIndexEntry relationship = relationships.get(relationshipId);
+			if (relationship == null) {
+				// ignore, probably already deleted
+				continue;
+			}
+
+			if (relationship.isReleased()) {
+				final SnomedRelationshipIndexEntry.Builder updatedRelationship = SnomedRelationshipIndexEntry.builder(relationship)
+						.active(false)
+						.moduleId(moduleIds.get(relationshipId));
+
+				updateRelationship(context, relationship, updatedRelationship);
+			} else {
+				context.delete(relationship);
+			}
+		}
+
+		return Boolean.TRUE;
+	}
+
+	private void addRelationship(final TransactionContext context, final String relationshipId, final ReasonerRelationship relationship) {
+		final SnomedRelationshipIndexEntry newRelationship = SnomedComponents.newRelationship()
+				.withId(relationshipId)
+				.withActive(true)
+				.withModuleId(moduleIds.get(relationshipId))
+				.withSourceId(relationship.getSourceId())
+				.withTypeId(relationship.getTypeId())
+				.withDestinationId(relationship.getDestinationId())
+				.withDestinationNegated(relationship.isDestinationNegated())
+				.withValue(relationship.getValueAsObject())
+				.withRelationshipGroup(relationship.getGroup())
+				.withUnionGroup(relationship.getUnionGroup())
+				.withCharacteristicTypeId(relationship.getCharacteristicTypeId())
+				.withModifierId(relationship.getModifierId())
+				.build(context);
+
+		context.add(newRelationship);
+	}
+
+	private void updateRelationship(final TransactionContext context,
+			final SnomedRelationshipIndexEntry relationship,
+			final SnomedRelationshipIndexEntry.Builder updatedRelationship) {
+
+		SnomedRelationshipIndexEntry newRelationship = updatedRelationship.build();
+		if (Objects.equals(newRelationship.isActive(), relationship.isActive())
+				&& Objects.equals(newRelationship.getModuleId(), relationship.getModuleId())
+				&& Objects.equals(newRelationship.getRelationshipGroup(), relationship.getRelationshipGroup())) {
+			return;
+		}
+
+		if (relationship.getEffectiveTime() != EffectiveTimes.UNSET_EFFECTIVE_TIME) {
+			newRelationship = updatedRelationship.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME).build();
+		}
+
+		context.update(relationship, newRelationship);
+	}
+
+}